@@ -0,0 +1,302 @@
+package com.atlassian.oai.validator;
+
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.model.Response;
+import com.atlassian.oai.validator.report.LevelResolver;
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.report.ValidationReport.MessageContext;
+import com.atlassian.oai.validator.whitelist.NamedWhitelistRule;
+import com.atlassian.oai.validator.whitelist.ValidationErrorsWhitelist;
+import org.slf4j.Logger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.atlassian.oai.validator.util.StringUtils.foldCase;
+import static com.atlassian.oai.validator.util.StringUtils.requireNonEmpty;
+import static java.util.Objects.requireNonNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Validates request/response interactions against one of several APIs hosted behind a single endpoint
+ * (e.g. an API gateway).
+ * <p>
+ * Each interaction is dispatched to the API it is for by its request path. A single prefix index is built over the
+ * base paths of all APIs on construction, including the base path of every server defined in each API (with server
+ * variables expanded to each of their <code>enum</code> values). The API with the longest base path matching the
+ * request path is used to validate the interaction; the name of that API is reported in the context of each
+ * validation message.
+ * <p>
+ * If more than one API is served on the same base path, the API added to the builder first is used.
+ *
+ * @see OpenApiInteractionValidator
+ */
+public class CompositeOpenApiInteractionValidator {
+
+    private static final Logger log = getLogger(CompositeOpenApiInteractionValidator.class);
+
+    private final BasePathIndex apis;
+    private final MessageResolver messages;
+    private final ValidationErrorsWhitelist whitelist;
+
+    private CompositeOpenApiInteractionValidator(@Nonnull final BasePathIndex apis,
+                                                 @Nonnull final MessageResolver messages,
+                                                 @Nonnull final ValidationErrorsWhitelist whitelist) {
+        this.apis = apis;
+        this.messages = messages;
+        this.whitelist = whitelist;
+    }
+
+    /**
+     * @return A new builder instance to use for creating and configuring
+     * {@link CompositeOpenApiInteractionValidator} instances.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Validate the given request/response against the API the request is for.
+     *
+     * @param request The request to validate (required)
+     * @param response The response to validate (required)
+     *
+     * @return The outcome of the validation
+     *
+     * @see OpenApiInteractionValidator#validate(Request, Response)
+     */
+    @Nonnull
+    public ValidationReport validate(@Nonnull final Request request, @Nonnull final Response response) {
+        requireNonNull(request, "A request is required");
+        requireNonNull(response, "A response is required");
+
+        final Api api = apis.find(request.getPath());
+        if (api == null) {
+            return missingPath(request.getPath(), request.getMethod(), request, null);
+        }
+        return api.withContext(api.validator.validate(request, response, api.basePathIn(request.getPath())));
+    }
+
+    /**
+     * Validate the given request against the API it is for.
+     *
+     * @param request The request to validate (required)
+     *
+     * @return The outcome of the request validation
+     *
+     * @see OpenApiInteractionValidator#validateRequest(Request)
+     */
+    @Nonnull
+    public ValidationReport validateRequest(@Nonnull final Request request) {
+        requireNonNull(request, "A request is required");
+
+        final Api api = apis.find(request.getPath());
+        if (api == null) {
+            return missingPath(request.getPath(), request.getMethod(), request, null);
+        }
+        return api.withContext(api.validator.validateRequest(request, api.basePathIn(request.getPath())));
+    }
+
+    /**
+     * Validate the given response against the API the request was for.
+     *
+     * @param path The request path (required)
+     * @param method The request method (required)
+     * @param response The response to validate (required)
+     *
+     * @return The outcome of the response validation
+     *
+     * @see OpenApiInteractionValidator#validateResponse(String, Request.Method, Response)
+     */
+    @Nonnull
+    public ValidationReport validateResponse(@Nonnull final String path, @Nonnull final Request.Method method,
+                                             @Nonnull final Response response) {
+        requireNonNull(path, "A path is required");
+        requireNonNull(method, "A method is required");
+        requireNonNull(response, "A response is required");
+
+        final Api api = apis.find(path);
+        if (api == null) {
+            return missingPath(path, method, null, response);
+        }
+        return api.withContext(api.validator.validateResponse(path, method, response, api.basePathIn(path)));
+    }
+
+    private ValidationReport missingPath(final String path, final Request.Method method,
+                                         @Nullable final Request request, @Nullable final Response response) {
+        final ValidationReport.Message message = messages.get("validation.request.path.missing", path)
+                .withAdditionalContext(MessageContext.create()
+                        .withRequestPath(path)
+                        .withRequestMethod(method)
+                        .build());
+        final Optional<NamedWhitelistRule> rule = whitelist.whitelistedBy(message, null, request, response);
+        if (!rule.isPresent()) {
+            return ValidationReport.singleton(message);
+        }
+        return ValidationReport.singleton(message
+                .withLevel(ValidationReport.Level.IGNORE)
+                .withAdditionalContext(MessageContext.create().withAppliedWhitelistRule(rule.get()).build()));
+    }
+
+    /**
+     * A single API, on one of its base paths.
+     */
+    private static final class Api {
+        private final String name;
+        private final OpenApiInteractionValidator validator;
+        private final String basePath;
+        private final MessageContext context;
+
+        private Api(final String name, final OpenApiInteractionValidator validator, final String basePath) {
+            this.name = name;
+            this.validator = validator;
+            this.basePath = basePath;
+            this.context = MessageContext.create().withApiName(name).build();
+        }
+
+        /**
+         * @return The base path of this API as it appears in the given request path, which may differ in case
+         */
+        private String basePathIn(final String path) {
+            if (!path.startsWith(basePath) && path.regionMatches(true, 0, basePath, 0, basePath.length())) {
+                return path.substring(0, basePath.length());
+            }
+            return basePath;
+        }
+
+        private ValidationReport withContext(final ValidationReport report) {
+            return report.withAdditionalContext(context);
+        }
+    }
+
+    /**
+     * A prefix index of APIs by the segments of their base paths.
+     */
+    private static final class BasePathIndex {
+        private final Map<String, BasePathIndex> children = new HashMap<>();
+        @Nullable
+        private Api api;
+
+        private void add(final Api api) {
+            BasePathIndex node = this;
+            for (final String segment : api.basePath.split("/")) {
+                if (!segment.isEmpty()) {
+                    node = node.children.computeIfAbsent(foldCase(segment), s -> new BasePathIndex());
+                }
+            }
+            if (node.api != null) {
+                log.warn("API '{}' and API '{}' are both served on base path '{}'. Using '{}'.",
+                        node.api.name, api.name, api.basePath, node.api.name);
+                return;
+            }
+            node.api = api;
+        }
+
+        /**
+         * Find the API with the longest base path that is a prefix of the given request path.
+         * <p>
+         * Base paths are matched case-insensitively, as are the API paths.
+         */
+        @Nullable
+        private Api find(final String path) {
+            BasePathIndex node = this;
+            Api match = api;
+            int start = 0;
+            while (start < path.length()) {
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                if (end > start) {
+                    node = node.children.get(foldCase(path.substring(start, end)));
+                    if (node == null) {
+                        break;
+                    }
+                    if (node.api != null) {
+                        match = node.api;
+                    }
+                }
+                start = end + 1;
+            }
+            return match;
+        }
+    }
+
+    public static class Builder {
+
+        private final Map<String, OpenApiInteractionValidator> validators = new LinkedHashMap<>();
+        private LevelResolver levelResolver = LevelResolver.defaultResolver();
+        private ValidationErrorsWhitelist whitelist = ValidationErrorsWhitelist.create();
+
+        /**
+         * Add an API to the composite validator.
+         * <p>
+         * The API will be used to validate interactions on any of its base paths.
+         *
+         * @param name A unique name for the API, reported in the context of validation messages (required)
+         * @param validator The validator for the API (required)
+         *
+         * @return this builder instance.
+         */
+        public Builder withApi(@Nonnull final String name, @Nonnull final OpenApiInteractionValidator validator) {
+            requireNonEmpty(name, "A name is required");
+            requireNonNull(validator, "A validator is required");
+            if (validators.putIfAbsent(name, validator) != null) {
+                throw new IllegalArgumentException("An API named '" + name + "' has already been added");
+            }
+            return this;
+        }
+
+        /**
+         * The resolver to use for resolving the level of messages for interactions that do not match any API.
+         * <p>
+         * Messages for interactions that match an API are resolved by the validator of that API.
+         *
+         * @param levelResolver The resolver to use
+         *
+         * @return this builder instance.
+         */
+        public Builder withLevelResolver(final LevelResolver levelResolver) {
+            this.levelResolver = levelResolver;
+            return this;
+        }
+
+        /**
+         * The whitelist to apply to messages for interactions that do not match any API.
+         * <p>
+         * Messages for interactions that match an API are whitelisted by the validator of that API.
+         *
+         * @param whitelist The whitelist to use
+         *
+         * @return this builder instance.
+         *
+         * @see OpenApiInteractionValidator.Builder#withWhitelist(ValidationErrorsWhitelist)
+         */
+        public Builder withWhitelist(final ValidationErrorsWhitelist whitelist) {
+            this.whitelist = whitelist;
+            return this;
+        }
+
+        /**
+         * Build a configured {@link CompositeOpenApiInteractionValidator} instance with the values collected in this builder.
+         *
+         * @return The configured {@link CompositeOpenApiInteractionValidator} instance.
+         */
+        public CompositeOpenApiInteractionValidator build() {
+            final BasePathIndex index = new BasePathIndex();
+            validators.forEach((name, validator) ->
+                    validator.getBasePaths().forEach(basePath -> index.add(new Api(name, validator, basePath)))
+            );
+            return new CompositeOpenApiInteractionValidator(
+                    index,
+                    new MessageResolver(levelResolver == null ? LevelResolver.defaultResolver() : levelResolver),
+                    whitelist == null ? ValidationErrorsWhitelist.create() : whitelist
+            );
+        }
+    }
+}
@@ -7,18 +7,26 @@ import com.atlassian.oai.validator.interaction.response.CustomResponseValidator;
 import com.atlassian.oai.validator.interaction.response.ResponseValidator;
 import com.atlassian.oai.validator.model.ApiOperation;
 import com.atlassian.oai.validator.model.ApiOperationMatch;
+import com.atlassian.oai.validator.model.ApiOperationReference;
 import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.model.Response;
 import com.atlassian.oai.validator.report.LevelResolver;
 import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.ValidationReport;
 import com.atlassian.oai.validator.report.ValidationReport.MessageContext;
+import com.atlassian.oai.validator.schema.JsonSchemaFactoryEngine;
+import com.atlassian.oai.validator.schema.SchemaCompilationMode;
+import com.atlassian.oai.validator.schema.SchemaCompilationResult;
+import com.atlassian.oai.validator.schema.SchemaEngine;
+import com.atlassian.oai.validator.schema.SchemaEngineProvider;
 import com.atlassian.oai.validator.schema.SchemaValidator;
 import com.atlassian.oai.validator.schema.SwaggerV20Library;
 import com.atlassian.oai.validator.schema.ValidationConfiguration;
 import com.atlassian.oai.validator.util.OpenApiLoader;
+import com.atlassian.oai.validator.whitelist.NamedWhitelistRule;
 import com.atlassian.oai.validator.whitelist.ValidationErrorsWhitelist;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.google.common.cache.CacheStats;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import io.swagger.v3.parser.core.models.ParseOptions;
@@ -27,13 +35,19 @@ import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
+import static com.atlassian.oai.validator.report.ValidationReportAccumulator.withContext;
 import static com.atlassian.oai.validator.util.StringUtils.requireNonEmpty;
+import static com.google.common.base.Suppliers.memoize;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
@@ -52,9 +66,11 @@ public class OpenApiInteractionValidator {
     private final MessageResolver messages;
 
     private final ApiOperationResolver apiOperationResolver;
+    private final SchemaValidator schemaValidator;
     private final RequestValidator requestValidator;
     private final ResponseValidator responseValidator;
     private final ValidationErrorsWhitelist whitelist;
+    private final boolean failFast;
 
     /**
      * Create a new instance using the OpenAPI / Swagger specification at the given location OR an actual specification payload.
@@ -151,17 +167,21 @@ public class OpenApiInteractionValidator {
                                         @Nullable final String basePathOverride,
                                         @Nonnull final MessageResolver messages,
                                         @Nonnull final ValidationErrorsWhitelist whitelist,
-                                        @Nonnull final Supplier<JsonSchemaFactory> schemaFactorySupplier,
+                                        @Nonnull final SchemaEngine schemaEngine,
                                         @Nonnull final List<CustomRequestValidator> customRequestValidators,
                                         @Nonnull final List<CustomResponseValidator> customResponseValidators,
                                         @Nonnull final ValidationConfiguration validationConfiguration,
-                                        final boolean strictOperationPathMatching) {
+                                        final boolean strictOperationPathMatching,
+                                        final int operationResolutionCacheSize,
+                                        @Nonnull final SchemaCompilationMode schemaCompilationMode) {
         this.messages = messages;
-        apiOperationResolver = new ApiOperationResolver(api, basePathOverride, strictOperationPathMatching);
-        final SchemaValidator schemaValidator = new SchemaValidator(api, messages, schemaFactorySupplier, validationConfiguration);
+        apiOperationResolver = new ApiOperationResolver(api, basePathOverride, strictOperationPathMatching, operationResolutionCacheSize);
+        schemaValidator = new SchemaValidator(api, messages, schemaEngine, validationConfiguration);
+        schemaValidator.precompile(api, schemaCompilationMode);
         requestValidator = new RequestValidator(schemaValidator, messages, api, customRequestValidators);
         responseValidator = new ResponseValidator(schemaValidator, messages, api, customResponseValidators);
         this.whitelist = whitelist;
+        this.failFast = validationConfiguration.isFailFast();
     }
 
     /**
@@ -183,9 +203,7 @@ public class OpenApiInteractionValidator {
         return validateOnApiOperation(
                 request.getPath(),
                 request.getMethod(),
-                apiOperation ->
-                        requestValidator.validateRequest(request, apiOperation)
-                                .merge(responseValidator.validateResponse(response, apiOperation)),
+                apiOperation -> validateInteractionOn(apiOperation, request, response),
                 (apiOperation, report) -> withWhitelistApplied(report, apiOperation, request, response));
         //CHECKSTYLE:ON Indentation
     }
@@ -207,7 +225,7 @@ public class OpenApiInteractionValidator {
         return validateOnApiOperation(
                 request.getPath(),
                 request.getMethod(),
-                apiOperation -> requestValidator.validateRequest(request, apiOperation),
+                apiOperation -> validateRequestOn(apiOperation, request),
                 (apiOperation, report) -> withWhitelistApplied(report, apiOperation, request, null));
         //CHECKSTYLE:ON Indentation
     }
@@ -234,59 +252,313 @@ public class OpenApiInteractionValidator {
         return validateOnApiOperation(
                 path,
                 method,
-                apiOperation -> responseValidator.validateResponse(response, apiOperation),
+                apiOperation -> validateResponseOn(apiOperation, response),
                 (apiOperation, report) -> withWhitelistApplied(report, apiOperation, null, response));
         //CHECKSTYLE:ON Indentation
     }
 
+    /**
+     * Validate the given request against the identified API operation.
+     * <p>
+     * Use this where the API operation the request is on is already known (e.g. from the route matched by a
+     * web framework). The request path is not matched against the paths in the API.
+     *
+     * @param request The request to validate (required)
+     * @param operation The API operation the request is on (required)
+     *
+     * @return The outcome of the request validation
+     *
+     * @see #validateRequest(Request, ApiOperationReference, Map)
+     */
+    @Nonnull
+    public ValidationReport validateRequest(@Nonnull final Request request,
+                                            @Nonnull final ApiOperationReference operation) {
+        return validateRequest(request, operation, null);
+    }
+
+    /**
+     * Validate the given request against the identified API operation, using path parameter values that have
+     * already been resolved by the caller.
+     * <p>
+     * Use this where the API operation the request is on, and its path parameter values, are already known
+     * (e.g. from the route matched by a web framework). The request path is not matched against the paths in the API.
+     *
+     * @param request The request to validate (required)
+     * @param operation The API operation the request is on (required)
+     * @param pathParameterValues (Optional) The path parameter values of the request, keyed by the parameter names in
+     * the path template of the given reference. If not provided, values are extracted from the request path.
+     *
+     * @return The outcome of the request validation
+     */
+    @Nonnull
+    public ValidationReport validateRequest(@Nonnull final Request request,
+                                            @Nonnull final ApiOperationReference operation,
+                                            @Nullable final Map<String, String> pathParameterValues) {
+        requireNonNull(request, "A request is required");
+        requireNonNull(operation, "An operation reference is required");
+
+        //CHECKSTYLE:OFF Indentation
+        return validateOnApiOperation(
+                request.getPath(),
+                request.getMethod(),
+                apiOperationResolver.findApiOperation(operation, request.getPath(), pathParameterValues),
+                apiOperation -> validateRequestOn(apiOperation, request),
+                (apiOperation, report) -> withWhitelistApplied(report, apiOperation, request, null));
+        //CHECKSTYLE:ON Indentation
+    }
+
+    /**
+     * Validate the given response against the identified API operation.
+     * <p>
+     * Use this where the API operation the response is for is already known (e.g. from the route matched by a
+     * web framework). The request path is not matched against the paths in the API.
+     *
+     * @param path The request path (required)
+     * @param method The request method (required)
+     * @param operation The API operation the request was on (required)
+     * @param response The response to validate (required)
+     *
+     * @return The outcome of the response validation
+     */
+    @Nonnull
+    public ValidationReport validateResponse(@Nonnull final String path, @Nonnull final Request.Method method,
+                                             @Nonnull final ApiOperationReference operation,
+                                             @Nonnull final Response response) {
+        requireNonNull(path, "A path is required");
+        requireNonNull(method, "A method is required");
+        requireNonNull(operation, "An operation reference is required");
+        requireNonNull(response, "A response is required");
+
+        //CHECKSTYLE:OFF Indentation
+        return validateOnApiOperation(
+                path,
+                method,
+                apiOperationResolver.findApiOperation(operation, path, null),
+                apiOperation -> validateResponseOn(apiOperation, response),
+                (apiOperation, report) -> withWhitelistApplied(report, apiOperation, null, response));
+        //CHECKSTYLE:ON Indentation
+    }
+
+    /**
+     * Returns whether the API defines the identified operation.
+     * <p>
+     * Can be used by framework adapters to decide whether a route can be validated directly against an operation,
+     * or whether the request path should be matched against the paths in the API instead.
+     *
+     * @param operation The reference to the API operation (required)
+     *
+     * @return {@code true} if the API defines the referenced operation
+     */
+    public boolean hasApiOperation(@Nonnull final ApiOperationReference operation) {
+        requireNonNull(operation, "An operation reference is required");
+        return apiOperationResolver.hasApiOperation(operation);
+    }
+
+    /**
+     * Validate the given request/response against the API, where the request is on the given base path of the API.
+     *
+     * @see CompositeOpenApiInteractionValidator
+     */
+    @Nonnull
+    ValidationReport validate(@Nonnull final Request request, @Nonnull final Response response, @Nonnull final String basePath) {
+        //CHECKSTYLE:OFF Indentation
+        return validateOnApiOperation(
+                request.getPath(),
+                request.getMethod(),
+                apiOperationResolver.findApiOperation(request.getPath(), request.getMethod(), basePath),
+                apiOperation -> validateInteractionOn(apiOperation, request, response),
+                (apiOperation, report) -> withWhitelistApplied(report, apiOperation, request, response));
+        //CHECKSTYLE:ON Indentation
+    }
+
+    /**
+     * Validate the given request against the API, where the request is on the given base path of the API.
+     *
+     * @see CompositeOpenApiInteractionValidator
+     */
+    @Nonnull
+    ValidationReport validateRequest(@Nonnull final Request request, @Nonnull final String basePath) {
+        //CHECKSTYLE:OFF Indentation
+        return validateOnApiOperation(
+                request.getPath(),
+                request.getMethod(),
+                apiOperationResolver.findApiOperation(request.getPath(), request.getMethod(), basePath),
+                apiOperation -> validateRequestOn(apiOperation, request),
+                (apiOperation, report) -> withWhitelistApplied(report, apiOperation, request, null));
+        //CHECKSTYLE:ON Indentation
+    }
+
+    /**
+     * Validate the given response against the API, where the request was on the given base path of the API.
+     *
+     * @see CompositeOpenApiInteractionValidator
+     */
+    @Nonnull
+    ValidationReport validateResponse(@Nonnull final String path, @Nonnull final Request.Method method,
+                                      @Nonnull final Response response, @Nonnull final String basePath) {
+        //CHECKSTYLE:OFF Indentation
+        return validateOnApiOperation(
+                path,
+                method,
+                apiOperationResolver.findApiOperation(path, method, basePath),
+                apiOperation -> validateResponseOn(apiOperation, response),
+                (apiOperation, report) -> withWhitelistApplied(report, apiOperation, null, response));
+        //CHECKSTYLE:ON Indentation
+    }
+
+    /**
+     * @return All of the base paths the API is served on
+     *
+     * @see ApiOperationResolver#getBasePaths()
+     */
+    @Nonnull
+    List<String> getBasePaths() {
+        return apiOperationResolver.getBasePaths();
+    }
+
+    /**
+     * Get statistics on the API operation resolution cache (hits, misses, evictions etc.), if it has been enabled.
+     *
+     * @return The current operation resolution cache statistics, or empty if the cache is not enabled.
+     *
+     * @see Builder#withOperationResolutionCache(int)
+     */
+    @Nonnull
+    public Optional<CacheStats> getOperationResolutionCacheStats() {
+        return apiOperationResolver.getResolutionCacheStats();
+    }
+
+    /**
+     * Get statistics on the compiled schema cache (hits, misses, load time, evictions etc.), if it has been enabled.
+     * <p>
+     * Frequent evictions indicate the cache is too small for the API, and schemas are being recompiled.
+     *
+     * @return The current schema cache statistics, or empty if the cache is not enabled.
+     *
+     * @see Builder#withSchemaValidationConfiguration(ValidationConfiguration)
+     */
+    @Nonnull
+    public Optional<CacheStats> getSchemaCacheStats() {
+        return schemaValidator.getCacheStats();
+    }
+
+    /**
+     * Get the outcome of precompiling the schemas defined in the API (the number of schemas compiled and the time taken).
+     *
+     * @return The outcome of schema precompilation, or empty if precompilation is not enabled or has not yet completed.
+     *
+     * @see Builder#withSchemaCompilation(SchemaCompilationMode)
+     */
+    @Nonnull
+    public Optional<SchemaCompilationResult> getSchemaCompilationResult() {
+        return schemaValidator.getCompilationResult();
+    }
+
     private ValidationReport validateOnApiOperation(@Nonnull final String path,
                                                     @Nonnull final Request.Method method,
                                                     @Nonnull final Function<ApiOperation, ValidationReport> validationFunction,
                                                     @Nonnull final BiFunction<ApiOperation, ValidationReport, ValidationReport> whitelistingFunction) {
+        return validateOnApiOperation(
+                path, method, apiOperationResolver.findApiOperation(path, method), validationFunction, whitelistingFunction
+        );
+    }
 
-        final MessageContext context = MessageContext.create()
-                .withRequestPath(path)
-                .withRequestMethod(method)
-                .build();
+    private ValidationReport validateOnApiOperation(@Nonnull final String path,
+                                                    @Nonnull final Request.Method method,
+                                                    @Nonnull final ApiOperationMatch apiOperationMatch,
+                                                    @Nonnull final Function<ApiOperation, ValidationReport> validationFunction,
+                                                    @Nonnull final BiFunction<ApiOperation, ValidationReport, ValidationReport> whitelistingFunction) {
 
-        final ApiOperationMatch apiOperationMatch = apiOperationResolver.findApiOperation(path, method);
         if (!apiOperationMatch.isPathFound()) {
             return whitelistingFunction.apply(null, ValidationReport.singleton(
-                    messages.get("validation.request.path.missing", path)).withAdditionalContext(context)
+                    messages.get("validation.request.path.missing", path)).withAdditionalContext(context(path, method))
             );
         }
 
         if (!apiOperationMatch.isOperationAllowed()) {
             return whitelistingFunction.apply(null, ValidationReport.singleton(
-                    messages.get("validation.request.operation.notAllowed", method, path)).withAdditionalContext(context)
+                    messages.get("validation.request.operation.notAllowed", method, path)).withAdditionalContext(context(path, method))
             );
         }
 
         final ApiOperation apiOperation = apiOperationMatch.getApiOperation();
-        return validationFunction
-                .andThen(report -> whitelistingFunction.apply(apiOperation, report))
-                .apply(apiOperation)
-                .withAdditionalContext(context);
+        return withContext(
+                whitelistingFunction.apply(apiOperation, validationFunction.apply(apiOperation)),
+                () -> context(path, method)
+        );
+    }
+
+    private static MessageContext context(final String path, final Request.Method method) {
+        return MessageContext.create()
+                .withRequestPath(path)
+                .withRequestMethod(method)
+                .build();
+    }
+
+    private ValidationReport validateRequestOn(@Nonnull final ApiOperation apiOperation,
+                                               @Nonnull final Request request) {
+        return requestValidator.validateRequest(request, apiOperation, failureCondition(apiOperation, request, null));
+    }
+
+    private ValidationReport validateResponseOn(@Nonnull final ApiOperation apiOperation,
+                                                @Nonnull final Response response) {
+        return responseValidator.validateResponse(response, apiOperation, failureCondition(apiOperation, null, response));
+    }
+
+    private ValidationReport validateInteractionOn(@Nonnull final ApiOperation apiOperation,
+                                                   @Nonnull final Request request,
+                                                   @Nonnull final Response response) {
+        final Predicate<ValidationReport> isFailure = failureCondition(apiOperation, request, response);
+        final ValidationReport requestReport = requestValidator.validateRequest(request, apiOperation, isFailure);
+        if (isFailure != null && isFailure.test(requestReport)) {
+            return requestReport;
+        }
+        return requestReport.merge(responseValidator.validateResponse(response, apiOperation, isFailure));
+    }
+
+    /**
+     * In fail-fast mode, the condition under which validation should stop: the report has an ERROR level message
+     * once whitelisting has been applied. Returns null if all validation steps should be run.
+     *
+     * @see ValidationConfiguration#isFailFast()
+     */
+    @Nullable
+    private Predicate<ValidationReport> failureCondition(@Nullable final ApiOperation operation,
+                                                         @Nullable final Request request,
+                                                         @Nullable final Response response) {
+        if (!failFast) {
+            return null;
+        }
+        return report -> report.hasErrors() && withWhitelistApplied(report, operation, request, response).hasErrors();
     }
 
     private ValidationReport withWhitelistApplied(final ValidationReport report,
                                                   @Nullable final ApiOperation operation,
                                                   @Nullable final Request request,
                                                   @Nullable final Response response) {
-        return ValidationReport.from(
-                report.getMessages().stream()
-                        .map(message -> whitelist
-                                .whitelistedBy(message, operation, request, response)
-                                .map(rule -> message
-                                        .withLevel(ValidationReport.Level.IGNORE)
-                                        .withAdditionalContext(
-                                                MessageContext.create()
-                                                        .withAppliedWhitelistRule(rule)
-                                                        .build()
-                                        )
-                                )
-                                .orElse(message))
-                        .collect(Collectors.toList()));
+        if (whitelist.isEmpty() || report.getMessages().isEmpty()) {
+            return report;
+        }
+
+        List<ValidationReport.Message> messages = null;
+        final List<ValidationReport.Message> reportMessages = report.getMessages();
+        for (int i = 0; i < reportMessages.size(); i++) {
+            final ValidationReport.Message message = reportMessages.get(i);
+            final Optional<NamedWhitelistRule> rule = whitelist.whitelistedBy(message, operation, request, response);
+            if (rule.isPresent()) {
+                if (messages == null) {
+                    messages = new ArrayList<>(reportMessages);
+                }
+                messages.set(i, message
+                        .withLevel(ValidationReport.Level.IGNORE)
+                        .withAdditionalContext(
+                                MessageContext.create()
+                                        .withAppliedWhitelistRule(rule.get())
+                                        .build()
+                        ));
+            }
+        }
+        return messages == null ? report : ValidationReport.from(messages);
     }
 
     /**
@@ -344,6 +616,22 @@ public class OpenApiInteractionValidator {
      * A builder used to createFor configured instances of the {@link OpenApiInteractionValidator}.
      */
     public static class Builder {
+
+        /**
+         * The system property that, when set to <code>true</code>, makes every builder use the {@link SchemaEngine}
+         * of the {@link SchemaEngineProvider} on the classpath (see {@link #withSchemaEngineProvider()}).
+         */
+        public static final String SCHEMA_ENGINE_PROVIDER_PROPERTY = "swagger.validator.schemaEngineProvider";
+
+        /**
+         * The first {@link SchemaEngineProvider} on the classpath, if any. Only looked up once, and only if a
+         * builder asks for it.
+         */
+        private static final Supplier<Optional<SchemaEngineProvider>> SCHEMA_ENGINE_PROVIDER = memoize(() -> {
+            final Iterator<SchemaEngineProvider> providers = ServiceLoader.load(SchemaEngineProvider.class).iterator();
+            return providers.hasNext() ? Optional.of(providers.next()) : Optional.empty();
+        });
+
         private SpecSource specSource;
         private String basePathOverride;
         private LevelResolver levelResolver = LevelResolver.defaultResolver();
@@ -353,10 +641,14 @@ public class OpenApiInteractionValidator {
         private final List<CustomRequestValidator> customRequestValidators = new ArrayList<>();
         private final List<CustomResponseValidator> customResponseValidators = new ArrayList<>();
         private OpenAPI api;
-        private Supplier<JsonSchemaFactory> schemaFactorySupplier = SwaggerV20Library::schemaFactory;
+        private Supplier<JsonSchemaFactory> schemaFactorySupplier;
+        private SchemaEngineProvider schemaEngineFactory;
+        private boolean schemaEngineFromProvider = Boolean.getBoolean(SCHEMA_ENGINE_PROVIDER_PROPERTY);
 
         private ValidationConfiguration validationConfiguration = new ValidationConfiguration();
         private boolean strictOperationPathMatching = false;
+        private int operationResolutionCacheSize = 0;
+        private SchemaCompilationMode schemaCompilationMode = SchemaCompilationMode.LAZY;
 
         /**
          * The location of the OpenAPI / Swagger specification to use in the validator, or the inline specification to use.
@@ -624,7 +916,11 @@ public class OpenApiInteractionValidator {
          * Optionally supply a function that returns a {@link com.github.fge.jsonschema.main.JsonSchemaFactory} to use.
          * <p>
          * Defaults to {@link SwaggerV20Library}'s `schemaFactory`, but this can be useful if you have additional
-         * extensions to add to {@link com.github.fge.jsonschema.library.Library}.
+         * extensions to add to {@link com.github.fge.jsonschema.library.Library}. If set, a {@link JsonSchemaFactoryEngine}
+         * using the factory is used, even if {@link #withSchemaEngineProvider()} is set.
+         * <p>
+         * Schema message limits (see {@link ValidationConfiguration#getMaxSchemaMessages()}) are then applied once each
+         * value has been validated, rather than as messages are logged.
          *
          * @param schemaFactorySupplier A supplier function that returns a JsonSchemaFactory.
          *
@@ -636,10 +932,48 @@ public class OpenApiInteractionValidator {
             return this;
         }
 
+        /**
+         * Optionally supply a function that creates the {@link SchemaEngine} (JSON Schema implementation) to validate
+         * request and response bodies, parameters and headers with.
+         * <p>
+         * Defaults to a {@link JsonSchemaFactoryEngine} using the factory from {@link #withSchemaFactorySupplier(Supplier)}.
+         * If set, the schema factory supplier and {@link #withSchemaEngineProvider()} are ignored.
+         *
+         * @param schemaEngineFactory A function that creates a schema engine using the given message resolver and
+         * validation configuration (see {@link #withSchemaValidationConfiguration(ValidationConfiguration)}).
+         *
+         * @return this builder instance
+         */
+        public Builder withSchemaEngine(final SchemaEngineProvider schemaEngineFactory) {
+            requireNonNull(schemaEngineFactory, "SchemaEngine factory is required");
+            this.schemaEngineFactory = schemaEngineFactory;
+            return this;
+        }
+
+        /**
+         * Use the {@link SchemaEngine} of the first {@link SchemaEngineProvider} found on the classpath, e.g. the
+         * engine of the <code>swagger-request-validator-jackson-schema</code> module, rather than the default
+         * {@link JsonSchemaFactoryEngine}.
+         * <p>
+         * A provider on the classpath is never used unless asked for, either with this method or by setting the
+         * {@value #SCHEMA_ENGINE_PROVIDER_PROPERTY} system property to <code>true</code>. Building the validator fails
+         * if no provider is found. An explicit {@link #withSchemaEngine(SchemaEngineProvider)} or
+         * {@link #withSchemaFactorySupplier(Supplier)} takes precedence.
+         *
+         * @return this builder instance
+         */
+        public Builder withSchemaEngineProvider() {
+            this.schemaEngineFromProvider = true;
+            return this;
+        }
+
         /**
          * Optionally supply a configuration to configure the following aspects of validation:
          * <ul>
          *     <li>The cache size of {@link com.github.fge.jsonschema.main.JsonSchema} in {@link com.atlassian.oai.validator.schema.SchemaValidator} </li>
+         *     <li>Whether validation stops at the first error (see {@link ValidationConfiguration#isFailFast()})</li>
+         *     <li>The maximum number of schema validation messages reported
+         *     (see {@link ValidationConfiguration#getMaxSchemaMessages()})</li>
          * </ul>
          * @param validationConfiguration The configuration for OpenApi validation.
          * @return this builder instance
@@ -659,6 +993,48 @@ public class OpenApiInteractionValidator {
             return this;
         }
 
+        /**
+         * Optionally enable caching of the API operations resolved for incoming requests.
+         * <p>
+         * Resolved operations are cached by request method and raw request path, up to the given maximum number of
+         * entries. Requests that do not match any operation are also cached. This can be useful where most
+         * traffic is for a small set of concrete URLs.
+         * <p>
+         * Disabled by default.
+         *
+         * @param maximumSize The maximum number of resolved operations to cache. If less than or equal to 0, caching is disabled.
+         *
+         * @return this builder instance
+         *
+         * @see OpenApiInteractionValidator#getOperationResolutionCacheStats()
+         */
+        public Builder withOperationResolutionCache(final int maximumSize) {
+            this.operationResolutionCacheSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Optionally compile the body, parameter and header schemas defined in the API ahead of validation, rather than
+         * when each is first used. This avoids the latency of compiling schemas being added to the first requests
+         * after the validator is created.
+         * <p>
+         * Compiled schemas are held in the schema cache, which should be large enough to hold every schema in the API
+         * (see {@link #withSchemaValidationConfiguration(ValidationConfiguration)}).
+         * <p>
+         * Defaults to {@link SchemaCompilationMode#LAZY}.
+         *
+         * @param schemaCompilationMode When to compile the schemas defined in the API
+         *
+         * @return this builder instance
+         *
+         * @see OpenApiInteractionValidator#getSchemaCompilationResult()
+         */
+        public Builder withSchemaCompilation(final SchemaCompilationMode schemaCompilationMode) {
+            requireNonNull(schemaCompilationMode, "A schema compilation mode is required");
+            this.schemaCompilationMode = schemaCompilationMode;
+            return this;
+        }
+
         /**
          * Build a configured {@link OpenApiInteractionValidator} instance with the values collected in this builder.
          *
@@ -671,16 +1047,35 @@ public class OpenApiInteractionValidator {
             if (api == null) {
                 this.api = new OpenApiLoader().loadApi(specSource, authData, parseOptions);
             }
+            final MessageResolver messages = new MessageResolver(levelResolver);
+            final SchemaEngine schemaEngine = createSchemaEngine(messages);
             return new OpenApiInteractionValidator(
                     api,
                     basePathOverride,
-                    new MessageResolver(levelResolver),
+                    messages,
                     whitelist,
-                    schemaFactorySupplier,
+                    schemaEngine,
                     customRequestValidators,
                     customResponseValidators,
                     validationConfiguration,
-                    strictOperationPathMatching);
+                    strictOperationPathMatching,
+                    operationResolutionCacheSize,
+                    schemaCompilationMode);
+        }
+
+        private SchemaEngine createSchemaEngine(final MessageResolver messages) {
+            if (schemaEngineFactory != null) {
+                return schemaEngineFactory.create(messages, validationConfiguration);
+            }
+            if (schemaFactorySupplier != null) {
+                return new JsonSchemaFactoryEngine(schemaFactorySupplier.get(), messages, validationConfiguration);
+            }
+            if (schemaEngineFromProvider) {
+                return SCHEMA_ENGINE_PROVIDER.get()
+                        .orElseThrow(() -> new IllegalStateException("No SchemaEngineProvider found on the classpath"))
+                        .create(messages, validationConfiguration);
+            }
+            return new JsonSchemaFactoryEngine(SwaggerV20Library.schemaFactoryBuilder(), messages, validationConfiguration);
         }
 
         private static ParseOptions defaultParseOptions() {
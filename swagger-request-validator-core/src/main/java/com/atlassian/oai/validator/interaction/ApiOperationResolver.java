@@ -2,36 +2,43 @@ package com.atlassian.oai.validator.interaction;
 
 import com.atlassian.oai.validator.model.ApiOperation;
 import com.atlassian.oai.validator.model.ApiOperationMatch;
+import com.atlassian.oai.validator.model.ApiOperationReference;
 import com.atlassian.oai.validator.model.ApiPath;
 import com.atlassian.oai.validator.model.ApiPathImpl;
 import com.atlassian.oai.validator.model.NormalisedPath;
 import com.atlassian.oai.validator.model.NormalisedPathImpl;
 import com.atlassian.oai.validator.model.Request;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
 import io.swagger.v3.oas.models.servers.Server;
+import io.swagger.v3.oas.models.servers.ServerVariable;
 import org.slf4j.Logger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import static java.lang.String.format;
-import static java.util.Collections.emptyList;
-import static java.util.Comparator.comparingInt;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -42,10 +49,28 @@ public class ApiOperationResolver {
 
     private static final Logger log = getLogger(ApiOperationResolver.class);
 
+    private static final int MAX_RESOLVED_TEMPLATES = 1000;
+
     private final String apiPrefix;
 
-    private final Map<Integer, List<ApiPath>> apiPathsGroupedByNumberOfParts;
-    private final Table<String, PathItem.HttpMethod, Operation> operations;
+    /** All base paths the API is served on, starting with the default prefix */
+    private final List<String> basePaths;
+
+    private final ApiPathTrie apiPaths;
+
+    /** API operations indexed by operationId, for direct lookup */
+    private final Map<String, DirectRoute> routesByOperationId = new HashMap<>();
+
+    /** API paths indexed by their template key, for direct lookup */
+    private final Map<String, DirectRoute> routesByTemplate = new HashMap<>();
+
+    /** Path template references resolved against the API paths */
+    private final Cache<ApiOperationReference, Optional<ResolvedTemplate>> resolvedTemplates = CacheBuilder.newBuilder()
+            .maximumSize(MAX_RESOLVED_TEMPLATES)
+            .build();
+
+    @Nullable
+    private final Cache<ResolutionKey, ApiOperationMatch> resolutionCache;
 
     /**
      * A utility for finding the best fitting API path.
@@ -57,21 +82,59 @@ public class ApiOperationResolver {
     public ApiOperationResolver(final OpenAPI api,
                                 @Nullable final String basePathOverride,
                                 final boolean strictPathMatching) {
+        this(api, basePathOverride, strictPathMatching, 0);
+    }
+
+    /**
+     * A utility for finding the best fitting API path, optionally caching the resolved matches.
+     * <p>
+     * If enabled, results are cached by request method and raw request path. This includes negative results
+     * (missing paths and operations that are not allowed).
+     *
+     * @param api the OpenAPI definition
+     * @param basePathOverride (Optional) override for the base path defined in the OpenAPI specification.
+     * @param strictPathMatching Enable strict path matching. If enabled, a trailing slash indicates a different path than without.
+     * @param resolutionCacheSize The maximum number of resolved matches to cache. If less than or equal to 0, caching is disabled.
+     */
+    public ApiOperationResolver(final OpenAPI api,
+                                @Nullable final String basePathOverride,
+                                final boolean strictPathMatching,
+                                final int resolutionCacheSize) {
 
         apiPrefix = ofNullable(basePathOverride).orElse(getBasePathFrom(api.getServers()));
-        final Paths apiPaths = ofNullable(api.getPaths()).orElse(new Paths());
+        final Set<String> allBasePaths = new LinkedHashSet<>();
+        allBasePaths.add(apiPrefix);
+        if (basePathOverride == null) {
+            allBasePaths.addAll(getBasePathsFrom(api.getServers()));
+        }
+        basePaths = unmodifiableList(new ArrayList<>(allBasePaths));
+        final Paths paths = ofNullable(api.getPaths()).orElse(new Paths());
+
+        // normalise all API paths and index them, together with their operations, by their path parts
+        apiPaths = new ApiPathTrie(strictPathMatching);
+        paths.forEach((pathKey, pathItem) -> {
+            final ApiPath apiPath = new ApiPathImpl(pathKey, apiPrefix, strictPathMatching);
+            final Map<PathItem.HttpMethod, Operation> operations = pathItem.readOperationsMap();
+            apiPaths.add(apiPath, operations);
 
-        // normalise all API paths and group them by their number of parts
-        apiPathsGroupedByNumberOfParts = apiPaths.keySet().stream()
-                .map(p -> new ApiPathImpl(p, apiPrefix, strictPathMatching))
-                .collect(groupingBy(NormalisedPath::numberOfParts));
+            // Index for direct lookup by template and operationId. First definition wins, as for path matching.
+            final DirectRoute route = new DirectRoute(apiPath, operations);
+            routesByTemplate.putIfAbsent(templateKey(apiPath.normalised()), route);
+            operations.forEach((method, operation) -> {
+                if (operation.getOperationId() != null) {
+                    routesByOperationId.putIfAbsent(operation.getOperationId(), route.forMethod(method));
+                }
+            });
+        });
 
-        // create a operation mapping for the API path and HTTP method
-        operations = HashBasedTable.create();
-        apiPaths.forEach((pathKey, apiPath) ->
-                apiPath.readOperationsMap().forEach((httpMethod, operation) ->
-                        operations.put(pathKey, httpMethod, operation))
-        );
+        if (resolutionCacheSize > 0) {
+            resolutionCache = CacheBuilder.newBuilder()
+                    .maximumSize(resolutionCacheSize)
+                    .recordStats()
+                    .build();
+        } else {
+            resolutionCache = null;
+        }
     }
 
     /**
@@ -85,44 +148,230 @@ public class ApiOperationResolver {
      */
     @Nonnull
     public ApiOperationMatch findApiOperation(final String path, final Request.Method method) {
+        return findApiOperation(path, method, apiPrefix);
+    }
 
-        // Try to find possible matching paths regardless of HTTP method
+    /**
+     * Tries to find the best fitting API path matching the given path and request method, where the request is on
+     * the given base path of the API rather than the default.
+     *
+     * @param path the requests path to find in API definition
+     * @param method the {@link Request.Method} for the request
+     * @param basePath the base path the request is on. Usually one of {@link #getBasePaths()}.
+     *
+     * @return a {@link ApiOperationMatch} containing the information if the path is defined, the operation
+     * is allowed and having the necessary {@link ApiOperation} if applicable
+     */
+    @Nonnull
+    public ApiOperationMatch findApiOperation(final String path, final Request.Method method, final String basePath) {
+        if (resolutionCache == null) {
+            return resolveApiOperation(path, method, basePath);
+        }
+
+        final ResolutionKey key = new ResolutionKey(method, path, basePath);
+        final ApiOperationMatch cached = resolutionCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final ApiOperationMatch result = resolveApiOperation(path, method, basePath);
+        resolutionCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Get all of the base paths the API is served on.
+     * <p>
+     * If a base path override was given this is the only base path. Otherwise this includes the base path of every
+     * server defined in the API, with server variables expanded to each of their <code>enum</code> values.
+     * The first entry is always the default base path used by {@link #findApiOperation(String, Request.Method)}.
+     *
+     * @return the base paths of the API
+     */
+    @Nonnull
+    public List<String> getBasePaths() {
+        return basePaths;
+    }
+
+    /**
+     * Find the API operation identified by the given reference, without matching the request path against the
+     * paths in the API.
+     * <p>
+     * Path parameter values resolved by the caller can be supplied, keyed by the parameter names used in the
+     * reference path template (or the API path, for references by operationId). Where names differ from those in the
+     * API path they are mapped by position.
+     *
+     * @param reference the reference identifying the operation in the API definition
+     * @param path the path of the request
+     * @param pathParameterValues (Optional) the resolved path parameter values of the request
+     *
+     * @return a {@link ApiOperationMatch} containing the information if the operation is defined, and the
+     * {@link ApiOperation} if so
+     */
+    @Nonnull
+    public ApiOperationMatch findApiOperation(@Nonnull final ApiOperationReference reference,
+                                              @Nonnull final String path,
+                                              @Nullable final Map<String, String> pathParameterValues) {
         final NormalisedPath requestPath = new NormalisedPathImpl(path, apiPrefix);
-        final List<ApiPath> matchingPaths = apiPathsGroupedByNumberOfParts
-                .getOrDefault(requestPath.numberOfParts(), emptyList()).stream()
-                .filter(p -> p.matches(requestPath))
-                .collect(toList());
 
-        if (matchingPaths.isEmpty()) {
-            return ApiOperationMatch.MISSING_PATH;
+        if (reference.getOperationId().isPresent()) {
+            final DirectRoute route = routesByOperationId.get(reference.getOperationId().get());
+            if (route == null) {
+                return ApiOperationMatch.MISSING_PATH;
+            }
+            return new ApiOperationMatch(new ApiOperation(
+                    route.apiPath, requestPath, route.method, route.getOperation(route.method), pathParameterValues, false
+            ));
         }
 
-        // Try to find the operation which fits the HTTP method,
-        final PathItem.HttpMethod httpMethod = PathItem.HttpMethod.valueOf(method.name());
-        final List<ApiPath> matchingPathAndMethod = matchingPaths.stream()
-                .filter(apiPath -> operations.contains(apiPath.original(), httpMethod))
-                .collect(toList());
+        final Optional<ResolvedTemplate> resolved = resolveTemplate(reference);
+        if (!resolved.isPresent()) {
+            return ApiOperationMatch.MISSING_PATH;
+        }
 
-        if (matchingPathAndMethod.isEmpty()) {
+        final PathItem.HttpMethod httpMethod = PathItem.HttpMethod.valueOf(reference.getMethod().get().name());
+        final Operation operation = resolved.get().route.getOperation(httpMethod);
+        if (operation == null) {
             return ApiOperationMatch.NOT_ALLOWED_OPERATION;
         }
+        return new ApiOperationMatch(new ApiOperation(
+                resolved.get().route.apiPath,
+                requestPath,
+                httpMethod,
+                operation,
+                resolved.get().mapParameterNames(pathParameterValues),
+                false
+        ));
+    }
 
-        // Now look for exact matches first
-        final Optional<ApiPath> exactMatch = matchingPathAndMethod.stream()
-                .filter(apiPath -> apiPath.normalised().equalsIgnoreCase(requestPath.normalised()))
-                .findFirst();
+    /**
+     * Returns whether the API defines the operation identified by the given reference.
+     *
+     * @param reference the reference identifying the operation in the API definition
+     *
+     * @return {@code true} if the API defines the referenced operation
+     */
+    public boolean hasApiOperation(@Nonnull final ApiOperationReference reference) {
+        if (reference.getOperationId().isPresent()) {
+            return routesByOperationId.containsKey(reference.getOperationId().get());
+        }
+        final PathItem.HttpMethod httpMethod = PathItem.HttpMethod.valueOf(reference.getMethod().get().name());
+        return resolveTemplate(reference)
+                .map(resolved -> resolved.route.getOperation(httpMethod) != null)
+                .orElse(false);
+    }
 
-        if (exactMatch.isPresent()) {
-            return new ApiOperationMatch(new ApiOperation(exactMatch.get(), requestPath, httpMethod, operations.get(exactMatch.get().original(), httpMethod)));
+    @Nonnull
+    private Optional<ResolvedTemplate> resolveTemplate(final ApiOperationReference reference) {
+        try {
+            return resolvedTemplates.get(reference, () -> {
+                final String template = new NormalisedPathImpl(reference.getPathTemplate().get(), apiPrefix).normalised();
+                final DirectRoute route = routesByTemplate.get(templateKey(template));
+                if (route == null) {
+                    return Optional.empty();
+                }
+                return Optional.of(new ResolvedTemplate(route, templateParamNames(template)));
+            });
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Unable to resolve path template " + reference.getPathTemplate().get(), e.getCause());
         }
+    }
 
-        // Finally, use the specificity score to find the most likely match
-        final Optional<ApiPath> scoredMatch = matchingPathAndMethod.stream()
-                .max(comparingInt(ApiOperationResolver::specificityScore));
+    /**
+     * Get the key used to index a path template for direct lookup.
+     * <p>
+     * Path parameters are reduced to an empty <code>{}</code> so that templates that differ only in parameter names
+     * (or in framework-specific parameter patterns e.g. <code>{id:[0-9]+}</code>) share a key.
+     */
+    @VisibleForTesting
+    static String templateKey(final String template) {
+        final StringBuilder key = new StringBuilder(template.length());
+        int depth = 0;
+        for (int i = 0; i < template.length(); i++) {
+            final char c = template.charAt(i);
+            if (c == '{') {
+                if (depth++ == 0) {
+                    key.append('{');
+                }
+            } else if (c == '}' && depth > 0) {
+                if (--depth == 0) {
+                    key.append('}');
+                }
+            } else if (depth == 0) {
+                key.append(c);
+            }
+        }
+        return key.toString().toLowerCase(Locale.ENGLISH);
+    }
 
-        return scoredMatch
-                .map(match -> new ApiOperationMatch(new ApiOperation(match, requestPath, httpMethod, operations.get(match.original(), httpMethod))))
-                .orElse(ApiOperationMatch.NOT_ALLOWED_OPERATION);
+    /**
+     * Get the names of the path parameters in the given template, in the order they appear.
+     */
+    private static List<String> templateParamNames(final String template) {
+        final List<String> names = new ArrayList<>();
+        int depth = 0;
+        int start = -1;
+        for (int i = 0; i < template.length(); i++) {
+            final char c = template.charAt(i);
+            if (c == '{') {
+                if (depth++ == 0) {
+                    start = i + 1;
+                }
+            } else if (c == '}' && depth > 0 && --depth == 0) {
+                final String name = template.substring(start, i);
+                final int patternStart = name.indexOf(':');
+                names.add(patternStart < 0 ? name : name.substring(0, patternStart));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Get statistics on the cache of resolved matches (hits, misses, evictions etc.), if caching is enabled.
+     *
+     * @return The current resolution cache statistics, or empty if caching is disabled.
+     */
+    @Nonnull
+    public Optional<CacheStats> getResolutionCacheStats() {
+        return ofNullable(resolutionCache).map(Cache::stats);
+    }
+
+    @Nonnull
+    private ApiOperationMatch resolveApiOperation(final String path, final Request.Method method, final String basePath) {
+
+        // Try to find possible matching paths regardless of HTTP method
+        final NormalisedPath requestPath = new NormalisedPathImpl(path, basePath);
+        final List<ApiPathTrie.Route> matchingPaths = apiPaths.findMatching(requestPath);
+
+        if (matchingPaths.isEmpty()) {
+            return ApiOperationMatch.MISSING_PATH;
+        }
+
+        // Of the paths which fit the HTTP method, look for exact matches first and otherwise
+        // use the specificity score to find the most likely match.
+        // Ties are resolved in favour of the path defined first in the spec.
+        final PathItem.HttpMethod httpMethod = PathItem.HttpMethod.valueOf(method.name());
+        ApiPathTrie.Route exactMatch = null;
+        ApiPathTrie.Route scoredMatch = null;
+        for (final ApiPathTrie.Route route : matchingPaths) {
+            if (route.getOperation(httpMethod) == null) {
+                continue;
+            }
+            if (route.getApiPath().normalised().equalsIgnoreCase(requestPath.normalised())) {
+                if (exactMatch == null || route.getOrder() < exactMatch.getOrder()) {
+                    exactMatch = route;
+                }
+            } else if (scoredMatch == null
+                    || route.getSpecificityScore() > scoredMatch.getSpecificityScore()
+                    || route.getSpecificityScore() == scoredMatch.getSpecificityScore() && route.getOrder() < scoredMatch.getOrder()) {
+                scoredMatch = route;
+            }
+        }
+
+        final ApiPathTrie.Route match = exactMatch != null ? exactMatch : scoredMatch;
+        if (match == null) {
+            return ApiOperationMatch.NOT_ALLOWED_OPERATION;
+        }
+        return new ApiOperationMatch(new ApiOperation(match.getApiPath(), requestPath, httpMethod, match.getOperation(httpMethod)));
     }
 
     /**
@@ -136,7 +385,7 @@ public class ApiOperationResolver {
      * @return a score >= 0 that indicates how 'specific' the path definition is. Higher numbers indicate more specific
      * definitions (e.g. fewer path variables).
      */
-    private static int specificityScore(final ApiPath apiPath) {
+    static int specificityScore(final ApiPath apiPath) {
         // Return the length of the path, with path vars counting as 1.
         return apiPath.normalised().replaceAll("\\{.+?}", "").length();
     }
@@ -165,6 +414,56 @@ public class ApiOperationResolver {
                 .orElse("/");
     }
 
+    /**
+     * Determine all of the 'base paths' of the given API.
+     * <p>
+     * Returns the base path of every server definition in the spec, in the order they are defined. Server variables
+     * with an <code>enum</code> are expanded to each of their values; other variables use their default value.
+     *
+     * @param servers The OpenAPI servers definition to get the base paths from
+     *
+     * @return the distinct base paths of all server definitions in the spec.
+     */
+    @VisibleForTesting
+    @Nonnull
+    static List<String> getBasePathsFrom(@Nullable final List<Server> servers) {
+        if (servers == null || servers.isEmpty()) {
+            return singletonList("/");
+        }
+        final Set<String> result = new LinkedHashSet<>();
+        servers.stream()
+                .filter(Objects::nonNull)
+                .flatMap(server -> expandUrlVariables(server).stream())
+                .map(ApiOperationResolver::gePathFrom)
+                .filter(Objects::nonNull)
+                .forEach(result::add);
+        return result.isEmpty() ? singletonList("/") : new ArrayList<>(result);
+    }
+
+    private static List<String> expandUrlVariables(final Server server) {
+        if (server.getUrl() == null) {
+            return singletonList("/");
+        }
+        List<String> result = singletonList(server.getUrl());
+        if (server.getVariables() == null) {
+            return result;
+        }
+        for (final Map.Entry<String, ServerVariable> variable : server.getVariables().entrySet()) {
+            final String placeholder = format("{%s}", variable.getKey());
+            final List<String> values = variable.getValue().getEnum() == null || variable.getValue().getEnum().isEmpty()
+                    ? singletonList(defaultIfBlank(variable.getValue().getDefault(), ""))
+                    : variable.getValue().getEnum();
+            final List<String> expanded = new ArrayList<>(result.size() * values.size());
+            for (final String url : result) {
+                for (final String value : values) {
+                    expanded.add(url.replace(placeholder, defaultIfBlank(value, "")));
+                }
+            }
+            result = expanded;
+        }
+        return result;
+    }
+
     private static String gePathFrom(final String serverUrl) {
         try {
             return new URI(serverUrl).getPath();
@@ -189,4 +488,106 @@ public class ApiOperationResolver {
         return result;
     }
 
+    /**
+     * An API path and its operations, indexed for direct lookup.
+     */
+    private static final class DirectRoute {
+        private final ApiPath apiPath;
+        private final Map<PathItem.HttpMethod, Operation> operations;
+        private final List<String> paramNames;
+        @Nullable
+        private final PathItem.HttpMethod method;
+
+        private DirectRoute(final ApiPath apiPath, final Map<PathItem.HttpMethod, Operation> operations) {
+            this(apiPath, operations, null);
+        }
+
+        private DirectRoute(final ApiPath apiPath,
+                            final Map<PathItem.HttpMethod, Operation> operations,
+                            @Nullable final PathItem.HttpMethod method) {
+            this.apiPath = apiPath;
+            this.operations = operations;
+            this.method = method;
+
+            final List<String> paramNames = new ArrayList<>();
+            for (int i = 0; i < apiPath.numberOfParts(); i++) {
+                if (apiPath.hasParams(i)) {
+                    paramNames.addAll(apiPath.paramNames(i));
+                }
+            }
+            this.paramNames = paramNames;
+        }
+
+        private DirectRoute forMethod(final PathItem.HttpMethod method) {
+            return new DirectRoute(apiPath, operations, method);
+        }
+
+        @Nullable
+        private Operation getOperation(final PathItem.HttpMethod method) {
+            return operations.get(method);
+        }
+    }
+
+    /**
+     * A path template resolved against an API path, with a mapping of the template's parameter names to those
+     * of the API path where they differ.
+     */
+    private static final class ResolvedTemplate {
+        private final DirectRoute route;
+        @Nullable
+        private final Map<String, String> parameterNames;
+
+        private ResolvedTemplate(final DirectRoute route, final List<String> templateParamNames) {
+            this.route = route;
+            if (templateParamNames.equals(route.paramNames) || templateParamNames.size() != route.paramNames.size()) {
+                this.parameterNames = null;
+            } else {
+                this.parameterNames = new HashMap<>();
+                for (int i = 0; i < templateParamNames.size(); i++) {
+                    this.parameterNames.put(templateParamNames.get(i), route.paramNames.get(i));
+                }
+            }
+        }
+
+        @Nullable
+        private Map<String, String> mapParameterNames(@Nullable final Map<String, String> values) {
+            if (values == null || parameterNames == null) {
+                return values;
+            }
+            final Map<String, String> result = new HashMap<>();
+            values.forEach((name, value) -> result.put(parameterNames.getOrDefault(name, name), value));
+            return result;
+        }
+    }
+
+    private static final class ResolutionKey {
+        private final Request.Method method;
+        private final String path;
+        private final String basePath;
+        private final int hash;
+
+        private ResolutionKey(final Request.Method method, final String path, final String basePath) {
+            this.method = method;
+            this.path = path;
+            this.basePath = basePath;
+            this.hash = 31 * (31 * method.hashCode() + path.hashCode()) + basePath.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final ResolutionKey that = (ResolutionKey) o;
+            return method == that.method && path.equals(that.path) && basePath.equals(that.basePath);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
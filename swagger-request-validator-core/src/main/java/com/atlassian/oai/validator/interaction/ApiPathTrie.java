@@ -0,0 +1,195 @@
+package com.atlassian.oai.validator.interaction;
+
+import com.atlassian.oai.validator.model.ApiPath;
+import com.atlassian.oai.validator.model.NormalisedPath;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.atlassian.oai.validator.util.StringUtils.foldCase;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A segment trie over the API paths defined in a specification, used to find the API paths that match
+ * a given request path.
+ * <p>
+ * Literal path parts are held in a hash map keyed on their case-folded value. Templated path parts are held
+ * as separate children - a single child for parts that consist of one path param (e.g. <code>{id}</code>) and a
+ * child per template for parts that mix literals and params (e.g. <code>{id}.json</code>), matched using the
+ * template matcher precompiled on the {@link ApiPath}.
+ * <p>
+ * The trie is built once, so the cost of a lookup depends on the depth of the request path rather than on
+ * the number of paths defined in the specification.
+ */
+final class ApiPathTrie {
+
+    private static final char PARAM_START = '{';
+    private static final char PARAM_END = '}';
+
+    private final boolean strictPathMatching;
+    private final Node root = new Node();
+    private int numberOfRoutes = 0;
+
+    /**
+     * @param strictPathMatching If true, a trailing slash indicates a different path than without.
+     */
+    ApiPathTrie(final boolean strictPathMatching) {
+        this.strictPathMatching = strictPathMatching;
+    }
+
+    /**
+     * Add the given API path and its operations to the trie.
+     * <p>
+     * Paths should be added in the order they are defined in the specification - that order is used to break
+     * ties when selecting between multiple matching paths.
+     *
+     * @param apiPath The API path to add
+     * @param operations The operations defined on the API path
+     */
+    void add(@Nonnull final ApiPath apiPath, @Nonnull final Map<PathItem.HttpMethod, Operation> operations) {
+        requireNonNull(apiPath, "An API path is required");
+        Node node = root;
+        for (int i = 0; i < apiPath.numberOfParts(); i++) {
+            node = node.childFor(apiPath, i);
+        }
+        node.routes.add(new Route(apiPath, operations, numberOfRoutes++));
+    }
+
+    /**
+     * Find all routes whose API path matches the given request path, regardless of HTTP method.
+     *
+     * @param requestPath The normalised request path to match
+     *
+     * @return The matching routes, or an empty list if no API path matches the given request path
+     */
+    @Nonnull
+    List<Route> findMatching(@Nonnull final NormalisedPath requestPath) {
+        final List<Route> result = new ArrayList<>(2);
+        collectMatching(root, requestPath, 0, requestPath.original().endsWith("/"), result);
+        return result;
+    }
+
+    private void collectMatching(final Node node,
+                                 final NormalisedPath requestPath,
+                                 final int depth,
+                                 final boolean requestHasTrailingSlash,
+                                 final List<Route> result) {
+        if (depth == requestPath.numberOfParts()) {
+            for (final Route route : node.routes) {
+                if (!strictPathMatching || route.hasTrailingSlash == requestHasTrailingSlash) {
+                    result.add(route);
+                }
+            }
+            return;
+        }
+
+        final String requestPathPart = requestPath.part(depth);
+        final Node literalChild = node.literalChildren.get(foldCase(requestPathPart));
+        if (literalChild != null) {
+            collectMatching(literalChild, requestPath, depth + 1, requestHasTrailingSlash, result);
+        }
+        if (node.paramChild != null) {
+            collectMatching(node.paramChild, requestPath, depth + 1, requestHasTrailingSlash, result);
+        }
+        for (final TemplateChild templateChild : node.templateChildren.values()) {
+            if (templateChild.apiPath.partMatches(templateChild.index, requestPathPart)) {
+                collectMatching(templateChild.node, requestPath, depth + 1, requestHasTrailingSlash, result);
+            }
+        }
+    }
+
+    /**
+     * Whether the given path part consists of a single path param e.g. <code>{id}</code>.
+     */
+    private static boolean isSingleParam(final String part) {
+        return !part.isEmpty() && part.charAt(0) == PARAM_START && part.indexOf(PARAM_END) == part.length() - 1;
+    }
+
+    /**
+     * An API path, the operations defined on it and its precomputed ranking information.
+     */
+    static final class Route {
+        private final ApiPath apiPath;
+        private final Map<PathItem.HttpMethod, Operation> operations;
+        private final int order;
+        private final int specificityScore;
+        private final boolean hasTrailingSlash;
+
+        private Route(final ApiPath apiPath, final Map<PathItem.HttpMethod, Operation> operations, final int order) {
+            this.apiPath = apiPath;
+            this.operations = operations.isEmpty() ? operations : new EnumMap<>(operations);
+            this.order = order;
+            this.specificityScore = ApiOperationResolver.specificityScore(apiPath);
+            this.hasTrailingSlash = apiPath.original().endsWith("/");
+        }
+
+        /**
+         * @return The API path of this route
+         */
+        ApiPath getApiPath() {
+            return apiPath;
+        }
+
+        /**
+         * @return The operation defined for the given method on this route, or <code>null</code> if there is none
+         */
+        @Nullable
+        Operation getOperation(final PathItem.HttpMethod method) {
+            return operations.get(method);
+        }
+
+        /**
+         * @return The position of this route in the specification. Lower values were defined earlier.
+         */
+        int getOrder() {
+            return order;
+        }
+
+        /**
+         * @return The precomputed 'specificity' score of the API path
+         */
+        int getSpecificityScore() {
+            return specificityScore;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literalChildren = new HashMap<>();
+        private final Map<String, TemplateChild> templateChildren = new LinkedHashMap<>();
+        private final List<Route> routes = new ArrayList<>(1);
+        private Node paramChild;
+
+        private Node childFor(final ApiPath apiPath, final int index) {
+            final String part = apiPath.part(index);
+            if (!apiPath.hasParams(index)) {
+                return literalChildren.computeIfAbsent(foldCase(part), k -> new Node());
+            }
+            if (isSingleParam(part)) {
+                if (paramChild == null) {
+                    paramChild = new Node();
+                }
+                return paramChild;
+            }
+            return templateChildren.computeIfAbsent(part, k -> new TemplateChild(apiPath, index)).node;
+        }
+    }
+
+    private static final class TemplateChild {
+        private final ApiPath apiPath;
+        private final int index;
+        private final Node node = new Node();
+
+        private TemplateChild(final ApiPath apiPath, final int index) {
+            this.apiPath = apiPath;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.atlassian.oai.validator.interaction.request;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+
+import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.lang.Boolean.TRUE;
+
+/**
+ * The metadata of an array parameter needed to validate its values, resolved from the parameter definition.
+ *
+ * @see RequestValidationPlan#getArrayParameter(Parameter)
+ */
+final class ArrayParameter {
+
+    private final ArraySeparator separator;
+    @Nullable
+    private final Set<Object> enumValues;
+    @Nullable
+    private final Schema<?> items;
+    private final int minItems;
+    private final int maxItems;
+    private final boolean uniqueItems;
+
+    /**
+     * Resolve the array metadata of the given parameter.
+     *
+     * @param parameter The parameter to resolve the metadata of
+     *
+     * @return The array metadata of the parameter, or <code>null</code> if the parameter is not an array type
+     */
+    @Nullable
+    static ArrayParameter of(final Parameter parameter) {
+        if (!(parameter.getSchema() instanceof ArraySchema)) {
+            return null;
+        }
+        return new ArrayParameter(parameter);
+    }
+
+    private ArrayParameter(final Parameter parameter) {
+        final Schema<?> schema = parameter.getSchema();
+        separator = ArraySeparator.from(parameter);
+        enumValues = schema.getEnum() == null || schema.getEnum().isEmpty() ? null : new HashSet<>(schema.getEnum());
+        items = ((ArraySchema) schema).getItems();
+        minItems = schema.getMinItems() == null ? -1 : schema.getMinItems();
+        maxItems = schema.getMaxItems() == null ? -1 : schema.getMaxItems();
+        uniqueItems = TRUE.equals(schema.getUniqueItems());
+    }
+
+    ArraySeparator getSeparator() {
+        return separator;
+    }
+
+    @Nullable
+    Set<Object> getEnumValues() {
+        return enumValues;
+    }
+
+    @Nullable
+    Schema<?> getItems() {
+        return items;
+    }
+
+    /**
+     * @return The minimum number of items, or -1 if not constrained
+     */
+    int getMinItems() {
+        return minItems;
+    }
+
+    /**
+     * @return The maximum number of items, or -1 if not constrained
+     */
+    int getMaxItems() {
+        return maxItems;
+    }
+
+    boolean isUniqueItems() {
+        return uniqueItems;
+    }
+}
@@ -2,16 +2,14 @@ package com.atlassian.oai.validator.interaction.request;
 
 import io.swagger.v3.oas.models.parameters.Parameter;
 
-import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 import static io.swagger.v3.oas.models.parameters.Parameter.StyleEnum.FORM;
 import static io.swagger.v3.oas.models.parameters.Parameter.StyleEnum.SIMPLE;
-import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.removeStart;
 
 /**
@@ -22,7 +20,7 @@ class ArraySeparator {
     static ArraySeparator from(final Parameter parameter) {
         final Builder builder = new Builder()
                 .withParamName(parameter.getName())
-                .withSeparator(",");
+                .withSeparator(',');
 
         if (parameter.getStyle() == null) {
             // See https://github.com/swagger-api/swagger-parser/issues/690 - mapping from Swagger 2.0 isn't fully implemented yet
@@ -33,29 +31,29 @@ class ArraySeparator {
         final boolean explode = getExplodeFromParam(style, parameter);
         switch (style) {
             case SIMPLE:
-                builder.withSeparator(",");
+                builder.withSeparator(',');
                 break;
             case MATRIX:
                 builder.withPrefix(";");
                 if (explode) {
-                    builder.withSeparator(";").withEmbeddedParamName();
+                    builder.withSeparator(';').withEmbeddedParamName();
                 } else {
-                    builder.withSeparator(",").withLeadingParamName();
+                    builder.withSeparator(',').withLeadingParamName();
                 }
                 break;
             case LABEL:
-                builder.withSeparator("\\.").withPrefix(".");
+                builder.withSeparator('.').withPrefix(".");
                 break;
             case FORM:
                 if (explode) {
-                    builder.withSeparator(null).asMultiValueParam();
+                    builder.withoutSeparator().asMultiValueParam();
                 }
                 break;
             case SPACEDELIMITED:
-                builder.withSeparator(" ");
+                builder.withSeparator(' ');
                 break;
             case PIPEDELIMITED:
-                builder.withSeparator("\\|");
+                builder.withSeparator('|');
                 break;
             default:
         }
@@ -85,23 +83,26 @@ class ArraySeparator {
         return SIMPLE;
     }
 
+    private static final char NO_SEPARATOR = 0;
+
     private final String paramName;
+    private final String paramNamePrefix;
     private final String prefix;
 
-    @Nullable
-    private final String separator;
+    private final char separator;
 
     private final boolean isMultiValueParam;
     private final boolean expectEmbeddedParamName;
     private final boolean expectLeadingParamName;
 
     private ArraySeparator(final String paramName,
-                           @Nullable final String separator,
+                           final char separator,
                            final String prefix,
                            final boolean isMultiValueParam,
                            final boolean expectEmbeddedParamName,
                            final boolean expectLeadingParamName) {
         this.paramName = paramName;
+        this.paramNamePrefix = paramName + "=";
         this.separator = separator;
         this.prefix = prefix;
         this.isMultiValueParam = isMultiValueParam;
@@ -114,7 +115,7 @@ class ArraySeparator {
     }
 
     Collection<String> split(final String value) {
-        if (separator == null) {
+        if (separator == NO_SEPARATOR) {
             return singletonList(value);
         }
         if (value.isEmpty()) {
@@ -123,21 +124,50 @@ class ArraySeparator {
 
         String valueToSplit = removeStart(value, prefix);
         if (expectLeadingParamName) {
-            valueToSplit = removeStart(valueToSplit, paramName + "=");
+            valueToSplit = removeStart(valueToSplit, paramNamePrefix);
         }
 
-        List<String> result = asList(valueToSplit.split(separator));
+        final List<String> result = split(valueToSplit, separator);
         if (expectEmbeddedParamName) {
-            result = result.stream()
-                    .map(v -> removeStart(v, paramName + "="))
-                    .collect(toList());
+            if (result.size() == 1) {
+                return singletonList(removeStart(result.get(0), paramNamePrefix));
+            }
+            result.replaceAll(v -> removeStart(v, paramNamePrefix));
+        }
+        return result;
+    }
+
+    /**
+     * Split the given value on the given separator character.
+     * <p>
+     * Matches the behaviour of {@link String#split(String)} - trailing empty values are removed. The returned list is
+     * only modifiable if it contains more than one value.
+     */
+    private static List<String> split(final String value, final char separator) {
+        int index = value.indexOf(separator);
+        if (index < 0) {
+            return singletonList(value);
+        }
+
+        final List<String> result = new ArrayList<>();
+        int start = 0;
+        while (index >= 0) {
+            result.add(value.substring(start, index));
+            start = index + 1;
+            index = value.indexOf(separator, start);
+        }
+        result.add(value.substring(start));
+
+        int size = result.size();
+        while (size > 0 && result.get(size - 1).isEmpty()) {
+            result.remove(--size);
         }
         return result;
     }
 
     private static final class Builder {
         private String paramName;
-        private String separator;
+        private char separator;
         private String prefix = "";
         private boolean isMultiValueParam = false;
         private boolean expectEmbeddedParamName = false;
@@ -151,11 +181,16 @@ class ArraySeparator {
             return this;
         }
 
-        private Builder withSeparator(final String separator) {
+        private Builder withSeparator(final char separator) {
             this.separator = separator;
             return this;
         }
 
+        private Builder withoutSeparator() {
+            this.separator = NO_SEPARATOR;
+            return this;
+        }
+
         private Builder asMultiValueParam() {
             this.isMultiValueParam = true;
             return this;
@@ -21,4 +21,20 @@ public interface CustomRequestValidator {
      * @return A validation report containing validation errors
      */
     ValidationReport validate(@Nonnull Request request, @Nonnull ApiOperation apiOperation);
+
+    /**
+     * Validates a request against a given api operation.
+     * <p>
+     * Override this method to make use of the values already parsed from the request during validation
+     * (e.g. cookies or the parsed content-type). By default delegates to {@link #validate(Request, ApiOperation)} with the
+     * request being validated.
+     *
+     * @param requestContext The request to validate, along with values parsed from it during validation
+     * @param apiOperation The operation to validate the request against
+     *
+     * @return A validation report containing validation errors
+     */
+    default ValidationReport validate(@Nonnull final RequestContext requestContext, @Nonnull final ApiOperation apiOperation) {
+        return validate(requestContext.getRequest(), apiOperation);
+    }
 }
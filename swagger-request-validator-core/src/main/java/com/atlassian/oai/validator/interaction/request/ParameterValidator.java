@@ -2,6 +2,7 @@ package com.atlassian.oai.validator.interaction.request;
 
 import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.report.ValidationReportAccumulator;
 import com.atlassian.oai.validator.schema.SchemaValidator;
 import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.StringSchema;
@@ -11,7 +12,6 @@ import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import static java.lang.Boolean.TRUE;
 import static java.util.Objects.requireNonNull;
@@ -44,44 +44,62 @@ class ParameterValidator {
      *
      * @return A report with any validation errors
      */
-    @SuppressWarnings("checkstyle:UnnecessaryParentheses")
     ValidationReport validate(@Nullable final String value,
                               final Parameter parameter) {
-        requireNonNull(parameter);
+        final ValidationReportAccumulator report = new ValidationReportAccumulator();
+        validate(value, parameter, ArrayParameter.of(parameter), report);
+        return report.toReport();
+    }
 
-        final ValidationReport.MessageContext context =
-                ValidationReport.MessageContext.create().withParameter(parameter).build();
+    /**
+     * Validate the given value against the given parameter, using array metadata already resolved for the parameter,
+     * adding any validation errors to the given report.
+     *
+     * @param value The value to validate
+     * @param parameter The parameter to validate against
+     * @param arrayParameter The array metadata of the parameter. Required if the parameter is an array type.
+     * @param report The report to add validation errors to
+     *
+     * @see RequestValidationPlan#getArrayParameter(Parameter)
+     */
+    @SuppressWarnings("checkstyle:UnnecessaryParentheses")
+    void validate(@Nullable final String value,
+                  final Parameter parameter,
+                  @Nullable final ArrayParameter arrayParameter,
+                  final ValidationReportAccumulator report) {
+        requireNonNull(parameter);
 
+        final int mark = report.mark();
         if (TRUE.equals(parameter.getRequired())) {
             // For required params, reject if null or empty and empty is disallowed
             if (value == null || (value.trim().isEmpty() && !emptyAllowed(parameter))) {
-                return ValidationReport.singleton(
-                        messages.get("validation.request.parameter.missing", parameter.getName())
-                ).withAdditionalContext(context);
+                report.add(messages.get("validation.request.parameter.missing", parameter.getName()))
+                        .withContext(mark, () -> context(parameter));
+                return;
             }
         } else {
             // Optional null params should pass
             if (value == null) {
-                return ValidationReport.empty();
+                return;
             } else if (value.trim().isEmpty()) {
                 // Optional empty params should pass if empty is allowed
                 if (emptyAllowed(parameter)) {
-                    return ValidationReport.empty();
+                    return;
                 // If empty not allowed then String should proceed to schema validation (eg enum, pattern etc) but others fail
                 } else if (!(parameter.getSchema() instanceof StringSchema)) {
-                    return ValidationReport.singleton(
-                            messages.get("validation.request.parameter.missing", parameter.getName())
-                    ).withAdditionalContext(context);
+                    report.add(messages.get("validation.request.parameter.missing", parameter.getName()))
+                            .withContext(mark, () -> context(parameter));
+                    return;
                 }
             }
         }
 
         if (parameter.getSchema() instanceof ArraySchema) {
-            return validateArrayParam(value, parameter).withAdditionalContext(context);
+            validateArrayParam(requireNonNull(arrayParameter).getSeparator().split(value), parameter, arrayParameter, report);
+        } else {
+            report.add(schemaValidator.validate(value, parameter.getSchema(), "request.parameter"));
         }
-
-        return schemaValidator.validate(value, parameter.getSchema(), "request.parameter")
-                .withAdditionalContext(context);
+        report.withContext(mark, () -> context(parameter));
     }
 
     /**
@@ -97,92 +115,99 @@ class ParameterValidator {
      */
     ValidationReport validate(@Nullable final Collection<String> values,
                               final Parameter parameter) {
-        final ValidationReport.MessageContext context =
-                ValidationReport.MessageContext.create().withParameter(parameter).build();
+        final ValidationReportAccumulator report = new ValidationReportAccumulator();
+        validate(values, parameter, ArrayParameter.of(parameter), report);
+        return report.toReport();
+    }
 
+    /**
+     * Validate the given values against the given parameter, using array metadata already resolved for the parameter,
+     * adding any validation errors to the given report.
+     *
+     * @param values The values to validate
+     * @param parameter The parameter to validate against
+     * @param arrayParameter The array metadata of the parameter. Required if the parameter is an array type.
+     * @param report The report to add validation errors to
+     *
+     * @see RequestValidationPlan#getArrayParameter(Parameter)
+     */
+    void validate(@Nullable final Collection<String> values,
+                  final Parameter parameter,
+                  @Nullable final ArrayParameter arrayParameter,
+                  final ValidationReportAccumulator report) {
+        final int mark = report.mark();
         if (values == null) {
             if (TRUE.equals(parameter.getRequired())) {
-                return ValidationReport.singleton(
-                        messages.get("validation.request.parameter.missing", parameter.getName())
-                ).withAdditionalContext(context);
+                report.add(messages.get("validation.request.parameter.missing", parameter.getName()))
+                        .withContext(mark, () -> context(parameter));
             }
-            return ValidationReport.empty();
+            return;
         }
 
         if (!(parameter.getSchema() instanceof ArraySchema)) {
             if (values.size() > 1) {
-                return ValidationReport.singleton(
-                        messages.get("validation.request.parameter.collection.invalid", parameter.getName())
-                ).withAdditionalContext(context);
+                report.add(messages.get("validation.request.parameter.collection.invalid", parameter.getName()))
+                        .withContext(mark, () -> context(parameter));
+                return;
             }
-            return schemaValidator.validate(values.iterator().next(), parameter.getSchema(), "request.parameter");
+            report.add(schemaValidator.validate(values.iterator().next(), parameter.getSchema(), "request.parameter"));
+            return;
         }
 
-        if (!ArraySeparator.from(parameter).isMultiValueParam()) {
-            return ValidationReport.singleton(
-                    messages.get("validation.request.parameter.collection.invalidFormat", parameter.getName(), parameter.getStyle(), false)
-            ).withAdditionalContext(context);
+        if (!requireNonNull(arrayParameter).getSeparator().isMultiValueParam()) {
+            report.add(messages.get("validation.request.parameter.collection.invalidFormat", parameter.getName(), parameter.getStyle(), false))
+                    .withContext(mark, () -> context(parameter));
+            return;
         }
 
-        return validateArrayParam(values, parameter).withAdditionalContext(context);
+        validateArrayParam(values, parameter, arrayParameter, report);
+        report.withContext(mark, () -> context(parameter));
     }
 
-    private ValidationReport validateArrayParam(final String value,
-                                                final Parameter parameter) {
-        return validateArrayParam(ArraySeparator.from(parameter).split(value), parameter);
+    private static ValidationReport.MessageContext context(final Parameter parameter) {
+        return ValidationReport.MessageContext.create().withParameter(parameter).build();
     }
 
-    private ValidationReport validateArrayParam(final Collection<String> values,
-                                                final Parameter parameter) {
-        final ValidationReport report = Stream.of(
-                validateMaxItems(values, parameter),
-                validateMinItems(values, parameter),
-                validateUniqueItems(values, parameter)
-        ).reduce(ValidationReport.empty(), ValidationReport::merge);
-
-        if (parameter.getSchema().getEnum() != null && !parameter.getSchema().getEnum().isEmpty()) {
-            final Set<String> enumValues = new HashSet<>(parameter.getSchema().getEnum());
-            return values.stream()
-                    .filter(v -> !enumValues.contains(v))
-                    .map(v -> ValidationReport.singleton(messages.get("validation.request.parameter.enum.invalid",
-                            v, parameter.getName(), parameter.getSchema().getEnum())
-                    ))
-                    .reduce(report, ValidationReport::merge);
+    private void validateArrayParam(final Collection<String> values,
+                                    final Parameter parameter,
+                                    final ArrayParameter arrayParameter,
+                                    final ValidationReportAccumulator report) {
+        if (arrayParameter.getMaxItems() >= 0 && values.size() > arrayParameter.getMaxItems()) {
+            report.add(messages.get("validation.request.parameter.collection.tooManyItems",
+                    parameter.getName(), parameter.getSchema().getMaxItems(), values.size()));
+        }
+        if (arrayParameter.getMinItems() >= 0 && values.size() < arrayParameter.getMinItems()) {
+            report.add(messages.get("validation.request.parameter.collection.tooFewItems",
+                    parameter.getName(), parameter.getSchema().getMinItems(), values.size()));
+        }
+        if (arrayParameter.isUniqueItems() && containsDuplicates(values)) {
+            report.add(messages.get("validation.request.parameter.collection.duplicateItems", parameter.getName()));
         }
 
-        return values.stream()
-                .map(v -> schemaValidator.validate(
-                        v, ((ArraySchema) parameter.getSchema()).getItems(), "request.parameter")
-                )
-                .reduce(report, ValidationReport::merge);
-    }
-
-    private ValidationReport validateUniqueItems(final Collection<String> values, final Parameter parameter) {
-        if (TRUE.equals(parameter.getSchema().getUniqueItems()) &&
-                values.stream().distinct().count() != values.size()) {
-            return ValidationReport.singleton(messages.get("validation.request.parameter.collection.duplicateItems",
-                    parameter.getName())
-            );
+        final Set<Object> enumValues = arrayParameter.getEnumValues();
+        if (enumValues != null) {
+            for (final String v : values) {
+                if (!enumValues.contains(v)) {
+                    report.add(messages.get("validation.request.parameter.enum.invalid",
+                            v, parameter.getName(), parameter.getSchema().getEnum()));
+                }
+            }
+            return;
         }
-        return ValidationReport.empty();
-    }
 
-    private ValidationReport validateMinItems(final Collection<String> values, final Parameter parameter) {
-        if (parameter.getSchema().getMinItems() != null && values.size() < parameter.getSchema().getMinItems()) {
-            return ValidationReport.singleton(messages.get("validation.request.parameter.collection.tooFewItems",
-                    parameter.getName(), parameter.getSchema().getMinItems(), values.size())
-            );
+        for (final String v : values) {
+            report.add(schemaValidator.validate(v, arrayParameter.getItems(), "request.parameter"));
         }
-        return ValidationReport.empty();
     }
 
-    private ValidationReport validateMaxItems(final Collection<String> values, final Parameter parameter) {
-        if (parameter.getSchema().getMaxItems() != null && values.size() > parameter.getSchema().getMaxItems()) {
-            return ValidationReport.singleton(messages.get("validation.request.parameter.collection.tooManyItems",
-                    parameter.getName(), parameter.getSchema().getMaxItems(), values.size())
-            );
+    private static boolean containsDuplicates(final Collection<String> values) {
+        final Set<String> seen = new HashSet<>();
+        for (final String v : values) {
+            if (!seen.add(v)) {
+                return true;
+            }
         }
-        return ValidationReport.empty();
+        return false;
     }
 
     @SuppressWarnings("checkstyle:UnnecessaryParentheses")
@@ -195,5 +220,4 @@ class ParameterValidator {
                 && parameter.getSchema() instanceof StringSchema)
                 || parameter.getSchema() instanceof ArraySchema;
     }
-
-}
\ No newline at end of file
+}
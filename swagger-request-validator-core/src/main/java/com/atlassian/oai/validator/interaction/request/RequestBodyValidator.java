@@ -1,10 +1,13 @@
 package com.atlassian.oai.validator.interaction.request;
 
 import com.atlassian.oai.validator.model.Body;
+import com.atlassian.oai.validator.model.Headers;
 import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.report.ValidationReportAccumulator;
 import com.atlassian.oai.validator.schema.SchemaValidator;
+import com.atlassian.oai.validator.util.MediaTypeTable;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import org.apache.commons.lang3.tuple.Pair;
@@ -14,11 +17,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.function.Supplier;
 
-import static com.atlassian.oai.validator.report.ValidationReport.empty;
-import static com.atlassian.oai.validator.util.ContentTypeUtils.findMostSpecificMatch;
-import static com.atlassian.oai.validator.util.ContentTypeUtils.isFormDataContentType;
-import static com.atlassian.oai.validator.util.ContentTypeUtils.isJsonContentType;
 import static com.atlassian.oai.validator.util.HttpParsingUtils.parseUrlEncodedFormDataBodyAsJsonNode;
 import static java.lang.Boolean.TRUE;
 import static java.util.Objects.requireNonNull;
@@ -45,6 +45,23 @@ class RequestBodyValidator {
     @Nonnull
     ValidationReport validateRequestBody(final Request request,
                                          @Nullable final RequestBody apiRequestBodyDefinition) {
+        final ValidationReportAccumulator report = new ValidationReportAccumulator();
+        validateRequestBody(request, apiRequestBodyDefinition,
+                MediaTypeTable.of(apiRequestBodyDefinition == null || apiRequestBodyDefinition.getContent() == null
+                        ? null : apiRequestBodyDefinition.getContent().keySet()),
+                report);
+        return report.toReport();
+    }
+
+    /**
+     * Validate the request body against the given definition, using the pre-parsed content types of the definition,
+     * adding any validation errors to the given report.
+     */
+    void validateRequestBody(final Request request,
+                             @Nullable final RequestBody apiRequestBodyDefinition,
+                             final MediaTypeTable apiContentTypes,
+                             final ValidationReportAccumulator report) {
+        final RequestContext requestContext = RequestContext.of(request);
 
         final Optional<Body> requestBody = request.getRequestBody();
         final boolean hasBody = requestBody.map(Body::hasBody).orElse(false);
@@ -52,71 +69,70 @@ class RequestBodyValidator {
         if (apiRequestBodyDefinition == null) {
             // A request body exists, but no request body is defined in the spec
             if (hasBody) {
-                return ValidationReport.singleton(
-                        messages.get("validation.request.body.unexpected")
-                );
+                report.add(messages.get("validation.request.body.unexpected"));
             }
 
             // No request body exists, and no request body is defined in the spec. Nothing to do.
-            return empty();
+            return;
         }
 
-        ValidationReport.MessageContext context = ValidationReport.MessageContext.create()
-                .withApiRequestBodyDefinition(apiRequestBodyDefinition)
-                .build();
-
+        final int mark = report.mark();
         if (!hasBody) {
             // No request body, but is required in the spec
             if (TRUE.equals(apiRequestBodyDefinition.getRequired())) {
-                return ValidationReport.singleton(
-                        messages.get("validation.request.body.missing")
-                ).withAdditionalContext(context);
+                report.add(messages.get("validation.request.body.missing"))
+                        .withContext(mark, () -> ValidationReport.MessageContext.create()
+                                .withApiRequestBodyDefinition(apiRequestBodyDefinition)
+                                .build());
             }
 
             // No request body, and isn't required. Nothing to do.
-            return empty();
+            return;
         }
 
         final Optional<Pair<String, MediaType>> maybeApiMediaTypeForRequest =
-                findApiMediaTypeForRequest(request, apiRequestBodyDefinition);
+                findApiMediaTypeForRequest(requestContext, apiRequestBodyDefinition, apiContentTypes);
 
         // No matching media type found. Validation of mismatched content-type is handled elsewhere. Nothing to do.
         if (!maybeApiMediaTypeForRequest.isPresent()) {
-            return empty();
+            return;
         }
 
-        context = ValidationReport.MessageContext.from(context)
+        final Supplier<ValidationReport.MessageContext> context = () -> ValidationReport.MessageContext.create()
+                .withApiRequestBodyDefinition(apiRequestBodyDefinition)
                 .withMatchedApiContentType(maybeApiMediaTypeForRequest.get().getLeft())
                 .build();
 
-        if (isJsonContentType(request)) {
-            return schemaValidator
-                    .validate(() -> requestBody.get().toJsonNode(),
+        if (requestContext.isJsonContentType()) {
+            report.add(schemaValidator
+                    .validate(requestBody.get(),
                             maybeApiMediaTypeForRequest.get().getRight().getSchema(),
-                            "request.body")
-                    .withAdditionalContext(context);
+                            "request.body"))
+                    .withContext(mark, context);
+            return;
         }
 
-        if (isFormDataContentType(request)) {
-            return schemaValidator
+        if (requestContext.isFormDataContentType()) {
+            report.add(schemaValidator
                     .validate(() -> parseUrlEncodedFormDataBodyAsJsonNode(requestBody.get().toString(StandardCharsets.UTF_8)),
                             maybeApiMediaTypeForRequest.get().getRight().getSchema(),
-                            "request.body")
-                    .withAdditionalContext(context);
+                            "request.body"))
+                    .withContext(mark, context);
+            return;
         }
 
         // TODO: Validate multi-part form data
 
         log.info("Validation of '{}' not supported. Request body not validated.", maybeApiMediaTypeForRequest.get().getLeft());
-        return empty();
     }
 
     private Optional<Pair<String, MediaType>> findApiMediaTypeForRequest(final Request request,
-                                                                         @Nullable final RequestBody apiRequestBodyDefinition) {
+                                                                         @Nullable final RequestBody apiRequestBodyDefinition,
+                                                                         final MediaTypeTable apiContentTypes) {
         return Optional.ofNullable(apiRequestBodyDefinition)
                 .map(RequestBody::getContent)
                 .flatMap(content ->
-                        findMostSpecificMatch(request, content.keySet())
+                        apiContentTypes.findMostSpecificMatch(request.getHeaderValue(Headers.CONTENT_TYPE).orElse("*/*"))
                                 .map(mostSpecificMatch -> Pair.of(mostSpecificMatch, content.get(mostSpecificMatch)))
                 );
     }
@@ -0,0 +1,204 @@
+package com.atlassian.oai.validator.interaction.request;
+
+import com.atlassian.oai.validator.model.Body;
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.util.ContentTypeUtils;
+import com.google.common.base.Joiner;
+import com.google.common.net.MediaType;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A view of a {@link Request} for the duration of a single validation.
+ * <p>
+ * Values that are needed by several validators (header values, cookies, the parsed content-type etc.) are
+ * computed at most once, on first use, and shared by all validators that receive this context - including any
+ * {@link CustomRequestValidator custom validators}.
+ * <p>
+ * Instances are not thread safe and should not be retained beyond the validation they were created for.
+ */
+public final class RequestContext implements Request {
+
+    private static final String COOKIE_HEADER = "Cookie";
+
+    private final Request request;
+
+    private final Map<String, Collection<String>> headerValues = new HashMap<>();
+    private Optional<String> contentType;
+    private Optional<MediaType> contentMediaType;
+    private Boolean jsonContentType;
+    private Boolean formDataContentType;
+    private Map<String, List<String>> cookies;
+
+    private RequestContext(final Request request) {
+        this.request = requireNonNull(request, "A request is required");
+    }
+
+    /**
+     * Create a new context for the given request.
+     *
+     * @param request The request being validated
+     *
+     * @return A context wrapping the request, or the request itself if it is already a context
+     */
+    @Nonnull
+    public static RequestContext of(final Request request) {
+        if (request instanceof RequestContext) {
+            return (RequestContext) request;
+        }
+        return new RequestContext(request);
+    }
+
+    /**
+     * @return The request wrapped by this context
+     */
+    @Nonnull
+    public Request getRequest() {
+        return request;
+    }
+
+    @Nonnull
+    @Override
+    public String getPath() {
+        return request.getPath();
+    }
+
+    @Nonnull
+    @Override
+    public Method getMethod() {
+        return request.getMethod();
+    }
+
+    @Nonnull
+    @Override
+    @Deprecated
+    public Optional<String> getBody() {
+        return request.getBody();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Body> getRequestBody() {
+        return request.getRequestBody();
+    }
+
+    @Nonnull
+    @Override
+    public Collection<String> getQueryParameters() {
+        return request.getQueryParameters();
+    }
+
+    @Nonnull
+    @Override
+    public Collection<String> getQueryParameterValues(final String name) {
+        return request.getQueryParameterValues(name);
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, Collection<String>> getHeaders() {
+        return request.getHeaders();
+    }
+
+    @Nonnull
+    @Override
+    public Collection<String> getHeaderValues(final String name) {
+        final Collection<String> values = headerValues.get(name);
+        if (values != null) {
+            return values;
+        }
+        final Collection<String> resolved = request.getHeaderValues(name);
+        headerValues.put(name, resolved);
+        return resolved;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<String> getContentType() {
+        if (contentType == null) {
+            contentType = request.getContentType();
+        }
+        return contentType;
+    }
+
+    /**
+     * @return The parsed content-type of the request, or empty if none is set or it can not be parsed
+     */
+    @Nonnull
+    public Optional<MediaType> getContentMediaType() {
+        if (contentMediaType == null) {
+            contentMediaType = ContentTypeUtils.parseContentType(getContentType().orElse(null));
+        }
+        return contentMediaType;
+    }
+
+    /**
+     * @return Whether the content-type of the request is a JSON type
+     *
+     * @see ContentTypeUtils#isJsonContentType(Request)
+     */
+    public boolean isJsonContentType() {
+        if (jsonContentType == null) {
+            jsonContentType = ContentTypeUtils.isJsonContentType(this);
+        }
+        return jsonContentType;
+    }
+
+    /**
+     * @return Whether the content-type of the request is a form data type
+     *
+     * @see ContentTypeUtils#isFormDataContentType(Request)
+     */
+    public boolean isFormDataContentType() {
+        if (formDataContentType == null) {
+            formDataContentType = ContentTypeUtils.isFormDataContentType(this);
+        }
+        return formDataContentType;
+    }
+
+    /**
+     * Get the cookies sent on the request, parsed from the <code>Cookie</code> header(s).
+     *
+     * @return The map of <code>name-&gt;values</code> for the cookies on this request, in the order they were sent.
+     */
+    @Nonnull
+    public Map<String, List<String>> getCookies() {
+        if (cookies == null) {
+            cookies = parseCookies(getHeaderValues(COOKIE_HEADER));
+        }
+        return cookies;
+    }
+
+    private static Map<String, List<String>> parseCookies(final Collection<String> cookieValues) {
+        if (cookieValues.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, List<String>> cookies = new LinkedHashMap<>();
+        // SimpleRequest will split the header value with ',' by default, so here we join
+        // the split values to get back original header value string
+        final String cookieValuesStr = Joiner.on(",").join(cookieValues);
+        // cookie list are separated by a semicolon and a space ('; ')
+        // See https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cookie
+        for (final String cookieVal : cookieValuesStr.split("; ")) {
+            // look for the first '='
+            final int index = cookieVal.indexOf('=');
+            if (index > 0) {
+                final String name = cookieVal.substring(0, index);
+                // skip '='
+                final String value = cookieVal.substring(index + 1);
+                cookies.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+            }
+        }
+        return Collections.unmodifiableMap(cookies);
+    }
+}
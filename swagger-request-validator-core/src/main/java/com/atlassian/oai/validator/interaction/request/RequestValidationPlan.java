@@ -0,0 +1,318 @@
+package com.atlassian.oai.validator.interaction.request;
+
+import com.atlassian.oai.validator.util.MediaTypeTable;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static io.swagger.v3.oas.models.parameters.Parameter.StyleEnum.DEEPOBJECT;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Locale.ENGLISH;
+
+/**
+ * An immutable, precompiled view of the parameters of a single API operation, used to drive request validation.
+ * <p>
+ * Parameters are split by location and the derived data needed during validation (allowed query parameter names,
+ * exploded parameter descriptors, deepObject patterns, array parameter metadata, parsed content types etc.) is computed once
+ * when the plan is created rather than on every request.
+ */
+final class RequestValidationPlan {
+
+    private static final String DEEP_OBJECT_FIELD_PATTERN = "%s\\[(\\S*)\\]";
+
+    private final Map<String, Parameter> pathParameters;
+    private final List<Parameter> queryParameters;
+    private final List<ExplodedParameter> explodedQueryParameters;
+    private final List<DeepObjectParameter> deepObjectQueryParameters;
+    private final Set<String> allowedQueryParameters;
+    private final List<Pattern> allowedDeepObjectQueryParameters;
+    private final List<Parameter> headerParameters;
+    private final List<Parameter> cookieParameters;
+    private final Map<Parameter, ArrayParameter> arrayParameters;
+    private final MediaTypeTable consumes;
+    private final MediaTypeTable produces;
+
+    /**
+     * Compile a validation plan for the given operation.
+     *
+     * @param operation The operation to compile the plan for
+     * @param securitySchemeQueryParameters The names of query parameters used by API key security schemes.
+     *                                      These are always allowed on a request.
+     *
+     * @return The compiled plan
+     */
+    static RequestValidationPlan compile(@Nonnull final Operation operation,
+                                         @Nonnull final Collection<String> securitySchemeQueryParameters) {
+        return new RequestValidationPlan(
+                operation.getParameters() == null ? emptyList() : operation.getParameters(),
+                securitySchemeQueryParameters,
+                MediaTypeTable.of(getConsumes(operation)),
+                MediaTypeTable.of(getProduces(operation)));
+    }
+
+    private RequestValidationPlan(final List<Parameter> parameters,
+                                  final Collection<String> securitySchemeQueryParameters,
+                                  final MediaTypeTable consumes,
+                                  final MediaTypeTable produces) {
+        this.consumes = consumes;
+        this.produces = produces;
+
+        final Map<String, Parameter> pathParameters = new HashMap<>();
+        final List<Parameter> queryParameters = new ArrayList<>();
+        final List<ExplodedParameter> explodedQueryParameters = new ArrayList<>();
+        final List<DeepObjectParameter> deepObjectQueryParameters = new ArrayList<>();
+        final Set<String> allowedQueryParameters = new LinkedHashSet<>();
+        final List<Parameter> headerParameters = new ArrayList<>();
+        final List<Parameter> cookieParameters = new ArrayList<>();
+        final Map<Parameter, ArrayParameter> arrayParameters = new IdentityHashMap<>();
+
+        for (final Parameter p : parameters) {
+            addArrayParameter(arrayParameters, p);
+            if (isParam(p, "path")) {
+                pathParameters.putIfAbsent(p.getName().toLowerCase(ENGLISH), p);
+            } else if (isParam(p, "query")) {
+                if (isDeepObjectParam(p)) {
+                    deepObjectQueryParameters.add(new DeepObjectParameter(p));
+                    allowedQueryParameters.add(p.getName());
+                } else if (isExplodedParamWithProperties(p)) {
+                    final ExplodedParameter exploded = new ExplodedParameter(p);
+                    explodedQueryParameters.add(exploded);
+                    exploded.getProperties().forEach(e -> {
+                        allowedQueryParameters.add(e.getName());
+                        addArrayParameter(arrayParameters, e);
+                    });
+                } else {
+                    queryParameters.add(p);
+                    allowedQueryParameters.add(p.getName());
+                }
+            } else if (isParam(p, "header")) {
+                headerParameters.add(p);
+            } else if (isParam(p, "cookie")) {
+                cookieParameters.add(p);
+            }
+        }
+        allowedQueryParameters.addAll(securitySchemeQueryParameters);
+
+        final List<Pattern> allowedDeepObjectQueryParameters = new ArrayList<>(allowedQueryParameters.size());
+        for (final String name : allowedQueryParameters) {
+            if (name != null) {
+                allowedDeepObjectQueryParameters.add(deepObjectFieldPattern(name));
+            }
+        }
+
+        this.pathParameters = unmodifiableMap(pathParameters);
+        this.queryParameters = unmodifiableList(queryParameters);
+        this.explodedQueryParameters = unmodifiableList(explodedQueryParameters);
+        this.deepObjectQueryParameters = unmodifiableList(deepObjectQueryParameters);
+        this.allowedQueryParameters = unmodifiableSet(allowedQueryParameters);
+        this.allowedDeepObjectQueryParameters = unmodifiableList(allowedDeepObjectQueryParameters);
+        this.headerParameters = unmodifiableList(headerParameters);
+        this.cookieParameters = unmodifiableList(cookieParameters);
+        this.arrayParameters = unmodifiableMap(arrayParameters);
+    }
+
+    private static void addArrayParameter(final Map<Parameter, ArrayParameter> arrayParameters, @Nullable final Parameter p) {
+        final ArrayParameter arrayParameter = p == null ? null : ArrayParameter.of(p);
+        if (arrayParameter != null) {
+            arrayParameters.put(p, arrayParameter);
+        }
+    }
+
+    /**
+     * @return The path parameter with the given (case insensitive) name, or <code>null</code> if there is none
+     */
+    @Nullable
+    Parameter getPathParameter(final String name) {
+        return pathParameters.get(name.toLowerCase(ENGLISH));
+    }
+
+    /**
+     * @return The query parameters that are neither deepObject nor exploded objects
+     */
+    List<Parameter> getQueryParameters() {
+        return queryParameters;
+    }
+
+    /**
+     * @return The exploded object query parameters, with their properties pre-built as individual parameters
+     */
+    List<ExplodedParameter> getExplodedQueryParameters() {
+        return explodedQueryParameters;
+    }
+
+    /**
+     * @return The deepObject query parameters, with their field patterns precompiled
+     */
+    List<DeepObjectParameter> getDeepObjectQueryParameters() {
+        return deepObjectQueryParameters;
+    }
+
+    /**
+     * @return Whether a query parameter with the given name is expected on the request, either as a defined parameter,
+     * a property of an exploded object parameter, an API key security parameter or a deepObject field of any of these.
+     */
+    boolean isAllowedQueryParameter(final String name) {
+        if (allowedQueryParameters.contains(name)) {
+            return true;
+        }
+        // Allow through any deepObject formatted parameters - i.e 'filter[name_eq]'
+        for (final Pattern pattern : allowedDeepObjectQueryParameters) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The array metadata of the given parameter of this operation (including the properties of exploded
+     * object parameters), or <code>null</code> if it is not an array parameter of this operation
+     */
+    @Nullable
+    ArrayParameter getArrayParameter(final Parameter parameter) {
+        return arrayParameters.get(parameter);
+    }
+
+    List<Parameter> getHeaderParameters() {
+        return headerParameters;
+    }
+
+    List<Parameter> getCookieParameters() {
+        return cookieParameters;
+    }
+
+    /**
+     * @return The content types of the operation request body
+     */
+    MediaTypeTable getConsumes() {
+        return consumes;
+    }
+
+    /**
+     * @return The content types of all operation responses
+     */
+    MediaTypeTable getProduces() {
+        return produces;
+    }
+
+    private static Collection<String> getConsumes(final Operation operation) {
+        if (operation.getRequestBody() == null || operation.getRequestBody().getContent() == null) {
+            return emptyList();
+        }
+        return operation.getRequestBody().getContent().keySet();
+    }
+
+    private static Collection<String> getProduces(final Operation operation) {
+        if (operation.getResponses() == null) {
+            return emptyList();
+        }
+        return operation.getResponses()
+                .values()
+                .stream()
+                .filter(apiResponse -> apiResponse.getContent() != null)
+                .flatMap(apiResponse -> apiResponse.getContent().keySet().stream())
+                .collect(Collectors.toSet());
+    }
+
+    private static Pattern deepObjectFieldPattern(final String name) {
+        return Pattern.compile(String.format(DEEP_OBJECT_FIELD_PATTERN, Pattern.quote(name)));
+    }
+
+    private static boolean isExplodedParamWithProperties(final Parameter parameter) {
+        return parameter.getExplode() != null && parameter.getExplode() && parameter.getSchema() != null
+                && parameter.getSchema().getProperties() != null && !parameter.getSchema().getProperties().isEmpty();
+    }
+
+    private static boolean isDeepObjectParam(final Parameter p) {
+        return p.getStyle() != null && p.getStyle().equals(DEEPOBJECT);
+    }
+
+    private static boolean isParam(final Parameter p, final String type) {
+        return p != null && p.getIn() != null && p.getIn().equalsIgnoreCase(type);
+    }
+
+    /**
+     * An exploded object query parameter, with each of the object properties described as an individual parameter.
+     */
+    static final class ExplodedParameter {
+        private final Parameter parameter;
+        private final List<Parameter> properties;
+
+        private ExplodedParameter(final Parameter parameter) {
+            this.parameter = parameter;
+            final List<Parameter> properties = new ArrayList<>();
+            final Schema<?> parameterSchema = parameter.getSchema();
+            parameterSchema.getProperties().forEach((name, propertySchema) -> {
+                final Schema<?> schema = propertySchema;
+                final QueryParameter property = new QueryParameter();
+                property.set$ref(schema.get$ref());
+                property.name(name);
+                property.setDescription(schema.getDescription());
+                property.setRequired(isRequired(parameter, name));
+                property.setSchema(schema);
+                property.setIn(parameter.getIn());
+                property.setExample(schema.getExample());
+                property.setDeprecated(schema.getDeprecated());
+                property.setStyle(parameter.getStyle());
+                property.setExplode("array".equals(schema.getType()));
+                property.setExtensions(schema.getExtensions());
+                properties.add(property);
+            });
+            this.properties = unmodifiableList(properties);
+        }
+
+        Parameter getParameter() {
+            return parameter;
+        }
+
+        List<Parameter> getProperties() {
+            return properties;
+        }
+
+        private static boolean isRequired(final Parameter parameter, final String propertyName) {
+            return Optional.<Schema<?>>ofNullable(parameter.getSchema())
+                    .map(Schema::getRequired)
+                    .map(required -> required.contains(propertyName))
+                    .orElse(false);
+        }
+    }
+
+    /**
+     * A deepObject query parameter, with the pattern used to match its fields (e.g. 'filter[name_eq]') precompiled.
+     */
+    static final class DeepObjectParameter {
+        private final Parameter parameter;
+        private final Pattern fieldPattern;
+
+        private DeepObjectParameter(final Parameter parameter) {
+            this.parameter = parameter;
+            this.fieldPattern = deepObjectFieldPattern(parameter.getName());
+        }
+
+        Parameter getParameter() {
+            return parameter;
+        }
+
+        Pattern getFieldPattern() {
+            return fieldPattern;
+        }
+    }
+}
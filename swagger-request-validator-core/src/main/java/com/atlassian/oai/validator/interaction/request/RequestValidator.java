@@ -7,43 +7,44 @@ import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.ValidationReport;
 import com.atlassian.oai.validator.report.ValidationReport.MessageContext;
+import com.atlassian.oai.validator.report.ValidationReportAccumulator;
 import com.atlassian.oai.validator.schema.SchemaValidator;
+import com.atlassian.oai.validator.util.MediaTypeTable;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.common.base.Joiner;
 import com.google.common.net.MediaType;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.parameters.Parameter;
-import io.swagger.v3.oas.models.parameters.Parameter.StyleEnum;
-import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.slf4j.Logger;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiPredicate;
-import java.util.regex.Pattern;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.atlassian.oai.validator.report.ValidationReport.MessageContext.Location.REQUEST;
 import static com.atlassian.oai.validator.report.ValidationReport.empty;
+import static com.atlassian.oai.validator.util.ContentTypeUtils.parseContentType;
 import static com.atlassian.oai.validator.util.HttpAcceptUtils.splitAcceptHeader;
 import static java.lang.Boolean.TRUE;
-import static java.util.Collections.emptyList;
-import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -54,8 +55,12 @@ public class RequestValidator {
 
     private static final Logger log = getLogger(RequestValidator.class);
 
+    private static final String UNEXPECTED_QUERY_PARAMETER_KEY = "validation.request.parameter.query.unexpected";
+
     private final MessageResolver messages;
-    private final Components components;
+
+    private final Set<String> securitySchemeQueryParameters;
+    private final Map<Operation, RequestValidationPlan> plans = new IdentityHashMap<>();
 
     private final ParameterValidator parameterValidator;
     private final SecurityValidator securityValidator;
@@ -75,10 +80,23 @@ public class RequestValidator {
                             final OpenAPI api,
                             final List<CustomRequestValidator> customRequestValidators) {
         this.messages = requireNonNull(messages, "A message resolver is required");
-        this.components = defaultIfNull(api.getComponents(), new Components());
+        final Components components = defaultIfNull(api.getComponents(), new Components());
 
         this.customRequestValidators = customRequestValidators;
 
+        securitySchemeQueryParameters = defaultIfNull(components.getSecuritySchemes(),
+                Collections.<String, SecurityScheme>emptyMap()).values().stream()
+                .filter(sc -> sc.getIn() != null && sc.getIn() == SecurityScheme.In.QUERY)
+                .map(SecurityScheme::getName)
+                .collect(Collectors.toSet());
+        if (api.getPaths() != null) {
+            api.getPaths().values().forEach(pathItem ->
+                    pathItem.readOperations().forEach(operation ->
+                            plans.put(operation, RequestValidationPlan.compile(operation, securitySchemeQueryParameters))
+                    )
+            );
+        }
+
         parameterValidator = new ParameterValidator(schemaValidator, messages);
         securityValidator = new SecurityValidator(messages, api);
         requestBodyValidator = new RequestBodyValidator(messages, schemaValidator);
@@ -95,37 +113,99 @@ public class RequestValidator {
     @Nonnull
     public ValidationReport validateRequest(final Request request,
                                             final ApiOperation apiOperation) {
+        return validateRequest(request, apiOperation, null);
+    }
+
+    /**
+     * Validate the request against the given API operation, optionally stopping at the first failure.
+     * <p>
+     * If a failure condition is given, validation stops as soon as the report from a validation step satisfies it,
+     * and the report up to that point is returned. In this mode the cheaper checks are run first, and the request
+     * body is only read and validated if all other (non-custom) checks pass.
+     *
+     * @param request The request to validate
+     * @param apiOperation The operation to validate the request against
+     * @param isFailure (Optional) The condition under which a validation step has failed and validation should stop.
+     * If not provided, all validation steps are run.
+     *
+     * @return A validation report containing validation errors
+     */
+    @Nonnull
+    public ValidationReport validateRequest(final Request request,
+                                            final ApiOperation apiOperation,
+                                            @Nullable final Predicate<ValidationReport> isFailure) {
         requireNonNull(request, "A request is required");
         requireNonNull(apiOperation, "An API operation is required");
 
-        final MessageContext context = MessageContext.create()
+        final RequestValidationPlan plan = planFor(apiOperation);
+        final RequestContext requestContext = RequestContext.of(request);
+
+        final Supplier<MessageContext> context = () -> MessageContext.create()
                 .in(REQUEST)
                 .withApiOperation(apiOperation)
                 .withRequestPath(apiOperation.getRequestPath().original())
                 .withRequestMethod(request.getMethod())
                 .build();
 
-        return securityValidator.validateSecurity(request, apiOperation)
-                .merge(validateContentType(request, apiOperation))
-                .merge(validateAccepts(request, apiOperation))
-                .merge(validateHeaders(request, apiOperation))
-                .merge(validatePathParameters(apiOperation))
-                .merge(requestBodyValidator.validateRequestBody(request, apiOperation.getOperation().getRequestBody()))
-                .merge(validateQueryParameters(request, apiOperation))
-                .merge(validateExplodedQueryParameters(request, apiOperation))
-                .merge(validateDeepObjectQueryParameters(request, apiOperation))
-                .merge(validateUnexpectedQueryParameters(request, apiOperation))
-                .merge(validateCookieParameters(request, apiOperation))
-                .merge(validateCustom(request, apiOperation))
-                .withAdditionalContext(context);
+        final ValidationReportAccumulator validationReport = new ValidationReportAccumulator();
+        final RequestBody requestBody = apiOperation.getOperation().getRequestBody();
+        if (isFailure != null) {
+            validationReport.addUntilFailure(isFailure, context,
+                    r -> r.add(securityValidator.validateSecurity(requestContext, apiOperation)),
+                    r -> r.add(validateContentType(requestContext, plan)),
+                    r -> r.add(validateAccepts(requestContext, plan)),
+                    r -> validateHeaders(requestContext, apiOperation, plan, r),
+                    r -> validatePathParameters(apiOperation, plan, r),
+                    r -> validateQueryParameters(requestContext, apiOperation, plan, r),
+                    r -> validateExplodedQueryParameters(requestContext, apiOperation, plan, r),
+                    r -> validateDeepObjectQueryParameters(requestContext, apiOperation, plan, r),
+                    r -> validateUnexpectedQueryParameters(requestContext, apiOperation, plan, r),
+                    r -> validateCookieParameters(requestContext, apiOperation, plan, r),
+                    r -> requestBodyValidator.validateRequestBody(requestContext, requestBody, plan.getConsumes(), r),
+                    r -> validateCustom(requestContext, apiOperation, r)
+            );
+        } else {
+            validationReport
+                    .add(securityValidator.validateSecurity(requestContext, apiOperation))
+                    .add(validateContentType(requestContext, plan))
+                    .add(validateAccepts(requestContext, plan));
+            validateHeaders(requestContext, apiOperation, plan, validationReport);
+            validatePathParameters(apiOperation, plan, validationReport);
+            requestBodyValidator.validateRequestBody(requestContext, requestBody, plan.getConsumes(), validationReport);
+            validateQueryParameters(requestContext, apiOperation, plan, validationReport);
+            validateExplodedQueryParameters(requestContext, apiOperation, plan, validationReport);
+            validateDeepObjectQueryParameters(requestContext, apiOperation, plan, validationReport);
+            validateUnexpectedQueryParameters(requestContext, apiOperation, plan, validationReport);
+            validateCookieParameters(requestContext, apiOperation, plan, validationReport);
+            validateCustom(requestContext, apiOperation, validationReport);
+        }
+
+        return validationReport
+                .withContext(0, context)
+                .toReport();
+    }
+
+    /**
+     * Get the precompiled validation plan for the given operation.
+     * <p>
+     * Plans are compiled for all operations in the API when this validator is constructed. Operations from
+     * elsewhere (e.g. constructed by hand) have a plan compiled on demand.
+     */
+    @Nonnull
+    private RequestValidationPlan planFor(final ApiOperation apiOperation) {
+        final RequestValidationPlan plan = plans.get(apiOperation.getOperation());
+        if (plan != null) {
+            return plan;
+        }
+        return RequestValidationPlan.compile(apiOperation.getOperation(), securitySchemeQueryParameters);
     }
 
     @Nonnull
     private ValidationReport validateContentType(final Request request,
-                                                 final ApiOperation apiOperation) {
+                                                 final RequestValidationPlan plan) {
         return validateMediaTypes(request,
                 Headers.CONTENT_TYPE,
-                getConsumes(apiOperation),
+                plan.getConsumes(),
                 "validation.request.contentType.invalid",
                 "validation.request.contentType.notAllowed",
                 // For content types we expect the wildcards to appear in the spec and concrete types to appear on the request
@@ -134,10 +214,10 @@ public class RequestValidator {
 
     @Nonnull
     private ValidationReport validateAccepts(final Request request,
-                                             final ApiOperation apiOperation) {
+                                             final RequestValidationPlan plan) {
         return validateMediaTypes(request,
                 Headers.ACCEPT,
-                getProduces(apiOperation),
+                plan.getProduces(),
                 "validation.request.accept.invalid",
                 "validation.request.accept.notAllowed",
                 // For accept types we expect the wildcards to appear in the accept header and concrete types to appear in the spec
@@ -147,204 +227,158 @@ public class RequestValidator {
     @Nonnull
     private ValidationReport validateMediaTypes(final Request request,
                                                 final String headerName,
-                                                final Collection<String> specMediaTypes,
+                                                final MediaTypeTable specMediaTypes,
                                                 final String invalidTypeKey,
                                                 final String notAllowedKey,
                                                 final BiPredicate<MediaType, MediaType> typeComparer) {
 
+        final Collection<String> headerValues = request.getHeaderValues(headerName);
+        if (headerValues.isEmpty()) {
+            return empty();
+        }
+
         // Handle the case where multiple media types are supplied in a single header
-        final Collection<String> requestHeaderValues = request.getHeaderValues(headerName)
-                .stream()
-                .flatMap(v -> splitAcceptHeader(v).stream())
-                .collect(toList());
+        final List<String> requestHeaderValues = new ArrayList<>(headerValues.size());
+        for (final String headerValue : headerValues) {
+            requestHeaderValues.addAll(splitAcceptHeader(headerValue));
+        }
 
         if (requestHeaderValues.isEmpty()) {
             return empty();
         }
 
-        final List<MediaType> requestMediaTypes = new ArrayList<>();
+        final List<MediaType> requestMediaTypes = new ArrayList<>(requestHeaderValues.size());
         for (final String requestHeaderValue : requestHeaderValues) {
-            try {
-                requestMediaTypes.add(MediaType.parse(requestHeaderValue));
-            } catch (final IllegalArgumentException e) {
+            final Optional<MediaType> requestMediaType = parseContentType(requestHeaderValue);
+            if (!requestMediaType.isPresent()) {
                 return ValidationReport.singleton(messages.get(invalidTypeKey, requestHeaderValue));
             }
+            requestMediaTypes.add(requestMediaType.get());
         }
 
-        if (specMediaTypes.isEmpty()) {
+        if (specMediaTypes.isEmpty() || specMediaTypes.containsOnlyGlobalAccept()) {
             return empty();
         }
 
-        if (specMediaTypes
-                .stream()
-                .allMatch("*/*"::equals)) {
+        if (specMediaTypes.anyMatch(specType -> requestMediaTypes.stream().anyMatch(requestType -> typeComparer.test(specType, requestType)))) {
             return empty();
         }
-
-        return specMediaTypes
-                .stream()
-                .map(MediaType::parse)
-                .filter(specType -> requestMediaTypes.stream().anyMatch(requestType -> typeComparer.test(specType, requestType)))
-                .findFirst()
-                .map(m -> empty())
-                .orElse(ValidationReport.singleton(messages.get(notAllowedKey, requestHeaderValues, specMediaTypes)));
+        return ValidationReport.singleton(messages.get(notAllowedKey, requestHeaderValues, specMediaTypes.getContentTypes()));
     }
 
-    @Nonnull
-    private Collection<String> getConsumes(final ApiOperation apiOperation) {
-        if (apiOperation.getOperation().getRequestBody() == null) {
-            return emptyList();
-        }
-        return defaultIfNull(apiOperation.getOperation().getRequestBody().getContent().keySet(), emptySet());
-    }
+    private void validatePathParameters(final ApiOperation apiOperation,
+                                        final RequestValidationPlan plan,
+                                        final ValidationReportAccumulator validationReport) {
 
-    @Nonnull
-    private Collection<String> getProduces(final ApiOperation apiOperation) {
-        return apiOperation.getOperation()
-                .getResponses()
-                .values()
-                .stream()
-                .filter(apiResponse -> apiResponse.getContent() != null)
-                .flatMap(apiResponse -> apiResponse.getContent().keySet().stream())
-                .collect(Collectors.toSet());
-    }
-
-    @Nonnull
-    private ValidationReport validatePathParameters(final ApiOperation apiOperation) {
-
-        ValidationReport validationReport = empty();
+        final Optional<Map<String, String>> resolvedValues = apiOperation.getPathParameterValues();
         final NormalisedPath requestPath = apiOperation.getRequestPath();
+        if (!resolvedValues.isPresent() && !apiOperation.isRequestPathMatched()
+                && !apiOperation.getApiPath().matches(requestPath)) {
+            // The operation was referenced directly (e.g. by operation ID) rather than matched against the request
+            // path, so path parameter values can't be taken from the request path part by part
+            validationReport.add(messages.get("validation.request.path.mismatch",
+                    requestPath.original(), apiOperation.getApiPath().original()));
+            return;
+        }
         for (int i = 0; i < apiOperation.getApiPath().numberOfParts(); i++) {
             if (!apiOperation.getApiPath().hasParams(i)) {
                 continue;
             }
 
-            final ValidationReport pathPartValidation = apiOperation
-                    .getApiPath()
-                    .paramValues(i, requestPath.part(i))
-                    .entrySet()
-                    .stream()
-                    .map(param -> validatePathParameter(apiOperation, param.getKey(), param.getValue()))
-                    .reduce(empty(), ValidationReport::merge);
+            if (resolvedValues.isPresent()) {
+                // Values already resolved by the caller - no need to match against the request path
+                for (final String paramName : apiOperation.getApiPath().paramNames(i)) {
+                    final Parameter parameter = plan.getPathParameter(paramName);
+                    if (parameter != null) {
+                        parameterValidator.validate(resolvedValues.get().get(paramName), parameter,
+                                plan.getArrayParameter(parameter), validationReport);
+                    }
+                }
+                continue;
+            }
 
-            validationReport = validationReport.merge(pathPartValidation);
+            for (final Map.Entry<String, Optional<String>> param :
+                    apiOperation.getApiPath().paramValues(i, requestPath.part(i)).entrySet()) {
+                final Parameter parameter = plan.getPathParameter(param.getKey());
+                if (parameter != null) {
+                    parameterValidator.validate(param.getValue().orElse(null), parameter,
+                            plan.getArrayParameter(parameter), validationReport);
+                }
+            }
         }
-        return validationReport;
     }
 
-    @Nonnull
-    private ValidationReport validatePathParameter(final ApiOperation apiOperation,
-                                                   final String paramName,
-                                                   final Optional<String> paramValue) {
-        return defaultIfNull(apiOperation.getOperation().getParameters(), Collections.<Parameter>emptyList())
-                .stream()
-                .filter(RequestValidator::isPathParam)
-                .filter(p -> p.getName().equalsIgnoreCase(paramName))
-                .findFirst()
-                .map(p -> parameterValidator.validate(paramValue.orElse(null), p))
-                .orElse(empty());
-    }
-
-    @Nonnull
-    private ValidationReport validateQueryParameters(final Request request,
-                                                     final ApiOperation apiOperation) {
-
-        return defaultIfNull(apiOperation.getOperation().getParameters(), Collections.<Parameter>emptyList())
-                .stream()
-                .filter(p -> isQueryParam(p) && !isDeepObjectParam(p) && !isExplodedParamWithProperties(p))
-                .map(p -> validateParameter(
-                        apiOperation,
-                        p,
-                        request.getQueryParameterValues(p.getName()),
-                        "validation.request.parameter.query.missing"))
-                .reduce(empty(), ValidationReport::merge);
+    private void validateQueryParameters(final Request request,
+                                         final ApiOperation apiOperation,
+                                         final RequestValidationPlan plan,
+                                         final ValidationReportAccumulator validationReport) {
+        for (final Parameter parameter : plan.getQueryParameters()) {
+            validateParameter(
+                    apiOperation,
+                    plan,
+                    parameter,
+                    request.getQueryParameterValues(parameter.getName()),
+                    "validation.request.parameter.query.missing",
+                    validationReport);
+        }
     }
 
-    @Nonnull
-    private ValidationReport validateExplodedQueryParameters(final Request request,
-                                                             final ApiOperation apiOperation) {
-
-        return defaultIfNull(apiOperation.getOperation().getParameters(), Collections.<Parameter>emptyList())
-                .stream()
-                .filter(p -> isQueryParam(p) && !isDeepObjectParam(p) && isExplodedParamWithProperties(p))
-                .flatMap(p -> {
-                    final Map<String, Schema<?>> properties = p.getSchema().getProperties();
-                    final List<QueryParameter> explodedQueryParameters = properties.entrySet()
-                            .stream()
-                            .map(e -> {
-                                final Schema<?> schema = e.getValue();
-                                final QueryParameter parameter = new QueryParameter();
-                                parameter.set$ref(schema.get$ref());
-                                parameter.name(e.getKey());
-                                parameter.setDescription(schema.getDescription());
-                                parameter.setRequired(isRequired(p, e.getKey()));
-                                parameter.setSchema(schema);
-                                parameter.setIn(p.getIn());
-                                parameter.setExample(schema.getExample());
-                                parameter.setDeprecated(schema.getDeprecated());
-                                parameter.setStyle(p.getStyle());
-                                parameter.setExplode("array".equals(schema.getType()));
-                                parameter.setExtensions(schema.getExtensions());
-
-                                return parameter;
-                            })
-                            .collect(toList());
-
-                    if (!TRUE.equals(p.getRequired()) && isNoExplodedQueryParameterProvided(request, explodedQueryParameters)) {
-                        return Stream.empty();
-                    }
-
-                    return explodedQueryParameters.stream();
-                })
-                .map(p -> validateParameter(
+    private void validateExplodedQueryParameters(final Request request,
+                                                 final ApiOperation apiOperation,
+                                                 final RequestValidationPlan plan,
+                                                 final ValidationReportAccumulator validationReport) {
+        for (final RequestValidationPlan.ExplodedParameter exploded : plan.getExplodedQueryParameters()) {
+            if (!TRUE.equals(exploded.getParameter().getRequired())
+                    && isNoExplodedQueryParameterProvided(request, exploded.getProperties())) {
+                continue;
+            }
+            for (final Parameter property : exploded.getProperties()) {
+                validateParameter(
                         apiOperation,
-                        p,
-                        request.getQueryParameterValues(p.getName()),
-                        "validation.request.parameter.query.missing"))
-                .reduce(empty(), ValidationReport::merge);
+                        plan,
+                        property,
+                        request.getQueryParameterValues(property.getName()),
+                        "validation.request.parameter.query.missing",
+                        validationReport);
+            }
+        }
     }
 
-    private boolean isNoExplodedQueryParameterProvided(final Request request, final List<QueryParameter> explodedQueryParameters) {
+    private boolean isNoExplodedQueryParameterProvided(final Request request, final List<Parameter> explodedQueryParameters) {
         return explodedQueryParameters.stream()
                 .allMatch(queryParameter -> request.getQueryParameterValues(queryParameter.getName()).isEmpty());
     }
 
-    private boolean isRequired(final Parameter parameter, final String propertyName) {
-        return Optional.ofNullable(parameter.getSchema())
-                .map(Schema::getRequired)
-                .map(required -> required.contains(propertyName))
-                .orElse(false);
-    }
-
-    @Nonnull
-    private ValidationReport validateDeepObjectQueryParameters(final Request request,
-                                                               final ApiOperation apiOperation) {
-        return defaultIfNull(apiOperation.getOperation().getParameters(), Collections.<Parameter>emptyList())
-                .stream()
-                .filter(p -> isQueryParam(p) && isDeepObjectParam(p))
-                .map(p -> validateDeepObjectQueryParameter(request, apiOperation, p))
-                .reduce(empty(), ValidationReport::merge);
+    private void validateDeepObjectQueryParameters(final Request request,
+                                                   final ApiOperation apiOperation,
+                                                   final RequestValidationPlan plan,
+                                                   final ValidationReportAccumulator validationReport) {
+        for (final RequestValidationPlan.DeepObjectParameter deepObjectParameter : plan.getDeepObjectQueryParameters()) {
+            validateDeepObjectQueryParameter(request, apiOperation, plan, deepObjectParameter, validationReport);
+        }
     }
 
-    @Nonnull
-    private ValidationReport validateDeepObjectQueryParameter(final Request request,
-                                                              final ApiOperation apiOperation,
-                                                              final Parameter parameter) {
+    private void validateDeepObjectQueryParameter(final Request request,
+                                                  final ApiOperation apiOperation,
+                                                  final RequestValidationPlan plan,
+                                                  final RequestValidationPlan.DeepObjectParameter deepObjectParameter,
+                                                  final ValidationReportAccumulator validationReport) {
+        final Parameter parameter = deepObjectParameter.getParameter();
         final String queryParam = parameter.getName();
-        final Pattern fieldPattern = Pattern.compile(String.format("%s\\[(\\S*)\\]", queryParam));
         final Map<String, String> deepObject = new HashMap<>();
 
-        request.getQueryParameters()
-                .stream()
-                .map(qp -> fieldPattern.matcher(qp))
-                .filter(matcher -> matcher.matches())
-                .forEach(matcher -> deepObject.putIfAbsent(
+        for (final String qp : request.getQueryParameters()) {
+            final Matcher matcher = deepObjectParameter.getFieldPattern().matcher(qp);
+            if (matcher.matches()) {
+                deepObject.putIfAbsent(
                         matcher.group(1),
-                        request.getQueryParameterValues(matcher.group(0)).iterator().next()));
+                        request.getQueryParameterValues(matcher.group(0)).iterator().next());
+            }
+        }
 
         // We need to handle where the parameter is not required, and there aren't any values
         if (deepObject.isEmpty() && !TRUE.equals(parameter.getRequired())) {
-            return empty();
+            return;
         }
 
         // It's possible that the values cause an error writing to a json string
@@ -352,187 +386,104 @@ public class RequestValidator {
         try {
             deepObjectAsJson = Json.mapper().writeValueAsString(deepObject);
         } catch (final JsonProcessingException e) {
-            final ValidationReport.MessageContext context = ValidationReport.MessageContext.create()
-                    .withApiOperation(apiOperation)
-                    .withParameter(parameter)
-                    .build();
-
-            return ValidationReport.singleton(
-                    messages.get("validation.request.parameter.query.unexpected", queryParam,
-                            apiOperation.getApiPath().original())).withAdditionalContext(context);
+            final int mark = validationReport.mark();
+            validationReport
+                    .add(messages.get("validation.request.parameter.query.unexpected", queryParam,
+                            apiOperation.getApiPath().original()))
+                    .withContext(mark, () -> MessageContext.create()
+                            .withApiOperation(apiOperation)
+                            .withParameter(parameter)
+                            .build());
+            return;
         }
 
-        return validateParameter(
-                apiOperation, parameter, singletonList(deepObjectAsJson),
-                "validation.request.parameter.query.missing"
+        validateParameter(
+                apiOperation, plan, parameter, singletonList(deepObjectAsJson),
+                "validation.request.parameter.query.missing",
+                validationReport
         );
     }
 
-    @Nonnull
-    private ValidationReport validateUnexpectedQueryParameters(final Request request,
-                                                               final ApiOperation apiOperation) {
-
-        final Set<String> allowedQueryParams =
-                Stream.of(defaultIfNull(apiOperation.getOperation().getParameters(),
-                                        Collections.<Parameter>emptyList())
-                                        .stream()
-                                        .filter(p -> isQueryParam(p) && (isDeepObjectParam(p) || !isExplodedParamWithProperties(p)))
-                                        .map(Parameter::getName),
-                                (Stream<String>) defaultIfNull(apiOperation.getOperation().getParameters(),
-                                        Collections.<Parameter>emptyList())
-                                        .stream()
-                                        .filter(p -> isQueryParam(p) && !isDeepObjectParam(p) && isExplodedParamWithProperties(p))
-                                        .flatMap(p -> p.getSchema().getProperties().keySet().stream()),
-                                defaultIfNull(components.getSecuritySchemes(),
-                                        Collections.<String, SecurityScheme>emptyMap()).values().stream()
-                                        .filter(sc -> sc.getIn() != null && sc.getIn() == SecurityScheme.In.QUERY)
-                                        .map(SecurityScheme::getName)
-                        ).flatMap(s -> s)
-                        .collect(Collectors.toSet());
-
-        return request.getQueryParameters().stream()
-                .map(queryParam -> validateUnexpectedQueryParameter(allowedQueryParams, queryParam, apiOperation))
-                .reduce(empty(), ValidationReport::merge);
-    }
-
-    private Boolean isExplodedParamWithProperties(final Parameter parameter) {
-        return parameter.getExplode() != null && parameter.getExplode() && parameter.getSchema() != null
-                && parameter.getSchema().getProperties() != null && !parameter.getSchema().getProperties().isEmpty();
-    }
-
-    @Nonnull
-    private ValidationReport validateUnexpectedQueryParameter(final Set<String> allowedQueryParameters,
-                                                              final String queryParam,
-                                                              final ApiOperation apiOperation) {
-
-        if (allowedQueryParameters.contains(queryParam)) {
-            return empty();
+    private void validateUnexpectedQueryParameters(final Request request,
+                                                   final ApiOperation apiOperation,
+                                                   final RequestValidationPlan plan,
+                                                   final ValidationReportAccumulator validationReport) {
+        // Unexpected query parameters are ignored by default, in which case there's no need to look for them
+        if (messages.isIgnored(UNEXPECTED_QUERY_PARAMETER_KEY)) {
+            return;
         }
-
-        // Allow through any deepObject formatted parameters - i.e 'filter[name_eq]'
-        if (allowedQueryParameters.stream().anyMatch(p -> Pattern.matches(String.format("%s\\[(\\S*)\\]", p), queryParam))) {
-            return empty();
+        for (final String queryParam : request.getQueryParameters()) {
+            if (!plan.isAllowedQueryParameter(queryParam)) {
+                final int mark = validationReport.mark();
+                validationReport
+                        .add(messages.get(UNEXPECTED_QUERY_PARAMETER_KEY, queryParam,
+                                apiOperation.getApiPath().original()))
+                        .withContext(mark, () -> MessageContext.create()
+                                .withApiOperation(apiOperation)
+                                .withParameter(new Parameter().name(queryParam).in("query"))
+                                .build());
+            }
         }
-
-        final ValidationReport.MessageContext context =
-                ValidationReport.MessageContext.create()
-                        .withApiOperation(apiOperation)
-                        .withParameter(new Parameter().name(queryParam).in("query"))
-                        .build();
-
-        return ValidationReport.singleton(
-                messages.get("validation.request.parameter.query.unexpected", queryParam,
-                        apiOperation.getApiPath().original())).withAdditionalContext(context);
-    }
-
-    @Nonnull
-    private ValidationReport validateHeaders(final Request request,
-                                             final ApiOperation apiOperation) {
-        return defaultIfNull(apiOperation.getOperation().getParameters(), Collections.<Parameter>emptyList())
-                .stream()
-                .filter(RequestValidator::isHeaderParam)
-                .map(p -> validateParameter(
-                        apiOperation, p,
-                        request.getHeaderValues(p.getName()),
-                        "validation.request.parameter.header.missing")
-                )
-                .reduce(empty(), ValidationReport::merge);
     }
 
-    @Nonnull
-    private ValidationReport validateCookieParameters(final Request request,
-                                                      final ApiOperation apiOperation) {
-        final Map<String, Collection<String>> cookieParams = getCookieParameterValues(request);
-        return defaultIfNull(apiOperation.getOperation().getParameters(), Collections.<Parameter>emptyList())
-                .stream()
-                .filter(RequestValidator::isCookieParam)
-                .map(p -> validateParameter(
-                        apiOperation, p,
-                        defaultIfNull(cookieParams.get(p.getName()), Collections.<String>emptyList()),
-                        "validation.request.parameter.cookie.missing")
-                )
-                .reduce(empty(), ValidationReport::merge);
+    private void validateHeaders(final Request request,
+                                 final ApiOperation apiOperation,
+                                 final RequestValidationPlan plan,
+                                 final ValidationReportAccumulator validationReport) {
+        for (final Parameter parameter : plan.getHeaderParameters()) {
+            validateParameter(
+                    apiOperation, plan, parameter,
+                    request.getHeaderValues(parameter.getName()),
+                    "validation.request.parameter.header.missing",
+                    validationReport);
+        }
     }
 
-    private Map<String, Collection<String>> getCookieParameterValues(final Request request) {
-        final Map<String, Collection<String>> paramsMap = new HashMap<>();
-        // SimpleRequest will split the header value with ',' by default, so here we join
-        // the split values to get back original header value string
-        final Collection<String> cookieValues = request.getHeaderValues("Cookie");
-        if (!cookieValues.isEmpty()) {
-            final String cookieValuesStr = Joiner.on(",").join(cookieValues);
-            // cookie list are separated by a semicolon and a space ('; ')
-            final String[] cookieValuesArray = cookieValuesStr.split("; ");
-            for (final String cookieVal : cookieValuesArray) {
-                // look for the first '='
-                final int index = cookieVal.indexOf('=');
-                if (index > 0) {
-                    final String name = cookieVal.substring(0, index);
-                    // skip '='
-                    final String value = cookieVal.substring(index + 1);
-                    paramsMap.putIfAbsent(name, new ArrayList<>());
-                    paramsMap.get(name).add(value);
-                }
-            }
+    private void validateCookieParameters(final RequestContext request,
+                                          final ApiOperation apiOperation,
+                                          final RequestValidationPlan plan,
+                                          final ValidationReportAccumulator validationReport) {
+        final Map<String, List<String>> cookieParams = request.getCookies();
+        for (final Parameter parameter : plan.getCookieParameters()) {
+            validateParameter(
+                    apiOperation, plan, parameter,
+                    defaultIfNull(cookieParams.get(parameter.getName()), Collections.<String>emptyList()),
+                    "validation.request.parameter.cookie.missing",
+                    validationReport);
         }
-        return paramsMap;
     }
 
-    @Nonnull
-    private ValidationReport validateParameter(final ApiOperation apiOperation,
-                                               final Parameter parameter,
-                                               final Collection<String> parameterValues,
-                                               final String missingKey) {
-
-        final ValidationReport.MessageContext context =
-                ValidationReport.MessageContext.create().withParameter(parameter).build();
+    private void validateParameter(final ApiOperation apiOperation,
+                                   final RequestValidationPlan plan,
+                                   final Parameter parameter,
+                                   final Collection<String> parameterValues,
+                                   final String missingKey,
+                                   final ValidationReportAccumulator validationReport) {
 
         if (parameterValues.isEmpty() && TRUE.equals(parameter.getRequired())) {
-            return ValidationReport.singleton(
-                    messages.get(missingKey, parameter.getName(), apiOperation.getApiPath().original())
-            ).withAdditionalContext(context);
+            final int mark = validationReport.mark();
+            validationReport
+                    .add(messages.get(missingKey, parameter.getName(), apiOperation.getApiPath().original()))
+                    .withContext(mark, () -> MessageContext.create().withParameter(parameter).build());
+            return;
         }
 
         if (parameterValues.size() > 1) {
-            return parameterValidator.validate(parameterValues, parameter);
+            parameterValidator.validate(parameterValues, parameter, plan.getArrayParameter(parameter), validationReport);
+            return;
         }
 
-        return parameterValues
-                .stream()
-                .map(v -> parameterValidator.validate(v, parameter))
-                .reduce(empty(), ValidationReport::merge);
-    }
-
-    @Nonnull
-    private ValidationReport validateCustom(final Request request,
-                                            final ApiOperation apiOperation) {
-        return customRequestValidators
-                .stream()
-                .map(customValidator -> customValidator.validate(request, apiOperation))
-                .reduce(empty(), ValidationReport::merge);
-    }
-
-    private static boolean isPathParam(final Parameter p) {
-        return isParam(p, "path");
-    }
-
-    private static boolean isQueryParam(final Parameter p) {
-        return isParam(p, "query");
-    }
-
-    private static boolean isHeaderParam(final Parameter p) {
-        return isParam(p, "header");
-    }
-
-    private static boolean isCookieParam(final Parameter p) {
-        return isParam(p, "cookie");
-    }
-
-    private static boolean isDeepObjectParam(final Parameter p) {
-        return p != null && p.getStyle() != null && p.getStyle().equals(StyleEnum.DEEPOBJECT);
+        if (!parameterValues.isEmpty()) {
+            parameterValidator.validate(parameterValues.iterator().next(), parameter,
+                    plan.getArrayParameter(parameter), validationReport);
+        }
     }
 
-    private static boolean isParam(final Parameter p, final String type) {
-        return p != null && p.getIn() != null && p.getIn().equalsIgnoreCase(type);
+    private void validateCustom(final RequestContext request,
+                                final ApiOperation apiOperation,
+                                final ValidationReportAccumulator validationReport) {
+        for (final CustomRequestValidator customValidator : customRequestValidators) {
+            validationReport.add(customValidator.validate(request, apiOperation));
+        }
     }
 }
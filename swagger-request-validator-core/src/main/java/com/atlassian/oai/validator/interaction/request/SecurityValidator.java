@@ -5,26 +5,29 @@ import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.ValidationReport;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.slf4j.Logger;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.atlassian.oai.validator.model.Headers.AUTHORIZATION;
 import static com.atlassian.oai.validator.report.ValidationReport.empty;
 import static com.atlassian.oai.validator.report.ValidationReport.singleton;
-import static java.util.Arrays.stream;
-import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
-import static org.apache.commons.lang3.StringUtils.substringAfter;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Validates security parameters on a request against the API definition.
+ * <p>
+ * The security block of each operation is compiled once into a set of checks against the request. A validation
+ * report is only built when none of the operation's security requirements are satisfied.
  */
 class SecurityValidator {
 
@@ -33,12 +36,23 @@ class SecurityValidator {
     private static final String MISSING_SECURITY_PARAMETER_KEY = "validation.request.security.missing";
     private static final String INVALID_SECURITY_PARAMETER_KEY = "validation.request.security.invalid";
 
+    private static final SchemeCheck[][] NO_REQUIREMENTS = new SchemeCheck[0][];
+
     private final MessageResolver messages;
     private final OpenAPI api;
+    private final Map<Operation, SchemeCheck[][]> compiledRequirements = new IdentityHashMap<>();
 
     SecurityValidator(final MessageResolver messages, final OpenAPI api) {
         this.messages = messages;
         this.api = api;
+
+        if (hasSecuritySchemes() && api.getPaths() != null) {
+            api.getPaths().values().forEach(pathItem ->
+                    pathItem.readOperations().forEach(operation ->
+                            compiledRequirements.put(operation, compile(operation.getSecurity()))
+                    )
+            );
+        }
     }
 
     @Nonnull
@@ -50,7 +64,7 @@ class SecurityValidator {
             return empty();
         }
 
-        if (api.getComponents() == null || api.getComponents().getSecuritySchemes() == null) {
+        if (!hasSecuritySchemes()) {
             log.warn("Operation '{} {}' defines a 'security' block but no 'securitySchemes' are defined",
                     apiOperation.getMethod().name(),
                     apiOperation.getApiPath().normalised());
@@ -61,9 +75,18 @@ class SecurityValidator {
         // The map within each 'SecurityRequirement' is an 'AND' - all must pass
         // See https://swagger.io/docs/specification/authentication/#multiple
 
-        final List<ValidationReport> reports = securityRequired.stream()
-                .map(requirement -> validateSecurityRequirement(request, requirement))
-                .collect(toList());
+        final RequestContext requestContext = RequestContext.of(request);
+        final SchemeCheck[][] requirements = requirementsFor(apiOperation.getOperation());
+        for (final SchemeCheck[] requirement : requirements) {
+            if (isFulfilled(requestContext, requirement)) {
+                return empty();
+            }
+        }
+
+        final List<ValidationReport> reports = new ArrayList<>(requirements.length);
+        for (final SchemeCheck[] requirement : requirements) {
+            reports.add(validateSecurityRequirement(requestContext, requirement));
+        }
 
         if (atLeastOneRequirementFulfilled(reports)) {
             return empty();
@@ -76,108 +99,157 @@ class SecurityValidator {
         return findMostFulfilledRequirement(reports).orElse(combineAllReports(reports));
     }
 
+    private boolean hasSecuritySchemes() {
+        return api.getComponents() != null && api.getComponents().getSecuritySchemes() != null;
+    }
+
     @Nonnull
-    private ValidationReport validateSecurityRequirement(final Request request, final SecurityRequirement requirement) {
-        return requirement.keySet().stream()
-                .map(schemeName -> {
-                    final SecurityScheme scheme = api.getComponents().getSecuritySchemes().get(schemeName);
-                    if (scheme == null) {
-                        log.warn("Security scheme definition not found for {}", schemeName);
-                    }
-                    return scheme;
-                })
-                .filter(Objects::nonNull)
-                .map(scheme -> validateSecurityScheme(request, scheme))
-                .reduce(empty(), ValidationReport::merge);
+    private SchemeCheck[][] requirementsFor(final Operation operation) {
+        final SchemeCheck[][] requirements = compiledRequirements.get(operation);
+        if (requirements != null) {
+            return requirements;
+        }
+        return compile(operation.getSecurity());
     }
 
     @Nonnull
-    private ValidationReport validateSecurityScheme(final Request request,
-                                                    final SecurityScheme securityScheme) {
+    private SchemeCheck[][] compile(final List<SecurityRequirement> securityRequired) {
+        if (securityRequired == null || securityRequired.isEmpty()) {
+            return NO_REQUIREMENTS;
+        }
+        final SchemeCheck[][] requirements = new SchemeCheck[securityRequired.size()][];
+        for (int i = 0; i < requirements.length; i++) {
+            final List<SchemeCheck> checks = new ArrayList<>();
+            for (final String schemeName : securityRequired.get(i).keySet()) {
+                final SecurityScheme scheme = api.getComponents().getSecuritySchemes().get(schemeName);
+                if (scheme == null) {
+                    log.warn("Security scheme definition not found for {}", schemeName);
+                    continue;
+                }
+                checks.add(compile(scheme));
+            }
+            requirements[i] = checks.toArray(new SchemeCheck[0]);
+        }
+        return requirements;
+    }
+
+    @Nonnull
+    private static SchemeCheck compile(final SecurityScheme securityScheme) {
+        if (securityScheme.getType() == null) {
+            log.info("Security scheme '{}' not currently supported", securityScheme.getType());
+            return SchemeCheck.SATISFIED;
+        }
         switch (securityScheme.getType()) {
             case APIKEY:
+                if (securityScheme.getIn() == null) {
+                    return SchemeCheck.SATISFIED;
+                }
                 switch (securityScheme.getIn()) {
                     case HEADER:
-                        return validateApiKeyAuthByHeader(request, securityScheme);
+                        return apiKeyAuthByHeader(securityScheme.getName());
                     case QUERY:
-                        return validateApiKeyAuthByQueryParameter(request, securityScheme);
+                        return apiKeyAuthByQueryParameter(securityScheme.getName());
                     case COOKIE:
-                        return validateApiKeyAuthByCookie(request, securityScheme);
+                        return apiKeyAuthByCookie(securityScheme.getName());
                     default:
-                        return empty();
+                        return SchemeCheck.SATISFIED;
                 }
             case HTTP:
-                return validateHttpAuthorization(request, securityScheme);
+                return httpAuthorization(securityScheme);
             default:
                 log.info("Security scheme '{}' not currently supported", securityScheme.getType());
-                return empty();
+                return SchemeCheck.SATISFIED;
         }
     }
 
     @Nonnull
-    private ValidationReport validateHttpAuthorization(final Request request,
-                                                       final SecurityScheme securityScheme) {
+    private static SchemeCheck httpAuthorization(final SecurityScheme securityScheme) {
         if ("BASIC".equalsIgnoreCase(securityScheme.getScheme())) {
-            return validateBasicAuthHeader(request);
+            return authorizationHeaderWithPrefix("Basic ");
         }
 
         if ("BEARER".equalsIgnoreCase(securityScheme.getScheme())) {
-            return validateBearerAuthHeader(request);
+            return authorizationHeaderWithPrefix("Bearer ");
         }
 
-        return empty();
+        return SchemeCheck.SATISFIED;
     }
 
-    private ValidationReport validateBasicAuthHeader(final Request request) {
-        return request
-                .getHeaderValue(AUTHORIZATION)
-                .map(header -> header.startsWith("Basic ") ? empty() : invalidSecurityParameter(request))
-                .orElse(missingSecurityParameter(request));
+    @Nonnull
+    private static SchemeCheck authorizationHeaderWithPrefix(final String prefix) {
+        return request -> {
+            final Optional<String> header = request.getHeaderValue(AUTHORIZATION);
+            if (!header.isPresent()) {
+                return Outcome.MISSING;
+            }
+            return header.get().startsWith(prefix) ? Outcome.SATISFIED : Outcome.INVALID;
+        };
     }
 
-    private ValidationReport validateBearerAuthHeader(final Request request) {
-        return request
-                .getHeaderValue(AUTHORIZATION)
-                .map(header -> header.startsWith("Bearer ") ? empty() : invalidSecurityParameter(request))
-                .orElse(missingSecurityParameter(request));
+    @Nonnull
+    private static SchemeCheck apiKeyAuthByQueryParameter(final String name) {
+        return request -> request.getQueryParameterValues(name).isEmpty() ? Outcome.MISSING : Outcome.SATISFIED;
     }
 
     @Nonnull
-    private ValidationReport validateApiKeyAuthByQueryParameter(final Request request,
-                                                                final SecurityScheme securityScheme) {
-        final Optional<String> authQueryParam = request.getQueryParameterValues(securityScheme.getName()).stream().findFirst();
-        if (!authQueryParam.isPresent()) {
-            return missingSecurityParameter(request);
-        }
-        return empty();
+    private static SchemeCheck apiKeyAuthByHeader(final String name) {
+        return request -> {
+            final Optional<String> headerValue = request.getHeaderValue(name);
+            if (!headerValue.isPresent() || headerValue.get().isEmpty()) {
+                return Outcome.MISSING;
+            }
+            return Outcome.SATISFIED;
+        };
     }
 
+    /**
+     * The cookies are those parsed by the {@link RequestContext}, from all values of the <code>Cookie</code> header
+     * rejoined. A cookie value containing a comma therefore no longer hides the cookies after it, as it did when only
+     * the first header value was read.
+     */
     @Nonnull
-    private ValidationReport validateApiKeyAuthByHeader(final Request request,
-                                                        final SecurityScheme securityScheme) {
-        final Optional<String> headerValue = request.getHeaderValue(securityScheme.getName());
-        if (!headerValue.isPresent() || headerValue.get().isEmpty()) {
-            return missingSecurityParameter(request);
+    private static SchemeCheck apiKeyAuthByCookie(final String name) {
+        final String lowerCaseName = name.toLowerCase();
+        return request -> {
+            for (final Map.Entry<String, List<String>> cookie : request.getCookies().entrySet()) {
+                if (!cookie.getKey().toLowerCase().startsWith(lowerCaseName)) {
+                    continue;
+                }
+                for (final String value : cookie.getValue()) {
+                    if (!isBlank(value)) {
+                        return Outcome.SATISFIED;
+                    }
+                }
+            }
+            return Outcome.MISSING;
+        };
+    }
+
+    private static boolean isFulfilled(final RequestContext request, final SchemeCheck[] requirement) {
+        for (final SchemeCheck check : requirement) {
+            if (check.evaluate(request) != Outcome.SATISFIED) {
+                return false;
+            }
         }
-        return empty();
+        return true;
     }
 
     @Nonnull
-    private ValidationReport validateApiKeyAuthByCookie(final Request request,
-                                                        final SecurityScheme securityScheme) {
-        // See https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/Cookie
-        final Optional<String> cookieHeader = request.getHeaderValue("Cookie");
-        final boolean cookieExists = cookieHeader
-                .map(c -> c.split("; "))
-                .map(cookies -> stream(cookies)
-                        .filter(cookie -> cookie.toLowerCase().startsWith(securityScheme.getName().toLowerCase()))
-                        .anyMatch(cookie -> !isBlank(substringAfter(cookie, "=")))
-                )
-                .orElse(false);
-        if (!cookieExists) {
-            return missingSecurityParameter(request);
+    private ValidationReport validateSecurityRequirement(final RequestContext request, final SchemeCheck[] requirement) {
+        ValidationReport report = empty();
+        for (final SchemeCheck check : requirement) {
+            switch (check.evaluate(request)) {
+                case MISSING:
+                    report = report.merge(missingSecurityParameter(request));
+                    break;
+                case INVALID:
+                    report = report.merge(invalidSecurityParameter(request));
+                    break;
+                default:
+                    break;
+            }
         }
-        return empty();
+        return report;
     }
 
     @Nonnull
@@ -214,4 +286,24 @@ class SecurityValidator {
         return reports.stream().reduce(empty(), ValidationReport::merge);
     }
 
+    /**
+     * The outcome of checking a single security scheme against a request.
+     */
+    private enum Outcome {
+        SATISFIED,
+        MISSING,
+        INVALID
+    }
+
+    /**
+     * A check of a single security scheme against a request, compiled from the scheme definition.
+     */
+    @FunctionalInterface
+    private interface SchemeCheck {
+
+        SchemeCheck SATISFIED = request -> Outcome.SATISFIED;
+
+        @Nonnull
+        Outcome evaluate(RequestContext request);
+    }
 }
@@ -0,0 +1,117 @@
+package com.atlassian.oai.validator.interaction.response;
+
+import com.atlassian.oai.validator.util.MediaTypeTable;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * An immutable, precompiled view of the responses of a single API operation, used to drive response validation.
+ * <p>
+ * The API response for each status code in the range 100-599 is resolved once when the plan is created (falling back
+ * to the range response e.g. <code>2XX</code>, then the <code>default</code> response) and held in a table indexed
+ * by status code.
+ */
+final class ResponseValidationPlan {
+
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    private final ApiResponses responses;
+    private final Map<ApiResponse, ResolvedResponse> resolvedResponses;
+    private final ResolvedResponse[] byStatus;
+
+    /**
+     * Compile a validation plan for the given operation.
+     *
+     * @param operation The operation to compile the plan for
+     *
+     * @return The compiled plan
+     */
+    static ResponseValidationPlan compile(@Nonnull final Operation operation) {
+        return new ResponseValidationPlan(operation.getResponses() == null ? new ApiResponses() : operation.getResponses());
+    }
+
+    private ResponseValidationPlan(final ApiResponses responses) {
+        this.responses = responses;
+
+        final Map<ApiResponse, ResolvedResponse> resolvedResponses = new IdentityHashMap<>();
+        responses.values().stream()
+                .filter(Objects::nonNull)
+                .forEach(apiResponse -> resolvedResponses.computeIfAbsent(apiResponse, ResolvedResponse::new));
+        this.resolvedResponses = unmodifiableMap(resolvedResponses);
+
+        byStatus = new ResolvedResponse[MAX_STATUS - MIN_STATUS + 1];
+        for (int status = MIN_STATUS; status <= MAX_STATUS; status++) {
+            final ApiResponse apiResponse = lookup(status);
+            byStatus[status - MIN_STATUS] = apiResponse == null ? null : resolvedResponses.get(apiResponse);
+        }
+    }
+
+    /**
+     * Get the API response defined for the given status code.
+     *
+     * @param status The response status code
+     *
+     * @return The API response for the given status, or <code>null</code> if none is defined
+     */
+    @Nullable
+    ResolvedResponse getApiResponse(final int status) {
+        if (status >= MIN_STATUS && status <= MAX_STATUS) {
+            return byStatus[status - MIN_STATUS];
+        }
+        final ApiResponse apiResponse = lookup(status);
+        return apiResponse == null ? null : resolvedResponses.get(apiResponse);
+    }
+
+    @Nullable
+    private ApiResponse lookup(final int status) {
+        final ApiResponse apiResponse = responses.get(Integer.toString(status));
+        if (apiResponse != null) {
+            return apiResponse;
+        }
+        final ApiResponse apiRangeResponse = responses.get(Integer.toString(status / 100) + "XX");
+        if (apiRangeResponse != null) {
+            return apiRangeResponse;
+        }
+
+        return responses.get("default"); // try the default response
+    }
+
+    /**
+     * An API response with its content types pre-parsed and headers resolved.
+     */
+    static final class ResolvedResponse {
+        private final ApiResponse apiResponse;
+        private final MediaTypeTable contentTypes;
+        private final Map<String, Header> headers;
+
+        private ResolvedResponse(final ApiResponse apiResponse) {
+            this.apiResponse = apiResponse;
+            this.contentTypes = MediaTypeTable.of(apiResponse.getContent() == null ? null : apiResponse.getContent().keySet());
+            this.headers = apiResponse.getHeaders() == null ? emptyMap() : apiResponse.getHeaders();
+        }
+
+        ApiResponse getApiResponse() {
+            return apiResponse;
+        }
+
+        MediaTypeTable getContentTypes() {
+            return contentTypes;
+        }
+
+        Map<String, Header> getHeaders() {
+            return headers;
+        }
+    }
+}
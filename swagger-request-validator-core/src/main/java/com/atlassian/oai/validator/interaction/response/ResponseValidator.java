@@ -1,40 +1,42 @@
 package com.atlassian.oai.validator.interaction.response;
 
+import com.atlassian.oai.validator.interaction.response.ResponseValidationPlan.ResolvedResponse;
 import com.atlassian.oai.validator.model.ApiOperation;
 import com.atlassian.oai.validator.model.Body;
+import com.atlassian.oai.validator.model.Headers;
 import com.atlassian.oai.validator.model.Response;
 import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.ValidationReport;
 import com.atlassian.oai.validator.report.ValidationReport.MessageContext;
+import com.atlassian.oai.validator.report.ValidationReportAccumulator;
 import com.atlassian.oai.validator.schema.SchemaValidator;
+import com.atlassian.oai.validator.util.MediaTypeTable;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.headers.Header;
-import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.responses.ApiResponse;
-import io.swagger.v3.oas.models.responses.ApiResponses;
 import org.slf4j.Logger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static com.atlassian.oai.validator.report.ValidationReport.MessageContext.Location.RESPONSE;
 import static com.atlassian.oai.validator.report.ValidationReport.empty;
-import static com.atlassian.oai.validator.util.ContentTypeUtils.containsGlobalAccept;
-import static com.atlassian.oai.validator.util.ContentTypeUtils.findMostSpecificMatch;
 import static com.atlassian.oai.validator.util.ContentTypeUtils.isFormDataContentType;
 import static com.atlassian.oai.validator.util.ContentTypeUtils.isJsonContentType;
-import static com.atlassian.oai.validator.util.ContentTypeUtils.matchesAny;
+import static com.atlassian.oai.validator.util.ContentTypeUtils.parseContentType;
 import static com.atlassian.oai.validator.util.HttpParsingUtils.parseUrlEncodedFormDataBodyAsJsonNode;
 import static java.lang.Boolean.TRUE;
-import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
-import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -48,6 +50,7 @@ public class ResponseValidator {
     private final MessageResolver messages;
     private final OpenAPI api;
     private final List<CustomResponseValidator> customResponseValidators;
+    private final Map<Operation, ResponseValidationPlan> plans = new IdentityHashMap<>();
 
     /**
      * Construct a new response validator with the given schema validator.
@@ -65,6 +68,14 @@ public class ResponseValidator {
         this.messages = requireNonNull(messages, "A message resolver is required");
         this.api = requireNonNull(api, "An OAI definition is required");
         this.customResponseValidators = customResponseValidators;
+
+        if (api.getPaths() != null) {
+            api.getPaths().values().forEach(pathItem ->
+                    pathItem.readOperations().forEach(operation ->
+                            plans.put(operation, ResponseValidationPlan.compile(operation))
+                    )
+            );
+        }
     }
 
     /**
@@ -77,54 +88,89 @@ public class ResponseValidator {
      */
     @Nonnull
     public ValidationReport validateResponse(final Response response, final ApiOperation apiOperation) {
+        return validateResponse(response, apiOperation, null);
+    }
+
+    /**
+     * Validate the given response against the API operation, optionally stopping at the first failure.
+     * <p>
+     * If a failure condition is given, validation stops as soon as the report from a validation step satisfies it,
+     * and the report up to that point is returned. In this mode the response body is only read and validated if the
+     * content type and headers are valid.
+     *
+     * @param response The response to validate
+     * @param apiOperation The API operation to validate the response against
+     * @param isFailure (Optional) The condition under which a validation step has failed and validation should stop.
+     * If not provided, all validation steps are run.
+     *
+     * @return A validation report containing validation errors
+     */
+    @Nonnull
+    public ValidationReport validateResponse(final Response response,
+                                             final ApiOperation apiOperation,
+                                             @Nullable final Predicate<ValidationReport> isFailure) {
         requireNonNull(response, "A response is required");
         requireNonNull(apiOperation, "An API operation is required");
 
-        final ApiResponse apiResponse = getApiResponse(response, apiOperation);
-
-        final MessageContext.Builder contextBuilder = MessageContext.create()
-                .in(RESPONSE)
-                .withApiOperation(apiOperation);
+        final ResolvedResponse apiResponse = planFor(apiOperation).getApiResponse(response.getStatus());
 
         if (apiResponse == null) {
             return ValidationReport.singleton(
                     messages.get("validation.response.status.unknown",
                             response.getStatus(), apiOperation.getApiPath().original())
-            ).withAdditionalContext(contextBuilder.build());
+            ).withAdditionalContext(MessageContext.create()
+                    .in(RESPONSE)
+                    .withApiOperation(apiOperation)
+                    .build());
         }
 
-        return validateResponseBody(response, apiResponse, apiOperation)
-                .merge(validateContentType(response, apiOperation))
-                .merge(validateHeaders(response, apiResponse, apiOperation))
-                .merge(validateCustom(response, apiOperation))
-                .withAdditionalContext(
-                        contextBuilder
-                                .withResponseStatus(response.getStatus())
-                                .withApiResponseDefinition(apiResponse)
-                                .build()
-                );
+        final Supplier<MessageContext> context = () -> MessageContext.create()
+                .in(RESPONSE)
+                .withApiOperation(apiOperation)
+                .withResponseStatus(response.getStatus())
+                .withApiResponseDefinition(apiResponse.getApiResponse())
+                .build();
+
+        final ValidationReportAccumulator validationReport = new ValidationReportAccumulator();
+        if (isFailure != null) {
+            validationReport.addUntilFailure(isFailure, context,
+                    r -> r.add(validateContentType(response, apiResponse)),
+                    r -> validateHeaders(response, apiResponse, apiOperation, r),
+                    r -> r.add(validateResponseBody(response, apiResponse, apiOperation)),
+                    r -> validateCustom(response, apiOperation, r));
+        } else {
+            validationReport
+                    .add(validateResponseBody(response, apiResponse, apiOperation))
+                    .add(validateContentType(response, apiResponse));
+            validateHeaders(response, apiResponse, apiOperation, validationReport);
+            validateCustom(response, apiOperation, validationReport);
+        }
+
+        return validationReport
+                .withContext(0, context)
+                .toReport();
     }
 
-    @Nullable
-    private ApiResponse getApiResponse(final Response response,
-                                       final ApiOperation apiOperation) {
-        final ApiResponses responses = apiOperation.getOperation().getResponses();
-        final ApiResponse apiResponse = responses.get(Integer.toString(response.getStatus()));
-        if (apiResponse != null) {
-            return apiResponse;
-        }
-        final ApiResponse apiRangeResponse = responses.get(Integer.toString(response.getStatus() / 100) + "XX");
-        if (apiRangeResponse != null) {
-            return apiRangeResponse;
+    /**
+     * Get the precompiled validation plan for the given operation.
+     * <p>
+     * Plans are compiled for all operations in the API when this validator is constructed. Operations from
+     * elsewhere (e.g. constructed by hand) have a plan compiled on demand.
+     */
+    @Nonnull
+    private ResponseValidationPlan planFor(final ApiOperation apiOperation) {
+        final ResponseValidationPlan plan = plans.get(apiOperation.getOperation());
+        if (plan != null) {
+            return plan;
         }
-
-        return responses.get("default"); // try the default response
+        return ResponseValidationPlan.compile(apiOperation.getOperation());
     }
 
     @Nonnull
     private ValidationReport validateResponseBody(final Response response,
-                                                  final ApiResponse apiResponse,
+                                                  final ResolvedResponse resolvedResponse,
                                                   final ApiOperation apiOperation) {
+        final ApiResponse apiResponse = resolvedResponse.getApiResponse();
         final Optional<Body> responseBody = response.getResponseBody();
         final boolean hasBody = responseBody.map(Body::hasBody).orElse(false);
         // Content field is null in OpenAPI v3 and initialized but empty in Swagger v2 when no response body is defined
@@ -147,7 +193,8 @@ public class ResponseValidator {
                             apiOperation.getMethod(), apiOperation.getApiPath().original()));
         }
 
-        final Optional<String> mostSpecificMatch = findMostSpecificMatch(response, apiResponse.getContent().keySet());
+        final Optional<String> mostSpecificMatch = resolvedResponse.getContentTypes()
+                .findMostSpecificMatch(response.getHeaderValue(Headers.CONTENT_TYPE).orElse("*/*"));
 
         if (!mostSpecificMatch.isPresent()) {
             // Validation of invalid content type is handled in content type validation
@@ -161,7 +208,7 @@ public class ResponseValidator {
 
         if (isJsonContentType(response)) {
             return schemaValidator
-                    .validate(() -> responseBody.get().toJsonNode(),
+                    .validate(responseBody.get(),
                             apiMediaType.getSchema(), "response.body");
         }
 
@@ -180,87 +227,68 @@ public class ResponseValidator {
 
     @Nonnull
     private ValidationReport validateContentType(final Response response,
-                                                 final ApiOperation apiOperation) {
+                                                 final ResolvedResponse apiResponse) {
 
         final Optional<String> responseContentTypeHeader = response.getContentType();
         if (!responseContentTypeHeader.isPresent()) {
             return ValidationReport.empty();
         }
 
-        final com.google.common.net.MediaType responseMediaType;
-        try {
-            responseMediaType = com.google.common.net.MediaType.parse(responseContentTypeHeader.get());
-        } catch (final IllegalArgumentException e) {
+        final Optional<com.google.common.net.MediaType> responseMediaType = parseContentType(responseContentTypeHeader.get());
+        if (!responseMediaType.isPresent()) {
             return ValidationReport.singleton(messages.get(
                     "validation.response.contentType.invalid", responseContentTypeHeader.get())
             );
         }
 
-        final Collection<String> apiMediaTypes = getApiMediaTypesForResponse(response, apiOperation);
-        if (apiMediaTypes.isEmpty() || containsGlobalAccept(apiMediaTypes)) {
+        final MediaTypeTable apiMediaTypes = apiResponse.getContentTypes();
+        if (apiMediaTypes.isEmpty() || apiMediaTypes.containsGlobalAccept()) {
             return empty();
         }
 
-        if (!matchesAny(responseMediaType, apiMediaTypes)) {
+        if (!apiMediaTypes.matchesAny(responseMediaType.get())) {
             return ValidationReport.singleton(
-                    messages.get("validation.response.contentType.notAllowed", responseContentTypeHeader.get(), apiMediaTypes)
+                    messages.get("validation.response.contentType.notAllowed",
+                            responseContentTypeHeader.get(), apiMediaTypes.getContentTypes())
             );
         }
 
         return ValidationReport.empty();
     }
 
-    @Nonnull
-    private Collection<String> getApiMediaTypesForResponse(final Response response,
-                                                           final ApiOperation apiOperation) {
-        final ApiResponse apiResponse = getApiResponse(response, apiOperation);
-        if (apiResponse == null) {
-            return emptyList();
+    private void validateHeaders(final Response response,
+                                 final ResolvedResponse apiResponse,
+                                 final ApiOperation apiOperation,
+                                 final ValidationReportAccumulator validationReport) {
+        for (final Map.Entry<String, Header> apiHeader : apiResponse.getHeaders().entrySet()) {
+            validateHeader(apiOperation, apiHeader.getKey(), apiHeader.getValue(),
+                    response.getHeaderValues(apiHeader.getKey()), validationReport);
         }
-        return defaultIfNull(apiResponse.getContent(), new Content()).keySet();
     }
 
-    @Nonnull
-    private ValidationReport validateHeaders(final Response response,
-                                             final ApiResponse apiResponse,
-                                             final ApiOperation apiOperation) {
-
-        final Map<String, Header> apiHeaders = apiResponse.getHeaders();
-        if (apiHeaders == null || apiHeaders.isEmpty()) {
-            return ValidationReport.empty();
-        }
-
-        return apiHeaders.entrySet()
-                .stream()
-                .map(h -> validateHeader(apiOperation, h.getKey(), h.getValue(), response.getHeaderValues(h.getKey())))
-                .reduce(ValidationReport.empty(), ValidationReport::merge);
-
-    }
-
-    @Nonnull
-    private ValidationReport validateHeader(final ApiOperation apiOperation,
-                                            final String headerName,
-                                            final Header apiHeader,
-                                            final Collection<String> propertyValues) {
+    private void validateHeader(final ApiOperation apiOperation,
+                                final String headerName,
+                                final Header apiHeader,
+                                final Collection<String> propertyValues,
+                                final ValidationReportAccumulator validationReport) {
 
         if (propertyValues.isEmpty() && TRUE.equals(apiHeader.getRequired())) {
-            return ValidationReport.singleton(
+            validationReport.add(
                     messages.get("validation.response.header.missing", headerName, apiOperation.getApiPath().original())
             );
+            return;
         }
 
-        return propertyValues
-                .stream()
-                .map(v -> schemaValidator.validate(v, apiHeader.getSchema(), "response.header"))
-                .reduce(ValidationReport.empty(), ValidationReport::merge);
+        for (final String value : propertyValues) {
+            validationReport.add(schemaValidator.validate(value, apiHeader.getSchema(), "response.header"));
+        }
     }
 
-    @Nonnull
-    private ValidationReport validateCustom(final Response response,
-                                            final ApiOperation apiOperation) {
-        return customResponseValidators
-                .stream()
-                .map(customResponseValidator -> customResponseValidator.validate(response, apiOperation))
-                .reduce(ValidationReport.empty(), ValidationReport::merge);
+    private void validateCustom(final Response response,
+                                final ApiOperation apiOperation,
+                                final ValidationReportAccumulator validationReport) {
+        for (final CustomResponseValidator customResponseValidator : customResponseValidators) {
+            validationReport.add(customResponseValidator.validate(response, apiOperation));
+        }
     }
 }
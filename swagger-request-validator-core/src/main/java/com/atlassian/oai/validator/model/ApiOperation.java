@@ -4,7 +4,11 @@ import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Optional;
 
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -18,16 +22,48 @@ public class ApiOperation {
     private final NormalisedPath requestPath;
     private final PathItem.HttpMethod method;
     private final Operation operation;
+    @Nullable
+    private final Map<String, String> pathParameterValues;
+    private final boolean requestPathMatched;
 
     public ApiOperation(@Nonnull final ApiPath apiPath,
                         @Nonnull final NormalisedPath requestPath,
                         @Nonnull final PathItem.HttpMethod method,
                         @Nonnull final Operation operation) {
+        this(apiPath, requestPath, method, operation, null);
+    }
+
+    /**
+     * @param pathParameterValues (Optional) The path parameter values of the request, keyed by the parameter names
+     * used in the API. If provided, these are used in place of values extracted from the request path.
+     */
+    public ApiOperation(@Nonnull final ApiPath apiPath,
+                        @Nonnull final NormalisedPath requestPath,
+                        @Nonnull final PathItem.HttpMethod method,
+                        @Nonnull final Operation operation,
+                        @Nullable final Map<String, String> pathParameterValues) {
+        this(apiPath, requestPath, method, operation, pathParameterValues, true);
+    }
+
+    /**
+     * @param pathParameterValues (Optional) The path parameter values of the request, keyed by the parameter names
+     * used in the API. If provided, these are used in place of values extracted from the request path.
+     * @param requestPathMatched Whether the request path is known to match the API path, e.g. because the operation
+     * was found by matching it. If not, the request path is matched before path parameter values are extracted from it.
+     */
+    public ApiOperation(@Nonnull final ApiPath apiPath,
+                        @Nonnull final NormalisedPath requestPath,
+                        @Nonnull final PathItem.HttpMethod method,
+                        @Nonnull final Operation operation,
+                        @Nullable final Map<String, String> pathParameterValues,
+                        final boolean requestPathMatched) {
 
         this.apiPath = requireNonNull(apiPath, "A path string is required");
         this.requestPath = requireNonNull(requestPath, "An api path is required");
         this.method = requireNonNull(method, "A request method is required");
         this.operation = requireNonNull(operation, "A operation object is required");
+        this.pathParameterValues = pathParameterValues == null ? null : unmodifiableMap(pathParameterValues);
+        this.requestPathMatched = requestPathMatched;
     }
 
     /**
@@ -61,4 +97,20 @@ public class ApiOperation {
     public Operation getOperation() {
         return operation;
     }
+
+    /**
+     * @return The path parameter values of the request as already resolved by the caller (e.g. by a web framework),
+     * keyed by parameter name; or empty if path parameter values should be extracted from the request path.
+     */
+    @Nonnull
+    public Optional<Map<String, String>> getPathParameterValues() {
+        return Optional.ofNullable(pathParameterValues);
+    }
+
+    /**
+     * @return Whether the request path is known to match the API path of this operation
+     */
+    public boolean isRequestPathMatched() {
+        return requestPathMatched;
+    }
 }
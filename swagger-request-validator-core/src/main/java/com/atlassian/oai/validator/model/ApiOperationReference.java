@@ -0,0 +1,118 @@
+package com.atlassian.oai.validator.model;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.atlassian.oai.validator.util.StringUtils.requireNonEmpty;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Identifies a single operation in the API without reference to an incoming request path.
+ * <p>
+ * Used where the operation an interaction is on is already known (e.g. from the route matched by a web framework)
+ * so that validation can skip matching the request path against the paths in the API.
+ * <p>
+ * An operation can be identified either by its <code>operationId</code>, or by its path template and method.
+ * Path templates are matched against the paths in the API with path parameter names ignored, so a framework route
+ * such as <code>/pets/{id}</code> will identify the API path <code>/pets/{petId}</code>.
+ */
+public final class ApiOperationReference {
+
+    @Nullable
+    private final String operationId;
+    @Nullable
+    private final String pathTemplate;
+    @Nullable
+    private final Request.Method method;
+
+    private ApiOperationReference(@Nullable final String operationId,
+                                  @Nullable final String pathTemplate,
+                                  @Nullable final Request.Method method) {
+        this.operationId = operationId;
+        this.pathTemplate = pathTemplate;
+        this.method = method;
+    }
+
+    /**
+     * Identify an operation by its <code>operationId</code>.
+     *
+     * @param operationId The ID of the operation in the API (required)
+     *
+     * @return A reference to the operation with the given ID
+     */
+    @Nonnull
+    public static ApiOperationReference byOperationId(@Nonnull final String operationId) {
+        return new ApiOperationReference(requireNonEmpty(operationId, "An operation ID is required"), null, null);
+    }
+
+    /**
+     * Identify an operation by its path template and method.
+     *
+     * @param pathTemplate The path template of the operation e.g. <code>/pets/{id}</code> (required)
+     * @param method The method of the operation (required)
+     *
+     * @return A reference to the operation on the given path template and method
+     */
+    @Nonnull
+    public static ApiOperationReference byPathTemplate(@Nonnull final String pathTemplate,
+                                                       @Nonnull final Request.Method method) {
+        return new ApiOperationReference(
+                null,
+                requireNonEmpty(pathTemplate, "A path template is required"),
+                requireNonNull(method, "A method is required")
+        );
+    }
+
+    /**
+     * @return The operation ID, if this reference identifies an operation by ID
+     */
+    @Nonnull
+    public Optional<String> getOperationId() {
+        return Optional.ofNullable(operationId);
+    }
+
+    /**
+     * @return The path template, if this reference identifies an operation by path template and method
+     */
+    @Nonnull
+    public Optional<String> getPathTemplate() {
+        return Optional.ofNullable(pathTemplate);
+    }
+
+    /**
+     * @return The method, if this reference identifies an operation by path template and method
+     */
+    @Nonnull
+    public Optional<Request.Method> getMethod() {
+        return Optional.ofNullable(method);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ApiOperationReference that = (ApiOperationReference) o;
+        return Objects.equals(operationId, that.operationId)
+                && Objects.equals(pathTemplate, that.pathTemplate)
+                && method == that.method;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operationId, pathTemplate, method);
+    }
+
+    @Override
+    public String toString() {
+        if (operationId != null) {
+            return "operationId '" + operationId + "'";
+        }
+        return method + " " + pathTemplate;
+    }
+}
@@ -13,7 +13,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static java.lang.Character.toLowerCase;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
@@ -31,6 +33,12 @@ public class ApiPathImpl extends NormalisedPathImpl implements ApiPath {
 
     private final boolean strictPathMatching;
 
+    /** The template matcher for each path part, compiled once on construction */
+    private final Pattern[] partPatterns;
+
+    /** The names of the params in each path part, found once on construction */
+    private final List<List<String>> partParamNames;
+
     public ApiPathImpl(@Nonnull final String path, @Nullable final String apiPrefix) {
         this(path, apiPrefix, false);
     }
@@ -43,6 +51,22 @@ public class ApiPathImpl extends NormalisedPathImpl implements ApiPath {
                        final boolean strictPathMatching) {
         super(path, apiPrefix);
         this.strictPathMatching = strictPathMatching;
+
+        partPatterns = new Pattern[numberOfParts()];
+        partParamNames = new ArrayList<>(numberOfParts());
+        for (int i = 0; i < partPatterns.length; i++) {
+            partPatterns[i] = compile(quote(part(i)).replaceAll(PARAM_REGEX, "\\\\E(.*?)\\\\Q"), CASE_INSENSITIVE);
+            partParamNames.add(findParamNames(part(i)));
+        }
+    }
+
+    private static List<String> findParamNames(final String part) {
+        final Matcher matcher = PARAM_PATTERN.matcher(part);
+        final List<String> result = new ArrayList<>();
+        while (matcher.find()) {
+            result.add(matcher.group(1));
+        }
+        return result.isEmpty() ? emptyList() : unmodifiableList(result);
     }
 
     @Override
@@ -64,26 +88,17 @@ public class ApiPathImpl extends NormalisedPathImpl implements ApiPath {
     @Override
     public boolean partMatches(final int index, @Nonnull final String requestPathPart) {
         requireNonNull(requestPathPart, "A request path part is required");
-        final String template = part(index);
-        final Pattern templatePattern = compile(quote(template).replaceAll(PARAM_REGEX, "\\\\E(.*?)\\\\Q"), CASE_INSENSITIVE);
-        return templatePattern.matcher(requestPathPart).matches();
+        return partPatterns[index].matcher(requestPathPart).matches();
     }
 
     @Override
     public boolean hasParams(final int index) {
-        final String part = part(index);
-        return PARAM_PATTERN.matcher(part).find();
+        return !partParamNames.get(index).isEmpty();
     }
 
     @Override
     public List<String> paramNames(final int index) {
-        final String part = part(index);
-        final Matcher matcher = PARAM_PATTERN.matcher(part);
-        final List<String> result = new ArrayList<>();
-        while (matcher.find()) {
-            result.add(matcher.group(1));
-        }
-        return result;
+        return partParamNames.get(index);
     }
 
     @Override
@@ -1,9 +1,12 @@
 package com.atlassian.oai.validator.model;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Json;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.OptionalLong;
 
 public interface Body {
     /**
@@ -17,6 +20,26 @@ public interface Body {
      */
     JsonNode toJsonNode() throws IOException;
 
+    /**
+     * Streaming alternative to {@link #toJsonNode()}, used to validate large bodies without reading them into
+     * memory in full.
+     * <p>
+     * The default implementation parses the whole body with {@link #toJsonNode()}.
+     *
+     * @return a {@link JsonParser} over the bodies content. The caller is responsible for closing the parser.
+     * @throws IOException in case the parser can't be created
+     */
+    default JsonParser toJsonParser() throws IOException {
+        return Json.mapper().treeAsTokens(toJsonNode());
+    }
+
+    /**
+     * @return the size of the bodies content (in bytes or characters), or empty if it is not known up-front
+     */
+    default OptionalLong getContentLength() {
+        return OptionalLong.empty();
+    }
+
     /**
      * @param encoding the {@link Charset} the bodies content shall be converted to
      *
@@ -1,11 +1,13 @@
 package com.atlassian.oai.validator.model;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.core.util.Json;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.OptionalLong;
 
 public class ByteArrayBody implements Body {
     private final byte[] content;
@@ -24,6 +26,16 @@ public class ByteArrayBody implements Body {
         return Json.mapper().readTree(content);
     }
 
+    @Override
+    public JsonParser toJsonParser() throws IOException {
+        return Json.mapper().getFactory().createParser(content);
+    }
+
+    @Override
+    public OptionalLong getContentLength() {
+        return OptionalLong.of(content.length);
+    }
+
     @Override
     public String toString(final Charset encoding) {
         return new String(content, encoding);
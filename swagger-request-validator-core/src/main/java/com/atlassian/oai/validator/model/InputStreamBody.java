@@ -1,5 +1,6 @@
 package com.atlassian.oai.validator.model;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.core.util.Json;
 import org.apache.commons.io.IOUtils;
@@ -34,6 +35,11 @@ public class InputStreamBody implements Body {
         return Json.mapper().readTree(content);
     }
 
+    @Override
+    public JsonParser toJsonParser() throws IOException {
+        return Json.mapper().getFactory().createParser(content);
+    }
+
     @Override
     public String toString(final Charset encoding) throws IOException {
         return IOUtils.toString(content, encoding);
@@ -61,7 +61,8 @@ public interface Response {
      */
     @Nonnull
     default Optional<String> getHeaderValue(final String name) {
-        return getHeaderValues(name).stream().findFirst();
+        final Collection<String> values = getHeaderValues(name);
+        return values.isEmpty() ? Optional.empty() : Optional.of(values.iterator().next());
     }
 
     /**
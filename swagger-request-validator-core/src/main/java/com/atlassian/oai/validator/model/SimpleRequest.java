@@ -99,11 +99,15 @@ public class SimpleRequest implements Request {
     }
 
     static Collection<String> getFromMapOrEmptyList(final Map<String, Collection<String>> map, final String name) {
-        if (name == null || !map.containsKey(name)) {
+        if (name == null) {
+            return emptyList();
+        }
+        final Collection<String> values = map.get(name);
+        if (values == null) {
             return emptyList();
         }
 
-        return map.get(name).stream().filter(Objects::nonNull)
+        return values.stream().filter(Objects::nonNull)
                 .collect(collectingAndThen(toList(), Collections::unmodifiableList));
     }
 
@@ -0,0 +1,91 @@
+package com.atlassian.oai.validator.regex;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A regular expression that has been compiled once for repeated use, and records statistics on its use if enabled.
+ *
+ * @see PatternRegistry
+ */
+public final class CompiledPattern {
+
+    /**
+     * The engine used to match a pattern.
+     */
+    public enum Engine {
+        /** The linear-time matcher, for patterns using the supported subset of ECMA 262 syntax */
+        LINEAR_TIME,
+        /** The ECMA 262 script engine used by the JSON schema validator, for other ECMA 262 patterns */
+        ECMA_SCRIPT,
+        /** {@link java.util.regex.Pattern} */
+        JAVA
+    }
+
+    private final PatternRegistry registry;
+    private final String pattern;
+    private final Engine engine;
+    private final Predicate<CharSequence> matcher;
+    private final long compileTimeNanos;
+
+    private final LongAdder matchCount = new LongAdder();
+    private final LongAdder matchTimeNanos = new LongAdder();
+
+    CompiledPattern(final PatternRegistry registry,
+                    final String pattern,
+                    final Engine engine,
+                    final Predicate<CharSequence> matcher,
+                    final long compileTimeNanos) {
+        this.registry = requireNonNull(registry);
+        this.pattern = requireNonNull(pattern);
+        this.engine = requireNonNull(engine);
+        this.matcher = requireNonNull(matcher);
+        this.compileTimeNanos = compileTimeNanos;
+    }
+
+    /**
+     * @param input The input to search
+     *
+     * @return Whether the pattern matches anywhere in the given input
+     *
+     * @see PatternRegistry#setMatchStatisticsRecorded(boolean)
+     */
+    public boolean find(@Nonnull final CharSequence input) {
+        if (!registry.isMatchStatisticsRecorded()) {
+            return matcher.test(input);
+        }
+        final long start = System.nanoTime();
+        try {
+            return matcher.test(input);
+        } finally {
+            matchTimeNanos.add(System.nanoTime() - start);
+            matchCount.increment();
+        }
+    }
+
+    @Nonnull
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Nonnull
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return A snapshot of the statistics on the compilation and use of this pattern
+     */
+    @Nonnull
+    public PatternStatistics getStatistics() {
+        return new PatternStatistics(pattern, engine, compileTimeNanos, matchCount.sum(), matchTimeNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return pattern + " (" + engine + ")";
+    }
+}
@@ -0,0 +1,668 @@
+package com.atlassian.oai.validator.regex;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A regular expression matcher that runs in time linear in the length of the input, for the subset of ECMA 262
+ * regular expression syntax that can be matched without backtracking.
+ * <p>
+ * The pattern is compiled to a small instruction set and matched by simulating all possible paths through it at
+ * once (a 'Pike VM'), so the time taken is bounded by the length of the input multiplied by the size of the pattern,
+ * regardless of how ambiguous the pattern is.
+ * <p>
+ * Supported syntax is literals, <code>.</code>, character classes (including ranges and the <code>\d \D \w \W \s
+ * \S</code> escapes), control and hex escapes, escaped punctuation, the <code>^ $ \b \B</code> assertions,
+ * capturing and non-capturing groups, alternation and all quantifiers. Matching follows ECMA 262 semantics
+ * (without the <code>m</code>, <code>i</code> or <code>u</code> flags) and works on UTF-16 code units.
+ * <p>
+ * Back-references, lookaround, and the syntax whose meaning differs between engines (e.g. the Annex B extensions)
+ * are not supported. Patterns using them should be matched with another engine.
+ */
+final class LinearTimePattern {
+
+    /** The maximum number of instructions in a compiled pattern, which bounds the expansion of counted repetitions */
+    static final int MAX_PROGRAM_SIZE = 10_000;
+
+    private static final int MAX_CHAR = Character.MAX_VALUE;
+
+    private static final int[] DIGITS = {'0', '9'};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] LINE_TERMINATORS = {'\n', '\n', '\r', '\r', '\u2028', '\u2029'};
+    private static final int[] WHITESPACE = {
+        '\t', '\r', ' ', ' ', '\u00a0', '\u00a0', '\u1680', '\u1680', '\u2000', '\u200a',
+        '\u2028', '\u2029', '\u202f', '\u202f', '\u205f', '\u205f', '\u3000', '\u3000', '\ufeff', '\ufeff'
+    };
+
+    private static final byte CHAR = 0;
+    private static final byte SPLIT = 1;
+    private static final byte JUMP = 2;
+    private static final byte ASSERT = 3;
+    private static final byte MATCH = 4;
+
+    private static final int ASSERT_BEGIN = 0;
+    private static final int ASSERT_END = 1;
+    private static final int ASSERT_WORD_BOUNDARY = 2;
+    private static final int ASSERT_NOT_WORD_BOUNDARY = 3;
+
+    private final String pattern;
+    private final byte[] ops;
+    private final int[] args;
+    private final int[] alternates;
+    private final int[][] charSets;
+    private final boolean anchoredAtStart;
+
+    private LinearTimePattern(final String pattern, final Program program) {
+        this.pattern = pattern;
+        this.ops = Arrays.copyOf(program.ops, program.size);
+        this.args = Arrays.copyOf(program.args, program.size);
+        this.alternates = Arrays.copyOf(program.alternates, program.size);
+        this.charSets = Arrays.copyOf(program.charSets, program.size);
+        this.anchoredAtStart = ops[0] == ASSERT && args[0] == ASSERT_BEGIN;
+    }
+
+    /**
+     * Compile the given ECMA 262 regular expression, if it only uses supported syntax.
+     *
+     * @param pattern The regular expression to compile
+     *
+     * @return The compiled pattern, or empty if the pattern uses unsupported (or invalid) syntax
+     */
+    @Nonnull
+    static Optional<LinearTimePattern> compile(@Nonnull final String pattern) {
+        try {
+            final Node node = new Parser(pattern).parse();
+            final Program program = new Program();
+            node.emit(program);
+            program.add(MATCH, 0, 0, null);
+            return Optional.of(new LinearTimePattern(pattern, program));
+        } catch (final UnsupportedPatternException e) {
+            return Optional.empty();
+        }
+    }
+
+    String pattern() {
+        return pattern;
+    }
+
+    /**
+     * @param input The input to search
+     *
+     * @return Whether the pattern matches anywhere in the input
+     */
+    boolean find(@Nonnull final CharSequence input) {
+        final int length = input.length();
+        final int size = ops.length;
+        int[] current = new int[size];
+        int[] next = new int[size];
+        final int[] marks = new int[size];
+        final int[] stack = new int[size * 2 + 2];
+
+        int count = 0;
+        for (int position = 0; position <= length; position++) {
+            final int generation = position + 1;
+            if (position == 0 || !anchoredAtStart) {
+                count = addThread(current, count, marks, generation, stack, 0, input, position);
+                if (count < 0) {
+                    return true;
+                }
+            } else if (count == 0) {
+                return false;
+            }
+            if (position == length) {
+                return false;
+            }
+
+            final char c = input.charAt(position);
+            int nextCount = 0;
+            for (int i = 0; i < count; i++) {
+                final int pc = current[i];
+                if (contains(charSets[pc], c)) {
+                    nextCount = addThread(next, nextCount, marks, generation + 1, stack, pc + 1, input, position + 1);
+                    if (nextCount < 0) {
+                        return true;
+                    }
+                }
+            }
+
+            final int[] swap = current;
+            current = next;
+            next = swap;
+            count = nextCount;
+        }
+        return false;
+    }
+
+    /**
+     * Add the thread at the given instruction to the list, following jumps, splits and assertions.
+     *
+     * @return The new number of threads in the list, or -1 if the pattern has matched
+     */
+    private int addThread(final int[] list, final int count, final int[] marks, final int generation, final int[] stack,
+                          final int start, final CharSequence input, final int position) {
+        int newCount = count;
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            final int pc = stack[--top];
+            if (marks[pc] == generation) {
+                continue;
+            }
+            marks[pc] = generation;
+            switch (ops[pc]) {
+                case CHAR:
+                    list[newCount++] = pc;
+                    break;
+                case SPLIT:
+                    stack[top++] = alternates[pc];
+                    stack[top++] = args[pc];
+                    break;
+                case JUMP:
+                    stack[top++] = args[pc];
+                    break;
+                case ASSERT:
+                    if (holds(args[pc], input, position)) {
+                        stack[top++] = pc + 1;
+                    }
+                    break;
+                default:
+                    return -1;
+            }
+        }
+        return newCount;
+    }
+
+    private static boolean holds(final int assertion, final CharSequence input, final int position) {
+        switch (assertion) {
+            case ASSERT_BEGIN:
+                return position == 0;
+            case ASSERT_END:
+                return position == input.length();
+            default:
+                final boolean before = position > 0 && contains(WORD, input.charAt(position - 1));
+                final boolean after = position < input.length() && contains(WORD, input.charAt(position));
+                return (before != after) == (assertion == ASSERT_WORD_BOUNDARY);
+        }
+    }
+
+    private static boolean contains(final int[] ranges, final char c) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (c < ranges[mid * 2]) {
+                high = mid - 1;
+            } else if (c > ranges[mid * 2 + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sort and merge the given (inclusive) ranges of characters.
+     */
+    private static int[] normalise(final List<int[]> ranges) {
+        final List<int[]> sorted = new ArrayList<>();
+        for (final int[] range : ranges) {
+            for (int i = 0; i < range.length; i += 2) {
+                sorted.add(new int[] {range[i], range[i + 1]});
+            }
+        }
+        sorted.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        final List<int[]> merged = new ArrayList<>();
+        for (final int[] range : sorted) {
+            final int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1] + 1) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(range);
+            }
+        }
+
+        final int[] result = new int[merged.size() * 2];
+        for (int i = 0; i < merged.size(); i++) {
+            result[i * 2] = merged.get(i)[0];
+            result[i * 2 + 1] = merged.get(i)[1];
+        }
+        return result;
+    }
+
+    private static int[] complement(final int[] ranges) {
+        final List<int[]> result = new ArrayList<>();
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                result.add(new int[] {next, ranges[i] - 1});
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= MAX_CHAR) {
+            result.add(new int[] {next, MAX_CHAR});
+        }
+        return normalise(result);
+    }
+
+    private static final class UnsupportedPatternException extends Exception {
+        UnsupportedPatternException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * The compiled instructions. Each instruction has an opcode, an argument (a jump target or assertion type),
+     * an alternate jump target (for splits) and a character set (for character matches).
+     */
+    private static final class Program {
+        private byte[] ops = new byte[16];
+        private int[] args = new int[16];
+        private int[] alternates = new int[16];
+        private int[][] charSets = new int[16][];
+        private int size;
+
+        int add(final byte op, final int arg, final int alternate, final int[] charSet) throws UnsupportedPatternException {
+            if (size >= MAX_PROGRAM_SIZE) {
+                throw new UnsupportedPatternException();
+            }
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, size * 2);
+                args = Arrays.copyOf(args, size * 2);
+                alternates = Arrays.copyOf(alternates, size * 2);
+                charSets = Arrays.copyOf(charSets, size * 2);
+            }
+            ops[size] = op;
+            args[size] = arg;
+            alternates[size] = alternate;
+            charSets[size] = charSet;
+            return size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void setArg(final int pc, final int arg) {
+            args[pc] = arg;
+        }
+
+        void setAlternate(final int pc, final int alternate) {
+            alternates[pc] = alternate;
+        }
+    }
+
+    private interface Node {
+        void emit(Program program) throws UnsupportedPatternException;
+    }
+
+    private static final class CharNode implements Node {
+        private final int[] charSet;
+
+        CharNode(final int[] charSet) {
+            this.charSet = charSet;
+        }
+
+        @Override
+        public void emit(final Program program) throws UnsupportedPatternException {
+            program.add(CHAR, 0, 0, charSet);
+        }
+    }
+
+    private static final class AssertNode implements Node {
+        private final int assertion;
+
+        AssertNode(final int assertion) {
+            this.assertion = assertion;
+        }
+
+        @Override
+        public void emit(final Program program) throws UnsupportedPatternException {
+            program.add(ASSERT, assertion, 0, null);
+        }
+    }
+
+    private static final class SequenceNode implements Node {
+        private final List<Node> nodes;
+
+        SequenceNode(final List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public void emit(final Program program) throws UnsupportedPatternException {
+            for (final Node node : nodes) {
+                node.emit(program);
+            }
+        }
+    }
+
+    private static final class AlternationNode implements Node {
+        private final List<Node> alternatives;
+
+        AlternationNode(final List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        public void emit(final Program program) throws UnsupportedPatternException {
+            final List<Integer> jumps = new ArrayList<>();
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                final int split = program.add(SPLIT, program.size() + 1, 0, null);
+                alternatives.get(i).emit(program);
+                jumps.add(program.add(JUMP, 0, 0, null));
+                program.setAlternate(split, program.size());
+            }
+            alternatives.get(alternatives.size() - 1).emit(program);
+            for (final int jump : jumps) {
+                program.setArg(jump, program.size());
+            }
+        }
+    }
+
+    private static final class RepeatNode implements Node {
+        private final Node node;
+        private final int min;
+        private final int max;
+
+        /**
+         * @param max The maximum number of repetitions, or -1 if unbounded
+         */
+        RepeatNode(final Node node, final int min, final int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void emit(final Program program) throws UnsupportedPatternException {
+            for (int i = 0; i < min; i++) {
+                node.emit(program);
+            }
+            if (max < 0) {
+                final int split = program.add(SPLIT, program.size() + 1, 0, null);
+                node.emit(program);
+                program.add(JUMP, split, 0, null);
+                program.setAlternate(split, program.size());
+                return;
+            }
+            final List<Integer> splits = new ArrayList<>();
+            for (int i = min; i < max; i++) {
+                splits.add(program.add(SPLIT, program.size() + 1, 0, null));
+                node.emit(program);
+            }
+            for (final int split : splits) {
+                program.setAlternate(split, program.size());
+            }
+        }
+    }
+
+    /**
+     * Recursive descent parser for the supported subset of the ECMA 262 pattern grammar.
+     */
+    private static final class Parser {
+        private final String pattern;
+        private int position;
+
+        Parser(final String pattern) {
+            this.pattern = pattern;
+        }
+
+        Node parse() throws UnsupportedPatternException {
+            final Node node = parseDisjunction();
+            if (position != pattern.length()) {
+                throw new UnsupportedPatternException();
+            }
+            return node;
+        }
+
+        private Node parseDisjunction() throws UnsupportedPatternException {
+            final List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseAlternative());
+            while (peek() == '|') {
+                position++;
+                alternatives.add(parseAlternative());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new AlternationNode(alternatives);
+        }
+
+        private Node parseAlternative() throws UnsupportedPatternException {
+            final List<Node> terms = new ArrayList<>();
+            while (position < pattern.length() && peek() != '|' && peek() != ')') {
+                terms.add(parseTerm());
+            }
+            return new SequenceNode(terms);
+        }
+
+        private Node parseTerm() throws UnsupportedPatternException {
+            final char c = pattern.charAt(position);
+            if (c == '^' || c == '$') {
+                position++;
+                return assertion(c == '^' ? ASSERT_BEGIN : ASSERT_END);
+            }
+            if (c == '\\' && (peek(1) == 'b' || peek(1) == 'B')) {
+                position += 2;
+                return assertion(pattern.charAt(position - 1) == 'b' ? ASSERT_WORD_BOUNDARY : ASSERT_NOT_WORD_BOUNDARY);
+            }
+            return parseQuantifier(parseAtom());
+        }
+
+        private Node assertion(final int type) throws UnsupportedPatternException {
+            if (isQuantifier(peek())) {
+                throw new UnsupportedPatternException();
+            }
+            return new AssertNode(type);
+        }
+
+        private Node parseAtom() throws UnsupportedPatternException {
+            final char c = pattern.charAt(position++);
+            switch (c) {
+                case '.':
+                    return new CharNode(complement(LINE_TERMINATORS));
+                case '(':
+                    if (peek() == '?') {
+                        if (peek(1) != ':') {
+                            throw new UnsupportedPatternException();
+                        }
+                        position += 2;
+                    }
+                    final Node group = parseDisjunction();
+                    expect(')');
+                    return group;
+                case '[':
+                    return new CharNode(parseClass());
+                case '\\':
+                    return new CharNode(parseEscape(false));
+                case ')':
+                case ']':
+                case '{':
+                case '}':
+                case '*':
+                case '+':
+                case '?':
+                    throw new UnsupportedPatternException();
+                default:
+                    return new CharNode(new int[] {c, c});
+            }
+        }
+
+        private Node parseQuantifier(final Node atom) throws UnsupportedPatternException {
+            final char c = peek();
+            final int min;
+            final int max;
+            if (c == '*' || c == '+' || c == '?') {
+                position++;
+                min = c == '+' ? 1 : 0;
+                max = c == '?' ? 1 : -1;
+            } else if (c == '{') {
+                position++;
+                min = parseNumber();
+                if (peek() == ',') {
+                    position++;
+                    max = peek() == '}' ? -1 : parseNumber();
+                } else {
+                    max = min;
+                }
+                expect('}');
+                if (max >= 0 && max < min) {
+                    throw new UnsupportedPatternException();
+                }
+            } else {
+                return atom;
+            }
+            if (peek() == '?') {
+                // Lazy quantifiers match the same inputs as greedy ones
+                position++;
+            }
+            if (isQuantifier(peek())) {
+                throw new UnsupportedPatternException();
+            }
+            return new RepeatNode(atom, min, max);
+        }
+
+        private int parseNumber() throws UnsupportedPatternException {
+            final int start = position;
+            while (position < pattern.length() && isDigit(pattern.charAt(position))) {
+                position++;
+            }
+            if (position == start || position - start > 4) {
+                throw new UnsupportedPatternException();
+            }
+            return Integer.parseInt(pattern.substring(start, position));
+        }
+
+        private int[] parseClass() throws UnsupportedPatternException {
+            final boolean negated = peek() == '^';
+            if (negated) {
+                position++;
+            }
+            final List<int[]> ranges = new ArrayList<>();
+            while (peek() != ']') {
+                if (position >= pattern.length()) {
+                    throw new UnsupportedPatternException();
+                }
+                final int[] from = parseClassAtom();
+                if (peek() == '-' && peek(1) != ']' && position + 1 < pattern.length()) {
+                    position++;
+                    final int[] to = parseClassAtom();
+                    if (!isSingleChar(from) || !isSingleChar(to) || from[0] > to[0]) {
+                        throw new UnsupportedPatternException();
+                    }
+                    ranges.add(new int[] {from[0], to[0]});
+                } else {
+                    ranges.add(from);
+                }
+            }
+            position++;
+            final int[] charSet = normalise(ranges);
+            return negated ? complement(charSet) : charSet;
+        }
+
+        private int[] parseClassAtom() throws UnsupportedPatternException {
+            final char c = pattern.charAt(position++);
+            if (c == '\\') {
+                return parseEscape(true);
+            }
+            if (c == '[') {
+                throw new UnsupportedPatternException();
+            }
+            return new int[] {c, c};
+        }
+
+        private int[] parseEscape(final boolean inClass) throws UnsupportedPatternException {
+            if (position >= pattern.length()) {
+                throw new UnsupportedPatternException();
+            }
+            final char c = pattern.charAt(position++);
+            switch (c) {
+                case 'd':
+                    return DIGITS;
+                case 'D':
+                    return complement(DIGITS);
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 's':
+                    return WHITESPACE;
+                case 'S':
+                    return complement(WHITESPACE);
+                case 't':
+                    return single('\t');
+                case 'n':
+                    return single('\n');
+                case 'r':
+                    return single('\r');
+                case 'f':
+                    return single('\f');
+                case 'v':
+                    return single('\u000b');
+                case 'b':
+                    if (!inClass) {
+                        throw new UnsupportedPatternException();
+                    }
+                    return single('\b');
+                case 'x':
+                    return single(parseHex(2));
+                case 'u':
+                    return single(parseHex(4));
+                default:
+                    // Identity escapes of letters and digits differ between engines (or are back-references)
+                    if (Character.isLetterOrDigit(c) || c == '_' || c >= 0x80) {
+                        throw new UnsupportedPatternException();
+                    }
+                    return single(c);
+            }
+        }
+
+        private int parseHex(final int digits) throws UnsupportedPatternException {
+            if (position + digits > pattern.length()) {
+                throw new UnsupportedPatternException();
+            }
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                final int digit = Character.digit(pattern.charAt(position++), 16);
+                if (digit < 0) {
+                    throw new UnsupportedPatternException();
+                }
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+
+        private void expect(final char c) throws UnsupportedPatternException {
+            if (peek() != c) {
+                throw new UnsupportedPatternException();
+            }
+            position++;
+        }
+
+        private char peek() {
+            return peek(0);
+        }
+
+        private char peek(final int offset) {
+            return position + offset < pattern.length() ? pattern.charAt(position + offset) : '\uffff';
+        }
+
+        private static int[] single(final int c) {
+            return new int[] {c, c};
+        }
+
+        private static boolean isSingleChar(final int[] ranges) {
+            return ranges.length == 2 && ranges[0] == ranges[1];
+        }
+
+        private static boolean isQuantifier(final char c) {
+            return c == '*' || c == '+' || c == '?' || c == '{';
+        }
+
+        private static boolean isDigit(final char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.atlassian.oai.validator.regex;
+
+import com.github.fge.jsonschema.core.util.RegexECMA262Helper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A shared registry of compiled regular expressions, so that each pattern used in validation (from the
+ * <code>pattern</code> keyword of schemas in the API, or from whitelist rules etc.) is compiled once and reused.
+ * <p>
+ * ECMA 262 patterns from the API are matched in linear time where possible, protecting against catastrophic
+ * backtracking on long inputs. Patterns that use syntax the linear-time matcher does not support fall back
+ * to the ECMA 262 script engine used by the JSON schema validator.
+ * <p>
+ * The registry holds up to {@value #MAX_PATTERNS} patterns of each kind, evicting the least recently used beyond that.
+ * Evicted patterns remain usable by whoever holds them, and are compiled again if requested again.
+ * <p>
+ * Statistics on the compilation of each pattern are available via {@link #getStatistics()}. Statistics on their
+ * use are only recorded once enabled with {@link #setMatchStatisticsRecorded(boolean)}.
+ */
+public final class PatternRegistry {
+
+    static final int MAX_PATTERNS = 1000;
+
+    private static final PatternRegistry INSTANCE = new PatternRegistry();
+
+    private final Cache<String, CompiledPattern> ecmaPatterns = CacheBuilder.newBuilder().maximumSize(MAX_PATTERNS).build();
+    private final Cache<String, CompiledPattern> javaPatterns = CacheBuilder.newBuilder().maximumSize(MAX_PATTERNS).build();
+
+    private volatile boolean matchStatisticsRecorded;
+
+    /**
+     * @return The shared pattern registry
+     */
+    @Nonnull
+    public static PatternRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    PatternRegistry() {
+    }
+
+    /**
+     * Get the compiled form of the given ECMA 262 regular expression (as used by the <code>pattern</code> keyword in
+     * JSON schemas), compiling it if needed.
+     *
+     * @param regex The ECMA 262 regular expression
+     *
+     * @return The compiled pattern
+     */
+    @Nonnull
+    public CompiledPattern ecma262(@Nonnull final String regex) {
+        requireNonNull(regex, "A regex is required");
+        return ecmaPatterns.asMap().computeIfAbsent(regex, this::compileEcma262);
+    }
+
+    /**
+     * Get the compiled form of the given {@link Pattern Java regular expression}, compiling it if needed.
+     *
+     * @param regex The Java regular expression
+     * @param flags The match flags (see {@link Pattern#compile(String, int)})
+     *
+     * @return The compiled pattern
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression is not valid
+     */
+    @Nonnull
+    public CompiledPattern java(@Nonnull final String regex, final int flags) {
+        requireNonNull(regex, "A regex is required");
+        return javaPatterns.asMap().computeIfAbsent(flags + ":" + regex, k -> compileJava(regex, flags));
+    }
+
+    /**
+     * Specifies whether the number of times each pattern is matched, and the time taken, are recorded.
+     * <p>
+     * Disabled by default, as timing each match reads the clock twice per match.
+     *
+     * @param matchStatisticsRecorded Whether to record statistics on the use of each pattern
+     */
+    public void setMatchStatisticsRecorded(final boolean matchStatisticsRecorded) {
+        this.matchStatisticsRecorded = matchStatisticsRecorded;
+    }
+
+    public boolean isMatchStatisticsRecorded() {
+        return matchStatisticsRecorded;
+    }
+
+    /**
+     * @return Statistics on the compilation and use of each of the patterns in this registry
+     */
+    @Nonnull
+    public List<PatternStatistics> getStatistics() {
+        return Stream.concat(ecmaPatterns.asMap().values().stream(), javaPatterns.asMap().values().stream())
+                .map(CompiledPattern::getStatistics)
+                .collect(toList());
+    }
+
+    private CompiledPattern compileEcma262(final String regex) {
+        final long start = System.nanoTime();
+        final Optional<LinearTimePattern> linearTimePattern = LinearTimePattern.compile(regex);
+        final long compileTimeNanos = System.nanoTime() - start;
+        if (linearTimePattern.isPresent()) {
+            return new CompiledPattern(this, regex, CompiledPattern.Engine.LINEAR_TIME, linearTimePattern.get()::find, compileTimeNanos);
+        }
+        return new CompiledPattern(this, regex, CompiledPattern.Engine.ECMA_SCRIPT,
+                input -> RegexECMA262Helper.regMatch(regex, input.toString()), compileTimeNanos);
+    }
+
+    private CompiledPattern compileJava(final String regex, final int flags) {
+        final long start = System.nanoTime();
+        final Pattern pattern = Pattern.compile(regex, flags);
+        final long compileTimeNanos = System.nanoTime() - start;
+        return new CompiledPattern(this, regex, CompiledPattern.Engine.JAVA, input -> pattern.matcher(input).find(), compileTimeNanos);
+    }
+}
@@ -0,0 +1,78 @@
+package com.atlassian.oai.validator.regex;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Statistics on the compilation and use of a {@link CompiledPattern}.
+ */
+public final class PatternStatistics {
+
+    private final String pattern;
+    private final CompiledPattern.Engine engine;
+    private final long compileTimeNanos;
+    private final long matchCount;
+    private final long totalMatchTimeNanos;
+
+    PatternStatistics(final String pattern,
+                      final CompiledPattern.Engine engine,
+                      final long compileTimeNanos,
+                      final long matchCount,
+                      final long totalMatchTimeNanos) {
+        this.pattern = pattern;
+        this.engine = engine;
+        this.compileTimeNanos = compileTimeNanos;
+        this.matchCount = matchCount;
+        this.totalMatchTimeNanos = totalMatchTimeNanos;
+    }
+
+    @Nonnull
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Nonnull
+    public CompiledPattern.Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return The time taken to compile the pattern, in nanoseconds
+     */
+    public long getCompileTimeNanos() {
+        return compileTimeNanos;
+    }
+
+    /**
+     * @return The number of times the pattern has been matched against an input, while match statistics were recorded
+     *
+     * @see PatternRegistry#setMatchStatisticsRecorded(boolean)
+     */
+    public long getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * @return The total time spent matching the pattern while match statistics were recorded, in nanoseconds
+     */
+    public long getTotalMatchTimeNanos() {
+        return totalMatchTimeNanos;
+    }
+
+    /**
+     * @return The average time taken to match the pattern against an input, in nanoseconds
+     */
+    public double getAverageMatchTimeNanos() {
+        return matchCount == 0 ? 0 : (double) totalMatchTimeNanos / matchCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PatternStatistics{" +
+                "pattern='" + pattern + '\'' +
+                ", engine=" + engine +
+                ", compileTimeNanos=" + compileTimeNanos +
+                ", matchCount=" + matchCount +
+                ", totalMatchTimeNanos=" + totalMatchTimeNanos +
+                '}';
+    }
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.atlassian.oai.validator.regex;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -4,6 +4,8 @@ import javax.annotation.Nonnull;
 import java.util.Collections;
 import java.util.List;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * An empty {@link ValidationReport} which contains no {@link ValidationReport.Message}.
  * An {@link EmptyValidationReport} can't have any error by definition.
@@ -12,6 +14,8 @@ import java.util.List;
  */
 public class EmptyValidationReport implements ValidationReport {
 
+    static final EmptyValidationReport INSTANCE = new EmptyValidationReport();
+
     EmptyValidationReport() {
     }
 
@@ -26,6 +30,12 @@ public class EmptyValidationReport implements ValidationReport {
         return Collections.emptyList();
     }
 
+    @Override
+    public ValidationReport merge(@Nonnull final ValidationReport other) {
+        requireNonNull(other, "A validation report is required");
+        return other;
+    }
+
     @Override
     public ValidationReport withAdditionalContext(final MessageContext context) {
         return this;
@@ -1,6 +1,7 @@
 package com.atlassian.oai.validator.report;
 
 import com.atlassian.oai.validator.util.StringUtils;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 
 import javax.annotation.Nonnull;
@@ -9,6 +10,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
@@ -17,9 +19,19 @@ import static java.util.stream.Collectors.joining;
 
 class ImmutableMessage implements ValidationReport.Message {
 
+    private static final int UNRESOLVED_KEY_ID = MessageKeys.NO_ID - 1;
+
     private final String key;
+
+    /**
+     * The ID of the key in the {@link MessageKeys} registry, resolved on first use if not known up-front.
+     */
+    private int keyId;
     private final ValidationReport.Level level;
-    private final String message;
+    /**
+     * The message String, which is only formatted if (and when) it is first used.
+     */
+    private final Supplier<String> message;
     private final List<String> additionalInfo;
     private final List<ValidationReport.Message> nestedMessages;
 
@@ -33,6 +45,13 @@ class ImmutableMessage implements ValidationReport.Message {
         this(key, level, message, asList(additionalInfo), null);
     }
 
+    ImmutableMessage(@Nonnull final String key,
+                     final int keyId,
+                     @Nonnull final ValidationReport.Level level,
+                     @Nonnull final Supplier<String> message) {
+        this(key, keyId, level, Suppliers.memoize(message::get), Collections.emptyList(), Collections.emptyList(), null);
+    }
+
     ImmutableMessage(@Nonnull final String key,
                      @Nonnull final ValidationReport.Level level,
                      @Nonnull final String message,
@@ -47,10 +66,22 @@ class ImmutableMessage implements ValidationReport.Message {
                      @Nonnull final List<String> additionalInfo,
                      @Nonnull final List<ValidationReport.Message> nestedMessages,
                      @Nullable final ValidationReport.MessageContext context) {
+        this(key, UNRESOLVED_KEY_ID, level, constant(requireNonNull(message, "A message is required")),
+                additionalInfo, nestedMessages, context);
+    }
+
+    private ImmutableMessage(@Nonnull final String key,
+                             final int keyId,
+                             @Nonnull final ValidationReport.Level level,
+                             @Nonnull final Supplier<String> message,
+                             @Nonnull final List<String> additionalInfo,
+                             @Nonnull final List<ValidationReport.Message> nestedMessages,
+                             @Nullable final ValidationReport.MessageContext context) {
 
         this.key = requireNonNull(key, "A key is required");
+        this.keyId = keyId;
         this.level = requireNonNull(level, "A level is required");
-        this.message = requireNonNull(message, "A message is required");
+        this.message = message;
         this.additionalInfo = unmodifiableList(requireNonNull(additionalInfo));
         this.nestedMessages = unmodifiableList(requireNonNull(nestedMessages));
         this.context = context;
@@ -58,13 +89,13 @@ class ImmutableMessage implements ValidationReport.Message {
 
     @Override
     public ValidationReport.Message withLevel(final ValidationReport.Level level) {
-        return new ImmutableMessage(key, level, message, additionalInfo.toArray(new String[additionalInfo.size()]));
+        return new ImmutableMessage(key, keyId, level, message, additionalInfo, Collections.emptyList(), null);
     }
 
     @Override
     public ValidationReport.Message withAdditionalInfo(final String info) {
         return new ImmutableMessage(
-                key, level, message,
+                key, keyId, level, message,
                 ImmutableList.<String>builder().addAll(additionalInfo).add(info).build(),
                 nestedMessages,
                 context
@@ -75,7 +106,7 @@ class ImmutableMessage implements ValidationReport.Message {
     public ValidationReport.Message withNestedMessages(final Collection<ValidationReport.Message> messages) {
         final Collection<ValidationReport.Message> newMessages = messages != null ? messages : Collections.emptyList();
         return new ImmutableMessage(
-                key, level, message,
+                key, keyId, level, message,
                 additionalInfo,
                 ImmutableList.<ValidationReport.Message>builder().addAll(nestedMessages).addAll(newMessages).build(),
                 context
@@ -85,7 +116,7 @@ class ImmutableMessage implements ValidationReport.Message {
     @Override
     public ValidationReport.Message withAdditionalContext(final ValidationReport.MessageContext context) {
         final ValidationReport.MessageContext newContext = this.context == null ? context : this.context.enhanceWith(context);
-        return new ImmutableMessage(key, level, message, additionalInfo, nestedMessages, newContext);
+        return new ImmutableMessage(key, keyId, level, message, additionalInfo, nestedMessages, newContext);
     }
 
     @Override
@@ -93,6 +124,18 @@ class ImmutableMessage implements ValidationReport.Message {
         return key;
     }
 
+    /**
+     * @return The ID of the key of this message
+     *
+     * @see MessageKeys#idOf(ValidationReport.Message)
+     */
+    int getKeyId() {
+        if (keyId == UNRESOLVED_KEY_ID) {
+            keyId = MessageKeys.id(key);
+        }
+        return keyId;
+    }
+
     @Override
     public ValidationReport.Level getLevel() {
         return level;
@@ -100,13 +143,13 @@ class ImmutableMessage implements ValidationReport.Message {
 
     @Override
     public String getMessage() {
-        return message;
+        return message.get();
     }
 
     @Override
     public String toString() {
         return level + " - "
-                + message.replace("\n", "\n\t")
+                + getMessage().replace("\n", "\n\t")
                 + ": [" + additionalInfo.stream().collect(joining(", ")) + "]"
                 + nestedMessages.stream().map(message -> "\n" + StringUtils.indentString(message.toString(), "\t")).collect(joining());
     }
@@ -126,4 +169,7 @@ class ImmutableMessage implements ValidationReport.Message {
         return Optional.ofNullable(context);
     }
 
+    private static Supplier<String> constant(final String message) {
+        return () -> message;
+    }
 }
@@ -30,6 +30,8 @@ class ImmutableMessageContext implements ValidationReport.MessageContext {
 
     private final Pointers pointers;
 
+    private final String apiName;
+
     ImmutableMessageContext(final Builder builder) {
         requestPath = builder.requestPath;
         method = builder.method;
@@ -42,6 +44,7 @@ class ImmutableMessageContext implements ValidationReport.MessageContext {
         location = builder.location;
         whitelistRule = builder.whitelistRule;
         pointers = builder.pointers;
+        apiName = builder.apiName;
     }
 
     @Override
@@ -102,6 +105,11 @@ class ImmutableMessageContext implements ValidationReport.MessageContext {
         return Optional.ofNullable(pointers);
     }
 
+    @Override
+    public Optional<String> getApiName() {
+        return Optional.ofNullable(apiName);
+    }
+
     @Override
     public boolean hasData() {
         return requestPath != null ||
@@ -114,7 +122,8 @@ class ImmutableMessageContext implements ValidationReport.MessageContext {
                 apiResponseDefinition != null ||
                 location != null ||
                 whitelistRule != null ||
-                pointers != null;
+                pointers != null ||
+                apiName != null;
     }
 
     @Override
@@ -144,6 +153,7 @@ class ImmutableMessageContext implements ValidationReport.MessageContext {
                 Objects.equals(apiResponseDefinition, that.apiResponseDefinition) &&
                 Objects.equals(whitelistRule, that.whitelistRule) &&
                 Objects.equals(pointers, that.pointers) &&
+                Objects.equals(apiName, that.apiName) &&
                 location == that.location;
     }
 
@@ -153,7 +163,7 @@ class ImmutableMessageContext implements ValidationReport.MessageContext {
                 requestPath, method, apiOperation,
                 parameter, apiRequestBodyDefinition, apiRequestContentType,
                 responseStatus, apiResponseDefinition, location, pointers,
-                whitelistRule
+                whitelistRule, apiName
         );
     }
 }
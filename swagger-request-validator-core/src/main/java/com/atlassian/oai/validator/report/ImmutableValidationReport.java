@@ -56,6 +56,9 @@ public class ImmutableValidationReport implements ValidationReport {
 
     @Override
     public ValidationReport withAdditionalContext(final MessageContext context) {
+        if (messages.isEmpty()) {
+            return this;
+        }
         return new ImmutableValidationReport(
                 messages.stream().map(m -> m.withAdditionalContext(context))
                         .collect(toList())
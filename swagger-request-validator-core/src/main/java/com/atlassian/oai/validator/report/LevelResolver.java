@@ -4,9 +4,9 @@ import static java.lang.Math.max;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Resolves the {@link ValidationReport.Level} for a given message key.
@@ -15,6 +15,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * will inherit the level of its parent key. If no level is found for any parent key the
  * {@link #defaultLevel} will be returned.
  * <p>
+ * Resolved levels are cached in an array indexed by the ID of the key in the {@link MessageKeys} registry.
+ * <p>
  * For example:
  * <pre>
  *     validation.request=ERROR
@@ -30,7 +32,12 @@ import java.util.concurrent.ConcurrentHashMap;
 public class LevelResolver {
 
     private final ValidationReport.Level defaultLevel;
-    private final Map<String, ValidationReport.Level> levels = new ConcurrentHashMap<>();
+    private final Map<String, ValidationReport.Level> levels = new HashMap<>();
+
+    /**
+     * The resolved level for each key, indexed by key ID. Entries are null until resolved.
+     */
+    private volatile ValidationReport.Level[] levelsById = new ValidationReport.Level[MessageKeys.size()];
 
     /**
      * Create a new {@link LevelResolver} instance using a builder to obtain configuration.
@@ -98,16 +105,62 @@ public class LevelResolver {
             return defaultLevel;
         }
 
-        if (levels.containsKey(key)) {
-            return levels.get(key);
+        final int keyId = MessageKeys.id(key);
+        if (keyId != MessageKeys.NO_ID) {
+            return getLevel(keyId);
+        }
+
+        // The key registry is full. Resolve without caching.
+        final ValidationReport.Level level = levels.get(key);
+        if (level != null) {
+            return level;
+        }
+        return getLevel(key.substring(0, max(0, key.lastIndexOf('.'))));
+    }
+
+    /**
+     * Gets the {@link ValidationReport.Level} for the message key with the given ID.
+     *
+     * @param keyId the ID of the message key to resolve
+     *
+     * @return The level to use for the given message key
+     *
+     * @see #getLevel(String)
+     * @see MessageKeys#id(String)
+     */
+    @Nonnull
+    public ValidationReport.Level getLevel(final int keyId) {
+        if (keyId < 0) {
+            return defaultLevel;
+        }
+
+        final ValidationReport.Level[] resolved = levelsById;
+        if (keyId < resolved.length && resolved[keyId] != null) {
+            return resolved[keyId];
         }
 
-        final String parentKey = key.substring(0, max(0, key.lastIndexOf('.')));
-        final ValidationReport.Level result = getLevel(parentKey);
-        levels.put(key, result);
+        ValidationReport.Level result = levels.get(MessageKeys.key(keyId));
+        if (result == null) {
+            result = getLevel(MessageKeys.parentId(keyId));
+        }
+        cache(keyId, result);
         return result;
     }
 
+    private void cache(final int keyId, final ValidationReport.Level level) {
+        ValidationReport.Level[] resolved = levelsById;
+        if (keyId >= resolved.length) {
+            synchronized (this) {
+                resolved = levelsById;
+                if (keyId >= resolved.length) {
+                    resolved = Arrays.copyOf(resolved, max(keyId + 1, MessageKeys.size()));
+                    levelsById = resolved;
+                }
+            }
+        }
+        resolved[keyId] = level;
+    }
+
     /**
      * A builder for creating {@link LevelResolver} instances.
      */
@@ -41,6 +41,9 @@ public class MergedValidationReport implements ValidationReport {
 
     @Override
     public ValidationReport withAdditionalContext(final MessageContext context) {
+        if (reports.isEmpty()) {
+            return this;
+        }
         return new MergedValidationReport(reports.stream().map(r -> r.withAdditionalContext(context)).collect(toList()));
     }
 
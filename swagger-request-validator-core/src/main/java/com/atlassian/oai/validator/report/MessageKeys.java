@@ -0,0 +1,156 @@
+package com.atlassian.oai.validator.report;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of interned message keys, each with a dense integer ID.
+ * <p>
+ * The keys in the <code>messages</code> resource bundle (and their parent keys) are registered up-front. Other keys
+ * (e.g. the schema validation keys built from the keyword that failed) are registered the first time they are seen,
+ * up to a limit of {@value #MAX_KEYS} keys. Keys beyond that limit are not given an ID.
+ * <p>
+ * Messages created by the validator carry the ID of their key, so that the level of a message and whether it matches
+ * a whitelist rule can be resolved with array reads and integer comparisons rather than String operations.
+ *
+ * @see LevelResolver#getLevel(int)
+ */
+public final class MessageKeys {
+
+    /**
+     * The ID returned for a key that is not (and cannot be) registered.
+     */
+    public static final int NO_ID = -1;
+
+    static final int MAX_KEYS = 10_000;
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+
+    /**
+     * The registered keys, and the parent and case insensitive ID of each, indexed by ID. The arrays are replaced
+     * with larger copies as they fill up. Entries are written before the key is added to {@link #IDS}, and never
+     * changed after.
+     */
+    private static volatile String[] keys = new String[256];
+    private static volatile int[] parentIds = new int[256];
+    private static volatile int[] caseInsensitiveIds = new int[256];
+    private static volatile int size;
+
+    static {
+        ResourceBundle.getBundle("swagger/validation/messages").keySet().forEach(MessageKeys::id);
+    }
+
+    private MessageKeys() {
+    }
+
+    /**
+     * Get the ID of the given key, registering it if needed.
+     *
+     * @param key The message key
+     *
+     * @return The ID of the key, or {@link #NO_ID} if the key is empty or the registry is full
+     */
+    public static int id(@Nullable final String key) {
+        if (key == null || key.isEmpty()) {
+            return NO_ID;
+        }
+        final Integer id = IDS.get(key);
+        if (id != null) {
+            return id;
+        }
+        return register(key);
+    }
+
+    /**
+     * Get the ID of the key of the given message.
+     * <p>
+     * This is a field read for messages created by the validator.
+     *
+     * @param message The message
+     *
+     * @return The ID of the key of the message, or {@link #NO_ID} if the key could not be registered
+     */
+    public static int idOf(@Nonnull final ValidationReport.Message message) {
+        if (message instanceof ImmutableMessage) {
+            return ((ImmutableMessage) message).getKeyId();
+        }
+        return id(message.getKey());
+    }
+
+    /**
+     * @return The key with the given ID
+     *
+     * @throws IndexOutOfBoundsException if no key is registered with the given ID
+     */
+    @Nonnull
+    public static String key(final int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No message key with ID " + id);
+        }
+        return keys[id];
+    }
+
+    /**
+     * Get the ID of the parent of the key with the given ID, e.g. for <code>validation.request.body.missing</code>
+     * the parent is <code>validation.request.body</code>.
+     *
+     * @return The ID of the parent key, or {@link #NO_ID} if the key has no parent
+     */
+    public static int parentId(final int id) {
+        return parentIds[id];
+    }
+
+    /**
+     * Get an ID shared by all keys that differ only by case (i.e. that are equal once converted to lower case).
+     *
+     * @return The case insensitive ID of the key with the given ID
+     */
+    public static int caseInsensitiveId(final int id) {
+        return caseInsensitiveIds[id];
+    }
+
+    /**
+     * @return The number of keys registered
+     */
+    public static int size() {
+        return size;
+    }
+
+    private static synchronized int register(final String key) {
+        final Integer existing = IDS.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (size >= MAX_KEYS) {
+            return NO_ID;
+        }
+
+        // Register the parent and lower case keys first, so they have IDs before this key does
+        final int lastDot = key.lastIndexOf('.');
+        final int parentId = lastDot > 0 ? id(key.substring(0, lastDot)) : NO_ID;
+        final String lowerCaseKey = key.toLowerCase(Locale.ROOT);
+        final int lowerCaseId = lowerCaseKey.equals(key) ? NO_ID : id(lowerCaseKey);
+        if (size >= MAX_KEYS) {
+            return NO_ID;
+        }
+
+        final int id = size;
+        if (id == keys.length) {
+            final int capacity = Math.min(id * 2, MAX_KEYS);
+            parentIds = Arrays.copyOf(parentIds, capacity);
+            caseInsensitiveIds = Arrays.copyOf(caseInsensitiveIds, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        keys[id] = key;
+        parentIds[id] = parentId;
+        caseInsensitiveIds[id] = lowerCaseId == NO_ID ? id : caseInsensitiveIds[lowerCaseId];
+        size = id + 1;
+        IDS.put(key, id);
+        return id;
+    }
+}
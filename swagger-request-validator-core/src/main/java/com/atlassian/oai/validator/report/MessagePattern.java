@@ -0,0 +1,113 @@
+package com.atlassian.oai.validator.report;
+
+import javax.annotation.Nonnull;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A message pattern from the <code>messages</code> resource bundle, parsed once so that formatting a message
+ * does not need to re-parse the pattern.
+ * <p>
+ * Patterns are in {@link java.util.Formatter} syntax. The simple <code>%s</code>, <code>%d</code> and <code>%b</code>
+ * conversions (and the <code>%%</code> and <code>%n</code> escapes) used by the bundled messages are handled
+ * directly. Patterns using anything else (flags, widths, explicit indexes etc.), and arguments not of the type
+ * expected by a conversion, are formatted with {@link String#format(String, Object...)}.
+ */
+final class MessagePattern {
+
+    private final String pattern;
+
+    /**
+     * The literal parts of the pattern, with each conversion between them. Null if the pattern is not a simple one.
+     */
+    private final String[] literals;
+    private final char[] conversions;
+
+    private MessagePattern(final String pattern, final String[] literals, final char[] conversions) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.conversions = conversions;
+    }
+
+    @Nonnull
+    static MessagePattern parse(@Nonnull final String pattern) {
+        requireNonNull(pattern, "A pattern is required");
+
+        final List<String> literals = new ArrayList<>();
+        final StringBuilder conversions = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i + 1 >= pattern.length()) {
+                return new MessagePattern(pattern, null, null);
+            }
+            final char conversion = pattern.charAt(++i);
+            if (conversion == '%') {
+                literal.append('%');
+            } else if (conversion == 'n') {
+                literal.append(System.lineSeparator());
+            } else if (conversion == 's' || conversion == 'd' || conversion == 'b') {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                conversions.append(conversion);
+            } else {
+                return new MessagePattern(pattern, null, null);
+            }
+        }
+        literals.add(literal.toString());
+        return new MessagePattern(pattern, literals.toArray(new String[0]), conversions.toString().toCharArray());
+    }
+
+    /**
+     * Format this pattern with the given arguments.
+     *
+     * @see String#format(String, Object...)
+     */
+    @Nonnull
+    String format(final Object... args) {
+        if (literals == null || args == null || args.length < conversions.length) {
+            return String.format(pattern, args);
+        }
+
+        final StringBuilder result = new StringBuilder(pattern.length() + 16 * conversions.length);
+        for (int i = 0; i < conversions.length; i++) {
+            result.append(literals[i]);
+            final Object arg = args[i];
+            switch (conversions[i]) {
+                case 'd':
+                    if (!isIntegral(arg)) {
+                        return String.format(pattern, args);
+                    }
+                    result.append(arg);
+                    break;
+                case 'b':
+                    result.append(arg == null ? "false" : arg instanceof Boolean ? arg.toString() : "true");
+                    break;
+                default:
+                    if (arg instanceof Formattable) {
+                        return String.format(pattern, args);
+                    }
+                    result.append(arg);
+            }
+        }
+        return result.append(literals[conversions.length]).toString();
+    }
+
+    private static boolean isIntegral(final Object arg) {
+        return arg == null || arg instanceof Integer || arg instanceof Long || arg instanceof Short
+                || arg instanceof Byte || arg instanceof BigInteger;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -1,19 +1,22 @@
 package com.atlassian.oai.validator.report;
 
+import com.google.common.collect.ImmutableMap;
 import org.slf4j.Logger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 
-import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Resolves a message key to a {@link ValidationReport.Message} object.
  * <p>
- * Message Strings are resolved from the <code>messages</code> resource bundle.
+ * Message Strings are resolved from the <code>messages</code> resource bundle. The message patterns are parsed
+ * once, and each message String is only formatted if it is used.
  * <p>
  * Message levels are resolved using a configured {@link LevelResolver}.
  *
@@ -23,7 +26,7 @@ public class MessageResolver {
 
     private static final Logger log = getLogger(MessageResolver.class);
 
-    private final ResourceBundle messages = ResourceBundle.getBundle("swagger/validation/messages");
+    private final Map<String, MessagePattern> messages = loadMessages();
     private final LevelResolver levelResolver;
 
     /**
@@ -55,12 +58,16 @@ public class MessageResolver {
     @Nullable
     public ValidationReport.Message get(@Nonnull final String key, final Object... args) {
         requireNonNull(key, "A message key is required.");
-        final ValidationReport.Level level = levelResolver.getLevel(key);
-        if (!messages.containsKey(key)) {
+        final int keyId = MessageKeys.id(key);
+        final ValidationReport.Level level = keyId == MessageKeys.NO_ID ? levelResolver.getLevel(key) : levelResolver.getLevel(keyId);
+        final MessagePattern pattern = messages.get(key);
+        if (pattern == null) {
             log.warn("No message key found for '{}'", key);
             return null;
         }
-        return new ImmutableMessage(key, level, format(messages.getString(key), args));
+        // Format from a copy of the arguments, so later changes to the array do not change the message
+        final Object[] formatArgs = args == null ? null : args.clone();
+        return new ImmutableMessage(key, keyId, level, () -> pattern.format(formatArgs));
     }
 
     /**
@@ -84,6 +91,33 @@ public class MessageResolver {
         return new ImmutableMessage(key, level, message, additionalInfo);
     }
 
+    /**
+     * Create a message with the given key, message, additional info, nested messages and context.
+     * <p>
+     * Equivalent to {@link #create(String, String, String...)} followed by
+     * {@link ValidationReport.Message#withNestedMessages(java.util.Collection)} and
+     * {@link ValidationReport.Message#withAdditionalContext(ValidationReport.MessageContext)}, without creating
+     * the intermediate messages.
+     *
+     * @param key The key to include in the message.
+     * @param message The message to include.
+     * @param additionalInfo Additional information to include in the message.
+     * @param nestedMessages Messages to nest in the message.
+     * @param context The context of the message (if any).
+     *
+     * @return A message with the given details.
+     * The level will be set by the configured {@link LevelResolver}.
+     */
+    public ValidationReport.Message create(@Nonnull final String key,
+                                           final String message,
+                                           @Nonnull final List<String> additionalInfo,
+                                           @Nonnull final List<ValidationReport.Message> nestedMessages,
+                                           @Nullable final ValidationReport.MessageContext context) {
+        requireNonNull(key, "A message key is required.");
+        final ValidationReport.Level level = levelResolver.getLevel(key);
+        return new ImmutableMessage(key, level, message, additionalInfo, nestedMessages, context);
+    }
+
     /**
      * Get the level that the given message key would be resolved at when using the {@link #get} or
      * {@link #create} methods.
@@ -111,4 +145,12 @@ public class MessageResolver {
         return getLevel(key) == ValidationReport.Level.IGNORE;
     }
 
+    private static Map<String, MessagePattern> loadMessages() {
+        final ResourceBundle bundle = ResourceBundle.getBundle("swagger/validation/messages");
+        final ImmutableMap.Builder<String, MessagePattern> messages = ImmutableMap.builder();
+        for (final String key : bundle.keySet()) {
+            messages.put(key, MessagePattern.parse(bundle.getString(key)));
+        }
+        return messages.build();
+    }
 }
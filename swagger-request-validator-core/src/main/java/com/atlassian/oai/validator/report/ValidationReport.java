@@ -202,6 +202,16 @@ public interface ValidationReport {
          */
         Optional<Pointers> getPointers();
 
+        /**
+         * @return The name of the API the interaction was validated against, if validated by a validator
+         * hosting multiple APIs.
+         *
+         * @see com.atlassian.oai.validator.CompositeOpenApiInteractionValidator
+         */
+        default Optional<String> getApiName() {
+            return Optional.empty();
+        }
+
         /**
          * @return {@code true} if at least one field on this context object has been set; {@code false} otherwise.
          */
@@ -233,6 +243,8 @@ public interface ValidationReport {
 
             Pointers pointers;
 
+            String apiName;
+
             private Builder() {
             }
 
@@ -248,6 +260,7 @@ public interface ValidationReport {
                 location = init.getLocation().orElse(null);
                 whitelistRule = init.getAppliedWhitelistRule().orElse(null);
                 pointers = init.getPointers().orElse(null);
+                apiName = init.getApiName().orElse(null);
             }
 
             public Builder withRequestPath(final String requestPath) {
@@ -305,6 +318,11 @@ public interface ValidationReport {
                 return this;
             }
 
+            public Builder withApiName(final String apiName) {
+                this.apiName = apiName;
+                return this;
+            }
+
             public Builder withAdditionalDataFrom(final MessageContext other) {
                 if (requestPath == null) {
                     requestPath = other.getRequestPath().orElse(null);
@@ -339,6 +357,9 @@ public interface ValidationReport {
                 if (pointers == null) {
                     pointers = other.getPointers().orElse(null);
                 }
+                if (apiName == null) {
+                    apiName = other.getApiName().orElse(null);
+                }
                 return this;
             }
 
@@ -355,7 +376,7 @@ public interface ValidationReport {
      * @return an immutable empty report
      */
     static ValidationReport empty() {
-        return new EmptyValidationReport();
+        return EmptyValidationReport.INSTANCE;
     }
 
     /**
@@ -429,6 +450,8 @@ public interface ValidationReport {
     /**
      * Merges the given validation report with this one, and return a new, unmodifiable report
      * containing the messages from both reports.
+     * <p>
+     * If either report is {@link #empty() empty} the other is returned as-is.
      *
      * @param other The validation report to merge with this one
      *
@@ -437,6 +460,9 @@ public interface ValidationReport {
      */
     default ValidationReport merge(@Nonnull final ValidationReport other) {
         requireNonNull(other, "A validation report is required");
+        if (other instanceof EmptyValidationReport) {
+            return this;
+        }
         return new MergedValidationReport(this, other);
     }
 
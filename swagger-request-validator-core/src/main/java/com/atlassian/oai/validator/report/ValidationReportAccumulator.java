@@ -0,0 +1,174 @@
+package com.atlassian.oai.validator.report;
+
+import com.atlassian.oai.validator.report.ValidationReport.Message;
+import com.atlassian.oai.validator.report.ValidationReport.MessageContext;
+import com.google.common.base.Suppliers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A mutable accumulator for the messages produced by the steps of a validation, used in place of merging
+ * the report from each step into a new report. A single accumulator is passed down through the validators
+ * taking part in a validation, each adding its messages directly.
+ * <p>
+ * Message context is applied to the messages added since a given {@link #mark() mark}, and is only built
+ * if there are messages to apply it to. Nothing is allocated until the first message is added, so a validation
+ * that produces no messages is (close to) free.
+ * <p>
+ * This class is not thread safe, and is intended to be used within a single validation.
+ */
+public final class ValidationReportAccumulator {
+
+    @Nullable
+    private List<Message> messages;
+
+    /**
+     * Add the messages from the given report.
+     *
+     * @param report The report to add the messages from
+     *
+     * @return This accumulator
+     */
+    @Nonnull
+    public ValidationReportAccumulator add(@Nonnull final ValidationReport report) {
+        requireNonNull(report, "A validation report is required");
+        if (report instanceof EmptyValidationReport) {
+            return this;
+        }
+        final List<Message> reportMessages = report.getMessages();
+        if (!reportMessages.isEmpty()) {
+            messages().addAll(reportMessages);
+        }
+        return this;
+    }
+
+    /**
+     * Add the given message.
+     *
+     * @param message The message to add. If <code>null</code>, nothing is added.
+     *
+     * @return This accumulator
+     */
+    @Nonnull
+    public ValidationReportAccumulator add(@Nullable final Message message) {
+        if (message != null) {
+            messages().add(message);
+        }
+        return this;
+    }
+
+    /**
+     * Run the given validation steps in order, each adding its messages to this accumulator, stopping after the
+     * first step whose messages satisfy the given failure condition. Steps after that are not run.
+     * <p>
+     * The failure condition is tested against the messages added by each step with the given context applied, so
+     * that it sees messages as they will finally be reported. The context is built at most once, and is not applied
+     * to the messages in this accumulator (see {@link #withContext(int, Supplier)}).
+     *
+     * @param isFailure The condition under which a step has failed and no further steps should be run
+     * @param context Supplies the context the messages will be reported with
+     * @param steps The validation steps to run
+     *
+     * @return This accumulator
+     */
+    @SafeVarargs
+    @Nonnull
+    public final ValidationReportAccumulator addUntilFailure(@Nonnull final Predicate<ValidationReport> isFailure,
+                                                             @Nonnull final Supplier<MessageContext> context,
+                                                             @Nonnull final Consumer<ValidationReportAccumulator>... steps) {
+        final Supplier<MessageContext> reportedContext = Suppliers.memoize(context::get);
+        for (final Consumer<ValidationReportAccumulator> step : steps) {
+            final int mark = mark();
+            step.accept(this);
+            if (mark() > mark && isFailure.test(
+                    ValidationReport.from(messages.subList(mark, messages.size())).withAdditionalContext(reportedContext.get()))) {
+                break;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return A mark for the current position in this accumulator, for use with {@link #withContext(int, Supplier)}
+     */
+    public int mark() {
+        return messages == null ? 0 : messages.size();
+    }
+
+    /**
+     * Apply additional context to each message added since the given mark.
+     * <p>
+     * The context is only built if messages have been added since the mark.
+     *
+     * @param mark The mark from which to apply the context
+     * @param context Supplies the context to apply
+     *
+     * @return This accumulator
+     *
+     * @see Message#withAdditionalContext(MessageContext)
+     */
+    @Nonnull
+    public ValidationReportAccumulator withContext(final int mark, @Nonnull final Supplier<MessageContext> context) {
+        if (mark() <= mark) {
+            return this;
+        }
+        final MessageContext additionalContext = context.get();
+        for (int i = mark; i < messages.size(); i++) {
+            messages.set(i, messages.get(i).withAdditionalContext(additionalContext));
+        }
+        return this;
+    }
+
+    /**
+     * @return <code>true</code> if no messages have been added to this accumulator
+     */
+    public boolean isEmpty() {
+        return mark() == 0;
+    }
+
+    /**
+     * @return An unmodifiable report containing the messages added to this accumulator
+     */
+    @Nonnull
+    public ValidationReport toReport() {
+        if (isEmpty()) {
+            return ValidationReport.empty();
+        }
+        return ValidationReport.from(messages);
+    }
+
+    /**
+     * Apply additional context to each message in the given report, only building the context if the report
+     * has messages.
+     *
+     * @param report The report to apply context to
+     * @param context Supplies the context to apply
+     *
+     * @return The report with context applied
+     *
+     * @see ValidationReport#withAdditionalContext(MessageContext)
+     */
+    @Nonnull
+    public static ValidationReport withContext(@Nonnull final ValidationReport report,
+                                               @Nonnull final Supplier<MessageContext> context) {
+        if (report instanceof EmptyValidationReport || report.getMessages().isEmpty()) {
+            return report;
+        }
+        return report.withAdditionalContext(context.get());
+    }
+
+    private List<Message> messages() {
+        if (messages == null) {
+            messages = new ArrayList<>();
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,123 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Relocates the messages from validating a streamed array body item by item, so that they are the same as if the
+ * array had been validated as a whole.
+ * <p>
+ * Item messages are reported at the pointer of the item within the array (including the <code>[Path '..']</code>
+ * prefix of the message), and schema pointers within the item schema are made relative to the array schema.
+ * Pointers into the component schemas are the same either way, and are left as is.
+ */
+final class ArrayItemMessages {
+
+    private static final String COMPONENT_SCHEMAS = "/components/schemas/";
+
+    private final MessageResolver messages;
+
+    /**
+     * The pointer to the array schema when validated as a whole, e.g. <code>/components/schemas/Users</code>,
+     * or <code>""</code> if the array schema is the root schema.
+     */
+    private final String arrayPointer;
+    private final String itemsPointer;
+
+    /**
+     * @param messages The message resolver to create the relocated messages with
+     * @param arrayPointer The pointer to the array schema when validated as a whole
+     */
+    ArrayItemMessages(@Nonnull final MessageResolver messages, @Nonnull final String arrayPointer) {
+        this.messages = messages;
+        this.arrayPointer = arrayPointer;
+        this.itemsPointer = arrayPointer + "/items";
+    }
+
+    /**
+     * @return The given message from validating the item at the given index, relocated to that item
+     */
+    ValidationReport.Message atItem(@Nonnull final ValidationReport.Message message, final int index) {
+        final Optional<ValidationReport.MessageContext.Pointers> pointers = pointersOf(message);
+        if (!pointers.isPresent()) {
+            return message;
+        }
+        final String instance = pointers.get().getInstance();
+        final String instancePointer = "/".equals(instance) ? "/" + index : "/" + index + instance;
+        final String pathPrefix = "[Path '" + instance + "'] ";
+        final String text = message.getMessage().startsWith(pathPrefix) ?
+                message.getMessage().substring(pathPrefix.length()) : message.getMessage();
+
+        final List<String> additionalInfo = message.getAdditionalInfo().stream()
+                .map(this::relocateInfo)
+                .collect(toList());
+        final List<ValidationReport.Message> nestedMessages = message.getNestedMessages().stream()
+                .map(nested -> atItem(nested, index))
+                .collect(toList());
+
+        return messages.create(
+                message.getKey(),
+                "[Path '" + instancePointer + "'] " + text,
+                additionalInfo,
+                nestedMessages,
+                ValidationReport.MessageContext.from(message.getContext().get())
+                        .withPointers(instancePointer, relocateSchemaPointer(pointers.get().getSchema()))
+                        .build()
+        );
+    }
+
+    /**
+     * @return The given message from validating the array itself against a standalone schema, relocated to the
+     * array schema
+     */
+    ValidationReport.Message atArray(@Nonnull final ValidationReport.Message message) {
+        final Optional<ValidationReport.MessageContext.Pointers> pointers = pointersOf(message);
+        if (!pointers.isPresent() || arrayPointer.isEmpty()) {
+            return message;
+        }
+        return messages.create(
+                message.getKey(),
+                message.getMessage(),
+                message.getAdditionalInfo(),
+                message.getNestedMessages(),
+                ValidationReport.MessageContext.from(message.getContext().get())
+                        .withPointers(pointers.get().getInstance(), arrayPointer)
+                        .build()
+        );
+    }
+
+    /**
+     * @return A key for the violation the given (relocated) message reports, for bounding the messages reported
+     */
+    static String violationKey(@Nonnull final ValidationReport.Message message) {
+        return message.getKey() + pointersOf(message).map(ValidationReport.MessageContext.Pointers::getSchema).orElse("");
+    }
+
+    private String relocateSchemaPointer(final String pointer) {
+        if (pointer.startsWith(COMPONENT_SCHEMAS)) {
+            return pointer;
+        }
+        return "/".equals(pointer) || pointer.isEmpty() ? itemsPointer : itemsPointer + pointer;
+    }
+
+    /**
+     * Additional info for composed schemas is prefixed with the pointer of the subschema that reported it,
+     * e.g. <code>/oneOf/0: Instance type (integer) does not match...</code>
+     */
+    private String relocateInfo(final String info) {
+        if (!info.startsWith("/") || info.startsWith(COMPONENT_SCHEMAS) || !info.contains(": ")) {
+            return info;
+        }
+        return itemsPointer + info;
+    }
+
+    private static Optional<ValidationReport.MessageContext.Pointers> pointersOf(final ValidationReport.Message message) {
+        return message.getContext().flatMap(ValidationReport.MessageContext::getPointers);
+    }
+}
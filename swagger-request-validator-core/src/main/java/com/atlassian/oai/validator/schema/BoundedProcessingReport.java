@@ -0,0 +1,134 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.report.AbstractProcessingReport;
+import com.github.fge.jsonschema.core.report.AbstractReportProvider;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.core.report.ReportProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link ProcessingReport} that keeps at most a bounded number of the messages logged to it while a value is
+ * validated, as per {@link ValidationConfiguration#getMaxSchemaMessages()} and
+ * {@link ValidationConfiguration#getMaxSchemaMessagesPerPointer()}.
+ * <p>
+ * Each violation (a validation keyword and schema pointer) is counted as it is logged. Only the first messages for
+ * each are kept, along with a sample of the instance pointers of the rest. Once the maximum number of messages have
+ * been kept, all further messages are dropped. The outcome of validation (see {@link #isSuccess()}) is not affected,
+ * and syntax errors in the schema itself are always kept.
+ * <p>
+ * Used by the {@link JsonSchemaFactoryEngine}, so that messages beyond the limits are neither kept nor converted.
+ */
+final class BoundedProcessingReport extends AbstractProcessingReport {
+
+    private static final String SYNTAX_DOMAIN = "syntax";
+
+    private final ProcessingMessageConverter messageConverter;
+    private final int maxMessages;
+    private final int maxMessagesPerPointer;
+
+    private final List<ProcessingMessage> messages = new ArrayList<>();
+    private final Map<String, SchemaMessageCollector.Violation> violations = new HashMap<>();
+    private boolean truncated;
+
+    private BoundedProcessingReport(final LogLevel logLevel,
+                                    final LogLevel exceptionThreshold,
+                                    final ProcessingMessageConverter messageConverter,
+                                    final int maxMessages,
+                                    final int maxMessagesPerPointer) {
+        super(logLevel, exceptionThreshold);
+        this.messageConverter = messageConverter;
+        this.maxMessages = maxMessages;
+        this.maxMessagesPerPointer = maxMessagesPerPointer;
+    }
+
+    /**
+     * @param logLevel The level at and above which messages are logged
+     * @param exceptionThreshold The level at and above which messages are thrown
+     * @param messageConverter Identifies the violation and instance pointer of each message
+     * @param maxMessages The maximum number of messages to keep, or 0 for no limit
+     * @param maxMessagesPerPointer The maximum number of messages to keep for each violation, or 0 for no limit
+     *
+     * @return A provider of bounded reports
+     */
+    static ReportProvider provider(final LogLevel logLevel,
+                                   final LogLevel exceptionThreshold,
+                                   final ProcessingMessageConverter messageConverter,
+                                   final int maxMessages,
+                                   final int maxMessagesPerPointer) {
+        return new AbstractReportProvider(logLevel, exceptionThreshold) {
+            @Override
+            public ProcessingReport newReport() {
+                return newReport(this.logLevel, this.exceptionThreshold);
+            }
+
+            @Override
+            public ProcessingReport newReport(final LogLevel level) {
+                return newReport(level, this.exceptionThreshold);
+            }
+
+            @Override
+            public ProcessingReport newReport(final LogLevel level, final LogLevel threshold) {
+                return new BoundedProcessingReport(
+                        level, threshold, messageConverter, maxMessages, maxMessagesPerPointer);
+            }
+        };
+    }
+
+    @Override
+    public void log(final LogLevel level, final ProcessingMessage message) {
+        final JsonNode json = message.asJson();
+        if (SYNTAX_DOMAIN.equals(json.path("domain").textValue())) {
+            // Syntax errors in the schema are reported in full, in the exception that ends validation
+            messages.add(message);
+            return;
+        }
+
+        if (maxMessages > 0 && messages.size() >= maxMessages) {
+            truncated = true;
+            return;
+        }
+
+        if (maxMessagesPerPointer > 0) {
+            final String violationKey =
+                    messageConverter.getValidationKeyword(json, null) + ' ' + messageConverter.getSchemaPointer(json);
+            final SchemaMessageCollector.Violation violation =
+                    violations.computeIfAbsent(violationKey, k -> new SchemaMessageCollector.Violation());
+            if (violation.reported >= maxMessagesPerPointer) {
+                violation.repeatedAt(messageConverter.getInstancePointer(json));
+                return;
+            }
+            violation.reported++;
+            violation.lastIndex = messages.size();
+        }
+        messages.add(message);
+    }
+
+    @Override
+    public Iterator<ProcessingMessage> iterator() {
+        return Collections.unmodifiableList(messages).iterator();
+    }
+
+    /**
+     * @param converter Converts each kept message
+     *
+     * @return A report of the kept messages, noting the repeats of each violation and whether messages were dropped
+     */
+    ValidationReport toValidationReport(final Function<ProcessingMessage, ValidationReport.Message> converter) {
+        final List<ValidationReport.Message> result = new ArrayList<>(messages.size());
+        for (final ProcessingMessage message : messages) {
+            result.add(converter.apply(message));
+        }
+        return SchemaMessageCollector.toReport(result, violations.values(), truncated, maxMessages);
+    }
+}
@@ -0,0 +1,29 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A schema compiled by a {@link SchemaEngine}, ready to validate values.
+ */
+@FunctionalInterface
+public interface CompiledSchema {
+
+    /**
+     * Validate the given value against this schema.
+     * <p>
+     * Messages should be keyed <code>validation.{keyPrefix}.schema.{keyword}</code> (e.g.
+     * <code>validation.request.body.schema.required</code>), and carry the instance and schema pointers as
+     * additional context.
+     *
+     * @param value The value to validate
+     * @param keyPrefix A prefix to apply to validation messages emitted by the validator
+     *
+     * @return A validation report containing accumulated validation errors
+     */
+    @Nonnull
+    ValidationReport validate(@Nonnull JsonNode value, @Nullable String keyPrefix);
+}
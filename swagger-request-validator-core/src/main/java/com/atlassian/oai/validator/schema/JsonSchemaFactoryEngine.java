@@ -0,0 +1,168 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ListReportProvider;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.github.fge.jsonschema.main.JsonSchemaFactoryBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The default {@link SchemaEngine}, backed by a {@link JsonSchemaFactory} from the
+ * <code>com.github.java-json-tools:json-schema-validator</code> library.
+ *
+ * @see SwaggerV20Library#schemaFactory()
+ */
+public class JsonSchemaFactoryEngine implements SchemaEngine {
+
+    private final JsonSchemaFactory schemaFactory;
+    private final ProcessingMessageConverter messageConverter;
+    private final boolean deepCheck;
+    private final int maxMessages;
+    private final int maxMessagesPerPointer;
+
+    /**
+     * @param schemaFactory The schema factory to compile schemas with
+     * @param messages The message resolver to use
+     */
+    public JsonSchemaFactoryEngine(@Nonnull final JsonSchemaFactory schemaFactory,
+                                   @Nonnull final MessageResolver messages) {
+        this(schemaFactory, messages, true);
+    }
+
+    /**
+     * @param schemaFactory The schema factory to compile schemas with
+     * @param messages The message resolver to use
+     * @param deepCheck Whether to continue validating the children of a value that has already failed validation.
+     * If false, fewer messages may be reported for an invalid value.
+     */
+    public JsonSchemaFactoryEngine(@Nonnull final JsonSchemaFactory schemaFactory,
+                                   @Nonnull final MessageResolver messages,
+                                   final boolean deepCheck) {
+        this(requireNonNull(schemaFactory, "A JsonSchemaFactory is required"), null, messages, deepCheck, 0, 0);
+    }
+
+    /**
+     * @param schemaFactory The schema factory to compile schemas with
+     * @param messages The message resolver to use
+     * @param validationConfiguration The validation configuration. Children of an invalid value are not validated in
+     * fail-fast mode, and the number of messages reported is bounded as configured. The messages of each value are
+     * bounded once it has been validated.
+     *
+     * @see ValidationConfiguration#isFailFast()
+     * @see ValidationConfiguration#getMaxSchemaMessages()
+     * @see ValidationConfiguration#getMaxSchemaMessagesPerPointer()
+     */
+    public JsonSchemaFactoryEngine(@Nonnull final JsonSchemaFactory schemaFactory,
+                                   @Nonnull final MessageResolver messages,
+                                   @Nonnull final ValidationConfiguration validationConfiguration) {
+        this(requireNonNull(schemaFactory, "A JsonSchemaFactory is required"), null, messages,
+                !validationConfiguration.isFailFast(),
+                validationConfiguration.getMaxSchemaMessages(),
+                validationConfiguration.getMaxSchemaMessagesPerPointer());
+    }
+
+    /**
+     * @param schemaFactoryBuilder The builder of the schema factory to compile schemas with. Its report provider is
+     * replaced, so that messages at ERROR and above are reported.
+     * @param messages The message resolver to use
+     * @param validationConfiguration The validation configuration. Children of an invalid value are not validated in
+     * fail-fast mode, and the number of messages reported is bounded as configured. The value is still validated in
+     * full, but only the messages reported are kept and converted (see {@link BoundedProcessingReport}).
+     *
+     * @see SwaggerV20Library#schemaFactoryBuilder()
+     * @see ValidationConfiguration#isFailFast()
+     * @see ValidationConfiguration#getMaxSchemaMessages()
+     * @see ValidationConfiguration#getMaxSchemaMessagesPerPointer()
+     */
+    public JsonSchemaFactoryEngine(@Nonnull final JsonSchemaFactoryBuilder schemaFactoryBuilder,
+                                   @Nonnull final MessageResolver messages,
+                                   @Nonnull final ValidationConfiguration validationConfiguration) {
+        this(null, requireNonNull(schemaFactoryBuilder, "A JsonSchemaFactoryBuilder is required"), messages,
+                !validationConfiguration.isFailFast(),
+                validationConfiguration.getMaxSchemaMessages(),
+                validationConfiguration.getMaxSchemaMessagesPerPointer());
+    }
+
+    private JsonSchemaFactoryEngine(@Nullable final JsonSchemaFactory schemaFactory,
+                                    @Nullable final JsonSchemaFactoryBuilder schemaFactoryBuilder,
+                                    final MessageResolver messages,
+                                    final boolean deepCheck,
+                                    final int maxMessages,
+                                    final int maxMessagesPerPointer) {
+        this.messageConverter = new ProcessingMessageConverter(requireNonNull(messages, "A message resolver is required"));
+        this.deepCheck = deepCheck;
+        this.maxMessages = maxMessages;
+        this.maxMessagesPerPointer = maxMessagesPerPointer;
+        if (schemaFactoryBuilder == null) {
+            this.schemaFactory = schemaFactory;
+        } else if (maxMessages > 0 || maxMessagesPerPointer > 0) {
+            this.schemaFactory = schemaFactoryBuilder
+                    .setReportProvider(BoundedProcessingReport.provider(
+                            LogLevel.ERROR, LogLevel.FATAL, messageConverter, maxMessages, maxMessagesPerPointer))
+                    .freeze();
+        } else {
+            this.schemaFactory = schemaFactoryBuilder
+                    .setReportProvider(new ListReportProvider(LogLevel.ERROR, LogLevel.FATAL))
+                    .freeze();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public CompiledSchema compile(@Nonnull final JsonNode schema) {
+        final JsonSchema jsonSchema;
+        try {
+            jsonSchema = schemaFactory.getJsonSchema(schema);
+        } catch (final ProcessingException e) {
+            return (value, keyPrefix) -> messageConverter.toValidationReport(e.getProcessingMessage(), "processingError", keyPrefix);
+        }
+        return (value, keyPrefix) -> validate(jsonSchema, value, keyPrefix);
+    }
+
+    private ValidationReport validate(final JsonSchema jsonSchema, final JsonNode value, final String keyPrefix) {
+        final ProcessingReport processingReport;
+        try {
+            processingReport = jsonSchema.validate(value, deepCheck);
+        } catch (final ProcessingException e) {
+            return messageConverter.toValidationReport(e.getProcessingMessage(), "processingError", keyPrefix);
+        }
+
+        if (processingReport == null || processingReport.isSuccess()) {
+            return ValidationReport.empty();
+        }
+        if (processingReport instanceof BoundedProcessingReport) {
+            return ((BoundedProcessingReport) processingReport)
+                    .toValidationReport(pm -> messageConverter.toValidationReportMessage(pm, null, keyPrefix));
+        }
+        if (maxMessages == 0 && maxMessagesPerPointer == 0) {
+            final List<ValidationReport.Message> messages = new ArrayList<>();
+            for (final ProcessingMessage pm : processingReport) {
+                messages.add(messageConverter.toValidationReportMessage(pm, null, keyPrefix));
+            }
+            return ValidationReport.from(messages);
+        }
+        // The factory was not created by this engine, so the messages are bounded once the value is validated
+        final SchemaMessageCollector messages = new SchemaMessageCollector(maxMessages, maxMessagesPerPointer);
+        for (final ProcessingMessage pm : processingReport) {
+            final JsonNode json = pm.asJson();
+            messages.add(
+                    messageConverter.getValidationKeyword(json, null) + ' ' + messageConverter.getSchemaPointer(json),
+                    messageConverter.getInstancePointer(json),
+                    () -> messageConverter.toValidationReportMessage(pm, null, keyPrefix));
+        }
+        return messages.toReport();
+    }
+}
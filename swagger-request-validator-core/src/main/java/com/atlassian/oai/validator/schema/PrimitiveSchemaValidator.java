@@ -0,0 +1,304 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.regex.CompiledPattern;
+import com.atlassian.oai.validator.regex.PatternRegistry;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Schema;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Validates raw parameter and header values against simple primitive schemas directly, without building a
+ * {@link com.fasterxml.jackson.databind.JsonNode} or running the full JSON schema validation engine.
+ * <p>
+ * Supported schemas are:
+ * <ul>
+ *     <li><code>string</code> with <code>enum</code>, <code>pattern</code>, <code>minLength</code> and
+ *     <code>maxLength</code> (and no <code>format</code>)</li>
+ *     <li><code>integer</code> with <code>enum</code>, <code>minimum</code>, <code>maximum</code>,
+ *     <code>multipleOf</code> and the <code>int32</code> / <code>int64</code> formats</li>
+ *     <li><code>number</code> with <code>enum</code>, <code>minimum</code>, <code>maximum</code> and
+ *     <code>multipleOf</code> (and no <code>format</code>)</li>
+ *     <li><code>boolean</code></li>
+ * </ul>
+ * <p>
+ * This validator can only confirm that a value is valid. A value that it cannot confirm (because it is invalid, or
+ * because it uses a feature that can't be checked natively) must be validated by the full engine, which is then
+ * responsible for generating the validation messages. This ensures the messages are the same regardless of which
+ * path is taken.
+ */
+final class PrimitiveSchemaValidator {
+
+    private static final Pattern INTEGER = Pattern.compile("-?(0|[1-9][0-9]*)");
+    private static final Pattern NUMBER = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?");
+
+    private static final BigDecimal MIN_INT = BigDecimal.valueOf(Integer.MIN_VALUE);
+    private static final BigDecimal MAX_INT = BigDecimal.valueOf(Integer.MAX_VALUE);
+    private static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    /** Whether the JSON engine would see non-integer numbers as exact decimals rather than as doubles */
+    private static final boolean EXACT_DECIMALS = Json.mapper().isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private enum Type {
+        STRING, INTEGER, NUMBER, BOOLEAN
+    }
+
+    private final Type type;
+    @Nullable
+    private final String format;
+    @Nullable
+    private final List<String> stringEnum;
+    @Nullable
+    private final List<BigDecimal> numericEnum;
+    @Nullable
+    private final CompiledPattern pattern;
+    @Nullable
+    private final Integer minLength;
+    @Nullable
+    private final Integer maxLength;
+    @Nullable
+    private final BigDecimal minimum;
+    private final boolean exclusiveMinimum;
+    @Nullable
+    private final BigDecimal maximum;
+    private final boolean exclusiveMaximum;
+    @Nullable
+    private final BigDecimal multipleOf;
+
+    private PrimitiveSchemaValidator(final Type type, final Schema<?> schema, @Nullable final CompiledPattern pattern) {
+        this.type = type;
+        this.format = schema.getFormat();
+        this.stringEnum = type == Type.STRING && schema.getEnum() != null ?
+                schema.getEnum().stream().filter(e -> e instanceof String).map(e -> (String) e).collect(toList()) : null;
+        this.numericEnum = type != Type.STRING && schema.getEnum() != null ?
+                schema.getEnum().stream().filter(e -> e instanceof Number).map(e -> new BigDecimal(e.toString())).collect(toList()) : null;
+        this.pattern = pattern;
+        this.minLength = schema.getMinLength();
+        this.maxLength = schema.getMaxLength();
+        this.minimum = schema.getMinimum();
+        this.exclusiveMinimum = Boolean.TRUE.equals(schema.getExclusiveMinimum());
+        this.maximum = schema.getMaximum();
+        this.exclusiveMaximum = Boolean.TRUE.equals(schema.getExclusiveMaximum());
+        this.multipleOf = schema.getMultipleOf();
+    }
+
+    /**
+     * Compile a native validator for the given schema, if it is one of the supported primitive schemas.
+     *
+     * @param schema The schema to compile
+     *
+     * @return A validator for the schema, or empty if the schema can only be validated with the full engine
+     */
+    @Nonnull
+    static Optional<PrimitiveSchemaValidator> compile(@Nonnull final Schema<?> schema) {
+        if (schema instanceof ComposedSchema ||
+                schema.get$ref() != null ||
+                schema.getNot() != null ||
+                schema.getConst() != null ||
+                schema.getExclusiveMinimumValue() != null ||
+                schema.getExclusiveMaximumValue() != null ||
+                !isNullOrEmpty(schema.getExtensions())) {
+            return Optional.empty();
+        }
+
+        final String schemaType = schema.getType();
+        if ("string".equals(schemaType)) {
+            if (schema.getFormat() != null) {
+                return Optional.empty();
+            }
+            CompiledPattern pattern = null;
+            if (schema.getPattern() != null) {
+                pattern = PatternRegistry.getInstance().ecma262(schema.getPattern());
+                if (pattern.getEngine() != CompiledPattern.Engine.LINEAR_TIME) {
+                    if (!isPortablePattern(schema.getPattern())) {
+                        return Optional.empty();
+                    }
+                    try {
+                        pattern = PatternRegistry.getInstance().java(schema.getPattern(), 0);
+                    } catch (final PatternSyntaxException e) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.of(new PrimitiveSchemaValidator(Type.STRING, schema, pattern));
+        }
+        if ("integer".equals(schemaType)) {
+            if (schema.getFormat() != null && !"int32".equals(schema.getFormat()) && !"int64".equals(schema.getFormat())) {
+                return Optional.empty();
+            }
+            return Optional.of(new PrimitiveSchemaValidator(Type.INTEGER, schema, null));
+        }
+        if ("number".equals(schemaType)) {
+            if (schema.getFormat() != null) {
+                return Optional.empty();
+            }
+            return Optional.of(new PrimitiveSchemaValidator(Type.NUMBER, schema, null));
+        }
+        if ("boolean".equals(schemaType) && schema.getEnum() == null) {
+            return Optional.of(new PrimitiveSchemaValidator(Type.BOOLEAN, schema, null));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param value The raw value to validate
+     *
+     * @return <code>true</code> if the value is known to be valid against the schema; <code>false</code> if the value
+     * may be invalid and must be validated with the full engine
+     */
+    boolean isValid(@Nonnull final String value) {
+        if ("null".equalsIgnoreCase(value)) {
+            return false;
+        }
+        switch (type) {
+            case STRING:
+                return isValidString(value);
+            case INTEGER:
+                return INTEGER.matcher(value).matches() && isValidNumber(new BigDecimal(value));
+            case NUMBER:
+                return NUMBER.matcher(value).matches() && isValidNumber(toDecimal(value));
+            case BOOLEAN:
+                return "true".equals(value) || "false".equals(value);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isValidString(final String value) {
+        if (stringEnum != null && !stringEnum.contains(value)) {
+            return false;
+        }
+        if (minLength != null || maxLength != null) {
+            final int length = value.codePointCount(0, value.length());
+            if (minLength != null && length < minLength) {
+                return false;
+            }
+            if (maxLength != null && length > maxLength) {
+                return false;
+            }
+        }
+        if (pattern == null) {
+            return true;
+        }
+        return (pattern.getEngine() == CompiledPattern.Engine.LINEAR_TIME || hasPortableCharacters(value)) && pattern.find(value);
+    }
+
+    private boolean isValidNumber(@Nullable final BigDecimal value) {
+        if (value == null) {
+            return false;
+        }
+        if (numericEnum != null && numericEnum.stream().noneMatch(e -> e.compareTo(value) == 0)) {
+            return false;
+        }
+        if (minimum != null) {
+            final int comparison = value.compareTo(minimum);
+            if (comparison < 0 || exclusiveMinimum && comparison == 0) {
+                return false;
+            }
+        }
+        if (maximum != null) {
+            final int comparison = value.compareTo(maximum);
+            if (comparison > 0 || exclusiveMaximum && comparison == 0) {
+                return false;
+            }
+        }
+        if (multipleOf != null &&
+                (multipleOf.signum() == 0 || value.remainder(multipleOf).compareTo(BigDecimal.ZERO) != 0)) {
+            return false;
+        }
+        if ("int32".equals(format)) {
+            return value.compareTo(MIN_INT) >= 0 && value.compareTo(MAX_INT) <= 0;
+        }
+        if ("int64".equals(format)) {
+            return value.compareTo(MIN_LONG) >= 0 && value.compareTo(MAX_LONG) <= 0;
+        }
+        return true;
+    }
+
+    /**
+     * Convert the value to the decimal the JSON engine would see, or <code>null</code> if it can't be represented.
+     */
+    @Nullable
+    private static BigDecimal toDecimal(final String value) {
+        if (EXACT_DECIMALS || INTEGER.matcher(value).matches()) {
+            return new BigDecimal(value);
+        }
+        final double d = Double.parseDouble(value);
+        return Double.isFinite(d) ? BigDecimal.valueOf(d) : null;
+    }
+
+    /**
+     * The JSON engine evaluates patterns with ECMA 262 semantics. Line terminators and surrogate pairs are treated
+     * differently by Java, so values containing them are left to the full engine (unless the pattern is matched
+     * with the linear-time ECMA 262 matcher).
+     */
+    private static boolean hasPortableCharacters(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029' || Character.isSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the given pattern only uses regex syntax that has the same meaning in Java and ECMA 262:
+     * literals, simple character classes, <code>\d \D \w \W</code>, escaped punctuation, quantifiers,
+     * alternation, capturing and non-capturing groups and lookaheads.
+     */
+    static boolean isPortablePattern(@Nonnull final String pattern) {
+        boolean inClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= pattern.length() || !isPortableEscape(pattern.charAt(i + 1))) {
+                    return false;
+                }
+                i++;
+            } else if (inClass) {
+                if (c == '[' || c == '&' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '&') {
+                    return false;
+                }
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == ']') {
+                    return false;
+                }
+            } else if (c == '(' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '?') {
+                if (i + 2 >= pattern.length() || ":=!".indexOf(pattern.charAt(i + 2)) < 0) {
+                    return false;
+                }
+            } else if ((c == '*' || c == '+' || c == '?' || c == '}') &&
+                    i + 1 < pattern.length() && "*+{".indexOf(pattern.charAt(i + 1)) >= 0) {
+                // Possessive or repeated quantifiers
+                return false;
+            }
+        }
+        return !inClass;
+    }
+
+    private static boolean isNullOrEmpty(@Nullable final Map<String, Object> extensions) {
+        return extensions == null || extensions.isEmpty();
+    }
+
+    private static boolean isPortableEscape(final char c) {
+        return "dDwWtnrf".indexOf(c) >= 0 || !Character.isLetterOrDigit(c) && c < 0x80;
+    }
+}
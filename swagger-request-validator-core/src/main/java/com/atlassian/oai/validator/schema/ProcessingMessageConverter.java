@@ -6,8 +6,13 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.github.fge.jsonschema.core.report.ProcessingMessage;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.requireNonNull;
 import static org.apache.commons.lang3.StringUtils.capitalize;
@@ -15,10 +20,18 @@ import static org.apache.commons.lang3.StringUtils.capitalize;
 /**
  * Convert a {@link com.github.fge.jsonschema.core.report.ProcessingMessage} to a
  * {@link com.atlassian.oai.validator.report.ValidationReport}
+ * <p>
+ * Each field of the processing message is read once, and the message with its additional info, nested messages
+ * and context is created in one go. Message keys are cached by key prefix and keyword.
  */
 class ProcessingMessageConverter {
     private final MessageResolver messages;
 
+    /**
+     * Message keys, by key prefix then validation keyword.
+     */
+    private final Map<String, Map<String, String>> keys = new ConcurrentHashMap<>();
+
     public ProcessingMessageConverter(@Nonnull final MessageResolver messages) {
         this.messages = requireNonNull(messages);
     }
@@ -27,98 +40,102 @@ class ProcessingMessageConverter {
                                         final String keywordOverride,
                                         final String keyPrefix) {
 
-        return ValidationReport.singleton(toValidationReportMessage(pm.asJson(), keywordOverride, keyPrefix));
+        return ValidationReport.singleton(toValidationReportMessage(pm, keywordOverride, keyPrefix));
     }
 
-    ValidationReport.Message toValidationReportMessage(final JsonNode pm,
+    ValidationReport.Message toValidationReportMessage(final ProcessingMessage pm,
                                                        final String keywordOverride,
                                                        final String keyPrefix) {
+        // The fields of a processing message are only exposed as a JSON object, which is a shallow copy of them
+        return toValidationReportMessage(pm.asJson(), pm.getMessage(), keywordOverride, keyPrefix);
+    }
 
-        final String validationKeyword = getValidationKeyword(pm, keywordOverride);
+    ValidationReport.Message toValidationReportMessage(final JsonNode pm,
+                                                       final String keywordOverride,
+                                                       final String keyPrefix) {
+        return toValidationReportMessage(pm, textValue(pm.get("message")), keywordOverride, keyPrefix);
+    }
 
+    private ValidationReport.Message toValidationReportMessage(final JsonNode pm,
+                                                               @Nullable final String message,
+                                                               final String keywordOverride,
+                                                               final String keyPrefix) {
         final String instancePointer = getInstancePointer(pm);
         final String schemaPointer = getSchemaPointer(pm);
 
-        final List<String> subReports = new ArrayList<>();
-        if (pm.has("reports")) {
-            final JsonNode reports = pm.get("reports");
-            reports.fields().forEachRemaining(field -> {
-                field.getValue().elements().forEachRemaining(report -> {
-                    subReports.add(field.getKey() + ": " + capitalize(report.get("message").textValue()));
-                });
-            });
+        // Reports may be an array, or an object keyed by the schema pointer. Only the latter are summarised as
+        // additional info.
+        List<String> subReports = Collections.emptyList();
+        List<ValidationReport.Message> nestedMessages = Collections.emptyList();
+        final JsonNode reports = pm.get("reports");
+        if (reports != null && reports.isArray()) {
+            nestedMessages = new ArrayList<>(reports.size());
+            for (final JsonNode report : reports) {
+                nestedMessages.add(toValidationReportMessage(report, keywordOverride, keyPrefix));
+            }
+        } else if (reports != null && reports.isObject()) {
+            subReports = new ArrayList<>();
+            nestedMessages = new ArrayList<>();
+            final Iterator<Map.Entry<String, JsonNode>> fields = reports.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                for (final JsonNode report : field.getValue()) {
+                    final String reportMessage = textValue(report.get("message"));
+                    subReports.add(field.getKey() + ": " + capitalize(reportMessage));
+                    nestedMessages.add(toValidationReportMessage(report, reportMessage, keywordOverride, keyPrefix));
+                }
+            }
         }
 
-        final String message = buildMessage(pm, instancePointer);
-
-        final ValidationReport.Message validationReportMessage = messages.create(
-                "validation." + keyPrefix + ".schema." + validationKeyword,
-                message, subReports.toArray(new String[0]))
-                .withAdditionalContext(
-                        ValidationReport.MessageContext
-                                .create()
-                                .withPointers(instancePointer.isEmpty() ? "/" : instancePointer, schemaPointer)
-                                .build()
-                );
+        return messages.create(
+                key(keyPrefix, getValidationKeyword(pm, keywordOverride)),
+                buildMessage(message, instancePointer),
+                subReports,
+                nestedMessages,
+                ValidationReport.MessageContext
+                        .create()
+                        .withPointers(instancePointer.isEmpty() ? "/" : instancePointer, schemaPointer)
+                        .build()
+        );
+    }
 
-        return withNestedMessages(pm, keywordOverride, keyPrefix, validationReportMessage);
+    private String key(@Nullable final String keyPrefix, final String validationKeyword) {
+        return keys
+                .computeIfAbsent(String.valueOf(keyPrefix), prefix -> new ConcurrentHashMap<>())
+                .computeIfAbsent(validationKeyword, keyword -> "validation." + keyPrefix + ".schema." + keyword);
     }
 
-    private String buildMessage(final JsonNode pm, final String pointer) {
-        return (pointer.isEmpty() ? "" : "[Path '" + pointer + "'] ") + capitalize(pm.get("message").textValue());
+    private static String buildMessage(@Nullable final String message, final String pointer) {
+        return (pointer.isEmpty() ? "" : "[Path '" + pointer + "'] ") + capitalize(message);
     }
 
-    private String getInstancePointer(final JsonNode pm) {
-        return pm.has("instance") ? pm.get("instance").get("pointer").textValue() : "";
+    String getInstancePointer(final JsonNode pm) {
+        return pm.path("instance").path("pointer").asText();
     }
 
-    private String getSchemaPointer(final JsonNode pm) {
-        if (!pm.has("schema")) {
+    String getSchemaPointer(final JsonNode pm) {
+        final JsonNode schemaNode = pm.get("schema");
+        if (schemaNode == null) {
             return "/";
         }
-        final JsonNode schemaNode = pm.get("schema");
         if (schemaNode.isTextual()) {
             return schemaNode.textValue();
         }
         if (schemaNode.isObject()) {
-            return schemaNode.has("pointer") ? schemaNode.get("pointer").textValue() : "";
+            final JsonNode pointer = schemaNode.get("pointer");
+            return pointer != null ? pointer.textValue() : "";
         }
         return "/";
     }
 
-    private String getValidationKeyword(final JsonNode pm, final String keywordOverride) {
-        final String suffix = pm.has("attribute") ? "." + pm.get("attribute").textValue() : "";
-        if (keywordOverride != null) {
-            return keywordOverride + suffix;
-        }
-        return pm.get("keyword").textValue() + suffix;
+    String getValidationKeyword(final JsonNode pm, final String keywordOverride) {
+        final JsonNode attribute = pm.get("attribute");
+        final String keyword = keywordOverride != null ? keywordOverride : textValue(pm.get("keyword"));
+        return attribute != null ? keyword + "." + attribute.textValue() : keyword;
     }
 
-    private ValidationReport.Message withNestedMessages(final JsonNode pm,
-                                                        final String keywordOverride,
-                                                        final String keyPrefix,
-                                                        final ValidationReport.Message validationReportMessage) {
-        if (!pm.has("reports")) {
-            return validationReportMessage;
-        }
-
-        // Recursively convert 'reports' node children to ValidationReport.Message and add as nested messages
-        final List<ValidationReport.Message> nestedMessages = new ArrayList<>();
-        final JsonNode reports = pm.get("reports");
-
-        // Reports may be an array, or an object keyed by the schema pointer
-        if (reports.isArray()) {
-            reports.iterator().forEachRemaining(report ->
-                    nestedMessages.add(toValidationReportMessage(report, keywordOverride, keyPrefix))
-            );
-        } else if (reports.isObject()) {
-            reports.fields().forEachRemaining(field ->
-                    field.getValue().iterator().forEachRemaining(report ->
-                            nestedMessages.add(toValidationReportMessage(report, keywordOverride, keyPrefix))
-                    )
-            );
-        }
-        return validationReportMessage.withNestedMessages(nestedMessages);
+    @Nullable
+    private static String textValue(@Nullable final JsonNode node) {
+        return node == null ? null : node.textValue();
     }
-
 }
@@ -0,0 +1,27 @@
+package com.atlassian.oai.validator.schema;
+
+/**
+ * Controls when the schemas defined in an API are compiled for validation.
+ * <p>
+ * Compiled schemas are held in the {@link SchemaValidator} schema cache, so precompilation is only effective if the
+ * cache is enabled and large enough to hold every schema in the API (see {@link ValidationConfiguration}).
+ *
+ * @see SchemaValidator#precompile(io.swagger.v3.oas.models.OpenAPI, SchemaCompilationMode)
+ */
+public enum SchemaCompilationMode {
+    /**
+     * Compile each schema when it is first used for validation.
+     */
+    LAZY,
+    /**
+     * Compile every body, parameter and header schema in the API in parallel when the validator is built.
+     * <p>
+     * Building the validator will block until all schemas are compiled.
+     */
+    EAGER,
+    /**
+     * Compile each schema when it is first used for validation, and on first use start compiling every other
+     * schema in the API in parallel in the background.
+     */
+    BACKGROUND
+}
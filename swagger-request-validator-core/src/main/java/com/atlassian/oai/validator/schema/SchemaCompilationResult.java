@@ -0,0 +1,57 @@
+package com.atlassian.oai.validator.schema;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The outcome of precompiling the schemas defined in an API.
+ *
+ * @see SchemaCompilationMode
+ */
+public final class SchemaCompilationResult {
+
+    private final int compiledSchemaCount;
+    private final int failedSchemaCount;
+    private final Duration compilationTime;
+
+    SchemaCompilationResult(final int compiledSchemaCount,
+                            final int failedSchemaCount,
+                            @Nonnull final Duration compilationTime) {
+        this.compiledSchemaCount = compiledSchemaCount;
+        this.failedSchemaCount = failedSchemaCount;
+        this.compilationTime = requireNonNull(compilationTime);
+    }
+
+    /**
+     * @return The number of distinct schemas that were compiled
+     */
+    public int getCompiledSchemaCount() {
+        return compiledSchemaCount;
+    }
+
+    /**
+     * @return The number of schemas that could not be compiled. These will report errors when used for validation.
+     */
+    public int getFailedSchemaCount() {
+        return failedSchemaCount;
+    }
+
+    /**
+     * @return The elapsed time taken to compile all schemas
+     */
+    @Nonnull
+    public Duration getCompilationTime() {
+        return compilationTime;
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaCompilationResult{" +
+                "compiledSchemaCount=" + compiledSchemaCount +
+                ", failedSchemaCount=" + failedSchemaCount +
+                ", compilationTime=" + compilationTime +
+                '}';
+    }
+}
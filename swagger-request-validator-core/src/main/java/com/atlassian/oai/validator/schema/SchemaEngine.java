@@ -0,0 +1,39 @@
+package com.atlassian.oai.validator.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A JSON Schema implementation used by the {@link SchemaValidator} to validate values against schemas.
+ * <p>
+ * Schemas are given to the engine as OpenAPI schema objects (JSON Schema Draft 4 with the OpenAPI extensions
+ * <code>nullable</code>, <code>discriminator</code> and the <code>int32</code>, <code>int64</code>, <code>float</code>,
+ * <code>double</code>, <code>byte</code> and <code>date</code> formats), with the API component schemas injected
+ * under <code>/components/schemas</code> and referenced via <code>$ref</code>.
+ * <p>
+ * Compiled schemas are cached by the {@link SchemaValidator} (see {@link ValidationConfiguration}) and may be used
+ * concurrently from multiple threads.
+ * <p>
+ * The default engine is based on the <code>com.github.java-json-tools:json-schema-validator</code> library
+ * (see {@link JsonSchemaFactoryEngine}). Another default can be provided on the classpath with a
+ * {@link SchemaEngineProvider}.
+ *
+ * @see com.atlassian.oai.validator.OpenApiInteractionValidator.Builder#withSchemaEngine(SchemaEngineProvider)
+ */
+@FunctionalInterface
+public interface SchemaEngine {
+
+    /**
+     * Compile the given schema for validation.
+     * <p>
+     * Problems with the schema should be reported as validation messages when the compiled schema is used,
+     * rather than thrown from this method.
+     *
+     * @param schema The (transformed) OpenAPI schema object to compile
+     *
+     * @return The compiled schema
+     */
+    @Nonnull
+    CompiledSchema compile(@Nonnull JsonNode schema);
+}
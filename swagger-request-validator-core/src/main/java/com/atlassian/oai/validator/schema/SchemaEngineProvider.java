@@ -0,0 +1,35 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A service that provides a {@link SchemaEngine} for validators built with
+ * {@link com.atlassian.oai.validator.OpenApiInteractionValidator.Builder}.
+ * <p>
+ * Providers are discovered with {@link java.util.ServiceLoader}, from a
+ * <code>META-INF/services/com.atlassian.oai.validator.schema.SchemaEngineProvider</code> entry on the classpath.
+ * A provider is only used when asked for
+ * (see {@link com.atlassian.oai.validator.OpenApiInteractionValidator.Builder#withSchemaEngineProvider()}), in which
+ * case the first provider found is used. Otherwise a {@link JsonSchemaFactoryEngine} is used.
+ * <p>
+ * A provider can also be given to a builder directly
+ * (see {@link com.atlassian.oai.validator.OpenApiInteractionValidator.Builder#withSchemaEngine(SchemaEngineProvider)}).
+ */
+@FunctionalInterface
+public interface SchemaEngineProvider {
+
+    /**
+     * Create a schema engine.
+     *
+     * @param messages The message resolver to create validation messages with
+     * @param validationConfiguration The validation configuration, which the engine should honour where it can
+     * (see {@link ValidationConfiguration#isFailFast()}, {@link ValidationConfiguration#getMaxSchemaMessages()} and
+     * {@link ValidationConfiguration#getMaxSchemaMessagesPerPointer()})
+     *
+     * @return The schema engine
+     */
+    @Nonnull
+    SchemaEngine create(@Nonnull MessageResolver messages, @Nonnull ValidationConfiguration validationConfiguration);
+}
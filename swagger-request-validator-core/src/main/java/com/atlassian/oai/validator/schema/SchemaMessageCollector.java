@@ -0,0 +1,149 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.ValidationReport;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects the messages from validating a value against a schema into a report, bounded as per the
+ * {@link ValidationConfiguration}.
+ * <p>
+ * Occurrences of a violation (a key and schema pointer) beyond {@link ValidationConfiguration#getMaxSchemaMessagesPerPointer()}
+ * are counted rather than created, and noted on the last message reported for the violation. Once
+ * {@link ValidationConfiguration#getMaxSchemaMessages()} messages have been collected, no more are accepted.
+ * <p>
+ * For use by {@link SchemaEngine} implementations. This class is not thread safe, and is intended to be used within a
+ * single validation.
+ */
+public final class SchemaMessageCollector {
+
+    /**
+     * The number of instance pointers noted for a repeated violation.
+     */
+    static final int SAMPLE_SIZE = 5;
+
+    private final int maxMessages;
+    private final int maxMessagesPerPointer;
+
+    private final List<ValidationReport.Message> messages = new ArrayList<>();
+    private final Map<String, Violation> violations = new HashMap<>();
+    private boolean truncated;
+
+    /**
+     * @param maxMessages The maximum number of messages to collect, or 0 for no limit
+     * @param maxMessagesPerPointer The maximum number of messages to collect for each violation, or 0 for no limit
+     */
+    public SchemaMessageCollector(final int maxMessages, final int maxMessagesPerPointer) {
+        this.maxMessages = maxMessages;
+        this.maxMessagesPerPointer = maxMessagesPerPointer;
+    }
+
+    /**
+     * @param validationConfiguration The configuration to take the message limits from
+     */
+    public SchemaMessageCollector(@Nonnull final ValidationConfiguration validationConfiguration) {
+        this(validationConfiguration.getMaxSchemaMessages(), validationConfiguration.getMaxSchemaMessagesPerPointer());
+    }
+
+    /**
+     * Add a message to the report, unless the report is full.
+     *
+     * @param violationKey Identifies the violation, e.g. the validation keyword and schema pointer
+     * @param instancePointer The pointer to the invalid value
+     * @param message Creates the message. Only called if the message is reported.
+     *
+     * @return <code>false</code> if the message was not added because the report is full
+     */
+    public boolean add(@Nonnull final String violationKey,
+                       @Nonnull final String instancePointer,
+                       @Nonnull final Supplier<ValidationReport.Message> message) {
+        if (isFull()) {
+            truncated = true;
+            return false;
+        }
+
+        if (maxMessagesPerPointer > 0) {
+            final Violation violation = violations.computeIfAbsent(violationKey, k -> new Violation());
+            if (violation.reported >= maxMessagesPerPointer) {
+                violation.repeatedAt(instancePointer);
+                return true;
+            }
+            violation.reported++;
+            violation.lastIndex = messages.size();
+        }
+        messages.add(message.get());
+        return true;
+    }
+
+    /**
+     * @return Whether no more messages will be accepted
+     */
+    public boolean isFull() {
+        return maxMessages > 0 && messages.size() >= maxMessages;
+    }
+
+    /**
+     * @return A report of the collected messages
+     */
+    @Nonnull
+    public ValidationReport toReport() {
+        return toReport(messages, violations.values(), truncated, maxMessages);
+    }
+
+    /**
+     * Note the repeats of each violation, and whether messages were omitted, on the given messages.
+     *
+     * @param messages The messages reported, in order
+     * @param violations The violations counted against the messages
+     * @param truncated Whether messages were omitted because the report was full
+     * @param maxMessages The maximum number of messages reported
+     *
+     * @return A report of the messages
+     */
+    static ValidationReport toReport(final List<ValidationReport.Message> messages,
+                                     final Collection<Violation> violations,
+                                     final boolean truncated,
+                                     final int maxMessages) {
+        if (messages.isEmpty()) {
+            return ValidationReport.empty();
+        }
+        violations.stream()
+                .filter(violation -> violation.repeated > 0)
+                .forEach(violation -> messages.set(violation.lastIndex,
+                        messages.get(violation.lastIndex).withAdditionalInfo(violation.describe())));
+        if (truncated) {
+            final int last = messages.size() - 1;
+            messages.set(last, messages.get(last).withAdditionalInfo(
+                    "Further messages omitted (at most " + maxMessages + " messages are reported)"));
+        }
+        return ValidationReport.from(messages);
+    }
+
+    /**
+     * The occurrences of a violation: those reported, and a count and sample of those that were not.
+     */
+    static class Violation {
+        int reported;
+        int lastIndex;
+        private int repeated;
+        private final List<String> sample = new ArrayList<>(SAMPLE_SIZE);
+
+        void repeatedAt(final String instancePointer) {
+            repeated++;
+            if (sample.size() < SAMPLE_SIZE) {
+                sample.add(instancePointer.isEmpty() ? "/" : instancePointer);
+            }
+        }
+
+        private String describe() {
+            return "Repeated " + repeated + " more time" + (repeated == 1 ? "" : "s") + ", at " +
+                    String.join(", ", sample) + (repeated > sample.size() ? ", ..." : "");
+        }
+    }
+}
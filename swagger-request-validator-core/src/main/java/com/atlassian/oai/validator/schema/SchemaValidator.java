@@ -1,48 +1,71 @@
 package com.atlassian.oai.validator.schema;
 
+import com.atlassian.oai.validator.model.Body;
 import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.schema.keyword.DiscriminatorIndex;
 import com.atlassian.oai.validator.schema.transform.AdditionalPropertiesInjectionTransformer;
 import com.atlassian.oai.validator.schema.transform.RequiredFieldTransformer;
 import com.atlassian.oai.validator.schema.transform.SchemaDefinitionsInjectionTransformer;
 import com.atlassian.oai.validator.schema.transform.SchemaRefInjectionTransformer;
 import com.atlassian.oai.validator.schema.transform.SchemaTransformationContext;
 import com.atlassian.oai.validator.schema.transform.SchemaTransformer;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
-import com.github.fge.jsonschema.core.exceptions.ProcessingException;
-import com.github.fge.jsonschema.core.report.ListProcessingReport;
-import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
-import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
-import com.google.common.collect.Iterables;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.DateTimeSchema;
 import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import static com.google.common.base.Suppliers.memoize;
+import static java.lang.Boolean.TRUE;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.StreamSupport.stream;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Validate a value against the schema defined in an OpenAPI / Swagger specification.
@@ -58,29 +81,76 @@ public class SchemaValidator {
     public static final String UNKNOWN_ERROR_KEY = "validation.schema.unknownError";
 
     private static final String ALLOF_FIELD = "allOf";
+    private static final String COMPONENTS_FIELD = "components";
+    private static final String SCHEMAS_FIELD = "schemas";
+
+    private static final int MAX_OTHER_SCHEMA_IDS = 1000;
 
     private final MessageResolver messages;
-    private final LoadingCache<JsonSchemaKey, JsonSchema> jsonSchemaCache;
-    private final ProcessingMessageConverter messageConverter;
+    private final LoadingCache<JsonSchemaKey, CacheEntry> jsonSchemaCache;
+
+    /**
+     * Stable IDs for the schemas validated against, used to key the schema cache.
+     * <p>
+     * Schemas are looked up by identity. Structurally equal schemas are given the same ID so they share a compiled
+     * schema, but the (deep) structural comparison is only made the first time each schema instance is seen.
+     * <p>
+     * The schemas of the API are given IDs when the validator is built. Other schemas are compared against the API
+     * schemas and a bounded number of other recently seen schemas, so they are not held by the validator once
+     * they are no longer in use.
+     */
+    private final LoadingCache<Schema<?>, Integer> schemaIds = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(this::structuralSchemaId));
+    private final Map<Schema<?>, Integer> apiSchemaIds;
+    private final Cache<Schema<?>, Integer> otherSchemaIds = CacheBuilder.newBuilder()
+            .maximumSize(MAX_OTHER_SCHEMA_IDS)
+            .build();
+
+    /**
+     * Native validators for the primitive parameter and header schemas, keyed by schema identity.
+     *
+     * @see PrimitiveSchemaValidator
+     */
+    private final LoadingCache<Schema<?>, Optional<PrimitiveSchemaValidator>> primitiveValidators = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(PrimitiveSchemaValidator::compile));
+    private final AtomicInteger nextSchemaId = new AtomicInteger();
 
     private final ValidationConfiguration validationConfiguration;
 
     private final JsonNode definitions;
 
-    private final JsonSchemaFactory schemaFactory;
+    private final Map<String, Schema> componentSchemas;
+
+    private final SchemaEngine schemaEngine;
+
+    /**
+     * Compilation of the remaining API schemas, to be started on first use in {@link SchemaCompilationMode#BACKGROUND}.
+     */
+    private final AtomicReference<Runnable> pendingCompilation = new AtomicReference<>();
+    private volatile SchemaCompilationResult compilationResult;
 
     /**
      * Transformations applied to the schema before validation.
      * <p>
      * Order is important here - the mutations from one transformation are passed through to the subsequent transformers.
+     * <p>
+     * The same transformations are applied once to the component schemas to produce the normalized definitions
+     * for each of {@link #requestDefinitions}, {@link #responseDefinitions} and {@link #defaultDefinitions}.
+     * These are then injected last, and are shared by every schema compiled by this validator.
      */
     private final List<SchemaTransformer> transformers = asList(
-            SchemaDefinitionsInjectionTransformer.getInstance(),
             SchemaRefInjectionTransformer.getInstance(),
             AdditionalPropertiesInjectionTransformer.getInstance(),
-            RequiredFieldTransformer.getInstance()
+            RequiredFieldTransformer.getInstance(),
+            SchemaDefinitionsInjectionTransformer.getInstance()
     );
 
+    private final Supplier<JsonNode> requestDefinitions = memoize(() -> normalizeDefinitions(true, false));
+    private final Supplier<JsonNode> responseDefinitions = memoize(() -> normalizeDefinitions(false, true));
+    private final Supplier<JsonNode> defaultDefinitions = memoize(() -> normalizeDefinitions(false, false));
+
     /**
      * Build a new validator for the given API specification.
      *
@@ -111,11 +181,27 @@ public class SchemaValidator {
      * @param api The API to build the validator for.
      * @param messages The message resolver to use.
      * @param schemaFactorySupplier A supplier function to get JsonSchemaFactory.
+     * @param validationConfiguration The schema validation configuration.
      */
     public SchemaValidator(final OpenAPI api,
                            @Nonnull final MessageResolver messages,
                            @Nonnull final Supplier<JsonSchemaFactory> schemaFactorySupplier,
                            @Nonnull final ValidationConfiguration validationConfiguration) {
+        this(api, messages, new JsonSchemaFactoryEngine(schemaFactorySupplier.get(), messages, validationConfiguration), validationConfiguration);
+    }
+
+    /**
+     * Build a new validator for the given API specification.
+     *
+     * @param api The API to build the validator for.
+     * @param messages The message resolver to use.
+     * @param schemaEngine The JSON Schema implementation to validate with.
+     * @param validationConfiguration The schema validation configuration.
+     */
+    public SchemaValidator(final OpenAPI api,
+                           @Nonnull final MessageResolver messages,
+                           @Nonnull final SchemaEngine schemaEngine,
+                           @Nonnull final ValidationConfiguration validationConfiguration) {
         this.messages = requireNonNull(messages, "A message resolver is required");
         this.validationConfiguration = validationConfiguration;
 
@@ -123,22 +209,82 @@ public class SchemaValidator {
                 .map(Components::getSchemas)
                 .map(schemas -> Json.mapper().convertValue(schemas, JsonNode.class))
                 .orElseGet(() -> Json.mapper().createObjectNode());
-        schemaFactory = requireNonNull(schemaFactorySupplier.get(), "A JsonSchemaFactory is required");
+        componentSchemas = Optional.ofNullable(api.getComponents())
+                .map(Components::getSchemas)
+                .orElse(emptyMap());
+        this.schemaEngine = requireNonNull(schemaEngine, "A schema engine is required");
         if (validationConfiguration.isCacheEnabled()) {
-            this.jsonSchemaCache = CacheBuilder.newBuilder()
-                .maximumSize(validationConfiguration.getMaxCacheSize())
-                .build(new CacheLoader<JsonSchemaKey, JsonSchema>() {
+            this.jsonSchemaCache = newSchemaCacheBuilder(validationConfiguration)
+                .recordStats()
+                .build(new CacheLoader<JsonSchemaKey, CacheEntry>() {
                     @Override
-                    public JsonSchema load(final JsonSchemaKey key) throws ProcessingException {
+                    public CacheEntry load(final JsonSchemaKey key) {
                         final JsonNode schemaObject = readAndTransformSchemaObject(key.schema,
-                            key.forRequest, key.forResponse, definitions);
-                        return schemaFactory.getJsonSchema(schemaObject);
+                            key.forRequest, key.forResponse);
+                        return new CacheEntry(schemaEngine.compile(schemaObject), estimateWeight(schemaObject));
                     }
                 });
+            // Assign IDs to the API schemas up front, so that lookups during validation are by identity only
+            final Map<Schema<?>, Integer> ids = new HashMap<>();
+            forEachSchemaOf(api, (schema, forRequest, forResponse) ->
+                    schemaIds.put(schema, ids.computeIfAbsent(schema, s -> nextSchemaId.getAndIncrement())));
+            this.apiSchemaIds = unmodifiableMap(ids);
         } else {
             this.jsonSchemaCache = null;
+            this.apiSchemaIds = emptyMap();
+        }
+    }
+
+    private static CacheBuilder<Object, Object> newSchemaCacheBuilder(final ValidationConfiguration validationConfiguration) {
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        if (validationConfiguration.isCacheUnbounded()) {
+            return builder;
+        }
+        if (validationConfiguration.getMaxCacheWeight() > 0) {
+            return builder
+                    .maximumWeight(validationConfiguration.getMaxCacheWeight())
+                    .weigher((Object key, Object value) -> ((CacheEntry) value).weight);
+        }
+        return builder.maximumSize(validationConfiguration.getMaxCacheSize());
+    }
+
+    /**
+     * Estimate the footprint of a compiled schema as the number of nodes in the transformed schema, excluding the
+     * injected component schemas (which are shared between all compiled schemas).
+     */
+    private static int estimateWeight(final JsonNode schemaObject) {
+        int weight = 1;
+        final Iterator<Map.Entry<String, JsonNode>> fields = schemaObject.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if (!COMPONENTS_FIELD.equals(field.getKey())) {
+                weight += nodeCount(field.getValue());
+            }
+        }
+        return weight;
+    }
+
+    private static int nodeCount(final JsonNode node) {
+        int count = 1;
+        for (final JsonNode child : node) {
+            count += nodeCount(child);
         }
-        this.messageConverter = new ProcessingMessageConverter(messages);
+        return count;
+    }
+
+    /**
+     * Get statistics on the schema cache (hits, misses, load time, evictions etc.), if it is enabled.
+     * <p>
+     * A high eviction count relative to the number of loads indicates the cache is too small for the API and
+     * schemas are being repeatedly recompiled.
+     *
+     * @return The current schema cache statistics, or empty if the cache is not enabled.
+     *
+     * @see ValidationConfiguration
+     */
+    @Nonnull
+    public Optional<CacheStats> getCacheStats() {
+        return Optional.ofNullable(jsonSchemaCache).map(LoadingCache::stats);
     }
 
     /**
@@ -155,9 +301,24 @@ public class SchemaValidator {
                                      @Nullable final Schema schema,
                                      @Nullable final String keyPrefix) {
         requireNonNull(value, "A value is required");
+        if (schema != null && isKnownValidPrimitive(value, schema)) {
+            if (pendingCompilation.get() != null) {
+                startPendingCompilation();
+            }
+            return ValidationReport.empty();
+        }
         return validate(() -> readContent(value, schema), schema, keyPrefix);
     }
 
+    /**
+     * Check the value natively against simple primitive schemas, avoiding the full validation engine for valid values.
+     * Values that are (or may be) invalid are validated by the engine, so that validation messages are the same.
+     */
+    private boolean isKnownValidPrimitive(final String value, final Schema<?> schema) {
+        final Optional<PrimitiveSchemaValidator> primitiveValidator = primitiveValidators.getUnchecked(schema);
+        return primitiveValidator.isPresent() && primitiveValidator.get().isValid(value);
+    }
+
     /**
      * Validate the given value against the given property schema. If the schema is null then any json is valid.
      *
@@ -176,81 +337,366 @@ public class SchemaValidator {
         }
 
         try {
-            final ListProcessingReport processingReport;
+            final JsonNode content;
             try {
-                final JsonNode content = supplier.get();
-
-                final JsonSchema jsonSchema = resolveJsonSchema(schema, keyPrefix);
-                processingReport = (ListProcessingReport) jsonSchema
-                        .validate(content, true);
-
-            } catch (final ProcessingException e) {
-                return messageConverter.toValidationReport(e.getProcessingMessage(), "processingError", keyPrefix);
+                content = supplier.get();
             } catch (final IOException e) {
-                return ValidationReport.singleton(
-                        messages.create(
-                                "validation." + keyPrefix + ".schema.invalidJson",
-                                messages.get(INVALID_JSON_KEY, e.getMessage()).getMessage()
-                        )
-                );
+                return invalidJson(e, keyPrefix);
             }
 
-            if (processingReport != null && !processingReport.isSuccess()) {
-                return stream(processingReport.spliterator(), false)
-                        .map(pm -> messageConverter.toValidationReport(pm, null, keyPrefix))
-                        .reduce(ValidationReport.empty(), ValidationReport::merge);
+            return resolveCompiledSchema(schema, keyPrefix).validate(content, keyPrefix);
+        } catch (final RuntimeException e) {
+            return unknownError(e, keyPrefix);
+        }
+    }
+
+    /**
+     * Validate the given JSON body against the given schema. If the schema is null then any json is valid.
+     * <p>
+     * If body streaming is enabled (see {@link ValidationConfiguration#getBodyStreamingThreshold()}), large bodies
+     * validated against an array schema are read and validated one item at a time, rather than being read into
+     * memory in full.
+     *
+     * @param body The body to validate
+     * @param schema The schema to validate the body against
+     * @param keyPrefix A prefix to apply to validation messages emitted by the validator
+     *
+     * @return A validation report containing accumulated validation errors
+     */
+    @Nonnull
+    public ValidationReport validate(@Nonnull final Body body,
+                                     @Nullable final Schema schema,
+                                     @Nullable final String keyPrefix) {
+        requireNonNull(body, "A body is required");
+
+        final Optional<ArraySchema> arraySchema = streamableArraySchema(schema);
+        if (!arraySchema.isPresent() || !isStreamed(body)) {
+            return validate(body::toJsonNode, schema, keyPrefix);
+        }
+
+        try (JsonParser parser = body.toJsonParser()) {
+            return validateStreaming(parser, schema, arraySchema.get(), keyPrefix);
+        } catch (final IOException e) {
+            return invalidJson(e, keyPrefix);
+        } catch (final RuntimeException e) {
+            return unknownError(e, keyPrefix);
+        }
+    }
+
+    private boolean isStreamed(final Body body) {
+        final OptionalLong contentLength = body.getContentLength();
+        return !contentLength.isPresent() || contentLength.getAsLong() > validationConfiguration.getBodyStreamingThreshold();
+    }
+
+    private Optional<ArraySchema> streamableArraySchema(@Nullable final Schema<?> schema) {
+        if (schema == null || !validationConfiguration.isBodyStreamingEnabled()) {
+            return Optional.empty();
+        }
+        final Schema<?> resolved = schema.get$ref() == null ? schema :
+                componentSchemas.get(StringUtils.substringAfterLast(schema.get$ref(), "/"));
+        if (!(resolved instanceof ArraySchema) ||
+                resolved.getItems() == null ||
+                TRUE.equals(resolved.getUniqueItems()) ||
+                resolved.getNot() != null ||
+                resolved.getExtensions() != null && !resolved.getExtensions().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of((ArraySchema) resolved);
+    }
+
+    /**
+     * Validate each item of an array body in turn against the item schema, holding only the current item in memory.
+     * <p>
+     * The messages for each item are relocated to the item within the array (see {@link ArrayItemMessages}) and
+     * collected within the configured message limits as they are found. The number of items is checked against
+     * the bounds of the array schema once the whole array has been read.
+     */
+    private ValidationReport validateStreaming(final JsonParser parser,
+                                               final Schema<?> schema,
+                                               final ArraySchema arraySchema,
+                                               @Nullable final String keyPrefix) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            final JsonNode content = readValue(parser);
+            return validate(() -> content, schema, keyPrefix);
+        }
+
+        final CompiledSchema itemSchema = resolveCompiledSchema(arraySchema.getItems(), keyPrefix);
+        final ArrayItemMessages itemMessages = new ArrayItemMessages(messages, schema.get$ref() == null ? "" :
+                "/" + COMPONENTS_FIELD + "/" + SCHEMAS_FIELD + "/" + StringUtils.substringAfterLast(schema.get$ref(), "/"));
+        final SchemaMessageCollector collector = new SchemaMessageCollector(validationConfiguration);
+        boolean validating = true;
+        int size = 0;
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end-of-input: expected close marker for Array");
             }
-            return ValidationReport.empty();
+            final JsonNode item = readValue(parser);
+            // Once the report is full (or in fail-fast mode, has a message) the remaining items are read, to check
+            // the body is valid JSON and count them, but not validated
+            if (validating) {
+                final List<ValidationReport.Message> itemReport = itemSchema.validate(item, keyPrefix).getMessages();
+                for (final ValidationReport.Message message : itemReport) {
+                    final ValidationReport.Message atItem = itemMessages.atItem(message, size);
+                    if (!collector.add(ArrayItemMessages.violationKey(atItem), "/" + size, () -> atItem)) {
+                        validating = false;
+                        break;
+                    }
+                }
+                validating &= itemReport.isEmpty() || !validationConfiguration.isFailFast();
+            }
+            size++;
+        }
+
+        if (isWithinBounds(size, arraySchema)) {
+            return collector.toReport();
+        }
+        final ValidationReport bounds = ValidationReport.from(validateItemCount(size, arraySchema, keyPrefix).getMessages()
+                .stream()
+                .map(itemMessages::atArray)
+                .collect(toList()));
+        return validationConfiguration.isFailFast() ? bounds : bounds.merge(collector.toReport());
+    }
+
+    /**
+     * Validate the number of items in an array against the bounds of the array schema, without the items themselves.
+     */
+    private ValidationReport validateItemCount(final int size,
+                                               final ArraySchema arraySchema,
+                                               @Nullable final String keyPrefix) {
+        final ObjectNode countSchema = Json.mapper().createObjectNode().put("type", "array");
+        if (arraySchema.getMinItems() != null) {
+            countSchema.put("minItems", arraySchema.getMinItems());
+        }
+        if (arraySchema.getMaxItems() != null) {
+            countSchema.put("maxItems", arraySchema.getMaxItems());
+        }
+        final ArrayNode items = new ArrayNode(JsonNodeFactory.instance, nCopies(size, (JsonNode) NullNode.getInstance()));
+        return schemaEngine.compile(countSchema).validate(items, keyPrefix);
+    }
+
+    private static JsonNode readValue(final JsonParser parser) throws IOException {
+        final JsonNode value = Json.mapper().readTree(parser);
+        return value == null ? NullNode.getInstance() : value;
+    }
+
+    private static boolean isWithinBounds(final int size, final ArraySchema arraySchema) {
+        return (arraySchema.getMinItems() == null || size >= arraySchema.getMinItems()) &&
+                (arraySchema.getMaxItems() == null || size <= arraySchema.getMaxItems());
+    }
+
+    private ValidationReport invalidJson(final IOException e, @Nullable final String keyPrefix) {
+        return ValidationReport.singleton(
+                messages.create(
+                        "validation." + keyPrefix + ".schema.invalidJson",
+                        messages.get(INVALID_JSON_KEY, e.getMessage()).getMessage()
+                )
+        );
+    }
+
+    private ValidationReport unknownError(final RuntimeException e, @Nullable final String keyPrefix) {
+        log.debug("Error during schema validation", e);
+        return ValidationReport.singleton(
+                messages.create(
+                        "validation." + keyPrefix + ".schema.unknownError",
+                        messages.get(UNKNOWN_ERROR_KEY, e.getMessage()).getMessage()
+                )
+        );
+    }
+
+    /**
+     * Compile the body, parameter and header schemas defined in the given API ahead of validation,
+     * as per the given mode.
+     * <p>
+     * Compiled schemas are held in the schema cache, so this has no effect if the cache is disabled.
+     *
+     * @param api The API to compile the schemas of. This should be the API this validator was built for.
+     * @param mode When to compile the schemas
+     *
+     * @see #getCompilationResult()
+     */
+    public void precompile(@Nonnull final OpenAPI api, @Nonnull final SchemaCompilationMode mode) {
+        requireNonNull(api, "An API is required");
+        requireNonNull(mode, "A compilation mode is required");
+
+        if (mode == SchemaCompilationMode.LAZY) {
+            return;
+        }
+        if (!validationConfiguration.isCacheEnabled()) {
+            log.warn("Schema precompilation requires the schema cache to be enabled. Schemas will be compiled on first use.");
+            return;
+        }
+
+        final Set<JsonSchemaKey> keys = schemaKeysOf(api);
+        if (!validationConfiguration.isCacheUnbounded() && validationConfiguration.getMaxCacheWeight() <= 0
+                && keys.size() > validationConfiguration.getMaxCacheSize()) {
+            log.warn("The API defines {} schemas but the schema cache holds at most {}. " +
+                    "Some precompiled schemas will be evicted.", keys.size(), validationConfiguration.getMaxCacheSize());
+        }
+
+        if (mode == SchemaCompilationMode.EAGER) {
+            compileAll(keys);
+        } else {
+            pendingCompilation.set(() -> ForkJoinPool.commonPool().execute(() -> compileAll(keys)));
+        }
+    }
+
+    /**
+     * @return The outcome of precompiling the API schemas, or empty if precompilation was not requested or
+     * has not yet completed.
+     *
+     * @see #precompile(OpenAPI, SchemaCompilationMode)
+     */
+    @Nonnull
+    public Optional<SchemaCompilationResult> getCompilationResult() {
+        return Optional.ofNullable(compilationResult);
+    }
+
+    private void startPendingCompilation() {
+        final Runnable compilation = pendingCompilation.getAndSet(null);
+        if (compilation != null) {
+            compilation.run();
+        }
+    }
+
+    private void compileAll(final Set<JsonSchemaKey> keys) {
+        final long start = System.nanoTime();
+        final int failed = (int) keys.parallelStream().filter(key -> !compile(key)).count();
+        compilationResult = new SchemaCompilationResult(
+                keys.size() - failed, failed, Duration.ofNanos(System.nanoTime() - start)
+        );
+        log.info("Compiled {} schemas in {}ms ({} failed)",
+                compilationResult.getCompiledSchemaCount(), compilationResult.getCompilationTime().toMillis(), failed);
+    }
+
+    private boolean compile(final JsonSchemaKey key) {
+        try {
+            jsonSchemaCache.getUnchecked(key);
+            return true;
         } catch (final RuntimeException e) {
-            log.debug("Error during schema validation", e);
-            return ValidationReport.singleton(
-                    messages.create(
-                            "validation." + keyPrefix + ".schema.unknownError",
-                            messages.get(UNKNOWN_ERROR_KEY, e.getMessage()).getMessage()
-                    )
-            );
+            log.debug("Failed to compile schema", e);
+            return false;
+        }
+    }
+
+    /**
+     * Collect the cache keys of the schemas used to validate interactions on the given API,
+     * as per the key prefixes used by the request and response validators.
+     */
+    private Set<JsonSchemaKey> schemaKeysOf(final OpenAPI api) {
+        final Set<JsonSchemaKey> keys = new LinkedHashSet<>();
+        forEachSchemaOf(api, (schema, forRequest, forResponse) -> keys.add(keyFor(schema, forRequest, forResponse)));
+        return keys;
+    }
+
+    /**
+     * Visit the parameter, body and header schemas used to validate interactions on the given API.
+     */
+    private static void forEachSchemaOf(final OpenAPI api, final SchemaVisitor visitor) {
+        if (api.getPaths() == null) {
+            return;
+        }
+        api.getPaths().values().forEach(pathItem -> pathItem.readOperations().forEach(operation -> {
+            Stream.of(pathItem.getParameters(), operation.getParameters())
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .map(Parameter::getSchema)
+                    .map(schema -> schema instanceof ArraySchema ? ((ArraySchema) schema).getItems() : schema)
+                    .forEach(schema -> visit(visitor, schema, false, false));
+
+            if (operation.getRequestBody() != null && operation.getRequestBody().getContent() != null) {
+                operation.getRequestBody().getContent().values()
+                        .forEach(mediaType -> visit(visitor, mediaType.getSchema(), true, false));
+            }
+
+            if (operation.getResponses() != null) {
+                operation.getResponses().values().forEach(response -> {
+                    if (response.getContent() != null) {
+                        response.getContent().values()
+                                .forEach(mediaType -> visit(visitor, mediaType.getSchema(), false, true));
+                    }
+                    if (response.getHeaders() != null) {
+                        response.getHeaders().values()
+                                .forEach(header -> visit(visitor, header.getSchema(), false, false));
+                    }
+                });
+            }
+        }));
+    }
+
+    private static void visit(final SchemaVisitor visitor, @Nullable final Schema<?> schema,
+                              final boolean forRequest, final boolean forResponse) {
+        if (schema != null) {
+            visitor.visit(schema, forRequest, forResponse);
+        }
+    }
+
+    private JsonSchemaKey keyFor(final Schema<?> schema, final boolean forRequest, final boolean forResponse) {
+        return new JsonSchemaKey(schemaIds.getUnchecked(schema), schema, forRequest, forResponse);
+    }
+
+    private Integer structuralSchemaId(final Schema<?> schema) {
+        final Integer apiSchemaId = apiSchemaIds.get(schema);
+        if (apiSchemaId != null) {
+            return apiSchemaId;
         }
+        return otherSchemaIds.asMap().computeIfAbsent(schema, s -> nextSchemaId.getAndIncrement());
     }
 
-    private JsonSchema resolveJsonSchema(final Schema schema, @Nullable final String keyPrefix)
-            throws ProcessingException {
+    private CompiledSchema resolveCompiledSchema(final Schema<?> schema, @Nullable final String keyPrefix) {
         final boolean forRequest = "request.body".equalsIgnoreCase(keyPrefix);
         final boolean forResponse = "response.body".equalsIgnoreCase(keyPrefix);
-        final JsonSchemaKey jsonSchemaKey = new JsonSchemaKey(schema, forRequest, forResponse);
-        try {
-            if (validationConfiguration.isCacheEnabled()) {
-                return jsonSchemaCache.get(jsonSchemaKey);
+        if (validationConfiguration.isCacheEnabled()) {
+            final CompiledSchema compiledSchema = jsonSchemaCache.getUnchecked(keyFor(schema, forRequest, forResponse)).compiledSchema;
+            if (pendingCompilation.get() != null) {
+                startPendingCompilation();
             }
-            final JsonNode schemaObject = readAndTransformSchemaObject(schema, forRequest, forResponse, definitions);
-            return schemaFactory.getJsonSchema(schemaObject);
-        } catch (final ExecutionException e) {
-            final List<Throwable> causalChain = Throwables.getCausalChain(e);
-            throw (ProcessingException) causalChain.stream()
-                    .filter(exception -> exception instanceof ProcessingException)
-                    .findFirst()
-                    .orElseGet(() -> new ProcessingException("JsonSchema creation failed.", Iterables.getLast(causalChain)));
+            return compiledSchema;
         }
+        final JsonNode schemaObject = readAndTransformSchemaObject(schema, forRequest, forResponse);
+        return schemaEngine.compile(schemaObject);
     }
 
-    private JsonNode readAndTransformSchemaObject(final Schema schema, final boolean forRequest,
-                                                  final boolean forResponse, final JsonNode definitions) {
+    private JsonNode readAndTransformSchemaObject(final Schema<?> schema, final boolean forRequest,
+                                                  final boolean forResponse) {
         final ObjectNode schemaObject = Json.mapper().convertValue(schema, ObjectNode.class);
         final SchemaTransformationContext transformationContext = SchemaTransformationContext.create()
                 .forRequest(forRequest)
                 .forResponse(forResponse)
-                .withAdditionalPropertiesValidation(additionalPropertiesValidationEnabled())
-                // Use a copy of the definitions. The JsonSchema validation process might change them
-                // in its validation process. On concurrent validations it might even lead to
-                // ConcurrentModificationException.
-                .withDefinitions(definitions.deepCopy())
+                .withAdditionalPropertiesValidation(additionalPropertiesValidationEnabled(forRequest, forResponse))
+                .withDefinitions(forRequest ? requestDefinitions.get() :
+                        forResponse ? responseDefinitions.get() : defaultDefinitions.get())
                 .build();
 
         transformers.forEach(t -> t.apply(schemaObject, transformationContext));
 
-        checkForKnownGotchasAndLogMessage(schemaObject);
+        checkForKnownGotchasAndLogMessage(schemaObject, transformationContext);
         return schemaObject;
     }
 
+    /**
+     * Apply the schema transformations to a copy of the component schemas.
+     * <p>
+     * The result is injected by reference into each schema compiled for the same kind of validation,
+     * so must not be modified afterwards. The discriminator index for the result is built here too, so that
+     * discriminator validation only looks it up.
+     */
+    private JsonNode normalizeDefinitions(final boolean forRequest, final boolean forResponse) {
+        final ObjectNode definitionsObject = Json.mapper().createObjectNode();
+        definitionsObject.putObject(COMPONENTS_FIELD).set(SCHEMAS_FIELD, definitions.deepCopy());
+        final SchemaTransformationContext transformationContext = SchemaTransformationContext.create()
+                .forRequest(forRequest)
+                .forResponse(forResponse)
+                .withAdditionalPropertiesValidation(additionalPropertiesValidationEnabled(forRequest, forResponse))
+                .build();
+
+        transformers.stream()
+                .filter(t -> !(t instanceof SchemaDefinitionsInjectionTransformer))
+                .forEach(t -> t.apply(definitionsObject, transformationContext));
+
+        DiscriminatorIndex.of(definitionsObject);
+        return definitionsObject.get(COMPONENTS_FIELD).get(SCHEMAS_FIELD);
+    }
+
     private static JsonNode readContent(@Nonnull final String value, @Nonnull final Schema schema) throws IOException {
         if ("null".equalsIgnoreCase(value)) {
             return Json.mapper().readTree("null");
@@ -296,12 +742,27 @@ public class SchemaValidator {
         }
     }
 
-    private boolean additionalPropertiesValidationEnabled() {
-        return !messages.isIgnored(ADDITIONAL_PROPERTIES_KEY);
+    /**
+     * Additional properties validation is only enabled if the resulting messages would not be ignored, either
+     * globally or for the request / response body being validated. Otherwise there's no need to inject
+     * <code>additionalProperties</code> into the schemas.
+     */
+    private boolean additionalPropertiesValidationEnabled(final boolean forRequest, final boolean forResponse) {
+        if (messages.isIgnored(ADDITIONAL_PROPERTIES_KEY)) {
+            return false;
+        }
+        if (forRequest) {
+            return !messages.isIgnored("validation.request.body.schema.additionalProperties");
+        }
+        if (forResponse) {
+            return !messages.isIgnored("validation.response.body.schema.additionalProperties");
+        }
+        return true;
     }
 
-    private void checkForKnownGotchasAndLogMessage(final JsonNode schemaObject) {
-        if (additionalPropertiesValidationEnabled() && (schemaObject.has(ALLOF_FIELD))) {
+    private void checkForKnownGotchasAndLogMessage(final JsonNode schemaObject,
+                                                   final SchemaTransformationContext transformationContext) {
+        if (transformationContext.isAdditionalPropertiesValidationEnabled() && schemaObject.has(ALLOF_FIELD)) {
             log.info("Note: Schema uses the 'allOf' keyword. " +
                     "Validation of 'additionalProperties' may fail with unexpected errors. " +
                     "See the project README FAQ for more information.");
@@ -313,15 +774,37 @@ public class SchemaValidator {
         JsonNode get() throws IOException;
     }
 
+    @FunctionalInterface
+    private interface SchemaVisitor {
+        void visit(Schema<?> schema, boolean forRequest, boolean forResponse);
+    }
+
+    private static final class CacheEntry {
+        private final CompiledSchema compiledSchema;
+        private final int weight;
+
+        private CacheEntry(final CompiledSchema compiledSchema, final int weight) {
+            this.compiledSchema = compiledSchema;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Key for a compiled schema. Compares by schema ID, so lookups don't traverse the schema itself.
+     */
     private static class JsonSchemaKey {
-        private final Schema schema;
+        private final int schemaId;
+        private final Schema<?> schema;
         private final boolean forRequest;
         private final boolean forResponse;
+        private final int hashCode;
 
-        private JsonSchemaKey(final Schema schema, final boolean forRequest, final boolean forResponse) {
+        private JsonSchemaKey(final int schemaId, final Schema<?> schema, final boolean forRequest, final boolean forResponse) {
+            this.schemaId = schemaId;
             this.schema = schema;
             this.forRequest = forRequest;
             this.forResponse = forResponse;
+            this.hashCode = Objects.hash(schemaId, forRequest, forResponse);
         }
 
         @Override
@@ -333,13 +816,12 @@ public class SchemaValidator {
                 return false;
             }
             final JsonSchemaKey that = (JsonSchemaKey) o;
-            return forRequest == that.forRequest && forResponse == that.forResponse
-                    && Objects.equals(schema, that.schema);
+            return schemaId == that.schemaId && forRequest == that.forRequest && forResponse == that.forResponse;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(forRequest, forResponse, schema);
+            return hashCode;
         }
     }
 }
@@ -7,6 +7,7 @@ import com.atlassian.oai.validator.schema.format.Int32Attribute;
 import com.atlassian.oai.validator.schema.format.Int64Attribute;
 import com.atlassian.oai.validator.schema.keyword.Discriminator;
 import com.atlassian.oai.validator.schema.keyword.Nullable;
+import com.atlassian.oai.validator.schema.keyword.RegexPattern;
 import com.github.fge.jsonschema.cfg.ValidationConfiguration;
 import com.github.fge.jsonschema.core.messages.JsonSchemaSyntaxMessageBundle;
 import com.github.fge.jsonschema.core.report.ListReportProvider;
@@ -15,12 +16,15 @@ import com.github.fge.jsonschema.format.draftv3.DateAttribute;
 import com.github.fge.jsonschema.library.DraftV4Library;
 import com.github.fge.jsonschema.library.Library;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.github.fge.jsonschema.main.JsonSchemaFactoryBuilder;
 import com.github.fge.jsonschema.messages.JsonSchemaValidationBundle;
 import com.github.fge.msgsimple.bundle.MessageBundle;
 import com.github.fge.msgsimple.bundle.PropertiesBundle;
 import com.github.fge.msgsimple.load.MessageBundleLoader;
 import com.github.fge.msgsimple.load.MessageBundles;
 
+import java.util.Locale;
+
 import static com.github.fge.msgsimple.load.MessageBundles.getBundle;
 
 /**
@@ -45,6 +49,7 @@ public class SwaggerV20Library {
                 .addFormatAttribute("byte", Base64Attribute.getInstance())
                 .addKeyword(Nullable.getInstance())
                 .addKeyword(Discriminator.getInstance())
+                .addKeyword(RegexPattern.getInstance())
                 .freeze();
     }
 
@@ -63,6 +68,20 @@ public class SwaggerV20Library {
      * for use in validating OpenAPI / Swagger documents
      */
     public static JsonSchemaFactory schemaFactory(final LogLevel logLevel, final LogLevel exceptionThreshold) {
+        return schemaFactoryBuilder()
+                .setReportProvider(
+                        // Only emit ERROR and above from the JSON schema validation
+                        new ListReportProvider(logLevel, exceptionThreshold))
+                .freeze();
+    }
+
+    /**
+     * @return A new {@link JsonSchemaFactoryBuilder} configured with the OpenAPI / Swagger V20 metaschema library, to
+     * which a report provider can be given before the factory is created
+     *
+     * @see JsonSchemaFactoryEngine
+     */
+    public static JsonSchemaFactoryBuilder schemaFactoryBuilder() {
         return JsonSchemaFactory
                 .newBuilder()
                 .setValidationConfiguration(
@@ -70,11 +89,7 @@ public class SwaggerV20Library {
                                 .setDefaultLibrary(OAI_V2_METASCHEMA_URI, SwaggerV20Library.get())
                                 .setSyntaxMessages(getBundle(SwaggerV20Library.SyntaxBundle.class))
                                 .setValidationMessages(getBundle(SwaggerV20Library.ValidationBundle.class))
-                                .freeze())
-                .setReportProvider(
-                        // Only emit ERROR and above from the JSON schema validation
-                        new ListReportProvider(logLevel, exceptionThreshold))
-                .freeze();
+                                .freeze());
     }
 
     /**
@@ -87,11 +102,11 @@ public class SwaggerV20Library {
 
         @Override
         public MessageBundle getBundle() {
-            return MessageBundles
+            return withRootLocaleOnly(MessageBundles
                     .getBundle(JsonSchemaSyntaxMessageBundle.class)
                     .thaw()
                     .appendBundle(PropertiesBundle.forPath(PATH))
-                    .freeze();
+                    .freeze());
         }
     }
 
@@ -105,11 +120,22 @@ public class SwaggerV20Library {
 
         @Override
         public MessageBundle getBundle() {
-            return MessageBundles
+            return withRootLocaleOnly(MessageBundles
                     .getBundle(JsonSchemaValidationBundle.class)
                     .thaw()
                     .appendBundle(PropertiesBundle.forPath(PATH))
-                    .freeze();
+                    .freeze());
         }
     }
+
+    /**
+     * The JSON Schema message bundles only have messages for the root locale, but are asked for the messages of the
+     * default locale first. A missing source is not cached as missing, so each of those lookups throws (and catches)
+     * an exception. This includes the lookup made each time a value is validated.
+     * <p>
+     * Resolve all messages against the root locale instead.
+     */
+    private static MessageBundle withRootLocaleOnly(final MessageBundle bundle) {
+        return MessageBundle.withSingleSource(key -> bundle.getMessage(Locale.ROOT, key));
+    }
 }
@@ -7,12 +7,22 @@ package com.atlassian.oai.validator.schema;
  *
  * <ul>
  *     <li>The cache size of {@link com.github.fge.jsonschema.main.JsonSchema} </li>
+ *     <li>Whether the cache is bounded by number of entries, by the estimated size of the entries, or not at all</li>
+ *     <li>The size above which JSON array bodies are validated by streaming, rather than being read in full</li>
+ *     <li>Whether validation stops at the first error, or collects all errors</li>
+ *     <li>The maximum number of schema validation messages reported, in total and for each schema location</li>
  * </ul>
  *
  */
 public class ValidationConfiguration {
     private static final int DEFAULT_MAX_CACHE_SIZE = 100;
     private int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+    private long maxCacheWeight = 0;
+    private boolean cacheUnbounded = false;
+    private long bodyStreamingThreshold = 0;
+    private boolean failFast = false;
+    private int maxSchemaMessages = 0;
+    private int maxSchemaMessagesPerPointer = 0;
 
     /**
      * Specifies the maximum number of JsonSchema entries the cache in {@link com.atlassian.oai.validator.schema.SchemaValidator} may contain.
@@ -28,10 +38,138 @@ public class ValidationConfiguration {
     }
 
     /**
-     * If the maxCacheSize is less than or equal to 0, then disable jsonSchemaCache in {@link com.atlassian.oai.validator.schema.SchemaValidator}.
+     * Specifies the maximum total weight of the JsonSchema entries the cache in
+     * {@link com.atlassian.oai.validator.schema.SchemaValidator} may contain.
+     * <p>
+     * The weight of an entry is an estimate of the memory used by the compiled schema, measured as the number of
+     * nodes in the schema (excluding the component schemas it references, which are shared between entries).
+     * <p>
+     * If greater than 0, this is used to bound the cache instead of {@link #getMaxCacheSize()}.
+     * @return the maximum total weight of the cache.
+     */
+    public long getMaxCacheWeight() {
+        return maxCacheWeight;
+    }
+
+    public ValidationConfiguration setMaxCacheWeight(final long maxCacheWeight) {
+        this.maxCacheWeight = maxCacheWeight;
+        return this;
+    }
+
+    /**
+     * If true, the cache in {@link com.atlassian.oai.validator.schema.SchemaValidator} never evicts entries, regardless
+     * of the configured size or weight.
+     * <p>
+     * The cache will hold one entry for each schema used in validation, so this is best suited to use with
+     * {@link SchemaCompilationMode#EAGER} precompilation, where every schema in the API is compiled up-front.
+     * @return boolean
+     */
+    public boolean isCacheUnbounded() {
+        return cacheUnbounded;
+    }
+
+    public ValidationConfiguration setCacheUnbounded(final boolean cacheUnbounded) {
+        this.cacheUnbounded = cacheUnbounded;
+        return this;
+    }
+
+    /**
+     * Specifies the size (in bytes or characters) above which JSON request and response bodies are validated by
+     * streaming, rather than being read into memory in full.
+     * <p>
+     * Streaming applies to bodies whose schema is an array (with no <code>uniqueItems</code> constraint), which are
+     * then read and validated one item at a time. Bodies whose size is not known up-front (e.g. input streams) are
+     * always streamed when this is enabled. Validation messages are the same in both modes, and only the messages
+     * (not the items they are for) are held while streaming.
+     * <p>
+     * If less than or equal to 0, bodies are always read in full. Disabled by default.
+     * @return the body size above which bodies are streamed.
+     */
+    public long getBodyStreamingThreshold() {
+        return bodyStreamingThreshold;
+    }
+
+    public ValidationConfiguration setBodyStreamingThreshold(final long bodyStreamingThreshold) {
+        this.bodyStreamingThreshold = bodyStreamingThreshold;
+        return this;
+    }
+
+    /**
+     * @return true if streaming validation of large bodies is enabled (see {@link #getBodyStreamingThreshold()}).
+     */
+    public boolean isBodyStreamingEnabled() {
+        return getBodyStreamingThreshold() > 0;
+    }
+
+    /**
+     * If true, validation stops at the first ERROR level message (after level resolution and whitelisting have been
+     * applied), and the report contains only the messages collected up to that point.
+     * <p>
+     * In this mode cheaper checks (security, content type, parameters etc.) are run before the body is read, and
+     * schemas are not checked deeply (children of an invalid value are not validated). Use this where only the
+     * outcome of validation is needed, e.g. to reject invalid requests. Disabled by default.
+     * @return boolean
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public ValidationConfiguration setFailFast(final boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum number of messages reported when validating a value against a schema.
+     * <p>
+     * Once the limit is reached no further messages are reported, and the last message reported notes that
+     * further messages were omitted. Repeated messages (see {@link #getMaxSchemaMessagesPerPointer()}) do not count
+     * towards the limit.
+     * <p>
+     * This bounds the report, not the validation itself. The default {@link JsonSchemaFactoryEngine} still validates
+     * the whole value, but drops the processing messages beyond the limit as they are logged, so they are neither kept
+     * nor converted into validation messages. Other {@link SchemaEngine} implementations may stop validating once the
+     * limit is reached.
+     * <p>
+     * If less than or equal to 0, all messages are reported. Disabled by default.
+     * @return the maximum number of schema validation messages reported.
+     */
+    public int getMaxSchemaMessages() {
+        return maxSchemaMessages;
+    }
+
+    public ValidationConfiguration setMaxSchemaMessages(final int maxSchemaMessages) {
+        this.maxSchemaMessages = maxSchemaMessages;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum number of messages reported for the same schema violation (i.e. with the same key and
+     * schema pointer) when validating a value against a schema, e.g. for the same invalid field in each item of an
+     * array.
+     * <p>
+     * Further occurrences of the violation are not reported as messages of their own. Instead the last message
+     * reported for the violation notes how many more times it occurred, and a sample of the instance pointers
+     * it occurred at. Set to 1 to collapse each repeated violation into a single message.
+     * <p>
+     * If less than or equal to 0, all occurrences are reported. Disabled by default.
+     * @return the maximum number of messages reported for the same schema violation.
+     */
+    public int getMaxSchemaMessagesPerPointer() {
+        return maxSchemaMessagesPerPointer;
+    }
+
+    public ValidationConfiguration setMaxSchemaMessagesPerPointer(final int maxSchemaMessagesPerPointer) {
+        this.maxSchemaMessagesPerPointer = maxSchemaMessagesPerPointer;
+        return this;
+    }
+
+    /**
+     * If the cache is bounded and both maxCacheSize and maxCacheWeight are less than or equal to 0,
+     * then disable jsonSchemaCache in {@link com.atlassian.oai.validator.schema.SchemaValidator}.
      * @return boolean
      */
     public boolean isCacheEnabled() {
-        return getMaxCacheSize() > 0;
+        return isCacheUnbounded() || getMaxCacheWeight() > 0 || getMaxCacheSize() > 0;
     }
 }
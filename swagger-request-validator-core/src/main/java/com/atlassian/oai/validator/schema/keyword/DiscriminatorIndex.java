@@ -0,0 +1,109 @@
+package com.atlassian.oai.validator.schema.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.jsonpointer.JsonPointer;
+import com.github.fge.jackson.jsonpointer.JsonPointerException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * An index of the "child" schemas of each "parent" schema in a schema document, for use in <code>allOf</code>
+ * discriminator validation.
+ * <p>
+ * A child schema is a schema definition that references the parent via <code>allOf</code>. Each is keyed by its
+ * short name (e.g. "Dog" for "#/components/schemas/Dog"), which is also its implicit discriminator value.
+ * <p>
+ * Indexes only depend on the schema definitions, and are shared between all documents that share the same
+ * definitions node. They are built when the definitions are prepared for compilation (see {@link #of(JsonNode)}),
+ * so that validation only looks them up.
+ */
+public final class DiscriminatorIndex {
+
+    private static final DiscriminatorIndex EMPTY = new DiscriminatorIndex(emptyMap());
+
+    /**
+     * The index for each definitions node. Keyed (weakly, by identity) on the definitions node, so entries go away
+     * with the compiled schemas.
+     */
+    private static final Cache<JsonNode, DiscriminatorIndex> INDEXES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private final Map<JsonPointer, Map<String, JsonPointer>> childSchemas;
+
+    private DiscriminatorIndex(final Map<JsonPointer, Map<String, JsonPointer>> childSchemas) {
+        this.childSchemas = childSchemas;
+    }
+
+    /**
+     * Get the index for the definitions of the given schema document, building it if it has not yet been built.
+     *
+     * @param baseNode The root node of a schema document, with definitions at either <code>#/components/schemas</code>
+     * (OpenAPI) or <code>#/definitions</code> (Swagger 2.0)
+     *
+     * @return The index of the child schemas defined in the document
+     */
+    @Nonnull
+    public static DiscriminatorIndex of(@Nonnull final JsonNode baseNode) {
+        final JsonNode definitionsNode = DiscriminatorKeywordValidator.definitionsNode(baseNode);
+        if (definitionsNode == null || !definitionsNode.isObject()) {
+            return EMPTY;
+        }
+        final DiscriminatorIndex index = INDEXES.getIfPresent(definitionsNode);
+        if (index != null) {
+            return index;
+        }
+        return INDEXES.asMap().computeIfAbsent(definitionsNode, definitions -> build(baseNode, definitions));
+    }
+
+    /**
+     * @param parentPointer The pointer to a "parent" schema in the document
+     *
+     * @return The child schemas of the given parent, keyed by short name
+     */
+    @Nonnull
+    Map<String, JsonPointer> childSchemasOf(@Nonnull final JsonPointer parentPointer) {
+        return childSchemas.getOrDefault(parentPointer, emptyMap());
+    }
+
+    private static DiscriminatorIndex build(final JsonNode baseNode, final JsonNode definitionsNode) {
+        final Map<JsonPointer, ImmutableMap.Builder<String, JsonPointer>> builders = new HashMap<>();
+        definitionsNode.fields().forEachRemaining(e -> {
+            final JsonNode allOf = e.getValue().get("allOf");
+            if (allOf == null) {
+                return;
+            }
+            allOf.forEach(n -> {
+                final JsonPointer parentPointer = localPointer(n.get("$ref"));
+                if (parentPointer != null) {
+                    builders.computeIfAbsent(parentPointer, p -> ImmutableMap.builder())
+                            .put(e.getKey(), DiscriminatorKeywordValidator.pointerToDiscriminatedSchema(baseNode, e.getKey()));
+                }
+            });
+        });
+
+        final Map<JsonPointer, Map<String, JsonPointer>> childSchemas = new HashMap<>();
+        builders.forEach((parentPointer, children) -> childSchemas.put(parentPointer, children.buildKeepingLast()));
+        return new DiscriminatorIndex(childSchemas);
+    }
+
+    @Nullable
+    private static JsonPointer localPointer(final JsonNode refNode) {
+        if (refNode == null || !refNode.isTextual() || !refNode.textValue().startsWith("#")) {
+            return null;
+        }
+        try {
+            return new JsonPointer(refNode.textValue().substring(1));
+        } catch (final JsonPointerException e) {
+            return null;
+        }
+    }
+}
@@ -1,27 +1,37 @@
 package com.atlassian.oai.validator.schema.keyword;
 
-import com.atlassian.oai.validator.util.ValidationReportUtils;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.fge.jackson.jsonpointer.JsonPointer;
-import com.github.fge.jackson.jsonpointer.TokenResolver;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.processing.Processor;
+import com.github.fge.jsonschema.core.ref.JsonRef;
 import com.github.fge.jsonschema.core.report.ListProcessingReport;
 import com.github.fge.jsonschema.core.report.LogLevel;
 import com.github.fge.jsonschema.core.report.ProcessingMessage;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.core.tree.CanonicalSchemaTree;
 import com.github.fge.jsonschema.core.tree.SchemaTree;
+import com.github.fge.jsonschema.core.tree.key.SchemaKey;
 import com.github.fge.jsonschema.keyword.validator.AbstractKeywordValidator;
 import com.github.fge.jsonschema.processors.data.FullData;
 import com.github.fge.msgsimple.bundle.MessageBundle;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.slf4j.Logger;
 
-import java.util.HashMap;
-import java.util.Iterator;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.google.common.io.BaseEncoding.base64Url;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -39,15 +49,37 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class DiscriminatorKeywordValidator extends AbstractKeywordValidator {
 
     private static final Logger log = getLogger(DiscriminatorKeywordValidator.class);
-    private static final String VALIDATION_PROPERTY_NAME = "_discriminatorValidation";
+    private static final String DISCRIMINATOR_URI_SCHEME = "discriminator";
+
+    /**
+     * A unique ID for each schema document validated against, used in the loading URI of the discriminator schema
+     * trees so that trees over different documents are never equal. Keyed (weakly, by identity) on the document.
+     */
+    private static final AtomicLong NEXT_DOCUMENT_ID = new AtomicLong();
+    private static final LoadingCache<JsonNode, Long> DOCUMENT_IDS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(document -> NEXT_DOCUMENT_ID.incrementAndGet()));
+
+    /**
+     * The discriminator validations in progress on the current thread.
+     */
+    private static final ThreadLocal<Set<VisitedInfo>> VISITED = ThreadLocal.withInitial(HashSet::new);
 
     private final String propertyName;
-    private final JsonNode mappingNode;
+
+    /**
+     * The schema selected by each value in the mapping node (if any), where the schema definitions are at
+     * <code>#/components/schemas</code> (OpenAPI) and at <code>#/definitions</code> (Swagger 2.0) respectively.
+     */
+    private final Map<String, JsonPointer> mappedComponentSchemas;
+    private final Map<String, JsonPointer> mappedDefinitions;
 
     public DiscriminatorKeywordValidator(final JsonNode digest) {
         super(Discriminator.KEYWORD);
         propertyName = digest.get(keyword).get(Discriminator.PROPERTYNAME_KEYWORD).textValue();
-        mappingNode = digest.get(keyword).get(Discriminator.MAPPING_KEYWORD);
+        final JsonNode mappingNode = digest.get(keyword).get(Discriminator.MAPPING_KEYWORD);
+        mappedComponentSchemas = mappedSchemas(mappingNode, true);
+        mappedDefinitions = mappedSchemas(mappingNode, false);
     }
 
     @Override
@@ -130,23 +162,29 @@ public class DiscriminatorKeywordValidator extends AbstractKeywordValidator {
         final String discriminatorPropertyValue = discriminatorNode.textValue();
 
         // The given discriminator value must either match a mapping OR a valid child schema
-        final Map<String, JsonNode> validDiscriminatorValues = findValidDiscriminatorValues(data,
-                "#" + filterDiscriminatorValidationNodes(schemaTree.getPointer()).toString()
-        );
-        if (!validDiscriminatorValues.containsKey(discriminatorPropertyValue)) {
+        final Map<String, JsonPointer> mappedSchemas =
+                schemaTree.getBaseNode().has("components") ? mappedComponentSchemas : mappedDefinitions;
+        final Map<String, JsonPointer> childSchemas =
+                DiscriminatorIndex.of(schemaTree.getBaseNode()).childSchemasOf(schemaTree.getPointer());
+
+        // Select the child schema based on the discriminator
+        JsonPointer ptrToChildSchema = mappedSchemas.get(discriminatorPropertyValue);
+        if (ptrToChildSchema == null) {
+            ptrToChildSchema = childSchemas.get(discriminatorPropertyValue);
+        }
+        if (ptrToChildSchema == null) {
+            // Listed in definition order, then mapping order, so the message is the same on every JDK
+            final Map<String, JsonPointer> validDiscriminatorValues = new LinkedHashMap<>(childSchemas);
+            validDiscriminatorValues.putAll(mappedSchemas);
             report.error(
                     msg(data, bundle, "err.swaggerv2.discriminator.invalid")
                             .putArgument("discriminatorField", propertyName)
                             .putArgument("value", discriminatorPropertyValue)
                             .putArgument("allowedValues", validDiscriminatorValues.keySet())
             );
+            ptrToChildSchema = pointerToDiscriminatedSchema(schemaTree.getBaseNode(), discriminatorPropertyValue);
         }
 
-        // Select the child schema based on the discriminator
-        final JsonPointer ptrToChildSchema = pointerToDiscriminatedSchema(
-                data, mappedDiscriminatorNode(discriminatorNode, discriminatorPropertyValue)
-        );
-
         final SchemaTree childSchemaTree = schemaTree.setPointer(ptrToChildSchema);
         final ListProcessingReport subReport = new ListProcessingReport(report.getLogLevel(), LogLevel.FATAL);
         if (childSchemaTree.getNode() == null || childSchemaTree.getNode().isMissingNode()) {
@@ -163,176 +201,109 @@ public class DiscriminatorKeywordValidator extends AbstractKeywordValidator {
          * schema for the same object, so we can't do so a second time on the same parser stack.
          *
          * To prevent a validation loop from occurring in that situation, we need a "different" schema for Car. The way
-         * we make one is by attaching a #/definitions/Car/_discriminatorValidation/Vehicle~1myCar/car JSON node with a complete copy of
-         * the Car schema, and using THAT to do the child schema validation here.
+         * we make one is by validating against the same schema nodes through a tree with a distinct loading URI
+         * (see #discriminatorSchemaTree). The schema nodes themselves are shared between compiled schemas and
+         * threads, and are never modified here.
          *
-         * We avoid allowing this to produce an infinite loop by checking if the JSON node for this combination of
-         * subschema and document instance was used for the current thread ID. If it does, we have already validated the
+         * We avoid allowing this to produce an infinite loop by tracking which combinations of subschema and document
+         * instance are being validated on the current thread. If this one already is, we have already validated the
          * discriminator, and we can bail out early.
          */
-
-        final ObjectNode childSchemaAsObject = (ObjectNode) childSchemaTree.getNode();
-        if (!childSchemaAsObject.has(VALIDATION_PROPERTY_NAME)) {
-            synchronized (childSchemaAsObject) {
-                if (!childSchemaAsObject.has(VALIDATION_PROPERTY_NAME)) {
-                    childSchemaAsObject.set(VALIDATION_PROPERTY_NAME, childSchemaAsObject.objectNode());
-                }
-            }
-        }
-
-        final ObjectNode validationPropertyNode = (ObjectNode) childSchemaAsObject.get(VALIDATION_PROPERTY_NAME);
-
-        final String discriminatorValidationContextString = new VisitedInfo(
+        final VisitedInfo visitedInfo = new VisitedInfo(
                 data.getInstance().getPointer(),
-                data.getSchema().getPointer(),
-                // We include the VALUE of the discriminator property in the string so that we get a distinct
+                schemaTree.getPointer(),
+                // We include the VALUE of the discriminator property so that we get a distinct
                 // path for each "way" an object can be validated
                 discriminatorPropertyValue
-        ).toString();
-
-        final String threadIdAndDiscriminatorCombo = Thread.currentThread().getId() + "-" + discriminatorValidationContextString;
+        );
 
-        if (validationPropertyNode.has(threadIdAndDiscriminatorCombo)) {
+        final Set<VisitedInfo> visited = VISITED.get();
+        if (!visited.add(visitedInfo)) {
             // We have been here before (in this thread!) for this exact instance object. Nothing more to do.
             return;
         }
 
-        boolean setThreadMarkerOnValidationPropertiesNode = false;
-
         try {
-            synchronized (validationPropertyNode) {
-                if (validationPropertyNode.has(threadIdAndDiscriminatorCombo)) {
-                    // The validation property node appeared while we were blocked; this shouldn't happen,
-                    // as it's our thread ID, but let's exit regardless to be safe. We're going to remove
-                    // the node again, so we should make sure we create it!
-                    return;
-                }
-
-                validationPropertyNode.set(threadIdAndDiscriminatorCombo, childSchemaAsObject.booleanNode(true));
-                setThreadMarkerOnValidationPropertiesNode = true;
-
-                if (!validationPropertyNode.has(discriminatorValidationContextString)) {
-                    validationPropertyNode.set(discriminatorValidationContextString, childSchemaAsObject);
-                }
-            }
-
-            final SchemaTree childSchemaTreeWithRewrittenPointer = childSchemaTree.setPointer(
-                    ptrToChildSchema.append(VALIDATION_PROPERTY_NAME).append(discriminatorValidationContextString)
-            );
-
             // Validate against the selected child schema
-            final FullData newData = data.withSchema(childSchemaTreeWithRewrittenPointer);
+            final FullData newData = data.withSchema(
+                    discriminatorSchemaTree(schemaTree, visitedInfo).setPointer(ptrToChildSchema)
+            );
             processor.process(subReport, newData);
         } finally {
-            if (setThreadMarkerOnValidationPropertiesNode) {
-                synchronized (validationPropertyNode) {
-                    validationPropertyNode.remove(threadIdAndDiscriminatorCombo);
-                }
-            }
+            visited.remove(visitedInfo);
         }
 
         if (!subReport.isSuccess()) {
-            final String stringToReplace = "/" + VALIDATION_PROPERTY_NAME +
-                    "/" + discriminatorValidationContextString.replaceAll("\\/", "~1");
-
-            final JsonNode reportAsJson = subReport.asJson();
-
-            ValidationReportUtils.replaceReportOutput(reportAsJson, stringToReplace, "");
-
             report.error(msg(data, bundle, "err.swaggerv2.discriminator.fail")
                     .putArgument("schema", ptrToChildSchema.toString())
-                    .put("reports", reportAsJson));
+                    .put("reports", subReport.asJson()));
         }
     }
 
     /**
-     * Remove discriminator validation nodes from a JSON pointer
-     *
-     * @param originalPointer Original JSON pointer to filter
-     * @return New JSON pointer with discriminator validation nodes removed
+     * Create a tree over the same schema nodes as the given tree, but with a loading URI unique to the given
+     * discriminator validation.
+     * <p>
+     * The validation stack identifies schemas by their loading URI and pointer, so validating the child schema through
+     * this tree does not trigger a validation loop error. References are resolved against the same base node, and the
+     * URI is stable for a given schema and discriminator value so validators built for it are cached as normal.
      */
-    private JsonPointer filterDiscriminatorValidationNodes(final JsonPointer originalPointer) {
-        JsonPointer ret = JsonPointer.empty();
-        final Iterator<TokenResolver<JsonNode>> pointerPartIterator = originalPointer.iterator();
-        while (pointerPartIterator.hasNext()) {
-            final TokenResolver<JsonNode> pointerPart = pointerPartIterator.next();
-            if (VALIDATION_PROPERTY_NAME.equals(pointerPart.toString())) {
-                // Skip this AND the next token after it
-                pointerPartIterator.next();
-            } else {
-                ret = ret.append(pointerPart.toString());
-            }
-        }
-        return ret;
-    }
-
-    private JsonNode mappedDiscriminatorNode(final JsonNode originalDiscriminatorNode,
-                                             final String discriminatorPropertyValue) {
-        if (mappingNode != null && mappingNode.get(discriminatorPropertyValue) != null) {
-            return mappingNode.get(discriminatorPropertyValue);
-        }
-        return originalDiscriminatorNode;
+    private static SchemaTree discriminatorSchemaTree(final SchemaTree schemaTree, final VisitedInfo visitedInfo) {
+        final URI locator = schemaTree.getLoadingRef().getLocator();
+        final String basePath = DISCRIMINATOR_URI_SCHEME.equals(locator.getScheme()) ?
+                locator.getRawSchemeSpecificPart() :
+                "/" + DOCUMENT_IDS.getUnchecked(schemaTree.getBaseNode());
+        // Encoded so the segment survives the URI normalization applied when resolving refs
+        final String segment = base64Url().omitPadding().encode(
+                (visitedInfo.schemaPointer.toString() + "/" + visitedInfo.contextId).getBytes(UTF_8)
+        );
+        final JsonRef loadingRef = JsonRef.fromURI(URI.create(DISCRIMINATOR_URI_SCHEME + ":" + basePath + "/" + segment));
+        return new CanonicalSchemaTree(SchemaKey.forJsonRef(loadingRef), schemaTree.getBaseNode());
     }
 
     /**
-     * Find the valid values for the discriminator property.
+     * Find the "child" schema selected by each value of the mapping node (if it exists). The mapping takes precedence
+     * over the schemas using `allOf` composition referencing the "parent" schema, which are found in the
+     * {@link DiscriminatorIndex}.
      * <p>
-     * These will be:
-     * <ol>
-     *     <li>The contents of the mapping node (if it exists)</li>
-     *     <li>Any schema using `allOf` composition referencing the "parent" schema</li>
-     * </ol>
-     * The returned map will be keyed by the short name of the schema (e.g. un-qualified name).
+     * This only depends on the discriminator, so is computed once when the validator is built.
      *
-     * @return A mapping between schema name and schema object for candidate schemas
+     * @return A mapping between discriminator value and pointer to the selected schema
      */
-    private Map<String, JsonNode> findValidDiscriminatorValues(final FullData data,
-                                                               final String parentDefinitionRef) {
-        final Map<String, JsonNode> validDiscriminatorValues = new HashMap<>();
-
-        // Find definitions that reference the "parent" via allOf
-        definitionsNode(data).fields().forEachRemaining(e -> {
-            final JsonNode def = e.getValue();
-            if (!def.has("allOf")) {
-                return;
-            }
-
-            def.get("allOf").forEach(n -> {
-                if (n.has("$ref") && n.get("$ref").textValue().equals(parentDefinitionRef)) {
-                    validDiscriminatorValues.put(e.getKey(), def);
-                }
-            });
-
-        });
-
-        if (mappingNode != null) {
-            // TODO: These may be fully-qualified refs here
-            mappingNode.fields().forEachRemaining(e -> validDiscriminatorValues.put(e.getKey(), e.getValue()));
+    private static Map<String, JsonPointer> mappedSchemas(final JsonNode mappingNode, final boolean componentSchemas) {
+        if (mappingNode == null) {
+            return emptyMap();
         }
+        final Map<String, JsonPointer> mappedSchemas = new LinkedHashMap<>();
+        // TODO: These may be fully-qualified refs here
+        mappingNode.fields().forEachRemaining(e ->
+                mappedSchemas.put(e.getKey(), pointerToDiscriminatedSchema(componentSchemas, e.getValue().asText())));
+        return unmodifiableMap(mappedSchemas);
+    }
 
-        return validDiscriminatorValues;
+    static JsonPointer pointerToDiscriminatedSchema(final JsonNode baseNode, final String discriminatorValue) {
+        return pointerToDiscriminatedSchema(baseNode.has("components"), discriminatorValue);
     }
 
-    private JsonPointer pointerToDiscriminatedSchema(final FullData data, final JsonNode discriminatorNode) {
+    private static JsonPointer pointerToDiscriminatedSchema(final boolean componentSchemas, final String discriminatorValue) {
         // TODO: Handle absolute/external refs
-        final String discriminatorNodeText = normalizeDiscriminatorNode(discriminatorNode.textValue());
+        final String discriminatorNodeText = normalizeDiscriminatorNode(discriminatorValue);
         // Swagger 2.0 used 'definitions' while OpenAPI uses 'components/schemas'
-        if (data.getSchema().getBaseNode().has("components")) {
+        if (componentSchemas) {
             return JsonPointer.of("components", "schemas", discriminatorNodeText);
         }
         return JsonPointer.of("definitions", discriminatorNodeText);
     }
 
-    private JsonNode definitionsNode(final FullData data) {
+    static JsonNode definitionsNode(final JsonNode baseNode) {
         // Swagger 2.0 used 'definitions' while OpenAPI uses 'components/schemas'
-        final JsonNode baseNode = data.getSchema().getBaseNode();
         if (baseNode.has("components")) {
             return baseNode.get("components").get("schemas");
         }
         return baseNode.get("definitions");
     }
 
-    private String normalizeDiscriminatorNode(final String discriminatorNodeText) {
+    private static String normalizeDiscriminatorNode(final String discriminatorNodeText) {
         if (discriminatorNodeText.startsWith("#/")) {
             final int n = discriminatorNodeText.lastIndexOf('/');
             return discriminatorNodeText.substring(n + 1);
@@ -0,0 +1,67 @@
+package com.atlassian.oai.validator.schema.keyword;
+
+import com.atlassian.oai.validator.regex.CompiledPattern;
+import com.atlassian.oai.validator.regex.PatternRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.NodeType;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.keyword.syntax.checkers.common.PatternSyntaxChecker;
+import com.github.fge.jsonschema.core.processing.Processor;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.keyword.validator.AbstractKeywordValidator;
+import com.github.fge.jsonschema.library.Keyword;
+import com.github.fge.jsonschema.processors.data.FullData;
+import com.github.fge.msgsimple.bundle.MessageBundle;
+
+/**
+ * Replacement for the standard {@code pattern} keyword that compiles the pattern once, via the shared
+ * {@link PatternRegistry}, rather than on every validation.
+ * <p>
+ * Patterns are matched in linear time where possible, falling back to the ECMA 262 script engine used by the
+ * standard keyword. Validation messages are the same as those of the standard keyword.
+ */
+public class RegexPattern {
+
+    public static final String KEYWORD = "pattern";
+
+    private static final Keyword INSTANCE = Keyword.newBuilder(KEYWORD)
+            .withSyntaxChecker(PatternSyntaxChecker.getInstance())
+            .withSimpleDigester(NodeType.STRING)
+            .withValidatorClass(RegexPatternKeywordValidator.class)
+            .freeze();
+
+    public static Keyword getInstance() {
+        return INSTANCE;
+    }
+
+    public static class RegexPatternKeywordValidator extends AbstractKeywordValidator {
+
+        private final CompiledPattern pattern;
+
+        public RegexPatternKeywordValidator(final JsonNode digest) {
+            super(KEYWORD);
+            pattern = PatternRegistry.getInstance().ecma262(digest.get(keyword).textValue());
+        }
+
+        @Override
+        public void validate(final Processor<FullData, FullData> processor,
+                             final ProcessingReport report,
+                             final MessageBundle bundle,
+                             final FullData data) throws ProcessingException {
+            final String value = data.getInstance().getNode().textValue();
+            if (!pattern.find(value)) {
+                report.error(newMsg(data, bundle, "err.common.pattern.noMatch")
+                        .putArgument("regex", pattern.getPattern())
+                        .putArgument("string", value));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return keyword;
+        }
+    }
+
+    private RegexPattern() {
+    }
+}
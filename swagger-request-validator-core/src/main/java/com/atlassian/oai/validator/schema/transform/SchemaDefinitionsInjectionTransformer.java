@@ -5,6 +5,9 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 /**
  * Simple transformer than injects schema definitions into the `#/components/schemas` path so that references resolve correctly.
+ * <p>
+ * The definitions are injected by reference rather than copied, so may be shared between many schema objects.
+ * This transformer should be applied last so that other transformers don't modify the shared definitions.
  */
 public class SchemaDefinitionsInjectionTransformer extends SchemaTransformer {
 
@@ -20,6 +23,6 @@ public class SchemaDefinitionsInjectionTransformer extends SchemaTransformer {
             return;
         }
 
-        ((ObjectNode) schemaObject).putObject(COMPONENTS_FIELD).set(SCHEMAS_FIELD, context.getSchemaDefinitions().deepCopy());
+        ((ObjectNode) schemaObject).putObject(COMPONENTS_FIELD).set(SCHEMAS_FIELD, context.getSchemaDefinitions());
     }
 }
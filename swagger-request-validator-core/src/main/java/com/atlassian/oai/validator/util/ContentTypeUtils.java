@@ -3,6 +3,9 @@ package com.atlassian.oai.validator.util;
 import com.atlassian.oai.validator.model.Headers;
 import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.model.Response;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
 import com.google.common.net.MediaType;
@@ -11,7 +14,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.charset.Charset;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.Set;
 
@@ -20,6 +22,13 @@ import static com.google.common.net.MediaType.JSON_UTF_8;
 import static java.util.Optional.empty;
 
 public class ContentTypeUtils {
+
+    private static final int MAX_PARSED_CONTENT_TYPES = 256;
+
+    private static final LoadingCache<String, Optional<MediaType>> PARSED_CONTENT_TYPES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_PARSED_CONTENT_TYPES)
+            .build(CacheLoader.from(ContentTypeUtils::doParseContentType));
+
     private ContentTypeUtils() {
 
     }
@@ -92,12 +101,9 @@ public class ContentTypeUtils {
         if (contentType == null) {
             return false;
         }
-        try {
-            final MediaType mediaType = MediaType.parse(contentType);
-            return expected.withoutParameters().is(mediaType.withoutParameters());
-        } catch (final IllegalArgumentException e) {
-            return false;
-        }
+        return parseContentType(contentType)
+                .map(mediaType -> expected.withoutParameters().is(mediaType.withoutParameters()))
+                .orElse(false);
     }
 
     /**
@@ -173,7 +179,11 @@ public class ContentTypeUtils {
      * @param apiContentTypes The list of content types to search
      *
      * @return The most specific content type that matches the given request, or empty if none match.
+     *
+     * @deprecated Parses the content types on every call. Use {@link MediaTypeTable#findMostSpecificMatch(String)}
+     * with a table created once for the content types. This method will be removed in a future release.
      */
+    @Deprecated
     public static Optional<String> findMostSpecificMatch(final Response response, final Set<String> apiContentTypes) {
         return findMostSpecificMatch(response.getHeaderValue(Headers.CONTENT_TYPE).orElse("*/*"), apiContentTypes);
     }
@@ -190,7 +200,11 @@ public class ContentTypeUtils {
      * @param apiContentTypes The list of content types to search
      *
      * @return The most specific content type that matches the given request, or empty if none match.
+     *
+     * @deprecated Parses the content types on every call. Use {@link MediaTypeTable#findMostSpecificMatch(String)}
+     * with a table created once for the content types. This method will be removed in a future release.
      */
+    @Deprecated
     public static Optional<String> findMostSpecificMatch(final Request request, final Set<String> apiContentTypes) {
         return findMostSpecificMatch(request.getHeaderValue(Headers.CONTENT_TYPE).orElse("*/*"), apiContentTypes);
     }
@@ -207,19 +221,13 @@ public class ContentTypeUtils {
      * @param apiContentTypes The list of content types to search
      *
      * @return The most specific content type that matches the given request, or empty if none match.
+     *
+     * @deprecated Parses the content types on every call. Use {@link MediaTypeTable#findMostSpecificMatch(String)}
+     * with a table created once for the content types. This method will be removed in a future release.
      */
+    @Deprecated
     public static Optional<String> findMostSpecificMatch(final String candidate, final Set<String> apiContentTypes) {
-        try {
-            return apiContentTypes
-                    .stream()
-                    .map(ParsedContentType::of)
-                    .sorted(new ParsedContentTypeComparator())
-                    .filter(ct -> ct.matches(candidate))
-                    .map(ParsedContentType::getContentType)
-                    .findFirst();
-        } catch (final IllegalArgumentException e) {
-            return empty();
-        }
+        return MediaTypeTable.of(apiContentTypes).findMostSpecificMatch(candidate);
     }
 
     /**
@@ -232,7 +240,11 @@ public class ContentTypeUtils {
      * @param apiContentTypes The content types defined in the API to match against. Can be media type ranges e.g. "text/*".
      *
      * @return {@code true} if the candidate matches against any of the provided API-defined content types.
+     *
+     * @deprecated Parses the content types on every call. Use {@link MediaTypeTable#matchesAny(MediaType)}
+     * with a table created once for the content types. This method will be removed in a future release.
      */
+    @Deprecated
     public static boolean matchesAny(final String candidate, final Collection<String> apiContentTypes) {
         if (candidate == null || candidate.isEmpty()) {
             return false;
@@ -250,11 +262,13 @@ public class ContentTypeUtils {
      * @param apiContentTypes The content types defined in the API to match against. Can be media type ranges e.g. "text/*".
      *
      * @return {@code true} if the candidate matches against any of the provided API-defined content types.
+     *
+     * @deprecated Parses the content types on every call. Use {@link MediaTypeTable#matchesAny(MediaType)}
+     * with a table created once for the content types. This method will be removed in a future release.
      */
+    @Deprecated
     public static boolean matchesAny(final MediaType candidate, final Collection<String> apiContentTypes) {
-        return apiContentTypes.stream()
-                .map(com.google.common.net.MediaType::parse)
-                .anyMatch(apiMediaType -> candidate.withoutParameters().is(apiMediaType.withoutParameters()));
+        return MediaTypeTable.of(apiContentTypes).matchesAny(candidate);
     }
 
     /**
@@ -301,58 +315,29 @@ public class ContentTypeUtils {
         return apiContentTypes.stream().anyMatch(c -> c.equals("*/*"));
     }
 
-    private static Optional<MediaType> parseContentType(@Nullable final String contentType) {
+    /**
+     * Parse the given content-type value.
+     * <p>
+     * Parsed values are cached, as clients typically send only a small number of distinct content-type
+     * and accept values.
+     *
+     * @param contentType The content-type value to parse
+     *
+     * @return The parsed media type, or {@code empty} if none is provided or it can not be parsed
+     */
+    @Nonnull
+    public static Optional<MediaType> parseContentType(@Nullable final String contentType) {
         if (contentType == null) {
             return empty();
         }
+        return PARSED_CONTENT_TYPES.getUnchecked(contentType);
+    }
+
+    private static Optional<MediaType> doParseContentType(final String contentType) {
         try {
-            return Optional.ofNullable(MediaType.parse(contentType));
+            return Optional.of(MediaType.parse(contentType));
         } catch (final IllegalArgumentException e) {
             return empty();
         }
     }
-
-    private static class ParsedContentType {
-        private final String contentType;
-        private final MediaType mediaType;
-
-        static ParsedContentType of(final String contentType) {
-            return new ParsedContentType(contentType, MediaType.parse(contentType));
-        }
-
-        private ParsedContentType(final String contentType, final MediaType mediaType) {
-            this.contentType = contentType;
-            this.mediaType = mediaType;
-        }
-
-        boolean matches(final String contentType) {
-            return MediaType.parse(contentType).withoutParameters().is(mediaType.withoutParameters());
-        }
-
-        public String getContentType() {
-            return contentType;
-        }
-
-        public MediaType getMediaType() {
-            return mediaType;
-        }
-    }
-
-    private static class ParsedContentTypeComparator implements Comparator<ParsedContentType> {
-        @Override
-        public int compare(final ParsedContentType o1, final ParsedContentType o2) {
-            return countWildcards(o1.getMediaType()) - countWildcards(o2.getMediaType());
-        }
-
-        private int countWildcards(final MediaType mt) {
-            int result = 0;
-            if (mt.type().equals("*")) {
-                result++;
-            }
-            if (mt.subtype().equals("*")) {
-                result++;
-            }
-            return result;
-        }
-    }
 }
@@ -0,0 +1,198 @@
+package com.atlassian.oai.validator.util;
+
+import com.google.common.net.MediaType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * An immutable table of pre-parsed API content types (e.g. the <code>consumes</code> or <code>produces</code> of an
+ * operation) used to match request and response content types without re-parsing the API types on each interaction.
+ * <p>
+ * Entries are held both in the order they were defined in the API and ranked from most to least specific
+ * (i.e. by the number of wildcards in the type).
+ */
+public final class MediaTypeTable {
+
+    private static final MediaTypeTable EMPTY = new MediaTypeTable(Collections.emptyList());
+
+    private final Collection<String> contentTypes;
+    private final List<Entry> entries;
+    private final List<Entry> rankedEntries;
+    private final boolean valid;
+    private final boolean containsGlobalAccept;
+    private final boolean containsOnlyGlobalAccept;
+
+    /**
+     * Create a new table from the given API content types.
+     * <p>
+     * Content types that can not be parsed are retained, but will cause matching operations to behave as if
+     * parsed on demand.
+     *
+     * @param apiContentTypes The content types defined in the API. Can be media type ranges e.g. "text/*".
+     *
+     * @return A table of the given content types
+     */
+    @Nonnull
+    public static MediaTypeTable of(@Nullable final Collection<String> apiContentTypes) {
+        if (apiContentTypes == null || apiContentTypes.isEmpty()) {
+            return EMPTY;
+        }
+        return new MediaTypeTable(apiContentTypes);
+    }
+
+    private MediaTypeTable(final Collection<String> contentTypes) {
+        this.contentTypes = Collections.unmodifiableCollection(contentTypes);
+
+        final List<Entry> entries = new ArrayList<>(contentTypes.size());
+        boolean valid = true;
+        for (final String contentType : contentTypes) {
+            final Entry entry = Entry.of(contentType);
+            valid &= entry.mediaType != null;
+            entries.add(entry);
+        }
+        final List<Entry> rankedEntries = new ArrayList<>(entries);
+        if (valid) {
+            rankedEntries.sort(Comparator.comparingInt(Entry::countWildcards));
+        }
+
+        this.entries = Collections.unmodifiableList(entries);
+        this.rankedEntries = Collections.unmodifiableList(rankedEntries);
+        this.valid = valid;
+        this.containsGlobalAccept = contentTypes.stream().anyMatch("*/*"::equals);
+        this.containsOnlyGlobalAccept = contentTypes.stream().allMatch("*/*"::equals);
+    }
+
+    /**
+     * @return The content types in this table, as defined in the API
+     */
+    @Nonnull
+    public Collection<String> getContentTypes() {
+        return contentTypes;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return {@code true} if at least one entry in this table is the global match "&#42;/&#42;"
+     */
+    public boolean containsGlobalAccept() {
+        return containsGlobalAccept;
+    }
+
+    /**
+     * @return {@code true} if every entry in this table is the global match "&#42;/&#42;"
+     */
+    public boolean containsOnlyGlobalAccept() {
+        return containsOnlyGlobalAccept;
+    }
+
+    /**
+     * Find the content type that most specifically matches the given candidate content type.
+     *
+     * @param candidate The candidate content type to match (e.g. from the request or response header)
+     *
+     * @return The most specific content type that matches the candidate, or empty if none match or the
+     * candidate can not be parsed.
+     *
+     * @see ContentTypeUtils#findMostSpecificMatch(String, java.util.Set)
+     */
+    @Nonnull
+    public Optional<String> findMostSpecificMatch(@Nullable final String candidate) {
+        if (!valid || rankedEntries.isEmpty()) {
+            return Optional.empty();
+        }
+        final Optional<MediaType> candidateType = ContentTypeUtils.parseContentType(candidate);
+        if (!candidateType.isPresent()) {
+            return Optional.empty();
+        }
+        final MediaType candidateWithoutParameters = candidateType.get().withoutParameters();
+        for (final Entry entry : rankedEntries) {
+            if (candidateWithoutParameters.is(entry.mediaType)) {
+                return Optional.of(entry.contentType);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns whether the candidate media type matches any of the content types in this table.
+     *
+     * @param candidate The candidate type to match (e.g. from the request or response header)
+     *
+     * @return {@code true} if the candidate matches against any of the content types in this table.
+     *
+     * @see ContentTypeUtils#matchesAny(MediaType, Collection)
+     */
+    public boolean matchesAny(final MediaType candidate) {
+        final MediaType candidateWithoutParameters = candidate.withoutParameters();
+        return anyMatch(candidateWithoutParameters::is);
+    }
+
+    /**
+     * Returns whether any of the content types in this table (without parameters) match the given predicate.
+     * <p>
+     * Entries are tested in the order they are defined in the API.
+     *
+     * @param predicate The predicate to test each content type with
+     *
+     * @return {@code true} if at least one content type matches the predicate
+     *
+     * @throws IllegalArgumentException if a content type in this table that can not be parsed is reached
+     */
+    public boolean anyMatch(final Predicate<MediaType> predicate) {
+        for (final Entry entry : entries) {
+            if (predicate.test(entry.getMediaType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private final String contentType;
+        @Nullable
+        private final MediaType mediaType;
+
+        static Entry of(final String contentType) {
+            try {
+                return new Entry(contentType, MediaType.parse(contentType).withoutParameters());
+            } catch (final IllegalArgumentException e) {
+                return new Entry(contentType, null);
+            }
+        }
+
+        private Entry(final String contentType, @Nullable final MediaType mediaType) {
+            this.contentType = contentType;
+            this.mediaType = mediaType;
+        }
+
+        MediaType getMediaType() {
+            if (mediaType == null) {
+                // Re-parse to surface the original failure
+                return MediaType.parse(contentType);
+            }
+            return mediaType;
+        }
+
+        int countWildcards() {
+            int result = 0;
+            if (mediaType.type().equals("*")) {
+                result++;
+            }
+            if (mediaType.subtype().equals("*")) {
+                result++;
+            }
+            return result;
+        }
+    }
+}
@@ -21,6 +21,32 @@ public class StringUtils {
         return value;
     }
 
+    /**
+     * Fold the ASCII characters of the given value to lower case.
+     * <p>
+     * This mirrors the case-insensitive matching applied to the path templates, which only considers
+     * characters in the US-ASCII charset.
+     *
+     * @param value The value to fold
+     *
+     * @return The value with its ASCII upper case characters in lower case (the value itself if there are none)
+     */
+    public static String foldCase(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                final char[] chars = value.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    if (chars[j] >= 'A' && chars[j] <= 'Z') {
+                        chars[j] = (char) (chars[j] + ('a' - 'A'));
+                    }
+                }
+                return new String(chars);
+            }
+        }
+        return value;
+    }
+
     private StringUtils() { }
 
     /**
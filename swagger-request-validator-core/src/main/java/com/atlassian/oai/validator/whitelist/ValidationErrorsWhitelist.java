@@ -5,6 +5,8 @@ import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.model.Response;
 import com.atlassian.oai.validator.report.ValidationReport;
 import com.atlassian.oai.validator.whitelist.rule.WhitelistRule;
+import com.atlassian.oai.validator.whitelist.rule.WhitelistRuleIndex;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 
 import javax.annotation.Nullable;
@@ -12,11 +14,17 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
 
 public final class ValidationErrorsWhitelist {
 
     private final List<NamedWhitelistRule> rules;
 
+    // Built on first use, so that adding each rule to a whitelist doesn't rebuild the index
+    private final Supplier<WhitelistRuleIndex> index;
+
     /**
      * Creates an empty validation whitelist. Start with this method when creating a new whitelist from scratch.
      */
@@ -53,13 +61,24 @@ public final class ValidationErrorsWhitelist {
                                                       @Nullable final ApiOperation operation,
                                                       @Nullable final Request request,
                                                       @Nullable final Response response) {
-        return rules.stream()
-                .filter(rule -> rule.getRule().matches(message, operation, request, response))
-                .findFirst();
+        if (rules.isEmpty()) {
+            return Optional.empty();
+        }
+        final int match = index.get().firstMatch(message, operation, request, response);
+        return match == WhitelistRuleIndex.NO_MATCH ? Optional.empty() : Optional.of(rules.get(match));
+    }
+
+    /**
+     * @return <code>true</code> if this whitelist has no rules
+     */
+    public boolean isEmpty() {
+        return rules.isEmpty();
     }
 
     private ValidationErrorsWhitelist(final Iterable<NamedWhitelistRule> rules) {
         this.rules = ImmutableList.copyOf(rules);
+        this.index = Suppliers.memoize(() -> WhitelistRuleIndex.of(
+                this.rules.stream().map(NamedWhitelistRule::getRule).collect(toList())));
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.atlassian.oai.validator.model.ApiOperation;
 import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.model.Response;
 import com.atlassian.oai.validator.report.ValidationReport;
+import com.google.common.collect.ImmutableList;
 
 import java.util.List;
 
@@ -12,13 +13,39 @@ import static java.util.stream.Collectors.joining;
 class AndWhitelistRule implements WhitelistRule {
     private final List<WhitelistRule> rules;
 
+    // Nested AND rules flattened into a single list, for evaluation
+    private final WhitelistRule[] flattened;
+    private final RuleConstraints constraints;
+
     public AndWhitelistRule(final List<WhitelistRule> rules) {
         this.rules = rules;
+        final ImmutableList.Builder<WhitelistRule> flattened = ImmutableList.builder();
+        RuleConstraints constraints = null;
+        for (final WhitelistRule rule : rules) {
+            if (rule instanceof AndWhitelistRule) {
+                flattened.add(((AndWhitelistRule) rule).flattened);
+            } else {
+                flattened.add(rule);
+            }
+            final RuleConstraints ruleConstraints = RuleConstraints.of(rule);
+            constraints = constraints == null ? ruleConstraints : constraints.and(ruleConstraints);
+        }
+        this.flattened = flattened.build().toArray(new WhitelistRule[0]);
+        this.constraints = constraints == null ? RuleConstraints.NONE : constraints;
     }
 
     @Override
     public boolean matches(final ValidationReport.Message message, final ApiOperation operation, final Request request, final Response response) {
-        return rules.stream().allMatch(r -> r.matches(message, operation, request, response));
+        for (final WhitelistRule rule : flattened) {
+            if (!rule.matches(message, operation, request, response)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    RuleConstraints getConstraints() {
+        return constraints;
     }
 
     @Override
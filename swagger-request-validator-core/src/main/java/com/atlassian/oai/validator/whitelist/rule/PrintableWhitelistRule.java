@@ -13,6 +13,7 @@ import java.util.Objects;
 class PrintableWhitelistRule implements WhitelistRule {
     private final String representation;
     private final WhitelistRule function;
+    private final RuleConstraints constraints;
 
     @Override
     public boolean matches(final ValidationReport.Message message, final ApiOperation operation, final Request request, final Response response) {
@@ -20,8 +21,17 @@ class PrintableWhitelistRule implements WhitelistRule {
     }
 
     PrintableWhitelistRule(final String representation, final WhitelistRule function) {
+        this(representation, function, RuleConstraints.NONE);
+    }
+
+    PrintableWhitelistRule(final String representation, final WhitelistRule function, final RuleConstraints constraints) {
         this.representation = Objects.requireNonNull(representation);
         this.function = Objects.requireNonNull(function);
+        this.constraints = Objects.requireNonNull(constraints);
+    }
+
+    RuleConstraints getConstraints() {
+        return constraints;
     }
 
     @Override
@@ -0,0 +1,143 @@
+package com.atlassian.oai.validator.whitelist.rule;
+
+import com.atlassian.oai.validator.model.ApiOperation;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import io.swagger.v3.oas.models.PathItem;
+
+import javax.annotation.Nullable;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The necessary conditions for a whitelist rule to match: the message keys, HTTP methods and API paths that it is
+ * restricted to. Each is <code>null</code> if the rule is not restricted by it.
+ * <p>
+ * Constraints are used to index rules, so that a message is only tested against rules that can match it. They
+ * never make a rule match - the rule itself is always tested.
+ */
+final class RuleConstraints {
+
+    static final RuleConstraints NONE = new RuleConstraints(null, null, null);
+
+    /**
+     * The case insensitive IDs of the message keys the rule is restricted to.
+     *
+     * @see com.atlassian.oai.validator.report.MessageKeys#caseInsensitiveId(int)
+     */
+    @Nullable
+    final Set<Integer> keyIds;
+
+    @Nullable
+    final Set<PathItem.HttpMethod> methods;
+
+    /**
+     * Tests the normalised API path of the operation.
+     */
+    @Nullable
+    final Predicate<String> apiPath;
+
+    private RuleConstraints(@Nullable final Set<Integer> keyIds,
+                            @Nullable final Set<PathItem.HttpMethod> methods,
+                            @Nullable final Predicate<String> apiPath) {
+        this.keyIds = keyIds;
+        this.methods = methods;
+        this.apiPath = apiPath;
+    }
+
+    static RuleConstraints key(final int caseInsensitiveKeyId) {
+        return new RuleConstraints(ImmutableSet.of(caseInsensitiveKeyId), null, null);
+    }
+
+    static RuleConstraints method(@Nullable final PathItem.HttpMethod method) {
+        if (method == null) {
+            return NONE;
+        }
+        return new RuleConstraints(null, ImmutableSet.of(method), null);
+    }
+
+    static RuleConstraints apiPath(final Predicate<String> apiPath) {
+        return new RuleConstraints(null, null, apiPath);
+    }
+
+    /**
+     * Get the constraints of the given rule.
+     * <p>
+     * Only the rules created by {@link WhitelistRules} (and combinations of them) have constraints. Custom rules
+     * are unconstrained.
+     */
+    static RuleConstraints of(final WhitelistRule rule) {
+        if (rule instanceof PrintableWhitelistRule) {
+            return ((PrintableWhitelistRule) rule).getConstraints();
+        }
+        if (rule instanceof AndWhitelistRule) {
+            return ((AndWhitelistRule) rule).getConstraints();
+        }
+        if (rule instanceof OrWhitelistRule) {
+            return ((OrWhitelistRule) rule).getConstraints();
+        }
+        return NONE;
+    }
+
+    /**
+     * @return The constraints of a rule that matches only if rules with both these and the other constraints match
+     */
+    RuleConstraints and(final RuleConstraints other) {
+        return new RuleConstraints(
+                intersection(keyIds, other.keyIds),
+                intersection(methods, other.methods),
+                apiPath == null ? other.apiPath : other.apiPath == null ? apiPath : apiPath.and(other.apiPath)
+        );
+    }
+
+    /**
+     * @return The constraints of a rule that matches if a rule with either these or the other constraints match
+     */
+    RuleConstraints or(final RuleConstraints other) {
+        return new RuleConstraints(
+                union(keyIds, other.keyIds),
+                union(methods, other.methods),
+                apiPath == null || other.apiPath == null ? null : apiPath.or(other.apiPath)
+        );
+    }
+
+    /**
+     * @return Whether the rule is restricted by the HTTP method or API path of the operation
+     */
+    boolean hasOperationConstraints() {
+        return methods != null || apiPath != null;
+    }
+
+    /**
+     * @return Whether a rule with these constraints can match messages for the given operation
+     */
+    boolean allowsOperation(@Nullable final ApiOperation operation) {
+        if (!hasOperationConstraints()) {
+            return true;
+        }
+        if (operation == null) {
+            return false;
+        }
+        return (methods == null || methods.contains(operation.getMethod()))
+                && (apiPath == null || apiPath.test(operation.getApiPath().normalised()));
+    }
+
+    @Nullable
+    private static <T> Set<T> intersection(@Nullable final Set<T> a, @Nullable final Set<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return ImmutableSet.copyOf(Sets.intersection(a, b));
+    }
+
+    @Nullable
+    private static <T> Set<T> union(@Nullable final Set<T> a, @Nullable final Set<T> b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        return ImmutableSet.copyOf(Sets.union(a, b));
+    }
+}
@@ -0,0 +1,151 @@
+package com.atlassian.oai.validator.whitelist.rule;
+
+import com.atlassian.oai.validator.model.ApiOperation;
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.model.Response;
+import com.atlassian.oai.validator.report.MessageKeys;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An ordered list of whitelist rules, indexed so that a message is only tested against the rules that can match it.
+ * <p>
+ * Rules created with {@link WhitelistRules} (and combinations of them) are indexed by the message key, HTTP method
+ * and API path they are restricted to. A message is tested against the rules restricted to its key and the rules
+ * not restricted by key, in order, skipping those whose method or path restriction excludes the operation. Which
+ * rules an operation excludes is worked out once per operation.
+ */
+public final class WhitelistRuleIndex {
+
+    /**
+     * Returned by {@link #firstMatch} when no rule matches.
+     */
+    public static final int NO_MATCH = -1;
+
+    private final WhitelistRule[] rules;
+    private final RuleConstraints[] constraints;
+
+    /**
+     * The indexes of the rules that can match a message with a given (case insensitive) key ID, and of those not
+     * restricted by key, in rule order.
+     */
+    private final Map<Integer, int[]> candidatesByKey;
+    private final int[] unkeyedCandidates;
+    private final int[] allCandidates;
+
+    /**
+     * Whether each rule allows a given operation, by operation. <code>null</code> if no rule is restricted by
+     * operation.
+     */
+    @Nullable
+    private final Map<String, boolean[]> allowedByOperation;
+    @Nullable
+    private final boolean[] allowedWithoutOperation;
+
+    private WhitelistRuleIndex(final List<? extends WhitelistRule> rules) {
+        this.rules = rules.toArray(new WhitelistRule[0]);
+        this.constraints = new RuleConstraints[this.rules.length];
+
+        final List<Integer> unkeyed = new ArrayList<>();
+        final Map<Integer, List<Integer>> keyed = new HashMap<>();
+        boolean hasOperationConstraints = false;
+        for (int i = 0; i < this.rules.length; i++) {
+            constraints[i] = RuleConstraints.of(this.rules[i]);
+            hasOperationConstraints |= constraints[i].hasOperationConstraints();
+            if (constraints[i].keyIds == null) {
+                unkeyed.add(i);
+            } else {
+                for (final Integer keyId : constraints[i].keyIds) {
+                    keyed.computeIfAbsent(keyId, k -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        this.unkeyedCandidates = unkeyed.stream().mapToInt(Integer::intValue).toArray();
+        this.allCandidates = IntStream.range(0, this.rules.length).toArray();
+        this.candidatesByKey = new HashMap<>();
+        keyed.forEach((keyId, indexes) -> candidatesByKey.put(keyId,
+                IntStream.concat(indexes.stream().mapToInt(Integer::intValue), IntStream.of(unkeyedCandidates))
+                        .sorted()
+                        .toArray()));
+
+        this.allowedByOperation = hasOperationConstraints ? new ConcurrentHashMap<>() : null;
+        this.allowedWithoutOperation = hasOperationConstraints ? allowedBy(null) : null;
+    }
+
+    /**
+     * Create an index of the given rules.
+     *
+     * @param rules The rules, in the order they should be tested
+     *
+     * @return An index of the rules
+     */
+    @Nonnull
+    public static WhitelistRuleIndex of(@Nonnull final List<? extends WhitelistRule> rules) {
+        return new WhitelistRuleIndex(ImmutableList.copyOf(requireNonNull(rules, "Rules are required")));
+    }
+
+    /**
+     * Find the first rule that matches the given message.
+     *
+     * @param message report message that can be whitelisted
+     * @param operation validated api operation
+     * @param request validated request
+     * @param response validated response
+     *
+     * @return The index of the first rule that matches, or {@link #NO_MATCH}
+     */
+    public int firstMatch(@Nonnull final ValidationReport.Message message,
+                          @Nullable final ApiOperation operation,
+                          @Nullable final Request request,
+                          @Nullable final Response response) {
+        if (rules.length == 0) {
+            return NO_MATCH;
+        }
+        final int[] candidates = candidates(message);
+        final boolean[] allowed = allowed(operation);
+        for (final int i : candidates) {
+            if ((allowed == null || allowed[i]) && rules[i].matches(message, operation, request, response)) {
+                return i;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private int[] candidates(final ValidationReport.Message message) {
+        final int keyId = MessageKeys.idOf(message);
+        if (keyId == MessageKeys.NO_ID) {
+            return allCandidates;
+        }
+        return candidatesByKey.getOrDefault(MessageKeys.caseInsensitiveId(keyId), unkeyedCandidates);
+    }
+
+    @Nullable
+    private boolean[] allowed(@Nullable final ApiOperation operation) {
+        if (allowedByOperation == null || operation == null) {
+            return allowedWithoutOperation;
+        }
+        return allowedByOperation.computeIfAbsent(
+                operation.getMethod() + " " + operation.getApiPath().normalised(),
+                k -> allowedBy(operation));
+    }
+
+    private boolean[] allowedBy(@Nullable final ApiOperation operation) {
+        final boolean[] allowed = new boolean[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            allowed[i] = constraints[i].allowsOperation(operation);
+        }
+        return allowed;
+    }
+}
@@ -3,6 +3,9 @@ package com.atlassian.oai.validator.whitelist.rule;
 import com.atlassian.oai.validator.model.ApiOperation;
 import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.model.Response;
+import com.atlassian.oai.validator.regex.CompiledPattern;
+import com.atlassian.oai.validator.regex.PatternRegistry;
+import com.atlassian.oai.validator.report.MessageKeys;
 import com.atlassian.oai.validator.report.ValidationReport;
 import com.atlassian.oai.validator.whitelist.StatusType;
 import com.google.common.collect.ImmutableList;
@@ -46,9 +49,24 @@ public final class WhitelistRules {
      * Matches all error messages with the given key.
      */
     public static WhitelistRule messageHasKey(final String key) {
+        final int keyId = MessageKeys.id(key);
+        if (keyId == MessageKeys.NO_ID) {
+            return new PrintableWhitelistRule(
+                    "Message with key: '" + key + "'",
+                    (message, operation, request, response) -> key.equalsIgnoreCase(message.getKey()));
+        }
+        // Compare interned key IDs rather than the keys themselves
+        final int caseInsensitiveKeyId = MessageKeys.caseInsensitiveId(keyId);
         return new PrintableWhitelistRule(
                 "Message with key: '" + key + "'",
-                (message, operation, request, response) -> key.equalsIgnoreCase(message.getKey()));
+                (message, operation, request, response) -> {
+                    final int messageKeyId = MessageKeys.idOf(message);
+                    if (messageKeyId == MessageKeys.NO_ID) {
+                        return key.equalsIgnoreCase(message.getKey());
+                    }
+                    return MessageKeys.caseInsensitiveId(messageKeyId) == caseInsensitiveKeyId;
+                },
+                RuleConstraints.key(caseInsensitiveKeyId));
     }
 
     /**
@@ -67,9 +85,10 @@ public final class WhitelistRules {
      * @param regexp The regex to use to match within the validation message
      */
     public static WhitelistRule messageContainsRegexp(final String regexp) {
+        final CompiledPattern pattern = compile(regexp);
         return new PrintableWhitelistRule(
                 "Message contains match: '" + regexp + "'",
-                (message, operation, request, response) -> regexpContain(message.getMessage(), regexp));
+                (message, operation, request, response) -> pattern.find(message.getMessage()));
     }
 
     /**
@@ -105,10 +124,12 @@ public final class WhitelistRules {
      * @param regexp The regex to use to match within the API path
      */
     public static WhitelistRule pathContainsRegexp(final String regexp) {
+        final CompiledPattern pattern = compile(regexp);
         return new PrintableWhitelistRule(
                 "Api path contains match: '" + regexp + "'",
                 (message, operation, request, response) -> operation != null &&
-                        regexpContain(operation.getApiPath().normalised(), regexp));
+                        pattern.find(operation.getApiPath().normalised()),
+                RuleConstraints.apiPath(pattern::find));
     }
 
     /**
@@ -123,7 +144,8 @@ public final class WhitelistRules {
         return new PrintableWhitelistRule(
                 "Api path contains substring: '" + substring + "'",
                 (message, operation, request, response) -> operation != null &&
-                        stringContains(operation.getApiPath().normalised(), substring));
+                        stringContains(operation.getApiPath().normalised(), substring),
+                RuleConstraints.apiPath(path -> stringContains(path, substring)));
     }
 
     /**
@@ -168,7 +190,8 @@ public final class WhitelistRules {
     public static WhitelistRule methodIs(final PathItem.HttpMethod method) {
         return new PrintableWhitelistRule(
                 "Method is " + method,
-                (message, operation, request, response) -> operation != null && operation.getMethod() == method);
+                (message, operation, request, response) -> operation != null && operation.getMethod() == method,
+                RuleConstraints.method(method));
     }
 
     /**
@@ -191,6 +214,7 @@ public final class WhitelistRules {
      * @param regexp The regex to use to search within the header value
      */
     public static WhitelistRule headerContainsRegexp(final String header, final String regexp) {
+        final CompiledPattern pattern = compile(regexp);
         return new PrintableWhitelistRule(
                 "Header '" + header + "' contains match '" + regexp + "'",
                 new RequestOrResponseWhitelistRule() {
@@ -199,14 +223,14 @@ public final class WhitelistRules {
                         return request.getHeaders()
                                 .getOrDefault(header, Collections.emptyList())
                                 .stream()
-                                .anyMatch(value -> regexpContain(value, regexp));
+                                .anyMatch(pattern::find);
                     }
 
                     @Override
                     public boolean matches(final ValidationReport.Message message, final ApiOperation operation, final Response response) {
                         return response.getHeaderValues(header)
                                 .stream()
-                                .anyMatch(value -> regexpContain(value, regexp));
+                                .anyMatch(pattern::find);
                     }
                 });
     }
@@ -240,8 +264,8 @@ public final class WhitelistRules {
                 });
     }
 
-    private static boolean regexpContain(final String value, final String regexp) {
-        return Pattern.compile(regexp, Pattern.CASE_INSENSITIVE).matcher(value).find();
+    private static CompiledPattern compile(final String regexp) {
+        return PatternRegistry.getInstance().java(regexp, Pattern.CASE_INSENSITIVE);
     }
 
     private static boolean stringContains(final String value, final String substring) {
@@ -0,0 +1,106 @@
+package com.atlassian.oai.validator;
+
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.model.SimpleRequest;
+import com.atlassian.oai.validator.model.SimpleResponse;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.whitelist.ValidationErrorsWhitelist;
+import com.atlassian.oai.validator.whitelist.rule.WhitelistRules;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static com.atlassian.oai.validator.util.ValidatorTestUtil.assertFail;
+import static com.atlassian.oai.validator.util.ValidatorTestUtil.assertPass;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class CompositeOpenApiInteractionValidatorTest {
+
+    private static final String PETS_API = "openapi: 3.0.0\n" +
+            "info: {title: Pets, version: 1.0.0}\n" +
+            "servers:\n" +
+            "  - url: https://example.com/pets/{version}\n" +
+            "    variables:\n" +
+            "      version: {default: v1, enum: [v1, v2]}\n" +
+            "paths:\n" +
+            "  /{id}:\n" +
+            "    get:\n" +
+            "      parameters:\n" +
+            "        - {name: id, in: path, required: true, schema: {type: integer}}\n" +
+            "      responses:\n" +
+            "        '200': {description: OK}\n";
+
+    private static final String STORE_API = "openapi: 3.0.0\n" +
+            "info: {title: Store, version: 1.0.0}\n" +
+            "servers:\n" +
+            "  - url: /store\n" +
+            "  - url: /pets/v2/store\n" +
+            "paths:\n" +
+            "  /orders:\n" +
+            "    get:\n" +
+            "      responses:\n" +
+            "        '204': {description: No content}\n";
+
+    private final CompositeOpenApiInteractionValidator classUnderTest = CompositeOpenApiInteractionValidator.builder()
+            .withApi("pets", OpenApiInteractionValidator.createForInlineApiSpecification(PETS_API).build())
+            .withApi("store", OpenApiInteractionValidator.createForInlineApiSpecification(STORE_API).build())
+            .build();
+
+    @Test
+    public void validateRequest_dispatchesToApi_onAnyServerBasePath() {
+        assertPass(classUnderTest.validateRequest(SimpleRequest.Builder.get("/pets/v1/1").build()));
+        assertPass(classUnderTest.validateRequest(SimpleRequest.Builder.get("/pets/v2/1").build()));
+        assertPass(classUnderTest.validateRequest(SimpleRequest.Builder.get("/store/orders").build()));
+    }
+
+    @Test
+    public void validateRequest_dispatchesToApi_withLongestMatchingBasePath() {
+        assertPass(classUnderTest.validateRequest(SimpleRequest.Builder.get("/pets/v2/store/orders").build()));
+    }
+
+    @Test
+    public void validateRequest_dispatchesToApi_whenBasePathCaseDiffers() {
+        assertPass(classUnderTest.validateRequest(SimpleRequest.Builder.get("/Pets/V1/1").build()));
+        assertPass(classUnderTest.validateRequest(SimpleRequest.Builder.get("/STORE/orders").build()));
+    }
+
+    @Test
+    public void validateRequest_reportsMatchedApi_inMessageContext() {
+        final ValidationReport report = classUnderTest.validateRequest(SimpleRequest.Builder.get("/pets/v2/abc").build());
+
+        assertFail(report, "validation.request.parameter.schema.type");
+        assertThat(report.getMessages().get(0).getContext().flatMap(c -> c.getApiName()), is(Optional.of("pets")));
+    }
+
+    @Test
+    public void validateRequest_fails_whenNoApiMatches() {
+        final ValidationReport report = classUnderTest.validateRequest(SimpleRequest.Builder.get("/unknown/orders").build());
+
+        assertFail(report, "validation.request.path.missing");
+        assertThat(report.getMessages().get(0).getContext().flatMap(c -> c.getApiName()), is(Optional.empty()));
+    }
+
+    @Test
+    public void validateRequest_appliesWhitelist_whenNoApiMatches() {
+        final CompositeOpenApiInteractionValidator validator = CompositeOpenApiInteractionValidator.builder()
+                .withApi("pets", OpenApiInteractionValidator.createForInlineApiSpecification(PETS_API).build())
+                .withWhitelist(ValidationErrorsWhitelist.create()
+                        .withRule("Ignore unknown paths", WhitelistRules.messageHasKey("validation.request.path.missing")))
+                .build();
+
+        final ValidationReport report = validator.validateRequest(SimpleRequest.Builder.get("/unknown/orders").build());
+
+        assertPass(report);
+        assertThat(report.getMessages().get(0).getLevel(), is(ValidationReport.Level.IGNORE));
+        assertThat(report.getMessages().get(0).getContext().flatMap(c -> c.getAppliedWhitelistRule()).isPresent(), is(true));
+    }
+
+    @Test
+    public void validate_dispatchesResponseToApi() {
+        assertFail(classUnderTest.validateResponse("/pets/v1/1", Request.Method.GET, SimpleResponse.Builder.status(500).build()),
+                "validation.response.status.unknown");
+        assertPass(classUnderTest.validate(
+                SimpleRequest.Builder.get("/store/orders").build(), SimpleResponse.Builder.noContent().build()));
+    }
+}
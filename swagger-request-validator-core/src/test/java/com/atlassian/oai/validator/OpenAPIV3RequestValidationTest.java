@@ -751,6 +751,23 @@ public class OpenAPIV3RequestValidationTest {
         assertFail(classUnderTest.validateRequest(request));
     }
 
+    @Test
+    public void validate_withCustomValidation_shouldReceiveTheRequestBeingValidated() {
+        final Request request = SimpleRequest.Builder
+                .get("/extensions")
+                .withHeader("Extension", "true")
+                .build();
+
+        final OpenApiInteractionValidator classUnderTest = OpenApiInteractionValidator
+                .createForSpecificationUrl("/oai/v3/api-users.yaml")
+                .withCustomRequestValidation((r, apiOperation) -> r == request ?
+                        ValidationReport.empty() :
+                        ValidationReport.singleton(ValidationReport.Message.create("test.request", "Unexpected request").build()))
+                .build();
+
+        assertPass(classUnderTest.validateRequest(request));
+    }
+
     @Test
     public void validate_withPatterns_shouldPass_whenValid() {
         final OpenApiInteractionValidator classUnderTest = OpenApiInteractionValidator
@@ -0,0 +1,148 @@
+package com.atlassian.oai.validator;
+
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.model.SimpleResponse;
+import com.atlassian.oai.validator.report.ValidationReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * This benchmark measures the memory used by the schemas compiled for an API with many component schemas.
+ * <p>
+ * Each invocation builds a new validator and validates a response for every operation, compiling one schema per
+ * operation. Run with the GC profiler (as in {@link #main(String[])}) and compare <code>gc.alloc.rate.norm</code>
+ * to see the memory allocated per validator.
+ * <p>
+ * Allocation does not tell how much of that memory stays reachable, so {@link #main(String[])} first reports the
+ * heap retained by the cached compiled schemas: the used heap after a forced GC once every schema is compiled, less
+ * the used heap after a forced GC with the freshly built validator.
+ */
+@State(Scope.Benchmark)
+public class SchemaCompilationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaCompilationBenchmark.class);
+
+    @Param({"50", "200"})
+    private int schemaCount;
+
+    private static volatile OpenApiInteractionValidator measuredValidator;
+
+    private String api;
+    private String responseBody;
+
+    public static void main(final String[] args) throws RunnerException, NoSuchFieldException {
+        for (final String schemaCount : SchemaCompilationBenchmark.class.getDeclaredField("schemaCount")
+                .getAnnotation(Param.class).value()) {
+            log.info("Retained by {} compiled schemas: {} bytes",
+                    schemaCount, retainedBySchemaCache(Integer.parseInt(schemaCount)));
+        }
+        final Options options = new OptionsBuilder()
+                .include(SchemaCompilationBenchmark.class.getSimpleName())
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .measurementIterations(4)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static long retainedBySchemaCache(final int schemaCount) {
+        final SchemaCompilationBenchmark benchmark = new SchemaCompilationBenchmark();
+        benchmark.schemaCount = schemaCount;
+        benchmark.createApiForBenchmark();
+
+        // Keep the validator (and with it the schema cache) reachable while measuring
+        measuredValidator = OpenApiInteractionValidator
+                .createForInlineApiSpecification(benchmark.api)
+                .build();
+        final long beforeCompilation = usedHeapAfterGc();
+        benchmark.validateAllOperations(measuredValidator);
+        final long afterCompilation = usedHeapAfterGc();
+        measuredValidator = null;
+        return afterCompilation - beforeCompilation;
+    }
+
+    private static long usedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Collect until the used heap settles, as a single System.gc() is only a hint
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            final long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+
+    private static String createApi(final int schemaCount) {
+        final StringBuilder api = new StringBuilder("openapi: 3.0.0\n")
+                .append("info: {title: Benchmark, version: 1.0.0}\n")
+                .append("paths:\n");
+        for (int i = 0; i < schemaCount; i++) {
+            api.append("  /schema").append(i).append(":\n")
+                    .append("    get:\n")
+                    .append("      responses:\n")
+                    .append("        '200':\n")
+                    .append("          description: OK\n")
+                    .append("          content:\n")
+                    .append("            application/json:\n")
+                    .append("              schema: {$ref: '#/components/schemas/Schema").append(i).append("'}\n");
+        }
+        api.append("components:\n")
+                .append("  schemas:\n");
+        for (int i = 0; i < schemaCount; i++) {
+            api.append("    Schema").append(i).append(":\n")
+                    .append("      type: object\n")
+                    .append("      required: [id, name]\n")
+                    .append("      properties:\n")
+                    .append("        id: {type: integer, format: int64}\n")
+                    .append("        name: {type: string, maxLength: 100}\n")
+                    .append("        tags: {type: array, items: {type: string}}\n")
+                    .append("        next: {$ref: '#/components/schemas/Schema").append((i + 1) % schemaCount).append("'}\n");
+        }
+        return api.toString();
+    }
+
+    @Setup
+    public void createApiForBenchmark() {
+        api = createApi(schemaCount);
+        responseBody = "{\"id\":1,\"name\":\"name\",\"tags\":[\"a\",\"b\"]}";
+    }
+
+    @Benchmark
+    public OpenApiInteractionValidator compileSchemas_forAllOperations() {
+        final OpenApiInteractionValidator validator = OpenApiInteractionValidator
+                .createForInlineApiSpecification(api)
+                .build();
+        validateAllOperations(validator);
+        return validator;
+    }
+
+    private void validateAllOperations(final OpenApiInteractionValidator validator) {
+        for (int i = 0; i < schemaCount; i++) {
+            final ValidationReport result = validator.validateResponse("/schema" + i, Request.Method.GET,
+                    SimpleResponse.Builder.ok().withContentType("application/json").withBody(responseBody).build());
+            assertThat(result.hasErrors(), is(false));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.atlassian.oai.validator.interaction;
+
+import com.atlassian.oai.validator.model.ApiOperationMatch;
+import com.google.common.cache.CacheStats;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static com.atlassian.oai.validator.model.Request.Method.DELETE;
+import static com.atlassian.oai.validator.model.Request.Method.GET;
+import static com.atlassian.oai.validator.model.Request.Method.POST;
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ApiOperationResolverCacheTest {
+
+    private static OpenAPI api;
+
+    @BeforeClass
+    public static void init() {
+        final ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setResolve(true);
+        api = new OpenAPIParser().readLocation("oai/v2/api-operation-finder-test.json", null, parseOptions).getOpenAPI();
+    }
+
+    @Test
+    public void findApiOperation_returnsCachedMatch_forSameMethodAndPath() {
+        final ApiOperationResolver classUnderTest = new ApiOperationResolver(api, null, true, 10);
+
+        final ApiOperationMatch first = classUnderTest.findApiOperation("/update/id", POST);
+        final ApiOperationMatch second = classUnderTest.findApiOperation("/update/id", POST);
+        final ApiOperationMatch otherMethod = classUnderTest.findApiOperation("/id", GET);
+
+        assertThat(second, sameInstance(first));
+        assertThat(otherMethod.getApiOperation().getOperation().getDescription(), is("GET:/{id}"));
+
+        final CacheStats stats = classUnderTest.getResolutionCacheStats().get();
+        assertThat(stats.hitCount(), is(1L));
+        assertThat(stats.missCount(), is(2L));
+    }
+
+    @Test
+    public void findApiOperation_cachesNegativeResults() {
+        final ApiOperationResolver classUnderTest = new ApiOperationResolver(api, null, true, 10);
+
+        assertThat(classUnderTest.findApiOperation("/not/a/match", GET), sameInstance(ApiOperationMatch.MISSING_PATH));
+        assertThat(classUnderTest.findApiOperation("/not/a/match", GET), sameInstance(ApiOperationMatch.MISSING_PATH));
+        assertThat(classUnderTest.findApiOperation("/id", DELETE), sameInstance(ApiOperationMatch.NOT_ALLOWED_OPERATION));
+        assertThat(classUnderTest.findApiOperation("/id", DELETE), sameInstance(ApiOperationMatch.NOT_ALLOWED_OPERATION));
+
+        assertThat(classUnderTest.getResolutionCacheStats().get().hitCount(), is(2L));
+    }
+
+    @Test
+    public void findApiOperation_evictsEntries_whenMaximumSizeReached() {
+        final ApiOperationResolver classUnderTest = new ApiOperationResolver(api, null, true, 1);
+
+        classUnderTest.findApiOperation("/foo", GET);
+        classUnderTest.findApiOperation("/bar", GET);
+
+        assertThat(classUnderTest.getResolutionCacheStats().get().evictionCount(), is(1L));
+    }
+
+    @Test
+    public void getResolutionCacheStats_isEmpty_whenCacheDisabled() {
+        final ApiOperationResolver classUnderTest = new ApiOperationResolver(api, null, true);
+
+        classUnderTest.findApiOperation("/foo", GET);
+
+        assertThat(classUnderTest.getResolutionCacheStats(), is(emptyOptional()));
+    }
+}
@@ -115,6 +115,7 @@ public class ApiOperationResolverTest {
         assertTrue(format("Path not found on %s", expDescription), apiOperationMatch.isPathFound());
         assertTrue(format("Operation not allowed on %s", expDescription), apiOperationMatch.isOperationAllowed());
         assertThat(apiOperationMatch.getApiOperation().getOperation().getDescription(), is(expDescription));
+        assertTrue(apiOperationMatch.getApiOperation().isRequestPathMatched());
     }
 
     private static void assertMissingRequestPath(final String requestPath,
@@ -0,0 +1,81 @@
+package com.atlassian.oai.validator.interaction;
+
+import com.atlassian.oai.validator.model.ApiPathImpl;
+import com.atlassian.oai.validator.model.NormalisedPathImpl;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+public class ApiPathTrieTest {
+
+    @Test
+    public void findMatching_matchesLiteralParts_caseInsensitive() {
+        final ApiPathTrie classUnderTest = trie(false, "/foo/bar", "/foo/baz");
+
+        assertThat(matching(classUnderTest, "/FOO/Bar"), contains("/foo/bar"));
+    }
+
+    @Test
+    public void findMatching_returnsAllCandidates_acrossLiteralAndTemplatedParts() {
+        final ApiPathTrie classUnderTest = trie(false, "/{id}", "/{id}.json", "/foo.json", "/foo.xml");
+
+        assertThat(matching(classUnderTest, "/foo.json"), containsInAnyOrder("/{id}", "/{id}.json", "/foo.json"));
+        assertThat(matching(classUnderTest, "/bar.json"), containsInAnyOrder("/{id}", "/{id}.json"));
+    }
+
+    @Test
+    public void findMatching_matchesMultipleParamsInPart() {
+        final ApiPathTrie classUnderTest = trie(false, "/{id}-{name}.json");
+
+        assertThat(matching(classUnderTest, "/foo-bar.json"), contains("/{id}-{name}.json"));
+        assertThat(matching(classUnderTest, "/foobar.json"), empty());
+    }
+
+    @Test
+    public void findMatching_requiresSameNumberOfParts() {
+        final ApiPathTrie classUnderTest = trie(false, "/foo/{id}");
+
+        assertThat(matching(classUnderTest, "/foo"), empty());
+        assertThat(matching(classUnderTest, "/foo/bar/baz"), empty());
+    }
+
+    @Test
+    public void findMatching_ignoresTrailingSlash_whenNotStrict() {
+        final ApiPathTrie classUnderTest = trie(false, "/foo/", "/bar");
+
+        assertThat(matching(classUnderTest, "/foo"), contains("/foo/"));
+        assertThat(matching(classUnderTest, "/bar/"), contains("/bar"));
+    }
+
+    @Test
+    public void findMatching_respectsTrailingSlash_whenStrict() {
+        final ApiPathTrie classUnderTest = trie(true, "/foo/", "/foo");
+
+        assertThat(matching(classUnderTest, "/foo"), contains("/foo"));
+        assertThat(matching(classUnderTest, "/foo/"), contains("/foo/"));
+    }
+
+    private static ApiPathTrie trie(final boolean strict, final String... paths) {
+        final ApiPathTrie trie = new ApiPathTrie(strict);
+        for (final String path : paths) {
+            trie.add(new ApiPathImpl(path, null, strict), singletonMap(PathItem.HttpMethod.GET, new Operation()));
+        }
+        return trie;
+    }
+
+    private static List<String> matching(final ApiPathTrie trie, final String requestPath) {
+        return trie.findMatching(new NormalisedPathImpl(requestPath, null))
+                .stream()
+                .map(r -> r.getApiPath().original())
+                .collect(toList());
+    }
+}
@@ -9,7 +9,10 @@ import org.junit.Test;
 import java.util.List;
 
 import static com.atlassian.oai.validator.interaction.ApiOperationResolver.getBasePathFrom;
+import static com.atlassian.oai.validator.interaction.ApiOperationResolver.getBasePathsFrom;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 
 public class BasePathExtractionTest {
@@ -133,4 +136,34 @@ public class BasePathExtractionTest {
         assertEquals("/", getBasePathFrom(servers));
     }
 
+    @Test
+    public void returnsAllBasePaths_whenMultipleServers() {
+        final List<Server> servers = ImmutableList.of(
+                new Server().url("http://example.com/base/path/1"),
+                new Server().url("https://localhost:8080/base/path/2"),
+                new Server().url("http://example.com/base/path/1")
+        );
+
+        assertEquals(asList("/base/path/1", "/base/path/2"), getBasePathsFrom(servers));
+    }
+
+    @Test
+    public void expandsEnumVariables_whenGettingAllBasePaths() {
+        final List<Server> servers = ImmutableList.of(
+                new Server()
+                        .url("https://{region}.example.com/api/{version}")
+                        .variables(
+                                new ServerVariables()
+                                        .addServerVariable("region", new ServerVariable()._default("eu")._enum(asList("eu", "us")))
+                                        .addServerVariable("version", new ServerVariable()._default("v2")._enum(asList("v1", "v2"))))
+        );
+
+        assertEquals(asList("/api/v1", "/api/v2"), getBasePathsFrom(servers));
+    }
+
+    @Test
+    public void returnsDefault_whenGettingAllBasePaths_withNoServers() {
+        assertEquals(singletonList("/"), getBasePathsFrom(null));
+    }
+
 }
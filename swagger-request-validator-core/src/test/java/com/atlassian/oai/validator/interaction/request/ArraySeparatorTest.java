@@ -0,0 +1,52 @@
+package com.atlassian.oai.validator.interaction.request;
+
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ArraySeparatorTest {
+
+    @Test
+    public void split_matchesStringSplit_forSimpleStyle() {
+        final ArraySeparator classUnderTest = ArraySeparator.from(new PathParameter().name("ids").style(Parameter.StyleEnum.SIMPLE));
+
+        for (final String value : asList("a", "a,b,c", ",a", "a,,b", "a,b,,", ",", ",,a,,")) {
+            assertThat(value, classUnderTest.split(value), is(asList(value.split(","))));
+        }
+        assertThat(classUnderTest.split(""), is(empty()));
+    }
+
+    @Test
+    public void split_handlesRegexCharacters_forLabelAndPipeStyles() {
+        final ArraySeparator label = ArraySeparator.from(new PathParameter().name("ids").style(Parameter.StyleEnum.LABEL));
+        final ArraySeparator pipe = ArraySeparator.from(new QueryParameter().name("ids").style(Parameter.StyleEnum.PIPEDELIMITED));
+
+        assertThat(label.split(".a.b.c"), contains("a", "b", "c"));
+        assertThat(pipe.split("a|b|c"), contains("a", "b", "c"));
+    }
+
+    @Test
+    public void split_removesParamName_forMatrixStyle() {
+        final ArraySeparator exploded = ArraySeparator.from(new PathParameter().name("ids").style(Parameter.StyleEnum.MATRIX).explode(true));
+        final ArraySeparator notExploded = ArraySeparator.from(new PathParameter().name("ids").style(Parameter.StyleEnum.MATRIX).explode(false));
+
+        assertThat(exploded.split(";ids=a;ids=b"), contains("a", "b"));
+        assertThat(exploded.split(";ids=a"), contains("a"));
+        assertThat(notExploded.split(";ids=a,b"), contains("a", "b"));
+    }
+
+    @Test
+    public void split_doesNotSplit_forExplodedFormStyle() {
+        final ArraySeparator classUnderTest = ArraySeparator.from(new QueryParameter().name("ids").style(Parameter.StyleEnum.FORM));
+
+        assertThat(classUnderTest.isMultiValueParam(), is(true));
+        assertThat(classUnderTest.split("a,b"), contains("a,b"));
+    }
+}
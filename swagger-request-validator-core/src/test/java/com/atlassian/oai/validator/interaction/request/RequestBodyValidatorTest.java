@@ -1,5 +1,6 @@
 package com.atlassian.oai.validator.interaction.request;
 
+import com.atlassian.oai.validator.model.Body;
 import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.model.SimpleRequest;
 import com.atlassian.oai.validator.report.ValidationReport;
@@ -50,6 +51,9 @@ public class RequestBodyValidatorTest {
     @Captor
     private ArgumentCaptor<JsonNodeSupplier> jsonNodeSupplierCaptor;
 
+    @Captor
+    private ArgumentCaptor<Body> bodyCaptor;
+
     private static InputStream toStream(final String string) {
         return new ByteArrayInputStream(string.getBytes(StandardCharsets.UTF_8));
     }
@@ -58,6 +62,8 @@ public class RequestBodyValidatorTest {
     public void setup() {
         when(schemaValidator.validate(any(JsonNodeSupplier.class), any(), any()))
                 .thenReturn(ValidationReport.empty());
+        when(schemaValidator.validate(any(Body.class), any(), any()))
+                .thenReturn(ValidationReport.empty());
     }
 
     @Test
@@ -239,9 +245,9 @@ public class RequestBodyValidatorTest {
                 );
 
         assertPass(requestBodyValidator.validateRequestBody(request, apiRequestBody));
-        verify(schemaValidator).validate(jsonNodeSupplierCaptor.capture(), any(), eq("request.body"));
+        verify(schemaValidator).validate(bodyCaptor.capture(), any(), eq("request.body"));
 
-        final JsonNode jsonNode = jsonNodeSupplierCaptor.getValue().get();
+        final JsonNode jsonNode = bodyCaptor.getValue().toJsonNode();
         assertThat(jsonNode.toString(), equalTo("{\"foo\":\"bar\"}"));
     }
 
@@ -260,9 +266,9 @@ public class RequestBodyValidatorTest {
                 );
 
         assertPass(requestBodyValidator.validateRequestBody(request, apiRequestBody));
-        verify(schemaValidator).validate(jsonNodeSupplierCaptor.capture(), any(), eq("request.body"));
+        verify(schemaValidator).validate(bodyCaptor.capture(), any(), eq("request.body"));
 
-        final JsonNode jsonNode = jsonNodeSupplierCaptor.getValue().get();
+        final JsonNode jsonNode = bodyCaptor.getValue().toJsonNode();
         assertThat(jsonNode.toString(), equalTo("{\"foo\":\"bar\"}"));
     }
 
@@ -0,0 +1,58 @@
+package com.atlassian.oai.validator.interaction.request;
+
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.model.SimpleRequest;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class RequestContextTest {
+
+    @Test
+    public void getCookies_parsesCookieHeaderOnce() {
+        final Request request = spy(SimpleRequest.Builder.get("/test")
+                .withHeader("Cookie", "session=abc; theme=dark; session=def")
+                .build());
+        final RequestContext classUnderTest = RequestContext.of(request);
+
+        assertThat(classUnderTest.getCookies().get("session"), contains("abc", "def"));
+        assertThat(classUnderTest.getCookies().get("theme"), contains("dark"));
+        assertThat(classUnderTest.getCookies().keySet(), contains("session", "theme"));
+
+        verify(request, times(1)).getHeaderValues("Cookie");
+    }
+
+    @Test
+    public void getCookies_isEmpty_whenNoCookieHeader() {
+        final RequestContext classUnderTest = RequestContext.of(SimpleRequest.Builder.get("/test").build());
+
+        assertThat(classUnderTest.getCookies().isEmpty(), is(true));
+    }
+
+    @Test
+    public void contentType_isParsedOnce() {
+        final Request request = spy(SimpleRequest.Builder.post("/test")
+                .withContentType("application/json;charset=UTF-8")
+                .build());
+        final RequestContext classUnderTest = RequestContext.of(request);
+
+        assertThat(classUnderTest.isJsonContentType(), is(true));
+        assertThat(classUnderTest.isFormDataContentType(), is(false));
+        assertThat(classUnderTest.getContentMediaType().get().subtype(), is("json"));
+
+        verify(request, times(1)).getContentType();
+    }
+
+    @Test
+    public void of_returnsSameContext_whenAlreadyWrapped() {
+        final RequestContext context = RequestContext.of(SimpleRequest.Builder.get("/test").build());
+
+        assertThat(RequestContext.of(context), sameInstance(context));
+    }
+}
@@ -0,0 +1,94 @@
+package com.atlassian.oai.validator.interaction.request;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.CookieParameter;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import org.junit.Test;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class RequestValidationPlanTest {
+
+    private final Parameter pathParam = new PathParameter().name("petId").schema(new IntegerSchema());
+    private final Parameter queryParam = new QueryParameter().name("limit").schema(new IntegerSchema());
+    private final Parameter explodedParam = new QueryParameter().name("filter").explode(true)
+            .schema(new ObjectSchema().addProperties("name", new StringSchema()).addProperties("tag", new StringSchema()));
+    private final Parameter deepObjectParam = new QueryParameter().name("sort.by").style(Parameter.StyleEnum.DEEPOBJECT)
+            .schema(new ObjectSchema());
+    private final Parameter headerParam = new HeaderParameter().name("X-Trace").schema(new StringSchema());
+    private final Parameter cookieParam = new CookieParameter().name("session").schema(new StringSchema());
+
+    private final Operation operation = new Operation()
+            .addParametersItem(pathParam)
+            .addParametersItem(queryParam)
+            .addParametersItem(explodedParam)
+            .addParametersItem(deepObjectParam)
+            .addParametersItem(headerParam)
+            .addParametersItem(cookieParam);
+
+    @Test
+    public void compile_splitsParametersByLocation() {
+        final RequestValidationPlan classUnderTest = RequestValidationPlan.compile(operation, emptyList());
+
+        assertThat(classUnderTest.getPathParameter("PETID"), sameInstance(pathParam));
+        assertThat(classUnderTest.getPathParameter("other"), nullValue());
+        assertThat(classUnderTest.getQueryParameters(), contains(queryParam));
+        assertThat(classUnderTest.getHeaderParameters(), contains(headerParam));
+        assertThat(classUnderTest.getCookieParameters(), contains(cookieParam));
+        assertThat(classUnderTest.getDeepObjectQueryParameters().get(0).getParameter(), sameInstance(deepObjectParam));
+        assertThat(classUnderTest.getExplodedQueryParameters().get(0).getProperties()
+                .stream().map(Parameter::getName).collect(toList()), contains("name", "tag"));
+    }
+
+    @Test
+    public void isAllowedQueryParameter_allowsDefinedExplodedSecurityAndDeepObjectParameters() {
+        final RequestValidationPlan classUnderTest = RequestValidationPlan.compile(operation, singletonList("api_key"));
+
+        assertThat(classUnderTest.isAllowedQueryParameter("limit"), is(true));
+        assertThat(classUnderTest.isAllowedQueryParameter("name"), is(true));
+        assertThat(classUnderTest.isAllowedQueryParameter("api_key"), is(true));
+        assertThat(classUnderTest.isAllowedQueryParameter("sort.by[field]"), is(true));
+        assertThat(classUnderTest.isAllowedQueryParameter("filter"), is(false));
+        assertThat(classUnderTest.isAllowedQueryParameter("sortxby[field]"), is(false));
+        assertThat(classUnderTest.isAllowedQueryParameter("other"), is(false));
+    }
+
+    @Test
+    public void compile_resolvesArrayParameters() {
+        final Parameter arrayParam = new QueryParameter().name("ids")
+                .schema(new ArraySchema().items(new IntegerSchema()).maxItems(3));
+        final Parameter explodedArrayParam = new QueryParameter().name("filter").explode(true)
+                .schema(new ObjectSchema().addProperties("tags", new ArraySchema().items(new StringSchema())));
+
+        final RequestValidationPlan classUnderTest = RequestValidationPlan.compile(
+                new Operation().addParametersItem(arrayParam).addParametersItem(explodedArrayParam), emptyList());
+
+        assertThat(classUnderTest.getArrayParameter(arrayParam).getMaxItems(), is(3));
+        assertThat(classUnderTest.getArrayParameter(
+                classUnderTest.getExplodedQueryParameters().get(0).getProperties().get(0)), notNullValue());
+        assertThat(classUnderTest.getArrayParameter(queryParam), nullValue());
+    }
+
+    @Test
+    public void compile_handlesOperationWithoutParameters() {
+        final RequestValidationPlan classUnderTest = RequestValidationPlan.compile(new Operation(), emptyList());
+
+        assertThat(classUnderTest.getQueryParameters().isEmpty(), is(true));
+        assertThat(classUnderTest.isAllowedQueryParameter("limit"), is(false));
+    }
+}
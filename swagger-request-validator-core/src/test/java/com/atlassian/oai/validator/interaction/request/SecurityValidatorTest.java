@@ -0,0 +1,110 @@
+package com.atlassian.oai.validator.interaction.request;
+
+import com.atlassian.oai.validator.model.ApiOperation;
+import com.atlassian.oai.validator.model.ApiPathImpl;
+import com.atlassian.oai.validator.model.SimpleRequest;
+import com.atlassian.oai.validator.report.MessageResolver;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.atlassian.oai.validator.util.ValidatorTestUtil.assertFailWithoutContext;
+import static com.atlassian.oai.validator.util.ValidatorTestUtil.assertPass;
+
+public class SecurityValidatorTest {
+
+    private static final String MISSING = "validation.request.security.missing";
+    private static final String INVALID = "validation.request.security.invalid";
+
+    private final OpenAPI api = new OpenAPI().components(new Components()
+            .addSecuritySchemes("basic", new SecurityScheme()
+                    .type(SecurityScheme.Type.HTTP).scheme("basic"))
+            .addSecuritySchemes("apiKey", new SecurityScheme()
+                    .type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.HEADER).name("X-API-KEY"))
+            .addSecuritySchemes("session", new SecurityScheme()
+                    .type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.COOKIE).name("session")));
+
+    private final SecurityValidator classUnderTest = new SecurityValidator(new MessageResolver(), api);
+
+    @Test
+    public void validateSecurity_passes_whenAllSchemesOfARequirementSatisfied() {
+        final ApiOperation operation = operation(requirement("basic", "apiKey"));
+
+        assertPass(classUnderTest.validateSecurity(
+                request().withAuthorization("Basic foo").withHeader("X-API-KEY", "key").build(), operation));
+    }
+
+    @Test
+    public void validateSecurity_fails_whenOneSchemeOfARequirementMissing() {
+        final ApiOperation operation = operation(requirement("basic", "apiKey"));
+
+        assertFailWithoutContext(classUnderTest.validateSecurity(request().withAuthorization("Basic foo").build(), operation),
+                MISSING);
+        assertFailWithoutContext(classUnderTest.validateSecurity(request().withHeader("X-API-KEY", "key").build(), operation),
+                MISSING);
+    }
+
+    @Test
+    public void validateSecurity_fails_whenOneSchemeOfARequirementInvalid() {
+        final ApiOperation operation = operation(requirement("basic", "apiKey"));
+
+        assertFailWithoutContext(classUnderTest.validateSecurity(
+                request().withAuthorization("Bearer foo").withHeader("X-API-KEY", "key").build(), operation), INVALID);
+    }
+
+    @Test
+    public void validateSecurity_passes_whenAnyRequirementSatisfied() {
+        final ApiOperation operation = operation(requirement("basic"), requirement("apiKey"));
+
+        assertPass(classUnderTest.validateSecurity(request().withAuthorization("Basic foo").build(), operation));
+        assertPass(classUnderTest.validateSecurity(request().withHeader("X-API-KEY", "key").build(), operation));
+    }
+
+    @Test
+    public void validateSecurity_fails_whenNoRequirementSatisfied() {
+        final ApiOperation operation = operation(requirement("basic"), requirement("apiKey"));
+
+        assertFailWithoutContext(classUnderTest.validateSecurity(request().build(), operation), MISSING);
+        assertFailWithoutContext(classUnderTest.validateSecurity(request().withAuthorization("Bearer foo").build(), operation),
+                INVALID);
+    }
+
+    @Test
+    public void validateSecurity_passes_whenRequirementEmpty() {
+        assertPass(classUnderTest.validateSecurity(request().build(), operation(requirement("basic"), requirement())));
+        assertPass(classUnderTest.validateSecurity(request().build(), operation(requirement())));
+    }
+
+    @Test
+    public void validateSecurity_findsApiKeyCookie_afterCookieValueContainingComma() {
+        final ApiOperation operation = operation(requirement("session"));
+
+        assertPass(classUnderTest.validateSecurity(
+                request().withHeader("Cookie", "theme=dark,light; session=abc").build(), operation));
+        assertFailWithoutContext(classUnderTest.validateSecurity(
+                request().withHeader("Cookie", "theme=dark,light; session=").build(), operation), MISSING);
+    }
+
+    private static SecurityRequirement requirement(final String... schemeNames) {
+        final SecurityRequirement requirement = new SecurityRequirement();
+        for (final String schemeName : schemeNames) {
+            requirement.addList(schemeName);
+        }
+        return requirement;
+    }
+
+    private static ApiOperation operation(final SecurityRequirement... requirements) {
+        final ApiPathImpl path = new ApiPathImpl("/secured", null);
+        return new ApiOperation(path, path, PathItem.HttpMethod.GET, new Operation().security(Arrays.asList(requirements)));
+    }
+
+    private static SimpleRequest.Builder request() {
+        return SimpleRequest.Builder.get("/secured");
+    }
+}
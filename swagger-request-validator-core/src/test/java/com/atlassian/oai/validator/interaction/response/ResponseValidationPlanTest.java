@@ -0,0 +1,60 @@
+package com.atlassian.oai.validator.interaction.response;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ResponseValidationPlanTest {
+
+    private final ApiResponse ok = new ApiResponse()
+            .content(new Content().addMediaType("application/json", new MediaType()))
+            .addHeaderObject("X-Trace", new Header());
+    private final ApiResponse clientError = new ApiResponse();
+    private final ApiResponse defaultResponse = new ApiResponse();
+
+    @Test
+    public void getApiResponse_prefersExactStatus_thenRange_thenDefault() {
+        final ResponseValidationPlan classUnderTest = ResponseValidationPlan.compile(new Operation().responses(new ApiResponses()
+                .addApiResponse("200", ok)
+                .addApiResponse("4XX", clientError)
+                .addApiResponse("default", defaultResponse)));
+
+        assertThat(classUnderTest.getApiResponse(200).getApiResponse(), sameInstance(ok));
+        assertThat(classUnderTest.getApiResponse(404).getApiResponse(), sameInstance(clientError));
+        assertThat(classUnderTest.getApiResponse(500).getApiResponse(), sameInstance(defaultResponse));
+        assertThat(classUnderTest.getApiResponse(999).getApiResponse(), sameInstance(defaultResponse));
+        assertThat(classUnderTest.getApiResponse(404), sameInstance(classUnderTest.getApiResponse(400)));
+    }
+
+    @Test
+    public void getApiResponse_returnsNull_whenNoResponseMatches() {
+        final ResponseValidationPlan classUnderTest = ResponseValidationPlan.compile(new Operation().responses(new ApiResponses()
+                .addApiResponse("200", ok)));
+
+        assertThat(classUnderTest.getApiResponse(201), nullValue());
+        assertThat(classUnderTest.getApiResponse(42), nullValue());
+        assertThat(ResponseValidationPlan.compile(new Operation()).getApiResponse(200), nullValue());
+    }
+
+    @Test
+    public void getApiResponse_resolvesContentTypesAndHeaders() {
+        final ResponseValidationPlan classUnderTest = ResponseValidationPlan.compile(new Operation().responses(new ApiResponses()
+                .addApiResponse("200", ok)
+                .addApiResponse("204", clientError)));
+
+        assertThat(classUnderTest.getApiResponse(200).getContentTypes().getContentTypes(), contains("application/json"));
+        assertThat(classUnderTest.getApiResponse(200).getHeaders().keySet(), contains("X-Trace"));
+        assertThat(classUnderTest.getApiResponse(204).getContentTypes().isEmpty(), is(true));
+        assertThat(classUnderTest.getApiResponse(204).getHeaders().isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,81 @@
+package com.atlassian.oai.validator.regex;
+
+import com.github.fge.jsonschema.core.util.RegexECMA262Helper;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class LinearTimePatternTest {
+
+    private static final List<String> INPUTS = asList(
+            "", "a", "b", "ab", "ba", "abc", "aaa", "abab", "ABC", "a b", " a", "a ", "\t", "a\nb", "a\rb", "a\u2028b",
+            "\u00a0", "\ufeff", "123", "12a", "a1", "_", "-", "a-b", "a.b", "a/b", "a\\b", "[a]", "{1}", "(a)", "a|b",
+            "foo bar", "foo_bar", "foobar", "2024-01-31", "2024-1-31", "user@example.com", "\ud83d\ude00", "\b"
+    );
+
+    private static final List<String> PATTERNS = asList(
+            "a", "^a", "a$", "^a$", "^$", "", "ab|ba", "^(ab|ba)$", "a*", "^a*$", "^a+$", "^a?$", "^a{2}$", "^a{1,2}$",
+            "^a{2,}$", "^a*?$", "^(?:a|b)+$", "^(a|b)*c$", ".", "^.$", "^.*$", "^.+b$", "\\d", "^\\d+$", "^\\D+$",
+            "\\w", "^\\w+$", "\\W", "\\s", "^\\s*$", "\\S", "^\\S+$", "[abc]", "^[a-c]+$", "[^a]", "^[^a-c]*$",
+            "[\\d-]", "^[\\w.-]+$", "[\\s\\S]", "[\\b]", "\\bfoo\\b", "\\Bbar", "foo\\B", "\\t", "\\n", "\\x41", "\\u0061",
+            "\\.", "\\/", "\\-", "\\\\", "\\[a\\]", "\\{1\\}", "\\(a\\)", "a\\|b", "^\\d{4}-\\d{2}-\\d{2}$",
+            "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$", "^(a+)+$", "^(a|aa)*b$", "(a*)*", "[-a]", "[a-]", "^[]$",
+            "[^]", "()", "^(|a)$", "a{0}", "^(?:ab){1,2}$"
+    );
+
+    @Test
+    public void find_matchesEcmaScriptEngine() {
+        for (final String pattern : PATTERNS) {
+            final LinearTimePattern classUnderTest = LinearTimePattern.compile(pattern)
+                    .orElseThrow(() -> new AssertionError("Expected pattern to be supported: " + pattern));
+            for (final String input : INPUTS) {
+                assertThat("/" + pattern + "/ '" + input + "'",
+                        classUnderTest.find(input), is(RegexECMA262Helper.regMatch(pattern, input)));
+            }
+        }
+    }
+
+    @Test
+    public void find_matchesEcmaScriptEngine_forCharacterClassEscapes() {
+        final StringBuilder input = new StringBuilder();
+        for (char c = 0; c < 0x3100; c++) {
+            input.setLength(0);
+            input.append(c);
+            for (final String pattern : asList("^\\s$", "^\\w$", "^\\d$", "^.$")) {
+                assertThat(pattern + " " + (int) c, LinearTimePattern.compile(pattern).get().find(input),
+                        is(RegexECMA262Helper.regMatch(pattern, input.toString())));
+            }
+        }
+    }
+
+    @Test
+    public void compile_returnsEmpty_forUnsupportedSyntax() {
+        for (final String pattern : asList("(a)\\1", "(?=a)", "(?!a)", "(?<=a)b", "(?<name>a)", "\\p{L}", "\\cA", "\\0",
+                "\\a", "\\xZ1", "a{", "a{1", "a{,1}", "a{2,1}", "]", "}", "*a", "a**", "a++", "a?+", "^*", "[a", "(a",
+                "a)", "[\\d-z]", "[z-a]", "[[a]]", "\\")) {
+            assertThat(pattern, LinearTimePattern.compile(pattern).isPresent(), is(false));
+        }
+    }
+
+    @Test
+    public void compile_returnsEmpty_whenPatternTooLarge() {
+        assertThat(LinearTimePattern.compile("(a{1000}){1000}").isPresent(), is(false));
+    }
+
+    @Test(timeout = 5000)
+    public void find_runsInLinearTime_forPathologicalPatterns() {
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            input.append('a');
+        }
+        input.append('!');
+
+        assertThat(LinearTimePattern.compile("^(a+)+$").get().find(input), is(false));
+        assertThat(LinearTimePattern.compile("^(a|aa)*b$").get().find(input), is(false));
+        assertThat(LinearTimePattern.compile("(a*)*!").get().find(input), is(true));
+    }
+}
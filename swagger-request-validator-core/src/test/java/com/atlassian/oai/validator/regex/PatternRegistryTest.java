@@ -0,0 +1,84 @@
+package com.atlassian.oai.validator.regex;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class PatternRegistryTest {
+
+    private final PatternRegistry classUnderTest = new PatternRegistry();
+
+    @Test
+    public void ecma262_usesLinearTimeEngine_whenSupported() {
+        final CompiledPattern pattern = classUnderTest.ecma262("^[a-z]+$");
+
+        assertThat(pattern.getEngine(), is(CompiledPattern.Engine.LINEAR_TIME));
+        assertThat(pattern.find("abc"), is(true));
+        assertThat(pattern.find("ab1"), is(false));
+    }
+
+    @Test
+    public void ecma262_fallsBackToEcmaScriptEngine_whenNotSupported() {
+        final CompiledPattern pattern = classUnderTest.ecma262("^(a)\\1$");
+
+        assertThat(pattern.getEngine(), is(CompiledPattern.Engine.ECMA_SCRIPT));
+        assertThat(pattern.find("aa"), is(true));
+        assertThat(pattern.find("ab"), is(false));
+    }
+
+    @Test
+    public void java_usesJavaEngine() {
+        final CompiledPattern pattern = classUnderTest.java("^ABC", Pattern.CASE_INSENSITIVE);
+
+        assertThat(pattern.getEngine(), is(CompiledPattern.Engine.JAVA));
+        assertThat(pattern.find("abcd"), is(true));
+        assertThat(classUnderTest.java("^ABC", 0).find("abcd"), is(false));
+    }
+
+    @Test
+    public void patternsAreCompiledOnce() {
+        assertThat(classUnderTest.ecma262("a+"), sameInstance(classUnderTest.ecma262("a+")));
+        assertThat(classUnderTest.java("a+", 0), sameInstance(classUnderTest.java("a+", 0)));
+    }
+
+    @Test
+    public void patternsAreBounded() {
+        IntStream.range(0, PatternRegistry.MAX_PATTERNS + 10).forEach(i -> classUnderTest.ecma262("a{" + i + "}"));
+
+        assertThat(classUnderTest.getStatistics().size(), lessThanOrEqualTo(PatternRegistry.MAX_PATTERNS));
+    }
+
+    @Test
+    public void getStatistics_doesNotRecordUse_byDefault() {
+        final CompiledPattern pattern = classUnderTest.ecma262("b");
+        assertThat(pattern.find("abc"), is(true));
+
+        final PatternStatistics statistics = classUnderTest.getStatistics().get(0);
+        assertThat(statistics.getMatchCount(), is(0L));
+        assertThat(statistics.getTotalMatchTimeNanos(), is(0L));
+    }
+
+    @Test
+    public void getStatistics_recordsUse_whenEnabled() {
+        classUnderTest.setMatchStatisticsRecorded(true);
+        final CompiledPattern pattern = classUnderTest.ecma262("b");
+        pattern.find("abc");
+        pattern.find("xyz");
+
+        assertThat(classUnderTest.getStatistics(), hasSize(1));
+        final PatternStatistics statistics = classUnderTest.getStatistics().get(0);
+        assertThat(statistics.getPattern(), is("b"));
+        assertThat(statistics.getEngine(), is(CompiledPattern.Engine.LINEAR_TIME));
+        assertThat(statistics.getMatchCount(), is(2L));
+        assertThat(statistics.getCompileTimeNanos(), greaterThan(0L));
+        assertThat(statistics.getTotalMatchTimeNanos(), greaterThan(0L));
+    }
+}
@@ -70,4 +70,25 @@ public class LevelResolverTest {
         assertThat(resolver.getLevel("foo"), is(ValidationReport.Level.ERROR));
     }
 
+    @Test
+    public void getLevel_withKeyId_shouldReturnLevelForKey() {
+        assertThat(classUnderTest.getLevel(MessageKeys.id("a.b.c")), is(ValidationReport.Level.WARN));
+        assertThat(classUnderTest.getLevel(MessageKeys.id("a.b.c.d.e")), is(ValidationReport.Level.ERROR));
+        assertThat(classUnderTest.getLevel(MessageKeys.id("aa.bb.cc")), is(ValidationReport.Level.INFO));
+        assertThat(classUnderTest.getLevel(MessageKeys.id("a.b")), is(ValidationReport.Level.IGNORE));
+        assertThat(classUnderTest.getLevel(MessageKeys.NO_ID), is(ValidationReport.Level.IGNORE));
+    }
+
+    @Test
+    public void getLevel_shouldResolveLevelsPerResolver() {
+        final LevelResolver other = LevelResolver.create()
+                .withLoader(null)
+                .withLevel("a.b", ValidationReport.Level.INFO)
+                .build();
+
+        assertThat(classUnderTest.getLevel("a.b.x"), is(ValidationReport.Level.IGNORE));
+        assertThat(other.getLevel("a.b.x"), is(ValidationReport.Level.INFO));
+        assertThat(classUnderTest.getLevel("a.b.c.x"), is(ValidationReport.Level.WARN));
+        assertThat(other.getLevel("a.b.c.x"), is(ValidationReport.Level.INFO));
+    }
 }
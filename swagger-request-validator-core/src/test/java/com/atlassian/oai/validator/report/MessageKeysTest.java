@@ -0,0 +1,67 @@
+package com.atlassian.oai.validator.report;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class MessageKeysTest {
+
+    @Test
+    public void id_isStable_forKey() {
+        final int id = MessageKeys.id("validation.test.key");
+
+        assertThat(MessageKeys.id("validation.test.key"), is(id));
+        assertThat(MessageKeys.key(id), is("validation.test.key"));
+        assertThat(MessageKeys.id("validation.test.other"), not(is(id)));
+    }
+
+    @Test
+    public void id_returnsNoId_forEmptyKey() {
+        assertThat(MessageKeys.id(null), is(MessageKeys.NO_ID));
+        assertThat(MessageKeys.id(""), is(MessageKeys.NO_ID));
+    }
+
+    @Test
+    public void id_registersBundledKeys() {
+        final int size = MessageKeys.size();
+
+        MessageKeys.id("validation.request.body.missing");
+
+        assertThat(size, greaterThan(0));
+        assertThat(MessageKeys.size(), is(size));
+    }
+
+    @Test
+    public void parentId_returnsIdOfParentKey() {
+        final int id = MessageKeys.id("validation.test.parent.child");
+
+        assertThat(MessageKeys.parentId(id), is(MessageKeys.id("validation.test.parent")));
+        assertThat(MessageKeys.parentId(MessageKeys.id("validation")), is(MessageKeys.NO_ID));
+    }
+
+    @Test
+    public void caseInsensitiveId_isSameForKeysDifferingByCase() {
+        final int id = MessageKeys.caseInsensitiveId(MessageKeys.id("validation.test.Case"));
+
+        assertThat(MessageKeys.caseInsensitiveId(MessageKeys.id("VALIDATION.TEST.CASE")), is(id));
+        assertThat(MessageKeys.caseInsensitiveId(MessageKeys.id("validation.test.case")), is(id));
+        assertThat(MessageKeys.caseInsensitiveId(MessageKeys.id("validation.test.cases")), not(is(id)));
+    }
+
+    @Test
+    public void idOf_returnsIdOfMessageKey() {
+        final ValidationReport.Message message = ValidationReport.Message.create("validation.test.message", "A message").build();
+
+        assertThat(MessageKeys.idOf(message), is(MessageKeys.id("validation.test.message")));
+        assertThat(MessageKeys.idOf(new MessageResolver().get("validation.request.body.missing")),
+                is(MessageKeys.id("validation.request.body.missing")));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void key_throws_whenNoKeyWithId() {
+        MessageKeys.key(MessageKeys.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.atlassian.oai.validator.report;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IllegalFormatConversionException;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+import java.util.ResourceBundle;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MessagePatternTest {
+
+    @Test
+    public void format_matchesStringFormat_forSimpleConversions() {
+        assertFormat("Value '%s' is not allowed", "foo");
+        assertFormat("Value '%s' is not allowed", (Object) null);
+        assertFormat("%s", "foo");
+        assertFormat("%s%s", "foo", "bar");
+        assertFormat("No conversions");
+        assertFormat("");
+        assertFormat("Status %d for '%s'.", 404, "/path");
+        assertFormat("%d", 1L);
+        assertFormat("%d", BigInteger.TEN);
+        assertFormat("%d", (Object) null);
+        assertFormat("Allowed [%b].", true);
+        assertFormat("Allowed [%b].", "x");
+        assertFormat("Allowed [%b].", (Object) null);
+        assertFormat("%s", Arrays.asList("a", "b"));
+        assertFormat("Extra args %s", "a", "b");
+        assertFormat("100%% of %s%n", "it");
+    }
+
+    @Test
+    public void format_matchesStringFormat_forOtherConversions() {
+        assertFormat("%5s|%-3d|%2$s", "a", 1);
+        assertFormat("%.2f", 1.234);
+        assertFormat("%x", 255);
+    }
+
+    @Test(expected = IllegalFormatConversionException.class)
+    public void format_throws_whenArgOfUnexpectedType() {
+        MessagePattern.parse("%d").format(new BigDecimal("1.5"));
+    }
+
+    @Test(expected = MissingFormatArgumentException.class)
+    public void format_throws_whenArgsMissing() {
+        MessagePattern.parse("%s and %s").format("a");
+    }
+
+    @Test
+    public void format_matchesStringFormat_forAllBundledMessages() {
+        final ResourceBundle bundle = ResourceBundle.getBundle("swagger/validation/messages");
+        for (final String key : bundle.keySet()) {
+            final String pattern = bundle.getString(key);
+            final Matcher conversions = Pattern.compile("%([sdb])").matcher(pattern);
+            final List<Object> args = new ArrayList<>();
+            while (conversions.find()) {
+                args.add(conversions.group(1).equals("s") ? "arg" + args.size() : conversions.group(1).equals("d") ? args.size() : true);
+            }
+            assertFormat(pattern, args.toArray());
+        }
+    }
+
+    private static void assertFormat(final String pattern, final Object... args) {
+        assertThat(pattern, MessagePattern.parse(pattern).format(args), is(String.format(pattern, args)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.atlassian.oai.validator.report;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class MessageResolverTest {
+
+    private final MessageResolver classUnderTest = new MessageResolver(LevelResolver.create()
+            .withLevel("validation.request.body.missing", ValidationReport.Level.WARN)
+            .build());
+
+    @Test
+    public void get_returnsMessageWithResolvedLevel() {
+        final ValidationReport.Message message = classUnderTest.get("validation.request.body.missing");
+
+        assertThat(message.getKey(), is("validation.request.body.missing"));
+        assertThat(message.getLevel(), is(ValidationReport.Level.WARN));
+        assertThat(message.getMessage(), is("A request body is required but none found."));
+    }
+
+    @Test
+    public void get_returnsNull_whenKeyUnknown() {
+        assertThat(classUnderTest.get("validation.unknown.key"), nullValue());
+    }
+
+    @Test
+    public void get_formatsMessageOnce_whenFirstUsed() {
+        final AtomicInteger formatted = new AtomicInteger();
+        final Object arg = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "/users";
+            }
+        };
+
+        final ValidationReport.Message message = classUnderTest.get("validation.request.path.missing", arg);
+        assertThat(formatted.get(), is(0));
+
+        assertThat(message.getMessage(), is("No API path found that matches request '/users'."));
+        assertThat(message.withLevel(ValidationReport.Level.IGNORE).getMessage(), is(message.getMessage()));
+        assertThat(formatted.get(), is(1));
+    }
+
+    @Test
+    public void get_formatsMessageWithArgumentsAsGiven() {
+        final Object[] args = {"/users"};
+
+        final ValidationReport.Message message = classUnderTest.get("validation.request.path.missing", args);
+        args[0] = "/users/1";
+
+        assertThat(message.getMessage(), is("No API path found that matches request '/users'."));
+    }
+}
@@ -0,0 +1,112 @@
+package com.atlassian.oai.validator.report;
+
+import com.atlassian.oai.validator.report.ValidationReport.MessageContext;
+import org.junit.Test;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.atlassian.oai.validator.report.ValidationReport.MessageContext.Location.REQUEST;
+import static com.atlassian.oai.validator.util.ParameterGenerator.stringParam;
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class ValidationReportAccumulatorTest {
+
+    private static final ValidationReport.Message ERROR_MSG = new ImmutableMessage("foo", ValidationReport.Level.ERROR, "A message");
+    private static final ValidationReport.Message WARN_MSG = new ImmutableMessage("bar", ValidationReport.Level.WARN, "A message");
+
+    private final ValidationReportAccumulator classUnderTest = new ValidationReportAccumulator();
+
+    @Test
+    public void toReport_returnsEmptyReport_whenNothingAdded() {
+        classUnderTest.add(ValidationReport.empty()).add(ValidationReport.from()).add((ValidationReport.Message) null);
+
+        assertTrue(classUnderTest.isEmpty());
+        assertThat(classUnderTest.toReport(), sameInstance(ValidationReport.empty()));
+    }
+
+    @Test
+    public void toReport_returnsMessagesInOrderAdded() {
+        classUnderTest
+                .add(ValidationReport.singleton(WARN_MSG))
+                .add(ERROR_MSG)
+                .add(ValidationReport.empty().merge(ValidationReport.singleton(WARN_MSG)));
+
+        final ValidationReport report = classUnderTest.toReport();
+
+        assertThat(report.getMessages(), contains(WARN_MSG, ERROR_MSG, WARN_MSG));
+        assertThat(report.hasErrors(), is(true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void withContext_doesNotBuildContext_whenNoMessagesSinceMark() {
+        final Supplier<MessageContext> context = mock(Supplier.class);
+
+        classUnderTest.add(ERROR_MSG);
+        classUnderTest.withContext(classUnderTest.mark(), context);
+
+        verifyNoInteractions(context);
+        assertThat(classUnderTest.toReport().getMessages().get(0).getContext(), emptyOptional());
+    }
+
+    @Test
+    public void withContext_appliesContextToMessagesSinceMark() {
+        classUnderTest.add(WARN_MSG);
+        final int mark = classUnderTest.mark();
+        classUnderTest.add(ERROR_MSG);
+
+        classUnderTest
+                .withContext(mark, () -> MessageContext.create().withParameter(stringParam()).build())
+                .withContext(0, () -> MessageContext.create().in(REQUEST).build());
+
+        final ValidationReport report = classUnderTest.toReport();
+        assertThat(report.getMessages().get(0).getContext().get().getParameter(), emptyOptional());
+        assertThat(report.getMessages().get(0).getContext().get().getLocation(), optionalWithValue(is(REQUEST)));
+        assertThat(report.getMessages().get(1).getContext().get().getParameter(), optionalWithValue(is(stringParam())));
+        assertThat(report.getMessages().get(1).getContext().get().getLocation(), optionalWithValue(is(REQUEST)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void withContext_returnsReportAsIs_whenReportEmpty() {
+        final Supplier<MessageContext> context = mock(Supplier.class);
+        final ValidationReport report = ValidationReport.empty();
+
+        assertThat(ValidationReportAccumulator.withContext(report, context), sameInstance(report));
+        verifyNoInteractions(context);
+    }
+
+    @Test
+    public void addUntilFailure_stopsAfterFirstFailure_testingMessagesWithContext() {
+        final Consumer<ValidationReportAccumulator> notRun = r -> {
+            throw new AssertionError("Step should not be run");
+        };
+
+        classUnderTest.addUntilFailure(
+                report -> report.getMessages().stream().anyMatch(m -> m.getContext().flatMap(MessageContext::getLocation).isPresent()),
+                () -> MessageContext.create().in(REQUEST).build(),
+                r -> r.add(ValidationReport.empty()),
+                r -> r.add(WARN_MSG).add(ERROR_MSG),
+                notRun);
+
+        final ValidationReport report = classUnderTest.toReport();
+        assertThat(report.getMessages(), contains(WARN_MSG, ERROR_MSG));
+    }
+
+    @Test
+    public void merge_returnsNonEmptyReport_whenOtherEmpty() {
+        final ValidationReport report = ValidationReport.singleton(ERROR_MSG);
+
+        assertThat(report.merge(ValidationReport.empty()), sameInstance(report));
+        assertThat(ValidationReport.empty().merge(report), sameInstance(report));
+    }
+}
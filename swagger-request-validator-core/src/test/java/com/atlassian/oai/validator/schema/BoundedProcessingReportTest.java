@@ -0,0 +1,87 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+public class BoundedProcessingReportTest {
+
+    private final ProcessingMessageConverter messageConverter = new ProcessingMessageConverter(new MessageResolver());
+
+    @Test
+    public void keepsFirstMessagesOfEachViolation_andSamplesTheRest() throws ProcessingException {
+        final ProcessingReport report = newReport(0, 1);
+
+        for (int i = 0; i < 4; i++) {
+            report.error(message("type", "/items/properties/id", "/" + i + "/id"));
+        }
+        report.error(message("minLength", "/items/properties/name", "/0/name"));
+
+        assertThat(Lists.newArrayList(report), hasSize(2));
+        final ValidationReport validationReport = toValidationReport(report);
+        assertThat(validationReport.getMessages(), hasSize(2));
+        assertThat(validationReport.getMessages().get(0).getAdditionalInfo(),
+                contains("Repeated 3 more times, at /1/id, /2/id, /3/id"));
+        assertThat(validationReport.getMessages().get(1).getAdditionalInfo(), is(empty()));
+    }
+
+    @Test
+    public void dropsAllMessages_onceMaxMessagesKept() throws ProcessingException {
+        final ProcessingReport report = newReport(2, 0);
+
+        for (int i = 0; i < 10; i++) {
+            report.error(message("type", "/items/properties/id", "/" + i + "/id"));
+        }
+
+        assertThat(report.isSuccess(), is(false));
+        assertThat(Lists.newArrayList(report), hasSize(2));
+        final ValidationReport validationReport = toValidationReport(report);
+        assertThat(validationReport.getMessages(), hasSize(2));
+        assertThat(validationReport.getMessages().get(1).getAdditionalInfo(),
+                contains("Further messages omitted (at most 2 messages are reported)"));
+    }
+
+    @Test
+    public void providesReportsAtTheGivenLevels() {
+        final ProcessingReport report = BoundedProcessingReport
+                .provider(LogLevel.WARNING, LogLevel.NONE, messageConverter, 1, 1)
+                .newReport();
+
+        assertThat(report, instanceOf(BoundedProcessingReport.class));
+        assertThat(report.getLogLevel(), is(LogLevel.WARNING));
+        assertThat(report.getExceptionThreshold(), is(LogLevel.NONE));
+    }
+
+    private ProcessingReport newReport(final int maxMessages, final int maxMessagesPerPointer) {
+        return BoundedProcessingReport
+                .provider(LogLevel.ERROR, LogLevel.FATAL, messageConverter, maxMessages, maxMessagesPerPointer)
+                .newReport();
+    }
+
+    private ValidationReport toValidationReport(final ProcessingReport report) {
+        return ((BoundedProcessingReport) report)
+                .toValidationReport(pm -> messageConverter.toValidationReportMessage(pm, null, "prefix"));
+    }
+
+    private static ProcessingMessage message(final String keyword, final String schemaPointer, final String instancePointer) {
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+        return new ProcessingMessage()
+                .setMessage("invalid")
+                .put("keyword", keyword)
+                .put("schema", factory.objectNode().put("loadingURI", "#").put("pointer", schemaPointer))
+                .put("instance", factory.objectNode().put("pointer", instancePointer));
+    }
+}
@@ -0,0 +1,142 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class PrimitiveSchemaValidatorTest {
+
+    private final SchemaValidator engine = new SchemaValidator(new OpenAPI(), new MessageResolver());
+
+    @Test
+    public void compile_returnsEmpty_forUnsupportedSchemas() {
+        assertUnsupported(new DateTimeSchema());
+        assertUnsupported(new StringSchema().format("email"));
+        assertUnsupported(new NumberSchema().format("float"));
+        assertUnsupported(new Schema<>().$ref("#/components/schemas/Foo"));
+        assertUnsupported(new ComposedSchema().addAllOfItem(new StringSchema()));
+        assertUnsupported(new StringSchema().not(new StringSchema().minLength(1)));
+        assertUnsupported(new StringSchema().extensions(singletonMap("x-custom", true)));
+        assertUnsupported(new StringSchema().pattern("\\p{L}+"));
+        assertUnsupported(new StringSchema().pattern("(?<=a)b"));
+        assertUnsupported(new StringSchema().pattern("[[a-z]&&[^b]]"));
+        assertUnsupported(new StringSchema().pattern("a++"));
+        assertUnsupported(new StringSchema().pattern("(a)\\1"));
+        assertUnsupported(new StringSchema().pattern("[]a]"));
+    }
+
+    @Test
+    public void isValid_matchesEngine_forStrings() {
+        final List<String> values = asList("", "a", "abc", "ABC", "abcdefghijk", "null", "NULL", "a\nb", "\uD83D\uDE00", "1234", "a-b");
+
+        assertMatchesEngine(new StringSchema(), values);
+        assertMatchesEngine(new StringSchema().minLength(2).maxLength(5), values);
+        assertMatchesEngine(new StringSchema().maxLength(1), values);
+        assertMatchesEngine(new StringSchema()._enum(asList("a", "abc", "null")), values);
+        assertMatchesEngine(new StringSchema().pattern("^[a-z]+$"), values);
+        assertMatchesEngine(new StringSchema().pattern("b"), values);
+        assertMatchesEngine(new StringSchema().pattern("^\\d{2,4}$"), values);
+        assertMatchesEngine(new StringSchema().pattern("^(?:[a-z]|\\-)+$").minLength(1), values);
+        assertMatchesEngine(new StringSchema().pattern("^.$"), values);
+        assertMatchesEngine(new StringSchema().pattern("^\\S+$"), values);
+        assertMatchesEngine(new StringSchema().pattern("(a|ab)+c?$"), values);
+    }
+
+    @Test
+    public void isValid_matchesEngine_forIntegers() {
+        final List<String> values = asList("0", "-0", "1", "-1", "01", "+1", " 1", "1.0", "1e2", "10", "11", "100",
+                "2147483647", "2147483648", "-2147483649", "9223372036854775808", "a", "", "null");
+
+        assertMatchesEngine(new IntegerSchema(), values);
+        assertMatchesEngine(new IntegerSchema().format("int64"), values);
+        assertMatchesEngine(new IntegerSchema().minimum(BigDecimal.ZERO).maximum(BigDecimal.TEN), values);
+        assertMatchesEngine(new IntegerSchema().minimum(BigDecimal.ONE).exclusiveMinimum(true)
+                .maximum(BigDecimal.TEN).exclusiveMaximum(true), values);
+        assertMatchesEngine(new IntegerSchema().multipleOf(BigDecimal.TEN), values);
+        assertMatchesEngine(new IntegerSchema()._enum(asList(1, 10, 100)), values);
+    }
+
+    @Test
+    public void isValid_matchesEngine_forNumbers() {
+        final List<String> values = asList("0", "1", "-1", "1.0", "1.5", "0.1", "0.3", "1e2", "1E-2", "1e400", ".5", "1.",
+                "NaN", "Infinity", "10.0000000000000000001", "a", "null");
+
+        assertMatchesEngine(new NumberSchema(), values);
+        assertMatchesEngine(new NumberSchema().minimum(BigDecimal.ZERO).maximum(BigDecimal.TEN), values);
+        assertMatchesEngine(new NumberSchema().minimum(BigDecimal.ONE).exclusiveMinimum(true), values);
+        assertMatchesEngine(new NumberSchema().maximum(BigDecimal.TEN).exclusiveMaximum(true), values);
+        assertMatchesEngine(new NumberSchema().multipleOf(new BigDecimal("0.5")), values);
+        assertMatchesEngine(new NumberSchema()._enum(asList(new BigDecimal("1"), new BigDecimal("1.5"))), values);
+    }
+
+    @Test
+    public void isValid_matchesEngine_forBooleans() {
+        assertMatchesEngine(new BooleanSchema(), asList("true", "false", "TRUE", "False", "1", "0", "yes", "", "null"));
+    }
+
+    private void assertUnsupported(final Schema<?> schema) {
+        assertThat(schema.toString(), PrimitiveSchemaValidator.compile(schema).isPresent(), is(false));
+    }
+
+    /**
+     * The native validator may defer to the engine for valid values, but must never accept a value the engine rejects.
+     * For the simple cases here it should also accept every value the engine accepts.
+     */
+    private void assertMatchesEngine(final Schema<?> schema, final List<String> values) {
+        final PrimitiveSchemaValidator classUnderTest = PrimitiveSchemaValidator.compile(schema).get();
+        for (final String value : values) {
+            final boolean engineValid = !engine.validate(() -> toJson(value, schema), schema, "prefix").hasErrors();
+            final boolean nativeValid = classUnderTest.isValid(value);
+            if (nativeValid || !isDeferredToEngine(value)) {
+                assertThat(schema + " '" + value + "'", nativeValid, is(engineValid));
+            }
+        }
+    }
+
+    /**
+     * Values the native validator deliberately leaves to the engine, regardless of whether they are valid.
+     */
+    private static boolean isDeferredToEngine(final String value) {
+        return "null".equalsIgnoreCase(value) ||
+                asList(" 1", "1e400", "\uD83D\uDE00", "a\nb").contains(value);
+    }
+
+    /**
+     * Convert the raw value to JSON as per {@link SchemaValidator#validate(String, Schema, String)}
+     */
+    private static JsonNode toJson(final String value, final Schema<?> schema) throws IOException {
+        if ("null".equalsIgnoreCase(value)) {
+            return Json.mapper().readTree("null");
+        }
+        if ("string".equals(schema.getType())) {
+            return new TextNode(value);
+        }
+        if (!"boolean".equals(schema.getType())) {
+            try {
+                Double.parseDouble(value);
+            } catch (final NumberFormatException e) {
+                return new TextNode(value);
+            }
+        }
+        return Json.mapper().readTree(value);
+    }
+}
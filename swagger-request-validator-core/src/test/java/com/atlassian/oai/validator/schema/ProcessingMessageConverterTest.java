@@ -5,6 +5,7 @@ import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.ValidationReport.Message;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
 import io.swagger.util.Json;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -48,6 +49,19 @@ public class ProcessingMessageConverterTest {
         JSONAssert.assertEquals(actual, expected, actual, true);
     }
 
+    @Test
+    public void run_fromProcessingMessage() throws Exception {
+        final TestCase testCase = load(testCaseFile);
+        final ProcessingMessage pm = new ProcessingMessage();
+        testCase.input.fields().forEachRemaining(field -> pm.put(field.getKey(), field.getValue()));
+
+        final Message message = classUnderTest.toValidationReportMessage(pm, null, "prefix");
+
+        final String expected = testCase.expected.toPrettyString();
+        final String actual = JsonValidationReportFormat.getInstance().apply(message);
+        JSONAssert.assertEquals(actual, expected, actual, true);
+    }
+
     private static TestCase load(final String name) throws Exception {
         final JsonNode testCase = JsonLoader.fromResource("/schema/messages/" + name + ".json");
         return Json.mapper().treeToValue(testCase, TestCase.class);
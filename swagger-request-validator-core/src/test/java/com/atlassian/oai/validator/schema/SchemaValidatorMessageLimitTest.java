@@ -0,0 +1,144 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+public class SchemaValidatorMessageLimitTest {
+
+    private static final String INVALID_ID = "{\"id\": \"a\"}";
+    private static final String INVALID_NAME = "{\"id\": 1, \"name\": \"\"}";
+
+    private final OpenAPI api = new OpenAPI().components(new Components()
+            .addSchemas("User", new ObjectSchema()
+                    .required(singletonList("id"))
+                    .addProperty("id", new IntegerSchema())
+                    .addProperty("name", new StringSchema().minLength(1)))
+            .addSchemas("Users", new ArraySchema()
+                    .items(new Schema<>().$ref("#/components/schemas/User"))));
+
+    private final Schema<?> usersSchema = new Schema<>().$ref("#/components/schemas/Users");
+
+    @Test
+    public void validate_reportsAllMessages_byDefault() {
+        final ValidationReport report = validate(new ValidationConfiguration(), array(INVALID_ID, 10));
+
+        assertThat(report.getMessages(), hasSize(10));
+        report.getMessages().forEach(message -> assertThat(message.getAdditionalInfo(), is(empty())));
+    }
+
+    @Test
+    public void validate_collapsesRepeatedViolations_whenMaxMessagesPerPointerSet() {
+        final ValidationReport report = validate(
+                new ValidationConfiguration().setMaxSchemaMessagesPerPointer(1),
+                array(INVALID_ID, 10));
+
+        assertThat(report.getMessages(), hasSize(1));
+        assertThat(report.getMessages().get(0).getKey(), is("validation.prefix.schema.type"));
+        assertThat(report.getMessages().get(0).getAdditionalInfo(),
+                contains("Repeated 9 more times, at /1/id, /2/id, /3/id, /4/id, /5/id, ..."));
+    }
+
+    @Test
+    public void validate_reportsEachViolationUpToMax_whenMaxMessagesPerPointerSet() {
+        final ValidationReport report = validate(
+                new ValidationConfiguration().setMaxSchemaMessagesPerPointer(2),
+                "[" + INVALID_ID + "," + INVALID_NAME + "," + INVALID_ID + "," + INVALID_ID + "]");
+
+        assertThat(report.getMessages().stream().map(ValidationReport.Message::getKey).collect(toList()), contains(
+                "validation.prefix.schema.type", "validation.prefix.schema.minLength", "validation.prefix.schema.type"));
+        assertThat(report.getMessages().get(0).getAdditionalInfo(), is(empty()));
+        assertThat(report.getMessages().get(1).getAdditionalInfo(), is(empty()));
+        assertThat(report.getMessages().get(2).getAdditionalInfo(), contains("Repeated 1 more time, at /3/id"));
+    }
+
+    @Test
+    public void validate_stopsCollecting_whenMaxMessagesReached() {
+        final ValidationReport report = validate(
+                new ValidationConfiguration().setMaxSchemaMessages(3),
+                array(INVALID_ID, 10));
+
+        assertThat(report.getMessages(), hasSize(3));
+        assertThat(report.getMessages().get(2).getAdditionalInfo(),
+                contains("Further messages omitted (at most 3 messages are reported)"));
+    }
+
+    @Test
+    public void validate_doesNotNoteOmission_whenMaxMessagesNotExceeded() {
+        final ValidationReport report = validate(
+                new ValidationConfiguration().setMaxSchemaMessages(3),
+                array(INVALID_ID, 3));
+
+        assertThat(report.getMessages(), hasSize(3));
+        report.getMessages().forEach(message -> assertThat(message.getAdditionalInfo(), is(empty())));
+    }
+
+    @Test
+    public void validate_usesTheConfigurationOfTheSchemaFactory_whenMessagesLimited() {
+        final ValidationReport report = new SchemaValidator(
+                api, new MessageResolver(), SwaggerV20Library::schemaFactory, new ValidationConfiguration().setMaxSchemaMessages(3))
+                .validate("\"2020-1-5\"", new StringSchema().format("date"), "prefix");
+
+        assertThat(report.getMessages(), hasSize(1));
+        assertThat(report.getMessages().get(0).getKey(), is("validation.prefix.schema.format.date"));
+    }
+
+    @Test
+    public void validate_usesTheConfigurationOfTheSchemaFactoryBuilder_whenMessagesLimited() {
+        final ValidationConfiguration validationConfiguration = new ValidationConfiguration().setMaxSchemaMessages(3);
+        final MessageResolver messages = new MessageResolver();
+        final ValidationReport report = new SchemaValidator(api, messages,
+                new JsonSchemaFactoryEngine(SwaggerV20Library.schemaFactoryBuilder(), messages, validationConfiguration),
+                validationConfiguration)
+                .validate("\"2020-1-5\"", new StringSchema().format("date"), "prefix");
+
+        assertThat(report.getMessages(), hasSize(1));
+        assertThat(report.getMessages().get(0).getKey(), is("validation.prefix.schema.format.date"));
+    }
+
+    /**
+     * Validates with an engine that bounds messages as they are logged, and checks that an engine given a factory,
+     * which bounds them once the value is validated, reports the same.
+     */
+    private ValidationReport validate(final ValidationConfiguration validationConfiguration, final String body) {
+        final MessageResolver messages = new MessageResolver();
+        final ValidationReport report = new SchemaValidator(api, messages,
+                new JsonSchemaFactoryEngine(SwaggerV20Library.schemaFactoryBuilder(), messages, validationConfiguration),
+                validationConfiguration)
+                .validate(body, usersSchema, "prefix");
+        final ValidationReport boundedAfterValidation =
+                new SchemaValidator(api, messages, SwaggerV20Library::schemaFactory, validationConfiguration)
+                        .validate(body, usersSchema, "prefix");
+
+        assertThat(describe(boundedAfterValidation), is(describe(report)));
+        return report;
+    }
+
+    private static String describe(final ValidationReport report) {
+        return report.getMessages().stream()
+                .map(message -> message.getKey() + " " + message.getMessage() + " " + message.getAdditionalInfo())
+                .collect(joining("\n"));
+    }
+
+    private static String array(final String item, final int count) {
+        return "[" + String.join(",", Collections.nCopies(count, item)) + "]";
+    }
+}
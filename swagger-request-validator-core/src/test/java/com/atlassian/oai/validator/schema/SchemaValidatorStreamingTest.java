@@ -0,0 +1,188 @@
+package com.atlassian.oai.validator.schema;
+
+import com.atlassian.oai.validator.model.Body;
+import com.atlassian.oai.validator.model.InputStreamBody;
+import com.atlassian.oai.validator.model.StringBody;
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.atlassian.oai.validator.util.ValidatorTestUtil.assertFailWithoutContext;
+import static com.atlassian.oai.validator.util.ValidatorTestUtil.assertPass;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+
+public class SchemaValidatorStreamingTest {
+
+    private static final String VALID_ITEM = "{\"id\": 1, \"name\": \"Bob\"}";
+
+    private final OpenAPI api = new OpenAPI().components(new Components()
+            .addSchemas("User", new ObjectSchema()
+                    .required(singletonList("id"))
+                    .addProperty("id", new IntegerSchema())
+                    .addProperty("name", new StringSchema().minLength(1)))
+            .addSchemas("Users", new ArraySchema()
+                    .items(new Schema<>().$ref("#/components/schemas/User"))
+                    .minItems(1)
+                    .maxItems(3)));
+
+    private final Schema<?> usersSchema = new Schema<>().$ref("#/components/schemas/Users");
+
+    private final SchemaValidator inMemory = validator(new ValidationConfiguration());
+    private final SchemaValidator streaming = validator(new ValidationConfiguration().setBodyStreamingThreshold(1));
+
+    @Test
+    public void validate_passes_whenAllItemsValid() {
+        assertSameResult(array(VALID_ITEM, VALID_ITEM, "{\"id\": 2}"));
+        assertPass(streaming.validate(body(array(VALID_ITEM, VALID_ITEM)), usersSchema, "prefix"));
+    }
+
+    @Test
+    public void validate_fails_withSameMessages_whenItemsInvalid() {
+        final String body = array(VALID_ITEM, "{\"name\": \"\"}", "{\"id\": \"a\"}");
+
+        assertSameResult(body);
+        assertFailWithoutContext(streaming.validate(body(body), usersSchema, "prefix"),
+                "validation.prefix.schema.required", "validation.prefix.schema.minLength", "validation.prefix.schema.type");
+    }
+
+    @Test
+    public void validate_fails_withSameMessages_whenItemCountOutOfBounds() {
+        assertSameResult(array());
+        assertSameResult(array(VALID_ITEM, VALID_ITEM, VALID_ITEM, VALID_ITEM));
+        assertFailWithoutContext(streaming.validate(body(array()), usersSchema, "prefix"),
+                "validation.prefix.schema.minItems");
+    }
+
+    @Test
+    public void validate_fails_withSameMessages_whenItemsInvalid_andItemCountOutOfBounds() {
+        assertSameResult(array(VALID_ITEM, "{\"name\": \"\"}", VALID_ITEM, "{\"id\": \"a\"}"));
+    }
+
+    @Test
+    public void validate_fails_withSameMessages_whenInlineItemSchemaInvalid() {
+        final Schema<?> schema = new ArraySchema()
+                .items(new ComposedSchema()
+                        .addOneOfItem(new IntegerSchema())
+                        .addOneOfItem(new ObjectSchema().addProperty("name", new StringSchema().minLength(1))))
+                .maxItems(2);
+        final String body = array("1", "{\"name\": \"\"}", "\"a\"");
+
+        assertSameResult(inMemory, streaming, schema, body);
+        assertFailWithoutContext(streaming.validate(body(body), schema, "prefix"),
+                "validation.prefix.schema.maxItems", "validation.prefix.schema.oneOf", "validation.prefix.schema.oneOf");
+    }
+
+    @Test
+    public void validate_fails_withSameMessages_whenFailFast() {
+        final SchemaValidator expected = validator(new ValidationConfiguration().setFailFast(true));
+        final SchemaValidator classUnderTest = validator(
+                new ValidationConfiguration().setBodyStreamingThreshold(1).setFailFast(true));
+
+        assertSameResult(expected, classUnderTest, usersSchema, array(VALID_ITEM, "{\"name\": \"\"}", "{\"id\": \"a\"}"));
+        assertSameResult(expected, classUnderTest, usersSchema, array(VALID_ITEM, VALID_ITEM, VALID_ITEM, "{\"id\": \"a\"}"));
+    }
+
+    @Test
+    public void validate_boundsMessages_acrossItems() {
+        final SchemaValidator classUnderTest = validator(
+                new ValidationConfiguration().setBodyStreamingThreshold(1).setMaxSchemaMessages(2));
+
+        final ValidationReport report = classUnderTest.validate(
+                body(array("{\"id\": \"a\"}", "{\"id\": \"b\"}", "{\"id\": \"c\"}")), usersSchema, "prefix");
+
+        assertThat(report.getMessages().size(), is(2));
+        assertThat(report.getMessages().get(1).getAdditionalInfo(),
+                hasItem("Further messages omitted (at most 2 messages are reported)"));
+    }
+
+    @Test
+    public void validate_fails_withSameMessages_whenBodyIsNotAnArray() {
+        assertSameResult(VALID_ITEM);
+        assertSameResult("null");
+        assertSameResult("1");
+    }
+
+    @Test
+    public void validate_fails_withInvalidJson_whenArrayIncomplete() {
+        assertFailWithoutContext(streaming.validate(body("[" + VALID_ITEM + ","), usersSchema, "prefix"),
+                "validation.prefix.schema.invalidJson");
+        assertFailWithoutContext(streaming.validate(body("[" + VALID_ITEM), usersSchema, "prefix"),
+                "validation.prefix.schema.invalidJson");
+    }
+
+    @Test
+    public void validate_streamsBodiesOfUnknownLength() {
+        final String body = array(VALID_ITEM, "{\"id\": \"a\"}");
+
+        assertFailWithoutContext(streaming.validate(inputStream(body), usersSchema, "prefix"),
+                "validation.prefix.schema.type");
+        assertPass(streaming.validate(inputStream(array(VALID_ITEM)), usersSchema, "prefix"));
+    }
+
+    @Test
+    public void validate_doesNotStream_bodiesBelowThreshold() {
+        final SchemaValidator classUnderTest = validator(new ValidationConfiguration().setBodyStreamingThreshold(1024));
+
+        assertSameResult(classUnderTest, array(VALID_ITEM, "{\"id\": \"a\"}"));
+        assertPass(classUnderTest.validate(body(array(VALID_ITEM)), usersSchema, "prefix"));
+    }
+
+    private void assertSameResult(final String body) {
+        assertSameResult(streaming, body);
+    }
+
+    private void assertSameResult(final SchemaValidator classUnderTest, final String body) {
+        assertSameResult(inMemory, classUnderTest, usersSchema, body);
+    }
+
+    private static void assertSameResult(final SchemaValidator inMemory,
+                                         final SchemaValidator classUnderTest,
+                                         final Schema<?> schema,
+                                         final String body) {
+        final ValidationReport expected = inMemory.validate(body(body)::toJsonNode, schema, "prefix");
+        final ValidationReport actual = classUnderTest.validate(body(body), schema, "prefix");
+
+        assertThat(body, describe(actual), is(describe(expected)));
+    }
+
+    private static String describe(final ValidationReport report) {
+        return report.getMessages().stream()
+                .map(message -> message.getMessage() + " " + message.getAdditionalInfo() + " " + message.getNestedMessages() + " " +
+                        message.getContext()
+                                .flatMap(ValidationReport.MessageContext::getPointers)
+                                .map(pointers -> pointers.getInstance() + " " + pointers.getSchema())
+                                .orElse(""))
+                .collect(joining("\n"));
+    }
+
+    private SchemaValidator validator(final ValidationConfiguration validationConfiguration) {
+        return new SchemaValidator(api, new MessageResolver(), SwaggerV20Library::schemaFactory, validationConfiguration);
+    }
+
+    private static Body body(final String body) {
+        return new StringBody(body, StandardCharsets.UTF_8);
+    }
+
+    private static Body inputStream(final String body) {
+        return new InputStreamBody(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String array(final String... items) {
+        return "[" + String.join(",", items) + "]";
+    }
+}
@@ -5,8 +5,11 @@ import com.atlassian.oai.validator.report.LevelResolver;
 import com.atlassian.oai.validator.report.MessageResolver;
 import com.atlassian.oai.validator.report.SimpleValidationReportFormat;
 import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.util.ValidatorTestUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import io.swagger.parser.OpenAPIParser;
@@ -26,7 +29,9 @@ import org.junit.Test;
 import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static com.atlassian.oai.validator.schema.SchemaValidator.ADDITIONAL_PROPERTIES_KEY;
 import static com.atlassian.oai.validator.util.ValidatorTestUtil.assertFailWithoutContext;
@@ -240,6 +245,22 @@ public class SchemaValidatorTest {
                 "validation.prefix.schema.additionalProperties");
     }
 
+    @Test
+    public void validate_withExtraFields_shouldPass_whenAdditionalPropertiesIgnoredForRequestBody() {
+        final SchemaValidator classUnderTest = new SchemaValidator(
+                new OpenAPIParser().readLocation("/oai/v2/api-users.json", null, new ParseOptions()).getOpenAPI(),
+                new MessageResolver(LevelResolver.create()
+                        .withLevel("validation.request.body.schema.additionalProperties", ValidationReport.Level.IGNORE)
+                        .build())
+        );
+        final String value = "{\"title\":\"bar\", \"message\":\"something\", \"extra\":\"value\"}";
+        final Schema schema = new Schema().$ref("#/components/schemas/Error");
+
+        assertPass(classUnderTest.validate(value, schema, "request.body"));
+        assertFailWithoutContext(classUnderTest.validate(value, schema, "response.body"),
+                "validation.response.body.schema.additionalProperties");
+    }
+
     @Test
     public void validate_withExtraFields_shouldFail_whenModelInlineInArray() {
         final String value = "{\"things\": [{\"foo\":\"bar\", \"extra\":\"value\"}]}";
@@ -527,6 +548,19 @@ public class SchemaValidatorTest {
         assertPass(classUnderTest.validate(value, schema, "prefix"));
     }
 
+    @Test
+    public void validate_withDiscriminator_shouldPass_whenInvokedConcurrently() {
+
+        final SchemaValidator classUnderTest = validatorWithAdditionalPropertiesIgnored("/oai/v2/api-discriminator.yaml");
+        final Schema catSchema = new Schema().$ref("#/components/schemas/Cat");
+        final Schema petSchema = new Schema().$ref("#/components/schemas/Pet");
+        final String value = "{\"name\": \"Moggy\", \"petType\": \"Cat\", \"huntingSkill\":\"clueless\"}";
+
+        IntStream.range(0, 200).parallel()
+                .mapToObj(i -> classUnderTest.validate(value, i % 2 == 0 ? catSchema : petSchema, "prefix"))
+                .forEach(ValidatorTestUtil::assertPass);
+    }
+
     @Test
     public void validate_withDiscriminator_shouldFail_whenInvalid() {
 
@@ -538,6 +572,18 @@ public class SchemaValidatorTest {
                 "validation.prefix.schema.discriminator");
     }
 
+    @Test
+    public void validate_withDiscriminator_shouldListAllowedValuesInDefinitionOrder_whenValueUnknown() {
+
+        final SchemaValidator classUnderTest = validatorWithAdditionalPropertiesIgnored("/oai/v2/api-discriminator.yaml");
+        final Schema schema = new Schema().$ref("#/components/schemas/Pet");
+        final String value = "{\"name\": \"Nemo\", \"petType\": \"Fish\"}";
+
+        final ValidationReport report = classUnderTest.validate(value, schema, "prefix");
+
+        assertThat(report.getMessages().get(0).getMessage(), containsString("(possible values: [Cat, Dog])"));
+    }
+
     @Test
     public void validate_withDiscriminator_shouldFail_everyTime_whenInvokedMultipleTimes() {
 
@@ -557,6 +603,30 @@ public class SchemaValidatorTest {
                 "validation.prefix.schema.discriminator");
     }
 
+    @Test
+    public void validate_withDiscriminator_shouldSelectChildSchemaPerItem_whenInvokedConcurrently() {
+
+        final SchemaValidator classUnderTest = validatorWithAdditionalPropertiesIgnored("/oai/v2/api-discriminator.yaml");
+        final Schema schema = new ArraySchema().items(new Schema().$ref("#/components/schemas/Pet"));
+        final String valid = "[{\"name\": \"Moggy\", \"petType\": \"Cat\", \"huntingSkill\":\"clueless\"}," +
+                "{\"name\": \"Rex\", \"petType\": \"Dog\", \"packSize\": 1}]";
+        final String invalidChild = "[{\"name\": \"Moggy\", \"petType\": \"Cat\", \"huntingSkill\":\"clueless\"}," +
+                "{\"name\": \"Rex\", \"petType\": \"Dog\", \"packSize\": -1}]";
+        final String unknownType = "[{\"name\": \"Polly\", \"petType\": \"Parrot\"}]";
+
+        IntStream.range(0, 300).parallel().forEach(i -> {
+            if (i % 3 == 0) {
+                assertPass(classUnderTest.validate(valid, schema, "prefix"));
+            } else if (i % 3 == 1) {
+                assertFailWithoutContext(classUnderTest.validate(invalidChild, schema, "prefix"),
+                        "validation.prefix.schema.discriminator");
+            } else {
+                assertFailWithoutContext(classUnderTest.validate(unknownType, schema, "prefix"),
+                        "validation.prefix.schema.discriminator");
+            }
+        });
+    }
+
     @Test
     public void validate_withEnumDiscriminator_shouldPass_whenValid() {
 
@@ -949,6 +1019,98 @@ public class SchemaValidatorTest {
         assertEquals(jsonSchemaCache2.size(), 2);
     }
 
+    @Test
+    public void validateJsonSchemaCache_sharesEntry_forEqualSchemaInstances() throws NoSuchFieldException, IllegalAccessException {
+        final String value = "{\"foo\":\"bar\"}";
+        final SchemaValidator tester = validatorWithCacheSize("/oai/v2/api-users.json", 3);
+        final Field jsonSchemaField = SchemaValidator.class.getDeclaredField("jsonSchemaCache");
+        jsonSchemaField.setAccessible(true);
+
+        assertPass(tester.validate(value, new ObjectSchema().addProperties("foo", new StringSchema()), "prefix"));
+        assertPass(tester.validate(value, new ObjectSchema().addProperties("foo", new StringSchema()), "prefix"));
+        final LoadingCache jsonSchemaCache = (LoadingCache) jsonSchemaField.get(tester);
+        assertEquals(jsonSchemaCache.size(), 1);
+
+        assertPass(tester.validate(value, new ObjectSchema().addProperties("foo", new StringSchema()), "request.body"));
+        assertEquals(jsonSchemaCache.size(), 2);
+    }
+
+    @Test
+    public void validateJsonSchemaCache_boundsIds_forSchemasOutsideApi() throws NoSuchFieldException, IllegalAccessException {
+        final SchemaValidator tester = validatorWithConfiguration("/oai/v2/api-users.json",
+                new ValidationConfiguration().setCacheUnbounded(true));
+        final Field otherSchemaIdsField = SchemaValidator.class.getDeclaredField("otherSchemaIds");
+        otherSchemaIdsField.setAccessible(true);
+
+        IntStream.range(0, 1100).forEach(i ->
+                assertPass(tester.validate("{\"foo\":\"bar\"}",
+                        new ObjectSchema().addProperties("foo", new StringSchema().maxLength(10 + i)), "prefix")));
+
+        final Cache otherSchemaIds = (Cache) otherSchemaIdsField.get(tester);
+        assertTrue(otherSchemaIds.size() > 0);
+        assertTrue(otherSchemaIds.size() <= 1000);
+    }
+
+    @Test
+    public void getCacheStats_isEmpty_whenCacheDisabled() {
+        final SchemaValidator tester = validatorWithCacheSize("/oai/v2/api-users.json", 0);
+
+        assertPass(tester.validate("{\"foo\":\"bar\"}", new ObjectSchema().addProperties("foo", new StringSchema()), "prefix"));
+
+        assertEquals(tester.getCacheStats(), Optional.empty());
+    }
+
+    @Test
+    public void getCacheStats_recordsHitsMissesAndEvictions() {
+        final String value = "{\"foo\":\"bar\"}";
+        final Schema schema1 = new ObjectSchema().addProperties("foo", new StringSchema());
+        final Schema schema2 = new ObjectSchema().addProperties("foo", new StringSchema().minLength(1));
+        final SchemaValidator tester = validatorWithCacheSize("/oai/v2/api-users.json", 1);
+
+        assertPass(tester.validate(value, schema1, "prefix"));
+        assertPass(tester.validate(value, schema1, "prefix"));
+        assertPass(tester.validate(value, schema2, "prefix"));
+
+        final CacheStats stats = tester.getCacheStats().get();
+        assertEquals(stats.hitCount(), 1);
+        assertEquals(stats.missCount(), 2);
+        assertEquals(stats.loadSuccessCount(), 2);
+        assertEquals(stats.evictionCount(), 1);
+        assertTrue(stats.totalLoadTime() > 0);
+    }
+
+    @Test
+    public void validateJsonSchemaCache_neverEvicts_whenUnbounded() {
+        final SchemaValidator tester = validatorWithConfiguration("/oai/v2/api-users.json",
+                new ValidationConfiguration().setMaxCacheSize(0).setCacheUnbounded(true));
+
+        IntStream.range(0, 10).forEach(i ->
+                assertPass(tester.validate("{\"foo\":\"bar\"}",
+                        new ObjectSchema().addProperties("foo", new StringSchema().maxLength(10 + i)), "prefix")));
+
+        final CacheStats stats = tester.getCacheStats().get();
+        assertEquals(stats.loadSuccessCount(), 10);
+        assertEquals(stats.evictionCount(), 0);
+    }
+
+    @Test
+    public void validateJsonSchemaCache_evictsByWeight_whenWeightBounded() {
+        final String value = "{\"foo\":\"bar\"}";
+        final SchemaValidator small = validatorWithConfiguration("/oai/v2/api-users.json",
+                new ValidationConfiguration().setMaxCacheWeight(1));
+        final SchemaValidator large = validatorWithConfiguration("/oai/v2/api-users.json",
+                new ValidationConfiguration().setMaxCacheSize(1).setMaxCacheWeight(10_000));
+
+        IntStream.range(0, 3).forEach(i -> {
+            final Schema schema = new ObjectSchema().addProperties("foo", new StringSchema().maxLength(10 + i));
+            assertPass(small.validate(value, schema, "prefix"));
+            assertPass(large.validate(value, schema, "prefix"));
+        });
+
+        assertEquals(small.getCacheStats().get().evictionCount(), 3);
+        assertEquals(large.getCacheStats().get().evictionCount(), 0);
+    }
+
     private Map<String, Schema> getSchemasFrom(final String api) {
         final ParseOptions parseOptions = new ParseOptions();
         parseOptions.setResolveFully(true);
@@ -975,10 +1137,14 @@ public class SchemaValidatorTest {
     }
 
     private SchemaValidator validatorWithCacheSize(final String api, final int cacheSize) {
-        final ParseOptions parseOptions = new ParseOptions();
-        parseOptions.setResolve(true);
         final ValidationConfiguration validationConfiguration = new ValidationConfiguration();
         validationConfiguration.setMaxCacheSize(cacheSize);
+        return validatorWithConfiguration(api, validationConfiguration);
+    }
+
+    private SchemaValidator validatorWithConfiguration(final String api, final ValidationConfiguration validationConfiguration) {
+        final ParseOptions parseOptions = new ParseOptions();
+        parseOptions.setResolve(true);
         return new SchemaValidator(new OpenAPIParser().readLocation(api, null, parseOptions).getOpenAPI(), new MessageResolver(),
             SwaggerV20Library::schemaFactory, validationConfiguration);
     }
@@ -116,7 +116,8 @@ public class SwaggerV20LibraryTest {
                 // TODO: #289 - Use the discriminator to select between overlapping options
                 // "discriminator-valid-oneOf-withOverlappingSchema",
                 "discriminator-valid-anyOf",
-                "nullable-valid"
+                "nullable-valid",
+                "pattern-valid"
         };
 
         private static final JsonSchemaFactory FACTORY = schemaFactory();
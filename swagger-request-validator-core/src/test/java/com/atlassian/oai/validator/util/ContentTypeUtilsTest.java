@@ -2,6 +2,7 @@ package com.atlassian.oai.validator.util;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
+import com.google.common.net.MediaType;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
@@ -13,7 +14,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
 
-import static com.atlassian.oai.validator.util.ContentTypeUtils.findMostSpecificMatch;
 import static com.atlassian.oai.validator.util.ContentTypeUtils.isJsonContentType;
 import static com.google.common.collect.ImmutableSet.of;
 import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
@@ -61,7 +61,7 @@ public class ContentTypeUtilsTest {
         @Test
         public void test() {
             assertThat(
-                    findMostSpecificMatch(candidate, apiContentTypes),
+                    MediaTypeTable.of(apiContentTypes).findMostSpecificMatch(candidate),
                     expected == null ? emptyOptional() : optionalWithValue(is(expected))
             );
         }
@@ -99,7 +99,7 @@ public class ContentTypeUtilsTest {
 
         @Test
         public void test() {
-            assertThat(ContentTypeUtils.matchesAny(candidate, apiContentTypes), is(expected));
+            assertThat(candidate != null && MediaTypeTable.of(apiContentTypes).matchesAny(MediaType.parse(candidate)), is(expected));
         }
 
     }
@@ -0,0 +1,53 @@
+package com.atlassian.oai.validator.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.MediaType;
+import org.junit.Test;
+
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MediaTypeTableTest {
+
+    @Test
+    public void findMostSpecificMatch_prefersFewerWildcards_regardlessOfDefinitionOrder() {
+        final MediaTypeTable classUnderTest = MediaTypeTable.of(ImmutableList.of("*/*", "text/*", "text/plain"));
+
+        assertThat(classUnderTest.findMostSpecificMatch("text/plain; charset=utf-8"), is(optionalWithValue(is("text/plain"))));
+        assertThat(classUnderTest.findMostSpecificMatch("text/html"), is(optionalWithValue(is("text/*"))));
+        assertThat(classUnderTest.findMostSpecificMatch("application/json"), is(optionalWithValue(is("*/*"))));
+        assertThat(classUnderTest.getContentTypes(), contains("*/*", "text/*", "text/plain"));
+    }
+
+    @Test
+    public void findMostSpecificMatch_returnsEmpty_whenCandidateOrApiTypeInvalid() {
+        assertThat(MediaTypeTable.of(ImmutableList.of("text/plain")).findMostSpecificMatch("foop"), is(emptyOptional()));
+        assertThat(MediaTypeTable.of(ImmutableList.of("foop", "text/plain")).findMostSpecificMatch("text/plain"), is(emptyOptional()));
+        assertThat(MediaTypeTable.of(null).findMostSpecificMatch("text/plain"), is(emptyOptional()));
+    }
+
+    @Test
+    public void matchesAny_supportsMediaTypeRanges() {
+        final MediaTypeTable classUnderTest = MediaTypeTable.of(ImmutableList.of("application/json", "text/*"));
+
+        assertThat(classUnderTest.matchesAny(MediaType.parse("text/plain;charset=UTF-8")), is(true));
+        assertThat(classUnderTest.matchesAny(MediaType.parse("application/json")), is(true));
+        assertThat(classUnderTest.matchesAny(MediaType.parse("application/xml")), is(false));
+    }
+
+    @Test
+    public void containsGlobalAccept_detectsGlobalMatch() {
+        assertThat(MediaTypeTable.of(ImmutableList.of("*/*", "text/plain")).containsGlobalAccept(), is(true));
+        assertThat(MediaTypeTable.of(ImmutableList.of("*/*", "text/plain")).containsOnlyGlobalAccept(), is(false));
+        assertThat(MediaTypeTable.of(ImmutableList.of("*/*")).containsOnlyGlobalAccept(), is(true));
+        assertThat(MediaTypeTable.of(ImmutableList.of("text/*")).containsGlobalAccept(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void matchesAny_throws_whenInvalidApiTypeReached() {
+        MediaTypeTable.of(ImmutableList.of("foop")).matchesAny(MediaType.parse("text/plain"));
+    }
+}
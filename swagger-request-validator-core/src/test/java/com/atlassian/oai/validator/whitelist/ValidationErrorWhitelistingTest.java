@@ -4,6 +4,7 @@ import com.atlassian.oai.validator.OpenApiInteractionValidator;
 import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.model.SimpleRequest;
 import com.atlassian.oai.validator.model.SimpleResponse;
+import com.atlassian.oai.validator.report.LevelResolver;
 import com.atlassian.oai.validator.report.ValidationReport;
 import com.atlassian.oai.validator.whitelist.rule.WhitelistRules;
 import org.hamcrest.Description;
@@ -63,6 +64,21 @@ public class ValidationErrorWhitelistingTest {
         );
     }
 
+    @Test
+    public void whitelistedInfoMessagesShouldBeIgnored() {
+        final OpenApiInteractionValidator classUnderTest = OpenApiInteractionValidator
+                .createForSpecificationUrl("/oai/v2/api-users.json")
+                .withLevelResolver(LevelResolver.create()
+                        .withLevel("validation.request.path.missing", ValidationReport.Level.INFO)
+                        .build())
+                .withWhitelist(ValidationErrorsWhitelist.create()
+                        .withRule("Ignore paths", WhitelistRules.messageHasKey("validation.request.path.missing")))
+                .build();
+
+        final ValidationReport report = classUnderTest.validateRequest(SimpleRequest.Builder.get("/non-existent-path").build());
+        assertThat(report.getMessages(), hasItem(whitelisted("No API path found that matches request", "Ignore paths")));
+    }
+
     private Matcher<ValidationReport.Message> whitelisted(final String messageText, final String whitelistRule) {
         return new TypeSafeMatcher<ValidationReport.Message>() {
             @Override
@@ -0,0 +1,140 @@
+package com.atlassian.oai.validator.whitelist;
+
+import com.atlassian.oai.validator.model.ApiOperation;
+import com.atlassian.oai.validator.model.ApiPath;
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.model.SimpleRequest;
+import com.atlassian.oai.validator.report.ValidationReport.Message;
+import com.atlassian.oai.validator.whitelist.rule.WhitelistRule;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.atlassian.oai.validator.whitelist.rule.WhitelistRules.allOf;
+import static com.atlassian.oai.validator.whitelist.rule.WhitelistRules.anyOf;
+import static com.atlassian.oai.validator.whitelist.rule.WhitelistRules.messageContainsSubstring;
+import static com.atlassian.oai.validator.whitelist.rule.WhitelistRules.messageHasKey;
+import static com.atlassian.oai.validator.whitelist.rule.WhitelistRules.methodIs;
+import static com.atlassian.oai.validator.whitelist.rule.WhitelistRules.pathContainsSubstring;
+import static com.spotify.hamcrest.optional.OptionalMatchers.emptyOptional;
+import static com.spotify.hamcrest.optional.OptionalMatchers.optionalWithValue;
+import static io.swagger.v3.oas.models.PathItem.HttpMethod.GET;
+import static io.swagger.v3.oas.models.PathItem.HttpMethod.POST;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ValidationErrorsWhitelistTest {
+
+    private static final Request REQUEST = SimpleRequest.Builder.get("/users").build();
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    @Test
+    public void whitelistedBy_returnsFirstMatchingRule_inRuleOrder() {
+        final ValidationErrorsWhitelist whitelist = ValidationErrorsWhitelist.create()
+                .withRule("By message", messageContainsSubstring("users"))
+                .withRule("By key", messageHasKey("my.key"))
+                .withRule("By other key", messageHasKey("my.other.key"));
+
+        assertThat(whitelistedBy(whitelist, message("my.key", "A message"), operation(GET, "/users")),
+                optionalWithValue(hasProperty("name", is("By key"))));
+        assertThat(whitelistedBy(whitelist, message("my.key", "A message about users"), operation(GET, "/users")),
+                optionalWithValue(hasProperty("name", is("By message"))));
+        assertThat(whitelistedBy(whitelist, message("MY.OTHER.KEY", "A message"), operation(GET, "/users")),
+                optionalWithValue(hasProperty("name", is("By other key"))));
+        assertThat(whitelistedBy(whitelist, message("unknown.key", "A message"), operation(GET, "/users")),
+                emptyOptional());
+    }
+
+    @Test
+    public void whitelistedBy_onlyTestsRules_restrictedToMessageKey() {
+        final ValidationErrorsWhitelist whitelist = ValidationErrorsWhitelist.create()
+                .withRule("Key and counted", allOf(messageHasKey("my.key"), counted()))
+                .withRule("Either key and counted", allOf(anyOf(messageHasKey("key.a"), messageHasKey("key.b")), counted()));
+
+        assertThat(whitelistedBy(whitelist, message("my.other.key", "A message"), null), emptyOptional());
+        assertThat(evaluations.get(), is(0));
+
+        assertThat(whitelistedBy(whitelist, message("key.b", "A message"), null),
+                optionalWithValue(hasProperty("name", is("Either key and counted"))));
+        assertThat(evaluations.get(), is(1));
+    }
+
+    @Test
+    public void whitelistedBy_onlyTestsRules_restrictedToOperation() {
+        final ValidationErrorsWhitelist whitelist = ValidationErrorsWhitelist.create()
+                .withRule("Method and counted", allOf(methodIs(POST), counted()))
+                .withRule("Path and counted", allOf(allOf(pathContainsSubstring("/orders"), counted()), counted()));
+
+        assertThat(whitelistedBy(whitelist, message("my.key", "A message"), operation(GET, "/users")), emptyOptional());
+        assertThat(whitelistedBy(whitelist, message("my.key", "A message"), null), emptyOptional());
+        assertThat(evaluations.get(), is(0));
+
+        assertThat(whitelistedBy(whitelist, message("my.key", "A message"), operation(GET, "/orders/{id}")),
+                optionalWithValue(hasProperty("name", is("Path and counted"))));
+        assertThat(evaluations.get(), is(2));
+
+        assertThat(whitelistedBy(whitelist, message("my.key", "A message"), operation(POST, "/users")),
+                optionalWithValue(hasProperty("name", is("Method and counted"))));
+        assertThat(evaluations.get(), is(3));
+    }
+
+    @Test
+    public void whitelistedBy_testsAllRules_whenRestrictionIsOptional() {
+        final ValidationErrorsWhitelist whitelist = ValidationErrorsWhitelist.create()
+                .withRule("Key or counted", anyOf(messageHasKey("my.key"), counted()))
+                .withRule("Not key", messageHasKey("my.key").not());
+
+        assertThat(whitelistedBy(whitelist, message("my.other.key", "A message"), null),
+                optionalWithValue(hasProperty("name", is("Key or counted"))));
+        assertThat(evaluations.get(), is(1));
+    }
+
+    @Test
+    public void whitelistedBy_testsCustomRules() {
+        final ValidationErrorsWhitelist whitelist = ValidationErrorsWhitelist.create()
+                .withRule("Custom", (message, operation, request, response) -> message.getMessage().endsWith("!"));
+
+        assertThat(whitelistedBy(whitelist, message("my.key", "A message!"), null),
+                optionalWithValue(hasProperty("name", is("Custom"))));
+        assertThat(whitelistedBy(whitelist, Message.create("", "A message!").build(), null),
+                optionalWithValue(hasProperty("name", is("Custom"))));
+    }
+
+    @Test
+    public void toString_keepsStructureOfNestedRules() {
+        final WhitelistRule rule = allOf(allOf(messageHasKey("a"), messageHasKey("b")), anyOf(messageHasKey("c"), anyOf(messageHasKey("d"))));
+
+        assertThat(rule.toString(),
+                is("((Message with key: 'a' AND Message with key: 'b') AND (Message with key: 'c' OR (Message with key: 'd')))"));
+    }
+
+    private static Optional<NamedWhitelistRule> whitelistedBy(final ValidationErrorsWhitelist whitelist,
+                                                              final Message message,
+                                                              final ApiOperation operation) {
+        return whitelist.whitelistedBy(message, operation, REQUEST, null);
+    }
+
+    private WhitelistRule counted() {
+        return (message, operation, request, response) -> {
+            evaluations.incrementAndGet();
+            return true;
+        };
+    }
+
+    private static Message message(final String key, final String message) {
+        return Message.create(key, message).build();
+    }
+
+    private static ApiOperation operation(final PathItem.HttpMethod method, final String path) {
+        final ApiPath apiPath = mock(ApiPath.class);
+        when(apiPath.normalised()).thenReturn(path);
+        return new ApiOperation(apiPath, apiPath, method, new Operation());
+    }
+}
@@ -60,6 +60,16 @@ public class WhitelistRulesTest {
                 .withMessage(Message.create("my.key", "Another message").build()))));
     }
 
+    @Test
+    public void testMessageHasKey_withMixedCaseKey() {
+        final WhitelistRule rule = messageHasKey("My.Key");
+
+        assertThat(rule, matches(request().withMessage(Message.create("my.key", "A message").build())));
+        assertThat(rule, matches(request().withMessage(Message.create("MY.KEY", "A message").build())));
+        assertThat(rule, not(matches(request().withMessage(Message.create("my.key.other", "A message").build()))));
+        assertThat(rule, not(matches(request().withMessage(Message.create("my", "A message").build()))));
+    }
+
     @Test
     public void testAnyOf() {
         final WhitelistRule orRule = anyOf(entityIs("MyEntity"), entityIs("AnotherEntity"));
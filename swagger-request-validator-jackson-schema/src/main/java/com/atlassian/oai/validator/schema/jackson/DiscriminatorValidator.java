@@ -0,0 +1,263 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.annotation.Nullable;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.OBJECT;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Validates objects against the OpenAPI <code>discriminator</code> keyword, as the
+ * {@link com.atlassian.oai.validator.schema.keyword.DiscriminatorKeywordValidator} does for the default schema engine.
+ * <p>
+ * The value of the discriminator property selects the "child" schema to validate the object against: the schema with
+ * that name in the <code>mapping</code>, or the component schema of that name that extends the schema with the
+ * discriminator via <code>allOf</code>. Discriminators with <code>oneOf</code> or <code>anyOf</code> composition only
+ * have the presence of the discriminator property validated.
+ */
+final class DiscriminatorValidator extends KeywordValidator {
+
+    private static final String KEYWORD = "discriminator";
+
+    private final SchemaNode node;
+    private final String propertyName;
+    @Nullable
+    private final JsonNode mapping;
+    private final boolean composed;
+
+    /**
+     * The valid discriminator values and the pointer to the child schema each selects. Computed when first needed.
+     */
+    @Nullable
+    private volatile Map<String, String> childSchemas;
+
+    private DiscriminatorValidator(final SchemaNode node, final String propertyName, @Nullable final JsonNode mapping) {
+        super(KEYWORD, OBJECT.mask());
+        this.node = node;
+        this.propertyName = propertyName;
+        this.mapping = mapping;
+        this.composed = node.schema.has("oneOf") || node.schema.has("anyOf");
+    }
+
+    @Nullable
+    static KeywordValidator compile(final SchemaNode node, final JsonNode discriminator, final Syntax syntax) {
+        if (!discriminator.isObject()) {
+            return syntax.incorrectType(KEYWORD, discriminator, OBJECT);
+        }
+        final JsonNode propertyName = discriminator.get("propertyName");
+        if (propertyName == null) {
+            error(syntax, "propertyName.required", "'discriminator.propertyName' is required");
+            return null;
+        }
+        if (!propertyName.isTextual() || propertyName.textValue().isEmpty()) {
+            error(syntax, "propertyName.empty", "'discriminator.propertyName' must be a non-empty String value");
+            return null;
+        }
+        final JsonNode mapping = discriminator.get("mapping");
+        checkMapping(node, mapping, syntax);
+
+        final JsonNode composition = node.schema.has("oneOf") ? node.schema.get("oneOf") : node.schema.get("anyOf");
+        if (composition != null) {
+            for (final JsonNode child : composition) {
+                checkProperty(node, child, propertyName.textValue(), syntax);
+            }
+        } else {
+            checkProperty(node, node.schema, propertyName.textValue(), syntax);
+        }
+        return new DiscriminatorValidator(node, propertyName.textValue(), mapping);
+    }
+
+    private static void checkMapping(final SchemaNode node, @Nullable final JsonNode mapping, final Syntax syntax) {
+        if (mapping == null) {
+            return;
+        }
+        if (!mapping.isObject()) {
+            error(syntax, "mapping.wrongType", "'discriminator.mapping' must be an Object if provided");
+            return;
+        }
+        final Iterator<Map.Entry<String, JsonNode>> mappings = mapping.fields();
+        while (mappings.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = mappings.next();
+            final JsonNode value = entry.getValue();
+            if (!value.isTextual()) {
+                error(syntax, "mapping.value.invalidType", "'discriminator.mapping' values must be a non-empty String")
+                        .put("mappingName", entry.getKey());
+            } else if (node.document.resolveJson(value.textValue()) == null &&
+                    node.document.resolveJson(shortnameRef(node, value.textValue())) == null) {
+                error(syntax, "mapping.value.invalidRef", "'discriminator.mapping' values must be valid schema refs or shortnames")
+                        .put("mappingName", entry.getKey())
+                        .put("mappingValue", value.textValue());
+            }
+        }
+    }
+
+    /**
+     * Record a syntax error, with the key of the message in the default schema engine.
+     */
+    private static ObjectNode error(final Syntax syntax, final String key, final String message) {
+        return syntax.report(KEYWORD, message).put("key", "err.swaggerv2.discriminator." + key);
+    }
+
+    private static String shortnameRef(final SchemaNode node, final String shortname) {
+        if (shortname.startsWith("#/components") || shortname.startsWith("#/definitions")) {
+            return shortname;
+        }
+        return node.document.root.has("components") ? "#/components/schemas/" + shortname : "#/definitions/" + shortname;
+    }
+
+    /**
+     * Check the discriminator property is defined in the given schema (or one it refers to) as a required string.
+     */
+    private static void checkProperty(final SchemaNode node,
+                                      final JsonNode schema,
+                                      final String propertyName,
+                                      final Syntax syntax) {
+        final JsonNode parent = findPropertyParent(node, schema, propertyName, new HashSet<>());
+        if (parent == null) {
+            error(syntax, "propertyName.noProperty", "'discriminator.propertyName' value '" + propertyName +
+                    "' must be the name of a defined property (in all referenced schemas)").put("fieldName", propertyName);
+            return;
+        }
+
+        JsonNode property = parent.get("properties").get(propertyName);
+        if (!property.has("type") && property.has("$ref")) {
+            property = node.document.resolveJson(property.get("$ref").textValue());
+        }
+        final JsonNode type = property == null ? null : property.get("type");
+        if (type == null || !"string".equalsIgnoreCase(type.textValue())) {
+            error(syntax, "wrongType", "'discriminator' field '" + propertyName + "' must be defined as a string property")
+                    .put("fieldName", propertyName);
+            return;
+        }
+
+        final JsonNode required = parent.get("required");
+        boolean isRequired = false;
+        if (required != null && required.isArray()) {
+            for (final JsonNode name : required) {
+                isRequired |= propertyName.equals(name.textValue());
+            }
+        }
+        if (!isRequired) {
+            error(syntax, "notRequired", "'discriminator' field '" + propertyName + "' must be marked as a required property")
+                    .put("fieldName", propertyName);
+        }
+    }
+
+    /**
+     * @return The schema that defines the given property in its <code>properties</code>, found by following
+     * <code>$ref</code> and <code>allOf</code>, or <code>null</code> if none is found
+     */
+    @Nullable
+    private static JsonNode findPropertyParent(final SchemaNode node,
+                                               @Nullable final JsonNode schema,
+                                               final String propertyName,
+                                               final Set<JsonNode> visited) {
+        if (schema == null || !visited.add(schema)) {
+            return null;
+        }
+        if (schema.has("properties")) {
+            return schema.get("properties").has(propertyName) ? schema : null;
+        }
+        if (schema.has("$ref")) {
+            return findPropertyParent(node, node.document.resolveJson(schema.get("$ref").asText()), propertyName, visited);
+        }
+        for (final JsonNode child : schema.path("allOf")) {
+            final JsonNode parent = findPropertyParent(node, child, propertyName, visited);
+            if (parent != null) {
+                return parent;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    void validate(final JsonNode value, final SchemaNode schema, final ValidationContext context) {
+        final JsonNode discriminator = value.get(propertyName);
+        if (discriminator == null) {
+            error(context, schema, "discriminator field '" + propertyName + "' is required");
+            return;
+        }
+        if (!discriminator.isTextual()) {
+            error(context, schema, "discriminator field '" + propertyName + "' must be a String value");
+            return;
+        }
+        final String discriminatorValue = discriminator.textValue();
+        if (discriminatorValue.isEmpty()) {
+            error(context, schema, "discriminator field '" + propertyName + "' is required");
+            return;
+        }
+        if (composed) {
+            return;
+        }
+
+        final Map<String, String> validValues = childSchemas();
+        String childPointer = validValues.get(discriminatorValue);
+        if (childPointer == null) {
+            error(context, schema, "discriminator field '" + propertyName + "' value '" + discriminatorValue +
+                    "' is not the name of a valid definition (possible values: " + validValues.keySet() + ")");
+            childPointer = pointerToSchema(discriminatorValue);
+        }
+
+        final SchemaNode child = node.document.node(childPointer);
+        if (child == null) {
+            context.report(SchemaError.of(keyword, context.instancePointer(), childPointer,
+                    "could not find any schema spec for type '" + childPointer + "'"));
+            return;
+        }
+
+        final List<SchemaError> errors = context.validateDiscriminated(node, child, discriminatorValue, value);
+        if (errors != null && !errors.isEmpty()) {
+            context.report(SchemaError.withNested(keyword, context.instancePointer(), childPointer,
+                    "failed validation of discriminator schema '" + childPointer + "'", errors));
+        }
+    }
+
+    private Map<String, String> childSchemas() {
+        Map<String, String> schemas = childSchemas;
+        if (schemas == null) {
+            schemas = findChildSchemas();
+            childSchemas = schemas;
+        }
+        return schemas;
+    }
+
+    /**
+     * The valid values are the names of the component schemas that extend this schema via <code>allOf</code>, and
+     * the keys of the mapping.
+     */
+    private Map<String, String> findChildSchemas() {
+        final String parentRef = "#" + node.pointer;
+        final Map<String, String> schemas = new LinkedHashMap<>();
+        final JsonNode root = node.document.root;
+        final JsonNode definitions = root.has("components") ? root.get("components").get("schemas") : root.get("definitions");
+        if (definitions != null) {
+            final Iterator<Map.Entry<String, JsonNode>> fields = definitions.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> definition = fields.next();
+                for (final JsonNode parent : definition.getValue().path("allOf")) {
+                    if (parent.has("$ref") && parent.get("$ref").asText().equals(parentRef)) {
+                        schemas.put(definition.getKey(), pointerToSchema(definition.getKey()));
+                    }
+                }
+            }
+        }
+        if (mapping != null) {
+            mapping.fields().forEachRemaining(e -> schemas.put(e.getKey(), pointerToSchema(e.getValue().asText())));
+        }
+        return unmodifiableMap(schemas);
+    }
+
+    private String pointerToSchema(final String name) {
+        final String shortName = name.startsWith("#/") ? name.substring(name.lastIndexOf('/') + 1) : name;
+        final String escaped = Keywords.escape(shortName);
+        return node.document.root.has("components") ? "/components/schemas/" + escaped : "/definitions/" + escaped;
+    }
+}
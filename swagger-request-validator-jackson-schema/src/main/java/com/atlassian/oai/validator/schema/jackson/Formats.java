@@ -0,0 +1,306 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.util.RegexECMA262Helper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.net.InetAddresses;
+import com.google.common.net.InternetDomainName;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.INTEGER;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.NUMBER;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.STRING;
+
+/**
+ * The supported values of the <code>format</code> keyword: those of JSON Schema Draft 4 (and the extra formats of
+ * the <code>com.github.java-json-tools:json-schema-validator</code> library), and the OpenAPI <code>int32</code>,
+ * <code>int64</code>, <code>float</code>, <code>double</code>, <code>byte</code> and <code>date</code> formats.
+ * <p>
+ * Other formats are ignored.
+ */
+final class Formats {
+
+    private static final Pattern DATE_TIME = Pattern.compile(
+            "(\\d{4})-(\\d{2})-(\\d{2})[Tt](\\d{2}):(\\d{2}):(\\d{2})(?:\\.\\d{1,12})?(?:[Zz]|[+-](\\d{2})(?::?(\\d{2}))?)");
+    private static final Pattern DATE = Pattern.compile("(\\d{4})-(\\d{2})-(\\d{2})");
+    private static final Pattern MAC_ADDRESS = Pattern.compile("[A-Za-z0-9]{2}(?::[A-Za-z0-9]{2}){5}");
+    private static final Pattern PERSONAL_ADDRESS = Pattern.compile("[^<>]*<(.*)>\\s*");
+
+    private static final String EMAIL_SPECIALS = "()<>@,;:\\\"[]";
+    private static final String BASE64_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    private static final String HEX_CHARACTERS = "0123456789abcdefABCDEF";
+
+    private static final Map<String, FormatValidator> FORMATS = ImmutableMap.<String, FormatValidator>builder()
+            .put("date-time", strings("date-time", Formats::dateTime))
+            .put("date", strings("date", Formats::date))
+            .put("email", strings("email", Formats::email))
+            .put("hostname", strings("hostname", value -> InternetDomainName.isValid(value) ? null :
+                    "string \"" + value + "\" is not a valid hostname"))
+            .put("ipv4", strings("ipv4", value -> isInetAddress(value, 4) ? null :
+                    "string \"" + value + "\" is not a valid IPv4 address"))
+            .put("ipv6", strings("ipv6", value -> isInetAddress(value, 16) ? null :
+                    "string \"" + value + "\" is not a valid IPv6 address"))
+            .put("uri", strings("uri", Formats::uri))
+            .put("regex", strings("regex", value -> RegexECMA262Helper.regexIsValid(value) ? null :
+                    "string \"" + value + "\" is not a valid ECMA 262 regular expression"))
+            .put("base64", strings("base64", Formats::base64))
+            .put("json-pointer", strings("json-pointer", Formats::jsonPointer))
+            .put("mac", strings("mac", value -> MAC_ADDRESS.matcher(value).matches() ? null :
+                    "input string \"" + value + "\" is not a valid MAC address"))
+            .put("md5", strings("md5", value -> hexString(value, 32)))
+            .put("sha1", strings("sha1", value -> hexString(value, 40)))
+            .put("sha256", strings("sha256", value -> hexString(value, 64)))
+            .put("sha512", strings("sha512", value -> hexString(value, 128)))
+            .put("uuid", strings("uuid", Formats::uuid))
+            .put("int32", new FormatValidator("int32", INTEGER.mask(), value -> value.canConvertToInt() ? null :
+                    "value for int32 leads to overflow (found: " + value + ")"))
+            .put("int64", new FormatValidator("int64", INTEGER.mask(), value -> value.canConvertToLong() ? null :
+                    "value for int64 leads to overflow (found: " + value + ")"))
+            .put("float", new FormatValidator("float", NUMBER.mask(), Formats::floatValue))
+            .put("double", new FormatValidator("double", NUMBER.mask(), Formats::doubleValue))
+            .put("byte", strings("byte", Formats::byteValue))
+            .build();
+
+    private Formats() {
+    }
+
+    /**
+     * @return The validator for the given format, or <code>null</code> if the format is not supported
+     */
+    @Nullable
+    static KeywordValidator validator(final String format) {
+        return FORMATS.get(format);
+    }
+
+    private static FormatValidator strings(final String format, final Function<String, String> check) {
+        return new FormatValidator(format, STRING.mask(), value -> check.apply(value.textValue()));
+    }
+
+    private static final class FormatValidator extends KeywordValidator {
+        private final String format;
+        private final Function<JsonNode, String> check;
+
+        /**
+         * @param check Returns the error message for a value that is not valid, or <code>null</code> if it is
+         */
+        private FormatValidator(final String format, final int types, final Function<JsonNode, String> check) {
+            super("format", types);
+            this.format = format;
+            this.check = check;
+        }
+
+        @Override
+        void validate(final JsonNode value, final SchemaNode schema, final ValidationContext context) {
+            final String error = check.apply(value);
+            if (error != null) {
+                context.report(SchemaError.format(format, context.instancePointer(), schema.pointer, error));
+            }
+        }
+    }
+
+    @Nullable
+    private static String dateTime(final String value) {
+        final Matcher matcher = DATE_TIME.matcher(value);
+        if (matcher.matches() &&
+                isDate(matcher) &&
+                Integer.parseInt(matcher.group(4)) < 24 &&
+                Integer.parseInt(matcher.group(5)) < 60 &&
+                Integer.parseInt(matcher.group(6)) < 60 &&
+                (matcher.group(7) == null || Integer.parseInt(matcher.group(7)) < 24) &&
+                (matcher.group(8) == null || Integer.parseInt(matcher.group(8)) < 60)) {
+            return null;
+        }
+        return "string \"" + value + "\" is invalid against requested date format(s) " +
+                "[yyyy-MM-dd'T'HH:mm:ssZ, yyyy-MM-dd'T'HH:mm:ss.[0-9]{1,12}Z]";
+    }
+
+    @Nullable
+    private static String date(final String value) {
+        final Matcher matcher = DATE.matcher(value);
+        if (matcher.matches() && isDate(matcher)) {
+            return null;
+        }
+        return "string \"" + value + "\" is invalid against requested date format(s) yyyy-MM-dd";
+    }
+
+    private static boolean isDate(final Matcher matcher) {
+        final int month = Integer.parseInt(matcher.group(2));
+        final int day = Integer.parseInt(matcher.group(3));
+        return month >= 1 && month <= 12 &&
+                day >= 1 && day <= YearMonth.of(Integer.parseInt(matcher.group(1)), month).lengthOfMonth();
+    }
+
+    /**
+     * Check an email address as strictly parsed by <code>javax.mail.internet.InternetAddress</code>.
+     */
+    @Nullable
+    private static String email(final String value) {
+        final Matcher personal = PERSONAL_ADDRESS.matcher(value);
+        final String address = personal.matches() ? personal.group(1) : value;
+        final int at = address.startsWith("\"") ? address.indexOf('@', closingQuote(address) + 1) : address.indexOf('@');
+        if (at > 0 && isLocalPart(address.substring(0, at)) && isDomain(address.substring(at + 1))) {
+            return null;
+        }
+        return "string \"" + value + "\" is not a valid email address";
+    }
+
+    private static int closingQuote(final String address) {
+        for (int i = 1; i < address.length(); i++) {
+            if (address.charAt(i) == '\\') {
+                i++;
+            } else if (address.charAt(i) == '"') {
+                return i;
+            }
+        }
+        return address.length();
+    }
+
+    private static boolean isLocalPart(final String localPart) {
+        if (localPart.startsWith("\"")) {
+            return closingQuote(localPart) == localPart.length() - 1;
+        }
+        return isDotAtom(localPart);
+    }
+
+    private static boolean isDomain(final String domain) {
+        if (domain.startsWith("[")) {
+            return domain.endsWith("]") && domain.indexOf('[', 1) < 0 && domain.indexOf(']') == domain.length() - 1;
+        }
+        return isDotAtom(domain);
+    }
+
+    private static boolean isDotAtom(final String atom) {
+        if (atom.isEmpty() || atom.startsWith(".") || atom.endsWith(".") || atom.contains("..")) {
+            return false;
+        }
+        for (int i = 0; i < atom.length(); i++) {
+            final char c = atom.charAt(i);
+            if (c <= ' ' || c >= 0x7f || EMAIL_SPECIALS.indexOf(c) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInetAddress(final String value, final int length) {
+        return InetAddresses.isInetAddress(value) && InetAddresses.forString(value).getAddress().length == length;
+    }
+
+    @Nullable
+    private static String uri(final String value) {
+        try {
+            new URI(value);
+            return null;
+        } catch (final URISyntaxException e) {
+            return "string \"" + value + "\" is not a valid URI";
+        }
+    }
+
+    @Nullable
+    private static String base64(final String value) {
+        if (value.length() % 4 != 0) {
+            return "input has illegal length (must be a multiple of 4, found " + value.length() + ")";
+        }
+        final int end = paddingStart(value);
+        for (int i = 0; i < end; i++) {
+            if (BASE64_CHARACTERS.indexOf(value.charAt(i)) < 0) {
+                return "illegal character \"" + value.charAt(i) + "\" at index " + i + " (not in Base64 alphabet)";
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String byteValue(final String value) {
+        final int length = value.length();
+        if (length == 0) {
+            return null;
+        }
+        if (length % 4 != 0) {
+            return "not a valid base64 string (invalid length: " + length + ")";
+        }
+        final int end = paddingStart(value);
+        for (int i = 0; i < end; i++) {
+            if (BASE64_CHARACTERS.indexOf(value.charAt(i)) < 0) {
+                return "not a valid base64 string (invalid character '" + value.charAt(i) + "' at index " + i + ")";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The index of the (up to two) padding characters at the end of the given non-empty base64 string
+     */
+    private static int paddingStart(final String value) {
+        final int length = value.length();
+        if (value.charAt(length - 1) != '=') {
+            return length;
+        }
+        return length > 1 && value.charAt(length - 2) == '=' ? length - 2 : length - 1;
+    }
+
+    @Nullable
+    private static String jsonPointer(final String value) {
+        boolean valid = value.isEmpty() || value.startsWith("/");
+        for (int i = value.indexOf('~'); valid && i >= 0; i = value.indexOf('~', i + 1)) {
+            valid = i + 1 < value.length() && (value.charAt(i + 1) == '0' || value.charAt(i + 1) == '1');
+        }
+        return valid ? null : "input string \"" + value + "\" is not a valid JSON Pointer";
+    }
+
+    @Nullable
+    private static String hexString(final String value, final int length) {
+        if (value.length() != length) {
+            return "input string has incorrect length (" + value.length() + ", expected " + length + ")";
+        }
+        for (int i = 0; i < length; i++) {
+            if (HEX_CHARACTERS.indexOf(value.charAt(i)) < 0) {
+                return "illegal character \"" + value.charAt(i) + "\" in input at index " + i;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String uuid(final String value) {
+        try {
+            UUID.fromString(value);
+            return null;
+        } catch (final IllegalArgumentException e) {
+            return "input string \"" + value + "\" is not a valid UUID";
+        }
+    }
+
+    @Nullable
+    private static String floatValue(final JsonNode value) {
+        if (InstanceType.isNonFinite(value)) {
+            return "value for float leads to overflow (original: " + value + ", converted: " + value.floatValue() + ")";
+        }
+        final String original = String.valueOf(value.decimalValue());
+        final String converted = String.valueOf(value.floatValue());
+        return original.equals(converted) ? null :
+                "value for float leads to overflow (original: " + original + ", converted: " + converted + ")";
+    }
+
+    @Nullable
+    private static String doubleValue(final JsonNode value) {
+        if (InstanceType.isNonFinite(value)) {
+            // As reported by the default engine, which does not fill in the arguments for non-finite values
+            return "value for double leads to overflow (original: %s, converted: %s)";
+        }
+        final BigDecimal decimal = value.decimalValue();
+        final BigDecimal converted = BigDecimal.valueOf(decimal.doubleValue());
+        return decimal.compareTo(converted) == 0 ? null :
+                "value for double leads to overflow (original: " + value + ", converted: " + converted + ")";
+    }
+}
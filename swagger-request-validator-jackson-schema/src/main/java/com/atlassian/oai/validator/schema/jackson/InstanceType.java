@@ -0,0 +1,137 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NumericNode;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The JSON Schema primitive types, in the order used when reporting them.
+ * <p>
+ * Numbers with a fractional part (even if zero, e.g. <code>1.0</code>) are of type {@link #NUMBER}, other numbers of
+ * type {@link #INTEGER}.
+ */
+enum InstanceType {
+    ARRAY("array"),
+    BOOLEAN("boolean"),
+    INTEGER("integer"),
+    NULL("null"),
+    NUMBER("number"),
+    OBJECT("object"),
+    STRING("string");
+
+    private static final InstanceType[] VALUES = values();
+
+    private final String name;
+    private final int mask;
+
+    InstanceType(final String name) {
+        this.name = name;
+        this.mask = 1 << ordinal();
+    }
+
+    /**
+     * @return The bit used for this type in type masks
+     */
+    int mask() {
+        return mask;
+    }
+
+    static int maskOf(final InstanceType... types) {
+        int mask = 0;
+        for (final InstanceType type : types) {
+            mask |= type.mask;
+        }
+        return mask;
+    }
+
+    static int allTypes() {
+        return (1 << VALUES.length) - 1;
+    }
+
+    @Nullable
+    static InstanceType fromName(final String name) {
+        for (final InstanceType type : VALUES) {
+            if (type.name.equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    static InstanceType of(final JsonNode node) {
+        switch (node.getNodeType()) {
+            case ARRAY:
+                return ARRAY;
+            case BOOLEAN:
+                return BOOLEAN;
+            case NUMBER:
+                return node.isIntegralNumber() ? INTEGER : NUMBER;
+            case OBJECT:
+                return OBJECT;
+            case STRING:
+                return STRING;
+            default:
+                return NULL;
+        }
+    }
+
+    /**
+     * @return Whether the given value is an infinite or NaN floating point number, which has no decimal value
+     */
+    static boolean isNonFinite(final JsonNode value) {
+        return value instanceof NumericNode && ((NumericNode) value).isNaN();
+    }
+
+    /**
+     * Compare JSON values for equality, treating numbers as equal if they have the same value (e.g. <code>1</code>
+     * and <code>1.0</code>), as is required for the <code>enum</code> and <code>uniqueItems</code> keywords.
+     */
+    static boolean valuesEqual(final JsonNode a, final JsonNode b) {
+        if (a.isNumber() && b.isNumber()) {
+            if (a.isIntegralNumber() && b.isIntegralNumber() && a.canConvertToLong() && b.canConvertToLong()) {
+                return a.longValue() == b.longValue();
+            }
+            if (isNonFinite(a) || isNonFinite(b)) {
+                return a.doubleValue() == b.doubleValue();
+            }
+            return a.decimalValue().compareTo(b.decimalValue()) == 0;
+        }
+        if (a.getNodeType() != b.getNodeType()) {
+            return false;
+        }
+        if (a.isArray()) {
+            if (a.size() != b.size()) {
+                return false;
+            }
+            for (int i = 0; i < a.size(); i++) {
+                if (!valuesEqual(a.get(i), b.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a.isObject()) {
+            if (a.size() != b.size()) {
+                return false;
+            }
+            final Iterator<Map.Entry<String, JsonNode>> fields = a.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                final JsonNode other = b.get(field.getKey());
+                if (other == null || !valuesEqual(field.getValue(), other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return a.equals(b);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,155 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.schema.CompiledSchema;
+import com.atlassian.oai.validator.schema.SchemaEngine;
+import com.atlassian.oai.validator.schema.SchemaMessageCollector;
+import com.atlassian.oai.validator.schema.ValidationConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+import static org.apache.commons.lang3.StringUtils.capitalize;
+
+/**
+ * A {@link SchemaEngine} that validates values directly against the Jackson tree of the schema.
+ * <p>
+ * Schemas are compiled once into a tree of keyword validators, and validating a value walks the value and that tree
+ * without creating intermediate reports. The component schemas shared by the compiled schemas of an API are compiled
+ * once for all of them.
+ * <p>
+ * Supports the same schemas as the default {@link com.atlassian.oai.validator.schema.JsonSchemaFactoryEngine}
+ * (JSON Schema Draft 4 with the OpenAPI extensions), and reports the same messages, keys and pointers. Other
+ * <code>format</code> values, and extensions added to a custom <code>JsonSchemaFactory</code>, are not supported.
+ *
+ * @see JacksonSchemaEngineProvider
+ */
+public class JacksonSchemaEngine implements SchemaEngine {
+
+    private final MessageResolver messages;
+    private final ValidationConfiguration validationConfiguration;
+
+    /**
+     * The documents of the component schemas, by the (identity of the) <code>components/schemas</code> object
+     * injected into each schema. Held only while schemas compiled against them are in use.
+     */
+    private final Cache<JsonNode, SchemaDocument> componentDocuments = CacheBuilder.newBuilder()
+            .weakKeys()
+            .weakValues()
+            .build();
+
+    /**
+     * Message keys, by key prefix then validation keyword.
+     */
+    private final Map<String, Map<String, String>> keys = new ConcurrentHashMap<>();
+
+    /**
+     * @param messages The message resolver to use
+     */
+    public JacksonSchemaEngine(@Nonnull final MessageResolver messages) {
+        this(messages, new ValidationConfiguration());
+    }
+
+    /**
+     * @param messages The message resolver to use
+     * @param validationConfiguration The validation configuration. Children of an invalid value are not validated in
+     * fail-fast mode, and the number of messages reported is bounded as configured.
+     *
+     * @see ValidationConfiguration#isFailFast()
+     * @see ValidationConfiguration#getMaxSchemaMessages()
+     * @see ValidationConfiguration#getMaxSchemaMessagesPerPointer()
+     */
+    public JacksonSchemaEngine(@Nonnull final MessageResolver messages,
+                               @Nonnull final ValidationConfiguration validationConfiguration) {
+        this.messages = requireNonNull(messages, "A message resolver is required");
+        this.validationConfiguration = requireNonNull(validationConfiguration, "A validation configuration is required");
+    }
+
+    @Nonnull
+    @Override
+    public CompiledSchema compile(@Nonnull final JsonNode schema) {
+        final SchemaDocument document = new SchemaDocument(schema, componentsOf(schema));
+        final SchemaNode root = document.node("", schema);
+        return (value, keyPrefix) -> validate(root, value, keyPrefix);
+    }
+
+    @Nullable
+    private SchemaDocument componentsOf(final JsonNode schema) {
+        final JsonNode componentSchemas = schema.path("components").get("schemas");
+        if (componentSchemas == null) {
+            return null;
+        }
+        return componentDocuments.asMap().computeIfAbsent(componentSchemas, schemas -> {
+            final ObjectNode root = JsonNodeFactory.instance.objectNode();
+            root.putObject("components").set("schemas", schemas);
+            return new SchemaDocument(root, null);
+        });
+    }
+
+    private ValidationReport validate(final SchemaNode root, final JsonNode value, @Nullable final String keyPrefix) {
+        final SchemaMessageCollector collector = new SchemaMessageCollector(validationConfiguration);
+        final ValidationContext context = new ValidationContext(
+                !validationConfiguration.isFailFast(), collector, error -> toMessage(error, keyPrefix));
+        try {
+            root.validate(value, context);
+        } catch (final SchemaException e) {
+            return ValidationReport.singleton(toMessage(e.toError(), keyPrefix));
+        } catch (final ValidationContext.ReportFullException e) {
+            // Stopped early, the collector notes that further messages were omitted
+            return collector.toReport();
+        }
+        return collector.toReport();
+    }
+
+    private ValidationReport.Message toMessage(final SchemaError error, @Nullable final String keyPrefix) {
+        final String instancePointer = error.instancePointer;
+
+        // Reports from subschemas are summarised as additional info, nested errors are not
+        List<String> additionalInfo = Collections.emptyList();
+        List<ValidationReport.Message> nestedMessages = Collections.emptyList();
+        if (!error.reports.isEmpty()) {
+            additionalInfo = new ArrayList<>();
+            nestedMessages = new ArrayList<>();
+            for (final Map.Entry<String, List<SchemaError>> report : error.reports.entrySet()) {
+                for (final SchemaError reportError : report.getValue()) {
+                    additionalInfo.add(report.getKey() + ": " + capitalize(reportError.message));
+                    nestedMessages.add(toMessage(reportError, keyPrefix));
+                }
+            }
+        } else if (!error.nested.isEmpty()) {
+            nestedMessages = new ArrayList<>(error.nested.size());
+            for (final SchemaError nestedError : error.nested) {
+                nestedMessages.add(toMessage(nestedError, keyPrefix));
+            }
+        }
+
+        return messages.create(
+                key(keyPrefix, error.qualifiedKeyword()),
+                (instancePointer.isEmpty() ? "" : "[Path '" + instancePointer + "'] ") + capitalize(error.message),
+                additionalInfo,
+                nestedMessages,
+                ValidationReport.MessageContext
+                        .create()
+                        .withPointers(instancePointer.isEmpty() ? "/" : instancePointer, error.schemaPointer)
+                        .build()
+        );
+    }
+
+    private String key(@Nullable final String keyPrefix, final String keyword) {
+        return keys
+                .computeIfAbsent(String.valueOf(keyPrefix), prefix -> new ConcurrentHashMap<>())
+                .computeIfAbsent(keyword, k -> "validation." + keyPrefix + ".schema." + k);
+    }
+}
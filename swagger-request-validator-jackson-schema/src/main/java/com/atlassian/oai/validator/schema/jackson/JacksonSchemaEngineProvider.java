@@ -0,0 +1,22 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.schema.SchemaEngine;
+import com.atlassian.oai.validator.schema.SchemaEngineProvider;
+import com.atlassian.oai.validator.schema.ValidationConfiguration;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides the {@link JacksonSchemaEngine} to validators built with
+ * {@link com.atlassian.oai.validator.OpenApiInteractionValidator.Builder#withSchemaEngineProvider()}.
+ */
+public class JacksonSchemaEngineProvider implements SchemaEngineProvider {
+
+    @Nonnull
+    @Override
+    public SchemaEngine create(@Nonnull final MessageResolver messages,
+                               @Nonnull final ValidationConfiguration validationConfiguration) {
+        return new JacksonSchemaEngine(messages, validationConfiguration);
+    }
+}
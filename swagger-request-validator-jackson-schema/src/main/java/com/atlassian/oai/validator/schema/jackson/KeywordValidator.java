@@ -0,0 +1,38 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Validates values against a single keyword of a schema.
+ */
+abstract class KeywordValidator {
+
+    final String keyword;
+    private final int types;
+
+    /**
+     * @param keyword The keyword validated
+     * @param types The mask of the types of value the keyword applies to (see {@link InstanceType#mask()})
+     */
+    KeywordValidator(final String keyword, final int types) {
+        this.keyword = keyword;
+        this.types = types;
+    }
+
+    final boolean appliesTo(final InstanceType type) {
+        return (types & type.mask()) != 0;
+    }
+
+    /**
+     * Validate the current value of the context against this keyword, reporting any errors to the context.
+     *
+     * @param value The value, of a type the keyword applies to
+     * @param schema The schema the keyword belongs to
+     * @param context The validation context
+     */
+    abstract void validate(JsonNode value, SchemaNode schema, ValidationContext context);
+
+    final void error(final ValidationContext context, final SchemaNode schema, final String message) {
+        context.report(SchemaError.of(keyword, context.instancePointer(), schema.pointer, message));
+    }
+}
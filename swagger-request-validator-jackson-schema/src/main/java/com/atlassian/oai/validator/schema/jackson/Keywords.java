@@ -0,0 +1,883 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.atlassian.oai.validator.regex.CompiledPattern;
+import com.atlassian.oai.validator.regex.PatternRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.fge.jsonschema.core.util.RegexECMA262Helper;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.ARRAY;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.BOOLEAN;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.INTEGER;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.NULL;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.NUMBER;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.OBJECT;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.STRING;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.allTypes;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.maskOf;
+
+/**
+ * Compiles the keywords of a schema object into {@link KeywordValidator validators}, checking their syntax.
+ * <p>
+ * Supports the JSON Schema Draft 4 validation keywords, and the OpenAPI <code>nullable</code> and
+ * <code>discriminator</code> keywords. Keywords are validated in name order, and the messages reported match those
+ * of the <code>com.github.java-json-tools:json-schema-validator</code> library.
+ */
+final class Keywords {
+
+    static final int NUMBERS = maskOf(INTEGER, NUMBER);
+
+    private Keywords() {
+    }
+
+    /**
+     * Compile the validators for the keywords of the given schema, in keyword order.
+     *
+     * @param node The compiled schema the keywords belong to
+     * @param syntax Collects syntax errors in the keywords
+     */
+    static List<KeywordValidator> compile(final SchemaNode node, final Syntax syntax) {
+        final JsonNode schema = node.schema;
+        final boolean nullable = schema.path("nullable").asBoolean(false);
+        final List<KeywordValidator> validators = new ArrayList<>();
+
+        final Map<String, JsonNode> keywords = new TreeMap<>();
+        schema.fields().forEachRemaining(field -> keywords.put(field.getKey(), field.getValue()));
+        for (final Map.Entry<String, JsonNode> field : keywords.entrySet()) {
+            final String keyword = field.getKey();
+            final JsonNode value = field.getValue();
+            final KeywordValidator validator;
+            switch (keyword) {
+                case "additionalItems":
+                    validator = additionalItems(schema, value, syntax);
+                    break;
+                case "additionalProperties":
+                    validator = additionalProperties(schema, value, syntax);
+                    break;
+                case "allOf":
+                case "anyOf":
+                case "oneOf":
+                    validator = schemaArray(keyword, value, syntax) ? combinator(node, keyword, value) : null;
+                    break;
+                case "dependencies":
+                    validator = dependencies(node, value, syntax);
+                    break;
+                case "discriminator":
+                    validator = DiscriminatorValidator.compile(node, value, syntax);
+                    break;
+                case "enum":
+                    validator = enumValues(value, nullable, syntax);
+                    break;
+                case "format":
+                    validator = value.isTextual() ? Formats.validator(value.textValue()) : syntax.incorrectType(keyword, value, STRING);
+                    break;
+                case "maxItems":
+                    validator = count(value, keyword, syntax) ? maxItems(value.intValue()) : null;
+                    break;
+                case "maxLength":
+                    validator = count(value, keyword, syntax) ? maxLength(value.intValue()) : null;
+                    break;
+                case "maxProperties":
+                    validator = count(value, keyword, syntax) ? maxProperties(value.intValue()) : null;
+                    break;
+                case "maximum":
+                    validator = number(value, keyword, syntax) ? maximum(value, exclusive(schema, "exclusiveMaximum")) : null;
+                    break;
+                case "minItems":
+                    validator = count(value, keyword, syntax) ? minItems(value.intValue()) : null;
+                    break;
+                case "minLength":
+                    validator = count(value, keyword, syntax) ? minLength(value.intValue()) : null;
+                    break;
+                case "minProperties":
+                    validator = count(value, keyword, syntax) ? minProperties(value.intValue()) : null;
+                    break;
+                case "minimum":
+                    validator = number(value, keyword, syntax) ? minimum(value, exclusive(schema, "exclusiveMinimum")) : null;
+                    break;
+                case "multipleOf":
+                    validator = multipleOf(value, syntax);
+                    break;
+                case "not":
+                    validator = not(node.child("/not", value));
+                    break;
+                case "pattern":
+                    validator = pattern(value, syntax);
+                    break;
+                case "required":
+                    validator = stringArray(keyword, null, value, syntax) ? required(value) : null;
+                    break;
+                case "type":
+                    validator = type(value, nullable, syntax);
+                    break;
+                case "uniqueItems":
+                    validator = !value.isBoolean() ? syntax.incorrectType(keyword, value, BOOLEAN) :
+                            value.booleanValue() ? uniqueItems() : null;
+                    break;
+                default:
+                    validator = null;
+                    checkSyntax(schema, keyword, value, syntax);
+                    break;
+            }
+            if (validator != null) {
+                validators.add(validator);
+            }
+        }
+        return validators;
+    }
+
+    /**
+     * Check the syntax of the keywords that do not have validators of their own.
+     * <p>
+     * Subschemas that are not objects are reported by the {@link SchemaNode} they belong to.
+     */
+    private static void checkSyntax(final JsonNode schema, final String keyword, final JsonNode value, final Syntax syntax) {
+        switch (keyword) {
+            case "$ref":
+                if (!value.isTextual()) {
+                    syntax.incorrectType(keyword, value, STRING);
+                }
+                break;
+            case "exclusiveMaximum":
+            case "exclusiveMinimum":
+                final String paired = keyword.equals("exclusiveMinimum") ? "minimum" : "maximum";
+                if (!value.isBoolean()) {
+                    syntax.incorrectType(keyword, value, BOOLEAN);
+                } else if (!schema.has(paired)) {
+                    syntax.error(keyword, keyword + " must be paired with " + paired);
+                }
+                break;
+            case "items":
+                if (value.isArray()) {
+                    schemaArray(keyword, value, syntax);
+                } else if (!value.isObject()) {
+                    syntax.incorrectType(keyword, value, ARRAY, OBJECT);
+                }
+                break;
+            case "nullable":
+                if (!value.isBoolean()) {
+                    syntax.incorrectType(keyword, value, BOOLEAN);
+                }
+                break;
+            case "patternProperties":
+                if (!value.isObject()) {
+                    syntax.incorrectType(keyword, value, OBJECT);
+                    break;
+                }
+                final Iterator<String> patterns = new TreeSet<>(ImmutableList.copyOf(value.fieldNames())).iterator();
+                while (patterns.hasNext()) {
+                    final String regex = patterns.next();
+                    if (!RegexECMA262Helper.regexIsValid(regex)) {
+                        syntax.report(keyword, "property name \"" + regex + "\" is not a valid ECMA 262 regular expression")
+                                .put("propertyName", regex);
+                    }
+                }
+                break;
+            case "definitions":
+            case "properties":
+                if (!value.isObject()) {
+                    syntax.incorrectType(keyword, value, OBJECT);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean count(final JsonNode value, final String keyword, final Syntax syntax) {
+        if (!value.isIntegralNumber()) {
+            syntax.incorrectType(keyword, value, INTEGER);
+            return false;
+        }
+        if (!value.canConvertToInt()) {
+            syntax.report(keyword, "integer value is too large").put("max", Integer.MAX_VALUE);
+            return false;
+        }
+        if (value.intValue() < 0) {
+            syntax.error(keyword, "integer value must be strictly positive");
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean number(final JsonNode value, final String keyword, final Syntax syntax) {
+        if (!value.isNumber()) {
+            syntax.incorrectType(keyword, value, INTEGER, NUMBER);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean exclusive(final JsonNode schema, final String keyword) {
+        return schema.path(keyword).asBoolean(false);
+    }
+
+    /**
+     * Check the value is a non-empty array, of subschemas.
+     */
+    private static boolean schemaArray(final String keyword, final JsonNode value, final Syntax syntax) {
+        if (!value.isArray()) {
+            syntax.incorrectType(keyword, value, ARRAY);
+            return false;
+        }
+        if (value.size() == 0) {
+            syntax.error(keyword, "array must have at least one element");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check the value is a non-empty array of unique strings.
+     *
+     * @param property The property the array is the dependencies of, if any
+     */
+    private static boolean stringArray(final String keyword,
+                                       @Nullable final String property,
+                                       final JsonNode value,
+                                       final Syntax syntax) {
+        if (!value.isArray()) {
+            syntax.incorrectType(keyword, value, ARRAY);
+            return false;
+        }
+        if (value.size() == 0) {
+            withProperty(syntax.report(keyword, "array must have at least one element"), property);
+            return false;
+        }
+        boolean valid = true;
+        for (int i = 0; i < value.size(); i++) {
+            final JsonNode element = value.get(i);
+            if (!element.isTextual()) {
+                withProperty(syntax.report(keyword, "array element at index " + i +
+                        " has incorrect type (expected one of [string] but found " + InstanceType.of(element) + ")"), property)
+                        .put("index", i)
+                        .<ObjectNode>set("expected", JsonNodeFactory.instance.arrayNode().add("string"))
+                        .put("found", InstanceType.of(element).toString());
+                valid = false;
+            }
+        }
+        if (hasDuplicates(value)) {
+            withProperty(syntax.report(keyword, "array must not contain duplicate elements"), property);
+            valid = false;
+        }
+        return valid;
+    }
+
+    private static ObjectNode withProperty(final ObjectNode error, @Nullable final String property) {
+        return property == null ? error : error.put("property", property);
+    }
+
+    private static KeywordValidator type(final JsonNode value, final boolean nullable, final Syntax syntax) {
+        final int nullMask = nullable ? NULL.mask() : 0;
+        if (value.isTextual()) {
+            final InstanceType type = typeNamed(value.textValue(), -1, syntax);
+            return type == null ? null : new TypeValidator(type.mask() | nullMask);
+        }
+        if (!value.isArray()) {
+            return syntax.incorrectType("type", value, ARRAY, STRING);
+        }
+        if (value.size() == 0) {
+            return syntax.error("type", "array must have at least one element");
+        }
+        boolean valid = true;
+        int allowed = nullMask;
+        for (int i = 0; i < value.size(); i++) {
+            final JsonNode name = value.get(i);
+            if (!name.isTextual()) {
+                syntax.report("type", "array element at index " + i + " has incorrect type (expected one of string but found " +
+                        InstanceType.of(name) + ")")
+                        .put("index", i)
+                        .put("expected", "string")
+                        .put("found", InstanceType.of(name).toString());
+                valid = false;
+                continue;
+            }
+            final InstanceType type = typeNamed(name.textValue(), i, syntax);
+            if (type == null) {
+                valid = false;
+            } else {
+                allowed |= type.mask();
+            }
+        }
+        if (hasDuplicates(value)) {
+            syntax.error("type", "array must not contain duplicate elements");
+            valid = false;
+        }
+        return valid ? new TypeValidator(allowed) : null;
+    }
+
+    /**
+     * @param index The index of the name in the array of types, or -1 if the type is a single name
+     *
+     * @return The type with the given name, or <code>null</code> if there is none
+     */
+    @Nullable
+    private static InstanceType typeNamed(final String name, final int index, final Syntax syntax) {
+        final InstanceType type = InstanceType.fromName(name);
+        if (type == null) {
+            final ObjectNode error = syntax.report("type", "\"" + name + "\" is not a valid primitive type (valid values are: " +
+                    Arrays.toString(InstanceType.values()) + ")");
+            if (index >= 0) {
+                error.put("index", index);
+            }
+            error.put("found", name);
+            final ArrayNode valid = error.putArray("valid");
+            for (final InstanceType validType : InstanceType.values()) {
+                valid.add(validType.toString());
+            }
+        }
+        return type;
+    }
+
+    private static final class TypeValidator extends KeywordValidator {
+        private final int allowed;
+        private final String allowedNames;
+
+        private TypeValidator(final int allowed) {
+            super("type", allTypes());
+            // Integers are numbers too
+            this.allowed = (allowed & NUMBER.mask()) != 0 ? allowed | INTEGER.mask() : allowed;
+            final List<String> names = new ArrayList<>();
+            for (final InstanceType type : InstanceType.values()) {
+                if ((allowed & type.mask()) != 0) {
+                    names.add(type.toString());
+                }
+            }
+            this.allowedNames = jsonArray(names);
+        }
+
+        @Override
+        void validate(final JsonNode value, final SchemaNode schema, final ValidationContext context) {
+            final InstanceType type = InstanceType.of(value);
+            if ((allowed & type.mask()) == 0) {
+                error(context, schema, "instance type (" + type + ") does not match any allowed primitive type (allowed: " +
+                        allowedNames + ")");
+            }
+        }
+    }
+
+    private static KeywordValidator enumValues(final JsonNode value, final boolean nullable, final Syntax syntax) {
+        if (!value.isArray()) {
+            return syntax.incorrectType("enum", value, ARRAY);
+        }
+        if (hasDuplicates(value)) {
+            return syntax.error("enum", "array must not contain duplicate elements");
+        }
+        final ArrayNode values = value.deepCopy();
+        if (nullable && !containsNull(values)) {
+            values.addNull();
+        }
+        final String possibleValues = values.toString();
+        return new KeywordValidator("enum", allTypes()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                for (final JsonNode candidate : values) {
+                    if (InstanceType.valuesEqual(instance, candidate)) {
+                        return;
+                    }
+                }
+                error(context, schema, "instance value (" + instance + ") not found in enum (possible values: " +
+                        possibleValues + ")");
+            }
+        };
+    }
+
+    private static boolean containsNull(final ArrayNode values) {
+        for (final JsonNode value : values) {
+            if (value.isNull()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static KeywordValidator required(final JsonNode value) {
+        final String[] required = sortedStrings(value);
+        return new KeywordValidator("required", OBJECT.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                TreeSet<String> missing = null;
+                for (final String name : required) {
+                    if (!instance.has(name)) {
+                        if (missing == null) {
+                            missing = new TreeSet<>();
+                        }
+                        missing.add(name);
+                    }
+                }
+                if (missing != null) {
+                    error(context, schema, "object has missing required properties (" + jsonArray(missing) + ")");
+                }
+            }
+        };
+    }
+
+    private static String[] sortedStrings(final JsonNode value) {
+        final String[] strings = new String[value.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = value.get(i).textValue();
+        }
+        Arrays.sort(strings);
+        return strings;
+    }
+
+    private static KeywordValidator additionalProperties(final JsonNode schema, final JsonNode value, final Syntax syntax) {
+        if (value.isObject()) {
+            // Validated against as the schema of the additional properties
+            return null;
+        }
+        if (!value.isBoolean()) {
+            return syntax.incorrectType("additionalProperties", value, BOOLEAN, OBJECT);
+        }
+        if (value.booleanValue()) {
+            return null;
+        }
+        final Set<String> properties = new HashSet<>();
+        schema.path("properties").fieldNames().forEachRemaining(properties::add);
+        final List<CompiledPattern> patterns = new ArrayList<>();
+        final Iterator<String> regexes = schema.path("patternProperties").fieldNames();
+        while (regexes.hasNext()) {
+            final String regex = regexes.next();
+            if (RegexECMA262Helper.regexIsValid(regex)) {
+                patterns.add(PatternRegistry.getInstance().ecma262(regex));
+            }
+        }
+        return new KeywordValidator("additionalProperties", OBJECT.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                TreeSet<String> unwanted = null;
+                final Iterator<String> names = instance.fieldNames();
+                while (names.hasNext()) {
+                    final String name = names.next();
+                    if (!properties.contains(name) && !matchesAny(patterns, name)) {
+                        if (unwanted == null) {
+                            unwanted = new TreeSet<>();
+                        }
+                        unwanted.add(name);
+                    }
+                }
+                if (unwanted != null) {
+                    error(context, schema, "object instance has properties which are not allowed by the schema: " +
+                            jsonArray(unwanted));
+                }
+            }
+        };
+    }
+
+    private static boolean matchesAny(final List<CompiledPattern> patterns, final String name) {
+        for (final CompiledPattern pattern : patterns) {
+            if (pattern.find(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static KeywordValidator additionalItems(final JsonNode schema, final JsonNode value, final Syntax syntax) {
+        if (value.isObject()) {
+            // Validated against as the schema of the additional items
+            return null;
+        }
+        if (!value.isBoolean()) {
+            return syntax.incorrectType("additionalItems", value, BOOLEAN, OBJECT);
+        }
+        final JsonNode items = schema.get("items");
+        if (value.booleanValue() || items == null || !items.isArray()) {
+            return null;
+        }
+        final int allowed = items.size();
+        return new KeywordValidator("additionalItems", ARRAY.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                if (instance.size() > allowed) {
+                    error(context, schema, "schema only allows " + allowed + " elements in array but instance has " +
+                            instance.size() + " elements");
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator dependencies(final SchemaNode node, final JsonNode value, final Syntax syntax) {
+        if (!value.isObject()) {
+            return syntax.incorrectType("dependencies", value, OBJECT);
+        }
+        final Map<String, String[]> propertyDependencies = new LinkedHashMap<>();
+        final Map<String, SchemaNode> schemaDependencies = new LinkedHashMap<>();
+        boolean valid = true;
+        for (final String property : new TreeSet<>(ImmutableList.copyOf(value.fieldNames()))) {
+            final JsonNode dependency = value.get(property);
+            if (dependency.isObject()) {
+                schemaDependencies.put(property, node.child("/dependencies/" + escape(property), dependency));
+            } else if (dependency.isArray()) {
+                if (stringArray("dependencies", property, dependency, syntax)) {
+                    propertyDependencies.put(property, sortedStrings(dependency));
+                } else {
+                    valid = false;
+                }
+            } else {
+                syntax.report("dependencies", "dependency value for property \"" + property +
+                        "\" has incorrect type (expected one of [array, object] but found " + InstanceType.of(dependency) + ")")
+                        .put("property", property)
+                        .<ObjectNode>set("expected", JsonNodeFactory.instance.arrayNode().add("array").add("object"))
+                        .put("found", InstanceType.of(dependency).toString());
+                valid = false;
+            }
+        }
+        if (!valid) {
+            return null;
+        }
+        return new KeywordValidator("dependencies", OBJECT.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                for (final Map.Entry<String, String[]> dependency : propertyDependencies.entrySet()) {
+                    if (!instance.has(dependency.getKey())) {
+                        continue;
+                    }
+                    final List<String> missing = new ArrayList<>();
+                    for (final String required : dependency.getValue()) {
+                        if (!instance.has(required)) {
+                            missing.add(required);
+                        }
+                    }
+                    if (!missing.isEmpty()) {
+                        error(context, schema, "property \"" + dependency.getKey() +
+                                "\" of object has missing property dependencies (schema requires " +
+                                jsonArray(dependency.getValue()) + "; missing: " + jsonArray(missing) + ")");
+                    }
+                }
+                for (final Map.Entry<String, SchemaNode> dependency : schemaDependencies.entrySet()) {
+                    if (instance.has(dependency.getKey())) {
+                        dependency.getValue().validate(instance, context);
+                    }
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator minLength(final int minimum) {
+        return new KeywordValidator("minLength", STRING.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                final String value = instance.textValue();
+                if (value.length() < minimum || value.codePointCount(0, value.length()) < minimum) {
+                    error(context, schema, "string \"" + value + "\" is too short (length: " +
+                            value.codePointCount(0, value.length()) + ", required minimum: " + minimum + ")");
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator maxLength(final int maximum) {
+        return new KeywordValidator("maxLength", STRING.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                final String value = instance.textValue();
+                if (value.length() > maximum && value.codePointCount(0, value.length()) > maximum) {
+                    error(context, schema, "string \"" + value + "\" is too long (length: " +
+                            value.codePointCount(0, value.length()) + ", maximum allowed: " + maximum + ")");
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator pattern(final JsonNode value, final Syntax syntax) {
+        if (!value.isTextual()) {
+            return syntax.incorrectType("pattern", value, STRING);
+        }
+        if (!RegexECMA262Helper.regexIsValid(value.textValue())) {
+            syntax.report("pattern", "string \"" + value.textValue() + "\" is not a valid ECMA 262 regular expression")
+                    .put("value", value.textValue());
+            return null;
+        }
+        final CompiledPattern pattern = PatternRegistry.getInstance().ecma262(value.textValue());
+        return new KeywordValidator("pattern", STRING.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                if (!pattern.find(instance.textValue())) {
+                    error(context, schema, "ECMA 262 regex \"" + pattern.getPattern() + "\" does not match input string \"" +
+                            instance.textValue() + "\"");
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator minimum(final JsonNode minimum, final boolean exclusive) {
+        return new KeywordValidator("minimum", NUMBERS) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                final int comparison = compare(instance, minimum);
+                if (comparison < 0) {
+                    error(context, schema, "numeric instance is lower than the required minimum (minimum: " + minimum +
+                            ", found: " + instance + ")");
+                } else if (comparison == 0 && exclusive) {
+                    error(context, schema, "numeric instance is not strictly greater than the required minimum " + minimum);
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator maximum(final JsonNode maximum, final boolean exclusive) {
+        return new KeywordValidator("maximum", NUMBERS) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                final int comparison = compare(instance, maximum);
+                if (comparison > 0) {
+                    error(context, schema, "numeric instance is greater than the required maximum (maximum: " + maximum +
+                            ", found: " + instance + ")");
+                } else if (comparison == 0 && exclusive) {
+                    error(context, schema, "numeric instance is not strictly lower than the required maximum " + maximum);
+                }
+            }
+        };
+    }
+
+    private static int compare(final JsonNode a, final JsonNode b) {
+        if (a.isIntegralNumber() && b.isIntegralNumber() && a.canConvertToLong() && b.canConvertToLong()) {
+            return Long.compare(a.longValue(), b.longValue());
+        }
+        if (InstanceType.isNonFinite(a) || InstanceType.isNonFinite(b)) {
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        return a.decimalValue().compareTo(b.decimalValue());
+    }
+
+    private static int signum(final JsonNode number) {
+        return InstanceType.isNonFinite(number) ? (int) Math.signum(number.doubleValue()) : number.decimalValue().signum();
+    }
+
+    private static KeywordValidator multipleOf(final JsonNode divisor, final Syntax syntax) {
+        if (!divisor.isNumber()) {
+            return syntax.incorrectType("multipleOf", divisor, INTEGER, NUMBER);
+        }
+        if (signum(divisor) <= 0) {
+            syntax.report("multipleOf", "divisor must be strictly greater than zero").set("found", divisor);
+            return null;
+        }
+        return new KeywordValidator("multipleOf", NUMBERS) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                final boolean multiple;
+                if (instance.isIntegralNumber() && divisor.isIntegralNumber() &&
+                        instance.canConvertToLong() && divisor.canConvertToLong()) {
+                    multiple = instance.longValue() % divisor.longValue() == 0;
+                } else if (InstanceType.isNonFinite(instance) || InstanceType.isNonFinite(divisor)) {
+                    multiple = false;
+                } else {
+                    multiple = instance.decimalValue().remainder(divisor.decimalValue()).compareTo(BigDecimal.ZERO) == 0;
+                }
+                if (!multiple) {
+                    error(context, schema, "remainder of division is not zero (" + instance + " / " + divisor + ")");
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator minItems(final int minimum) {
+        return new KeywordValidator("minItems", ARRAY.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                if (instance.size() < minimum) {
+                    error(context, schema, "array is too short: must have at least " + minimum +
+                            " elements but instance has " + instance.size() + " elements");
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator maxItems(final int maximum) {
+        return new KeywordValidator("maxItems", ARRAY.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                if (instance.size() > maximum) {
+                    error(context, schema, "array is too long: must have at most " + maximum +
+                            " elements but instance has " + instance.size() + " elements");
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator uniqueItems() {
+        return new KeywordValidator("uniqueItems", ARRAY.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                if (hasDuplicates(instance)) {
+                    error(context, schema, "array must not contain duplicate elements");
+                }
+            }
+        };
+    }
+
+    private static boolean hasDuplicates(final JsonNode array) {
+        final Map<Integer, List<JsonNode>> byHash = new HashMap<>();
+        for (final JsonNode element : array) {
+            final List<JsonNode> candidates = byHash.computeIfAbsent(valueHash(element), h -> new ArrayList<>(1));
+            for (final JsonNode candidate : candidates) {
+                if (InstanceType.valuesEqual(element, candidate)) {
+                    return true;
+                }
+            }
+            candidates.add(element);
+        }
+        return false;
+    }
+
+    /**
+     * @return A hash code consistent with {@link InstanceType#valuesEqual}
+     */
+    private static int valueHash(final JsonNode value) {
+        if (value.isNumber()) {
+            return Double.hashCode(value.doubleValue());
+        }
+        if (value.isArray()) {
+            int hash = 1;
+            for (final JsonNode element : value) {
+                hash = 31 * hash + valueHash(element);
+            }
+            return hash;
+        }
+        if (value.isObject()) {
+            int hash = 0;
+            final Iterator<Map.Entry<String, JsonNode>> fields = value.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                hash += field.getKey().hashCode() ^ valueHash(field.getValue());
+            }
+            return hash;
+        }
+        return value.hashCode();
+    }
+
+    private static KeywordValidator minProperties(final int minimum) {
+        return new KeywordValidator("minProperties", OBJECT.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                if (instance.size() < minimum) {
+                    error(context, schema, "object has too few properties (found " + instance.size() +
+                            " but schema requires at least " + minimum + ")");
+                }
+            }
+        };
+    }
+
+    private static KeywordValidator maxProperties(final int maximum) {
+        return new KeywordValidator("maxProperties", OBJECT.mask()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                if (instance.size() > maximum) {
+                    error(context, schema, "object has too many properties (found " + instance.size() +
+                            " but schema requires at most " + maximum + ")");
+                }
+            }
+        };
+    }
+
+    @Nullable
+    private static KeywordValidator not(@Nullable final SchemaNode subschema) {
+        if (subschema == null) {
+            return null;
+        }
+        return new KeywordValidator("not", allTypes()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                if (context.validateSeparately(subschema, instance).isEmpty()) {
+                    error(context, schema, "instance matched a schema which it should not have");
+                }
+            }
+        };
+    }
+
+    @Nullable
+    private static KeywordValidator combinator(final SchemaNode node, final String keyword, final JsonNode value) {
+        final SchemaNode[] subschemas = new SchemaNode[value.size()];
+        boolean valid = true;
+        for (int i = 0; i < subschemas.length; i++) {
+            subschemas[i] = node.child("/" + keyword + "/" + i, value.get(i));
+            valid &= subschemas[i] != null;
+        }
+        if (!valid) {
+            return null;
+        }
+        return new KeywordValidator(keyword, allTypes()) {
+            @Override
+            void validate(final JsonNode instance, final SchemaNode schema, final ValidationContext context) {
+                final LinkedHashMap<String, List<SchemaError>> reports = new LinkedHashMap<>();
+                int matched = 0;
+                for (final SchemaNode subschema : subschemas) {
+                    final List<SchemaError> errors = context.validateSeparately(subschema, instance);
+                    reports.put(subschema.pointer, errors);
+                    if (errors.isEmpty()) {
+                        matched++;
+                    }
+                }
+                final int total = subschemas.length;
+                final String instancePointer;
+                switch (keyword) {
+                    case "allOf":
+                        if (matched < total) {
+                            instancePointer = context.instancePointer();
+                            context.report(SchemaError.withReports(keyword, instancePointer, schema.pointer,
+                                    "instance failed to match all required schemas (matched only " + matched + " out of " +
+                                            total + ")", reports));
+                        }
+                        break;
+                    case "anyOf":
+                        if (matched == 0) {
+                            instancePointer = context.instancePointer();
+                            context.report(SchemaError.withReports(keyword, instancePointer, schema.pointer,
+                                    "instance failed to match at least one required schema among " + total, reports));
+                        }
+                        break;
+                    default:
+                        if (matched == 0) {
+                            instancePointer = context.instancePointer();
+                            context.report(SchemaError.withReports(keyword, instancePointer, schema.pointer,
+                                    "instance failed to match exactly one schema (matched 0 out of " + total + ")", reports));
+                        } else if (matched > 1) {
+                            instancePointer = context.instancePointer();
+                            context.report(SchemaError.of(keyword, instancePointer, schema.pointer,
+                                    "instance failed to match exactly one schema (matched " + matched + " out of " + total + ")"));
+                        }
+                        break;
+                }
+            }
+        };
+    }
+
+    static String jsonArray(final Collection<String> values) {
+        final ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        values.forEach(array::add);
+        return array.toString();
+    }
+
+    static String jsonArray(final String[] values) {
+        final ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        for (final String value : values) {
+            array.add(value);
+        }
+        return array.toString();
+    }
+
+    static String escape(final String token) {
+        final StringBuilder escaped = new StringBuilder(token.length());
+        ValidationContext.appendEscaped(escaped, token);
+        return escaped.toString();
+    }
+}
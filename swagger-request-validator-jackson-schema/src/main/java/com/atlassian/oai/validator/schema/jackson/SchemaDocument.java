@@ -0,0 +1,116 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A JSON document containing schemas, and the schemas compiled from it by pointer.
+ * <p>
+ * The component schemas of an API are injected into each schema compiled for it, so are compiled once in a document
+ * of their own that is shared by the documents of those schemas.
+ */
+final class SchemaDocument {
+
+    private static final String COMPONENT_SCHEMAS = "/components/schemas/";
+
+    final JsonNode root;
+    @Nullable
+    private final SchemaDocument components;
+
+    private final ConcurrentMap<String, SchemaNode> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * @param root The document
+     * @param components The document to find the schemas under <code>/components/schemas</code> in, if any
+     */
+    SchemaDocument(final JsonNode root, @Nullable final SchemaDocument components) {
+        this.root = root;
+        this.components = components;
+    }
+
+    /**
+     * @return The compiled schema at the given pointer, or <code>null</code> if there is no schema object there
+     */
+    @Nullable
+    SchemaNode node(final String pointer) {
+        if (components != null && pointer.startsWith(COMPONENT_SCHEMAS)) {
+            return components.node(pointer);
+        }
+        final SchemaNode node = nodes.get(pointer);
+        if (node != null) {
+            return node;
+        }
+        final JsonNode schema = resolvePointer(pointer);
+        return schema != null && schema.isObject() ? node(pointer, schema) : null;
+    }
+
+    /**
+     * @return The compiled schema at the given pointer, compiling the given schema object if needed
+     */
+    SchemaNode node(final String pointer, final JsonNode schema) {
+        if (components != null && pointer.startsWith(COMPONENT_SCHEMAS)) {
+            return components.node(pointer, schema);
+        }
+        final SchemaNode node = nodes.get(pointer);
+        if (node != null) {
+            return node;
+        }
+        // Compiling may compile (and so add) further schemas, so cannot be done within computeIfAbsent
+        final SchemaNode compiled = new SchemaNode(this, pointer, schema);
+        final SchemaNode existing = nodes.putIfAbsent(pointer, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * @param ref A reference within this document, e.g. <code>#/components/schemas/Pet</code>
+     *
+     * @return The compiled schema referred to, or <code>null</code> if there is none
+     */
+    @Nullable
+    SchemaNode resolve(final String ref) {
+        final String pointer = pointerOf(ref);
+        return pointer == null ? null : node(pointer);
+    }
+
+    /**
+     * @param ref A reference within this document, e.g. <code>#/components/schemas/Pet</code>
+     *
+     * @return The JSON value referred to, or <code>null</code> if there is none
+     */
+    @Nullable
+    JsonNode resolveJson(final String ref) {
+        final String pointer = pointerOf(ref);
+        return pointer == null ? null : resolvePointer(pointer);
+    }
+
+    @Nullable
+    private JsonNode resolvePointer(final String pointer) {
+        if (!pointer.isEmpty() && !pointer.startsWith("/")) {
+            return null;
+        }
+        final JsonNode value = root.at(pointer);
+        return value.isMissingNode() ? null : value;
+    }
+
+    /**
+     * @return The (decoded) JSON pointer in the given reference, or <code>null</code> if it is not a reference within
+     * the document
+     */
+    @Nullable
+    private static String pointerOf(final String ref) {
+        if (!ref.startsWith("#")) {
+            return null;
+        }
+        try {
+            final String fragment = new URI(ref).getFragment();
+            return fragment == null ? "" : fragment;
+        } catch (final URISyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A failure to validate a value against a schema keyword.
+ * <p>
+ * Errors are only turned into {@link com.atlassian.oai.validator.report.ValidationReport.Message validation messages}
+ * once they are known to be reported, so creating one is cheap.
+ */
+final class SchemaError {
+
+    final String keyword;
+    @Nullable
+    final String attribute;
+    final String instancePointer;
+    final String schemaPointer;
+    final String message;
+
+    /**
+     * The errors from validating the value against the subschemas of a keyword, either by subschema pointer (which are
+     * summarised in the message's additional info), or as a list (which are not).
+     */
+    final Map<String, List<SchemaError>> reports;
+    final List<SchemaError> nested;
+
+    private SchemaError(final String keyword,
+                        @Nullable final String attribute,
+                        final String instancePointer,
+                        final String schemaPointer,
+                        final String message,
+                        final Map<String, List<SchemaError>> reports,
+                        final List<SchemaError> nested) {
+        this.keyword = keyword;
+        this.attribute = attribute;
+        this.instancePointer = instancePointer;
+        this.schemaPointer = schemaPointer;
+        this.message = message;
+        this.reports = reports;
+        this.nested = nested;
+    }
+
+    static SchemaError of(final String keyword,
+                          final String instancePointer,
+                          final String schemaPointer,
+                          final String message) {
+        return new SchemaError(keyword, null, instancePointer, schemaPointer, message,
+                Collections.emptyMap(), Collections.emptyList());
+    }
+
+    static SchemaError format(final String attribute,
+                              final String instancePointer,
+                              final String schemaPointer,
+                              final String message) {
+        return new SchemaError("format", attribute, instancePointer, schemaPointer, message,
+                Collections.emptyMap(), Collections.emptyList());
+    }
+
+    /**
+     * @param reports The errors from each subschema, by subschema pointer, in subschema order
+     */
+    static SchemaError withReports(final String keyword,
+                                   final String instancePointer,
+                                   final String schemaPointer,
+                                   final String message,
+                                   final LinkedHashMap<String, List<SchemaError>> reports) {
+        return new SchemaError(keyword, null, instancePointer, schemaPointer, message, reports, Collections.emptyList());
+    }
+
+    static SchemaError withNested(final String keyword,
+                                  final String instancePointer,
+                                  final String schemaPointer,
+                                  final String message,
+                                  final List<SchemaError> nested) {
+        return new SchemaError(keyword, null, instancePointer, schemaPointer, message, Collections.emptyMap(), nested);
+    }
+
+    /**
+     * @return The keyword, qualified by the format attribute for <code>format</code> errors
+     */
+    String qualifiedKeyword() {
+        return attribute == null ? keyword : keyword + "." + attribute;
+    }
+}
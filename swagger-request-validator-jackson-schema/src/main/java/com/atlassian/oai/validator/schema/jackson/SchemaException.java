@@ -0,0 +1,21 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+/**
+ * Thrown when validation cannot continue because of a problem with the schema (e.g. a syntax error, or a reference
+ * that cannot be resolved). The problem is reported as the only message of the validation.
+ */
+class SchemaException extends RuntimeException {
+
+    private final String instancePointer;
+    private final String schemaPointer;
+
+    SchemaException(final String message, final String instancePointer, final String schemaPointer) {
+        super(message, null, false, false);
+        this.instancePointer = instancePointer;
+        this.schemaPointer = schemaPointer;
+    }
+
+    SchemaError toError() {
+        return SchemaError.of("processingError", instancePointer, schemaPointer, getMessage());
+    }
+}
@@ -0,0 +1,309 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.atlassian.oai.validator.regex.CompiledPattern;
+import com.atlassian.oai.validator.regex.PatternRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.github.fge.jsonschema.core.util.RegexECMA262Helper;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.ARRAY;
+import static com.atlassian.oai.validator.schema.jackson.InstanceType.OBJECT;
+
+/**
+ * A compiled schema object: the validators for its keywords, and the subschemas its children are validated against.
+ * <p>
+ * A schema with a <code>$ref</code> is validated as the schema it refers to, which is resolved when first needed.
+ * A schema with syntax errors (in itself or its subschemas) fails any validation against it.
+ * <p>
+ * Instances are immutable once compiled (bar the resolved reference), and may be used concurrently.
+ */
+final class SchemaNode {
+
+    private static final SchemaNode[] NO_SCHEMAS = new SchemaNode[0];
+    private static final CompiledPattern[] NO_PATTERNS = new CompiledPattern[0];
+
+    final SchemaDocument document;
+    final String pointer;
+    final JsonNode schema;
+
+    @Nullable
+    private final String ref;
+    @Nullable
+    private volatile SchemaNode target;
+
+    private final KeywordValidator[] validators;
+
+    @Nullable
+    private final Map<String, SchemaNode> properties;
+    private final CompiledPattern[] patterns;
+    private final SchemaNode[] patternSchemas;
+    @Nullable
+    private final SchemaNode additionalProperties;
+
+    @Nullable
+    private final SchemaNode items;
+    private final SchemaNode[] tupleItems;
+    @Nullable
+    private final SchemaNode additionalItems;
+
+    /**
+     * The syntax errors in this schema and its subschemas, or <code>null</code> if there are none.
+     */
+    @Nullable
+    private final ArrayNode syntaxErrors;
+
+    /**
+     * The syntax errors of the subschemas, by relative pointer. Only used while compiling.
+     */
+    @Nullable
+    private Map<String, ArrayNode> subschemaErrors = new TreeMap<>();
+
+    SchemaNode(final SchemaDocument document, final String pointer, final JsonNode schema) {
+        this.document = document;
+        this.pointer = pointer;
+        this.schema = schema;
+
+        final JsonNode refNode = schema.get("$ref");
+        this.ref = refNode != null && refNode.isTextual() ? refNode.textValue() : null;
+
+        final Syntax syntax = new Syntax(pointer);
+        this.validators = Keywords.compile(this, syntax).toArray(new KeywordValidator[0]);
+
+        this.properties = properties("/properties/", schema.get("properties"));
+        final JsonNode patternProperties = schema.get("patternProperties");
+        if (patternProperties != null && patternProperties.isObject() && patternProperties.size() > 0) {
+            final List<CompiledPattern> compiledPatterns = new ArrayList<>();
+            final List<SchemaNode> schemas = new ArrayList<>();
+            final Iterator<Map.Entry<String, JsonNode>> fields = patternProperties.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                final SchemaNode patternSchema = child("/patternProperties/" + Keywords.escape(field.getKey()), field.getValue());
+                if (patternSchema != null && RegexECMA262Helper.regexIsValid(field.getKey())) {
+                    compiledPatterns.add(PatternRegistry.getInstance().ecma262(field.getKey()));
+                    schemas.add(patternSchema);
+                }
+            }
+            this.patterns = compiledPatterns.toArray(NO_PATTERNS);
+            this.patternSchemas = schemas.toArray(NO_SCHEMAS);
+        } else {
+            this.patterns = NO_PATTERNS;
+            this.patternSchemas = NO_SCHEMAS;
+        }
+        this.additionalProperties = objectChild("/additionalProperties", schema.get("additionalProperties"));
+
+        final JsonNode itemsNode = schema.get("items");
+        if (itemsNode != null && itemsNode.isArray()) {
+            this.items = null;
+            this.tupleItems = new SchemaNode[itemsNode.size()];
+            for (int i = 0; i < tupleItems.length; i++) {
+                tupleItems[i] = child("/items/" + i, itemsNode.get(i));
+            }
+        } else {
+            this.items = objectChild("/items", itemsNode);
+            this.tupleItems = NO_SCHEMAS;
+        }
+        this.additionalItems = objectChild("/additionalItems", schema.get("additionalItems"));
+
+        // Definitions are only checked, and validated against when referred to
+        properties("/definitions/", schema.get("definitions"));
+
+        this.syntaxErrors = syntaxErrors(syntax);
+        this.subschemaErrors = null;
+    }
+
+    /**
+     * Compile the given subschema of this schema.
+     *
+     * @param relativePointer The pointer to the subschema, relative to this schema
+     * @param subschema The subschema
+     *
+     * @return The compiled subschema, or <code>null</code> if it is not a schema object
+     */
+    @Nullable
+    SchemaNode child(final String relativePointer, final JsonNode subschema) {
+        if (!subschema.isObject()) {
+            subschemaErrors.put(relativePointer, Syntax.notASchema(pointer + relativePointer, subschema));
+            return null;
+        }
+        final SchemaNode child = document.node(pointer + relativePointer, subschema);
+        if (child.syntaxErrors != null) {
+            subschemaErrors.put(relativePointer, child.syntaxErrors);
+        }
+        return child;
+    }
+
+    @Nullable
+    private SchemaNode objectChild(final String relativePointer, @Nullable final JsonNode subschema) {
+        return subschema != null && subschema.isObject() ? child(relativePointer, subschema) : null;
+    }
+
+    @Nullable
+    private Map<String, SchemaNode> properties(final String keywordPointer, @Nullable final JsonNode propertiesNode) {
+        if (propertiesNode == null || !propertiesNode.isObject() || propertiesNode.size() == 0) {
+            return null;
+        }
+        final Map<String, SchemaNode> children = new HashMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> fields = propertiesNode.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            children.put(field.getKey(), child(keywordPointer + Keywords.escape(field.getKey()), field.getValue()));
+        }
+        return children;
+    }
+
+    @Nullable
+    private ArrayNode syntaxErrors(final Syntax syntax) {
+        if (syntax.errors() == null && subschemaErrors.isEmpty()) {
+            return null;
+        }
+        final ArrayNode errors = JsonNodeFactory.instance.arrayNode();
+        if (syntax.errors() != null) {
+            errors.addAll(syntax.errors());
+        }
+        subschemaErrors.values().forEach(errors::addAll);
+        return errors;
+    }
+
+    /**
+     * Validate the current value of the context against this schema, reporting any errors to the context.
+     *
+     * @throws SchemaException if the schema is invalid, or a validation loop is found
+     */
+    void validate(final JsonNode value, final ValidationContext context) {
+        if (syntaxErrors != null) {
+            throw invalidSchema();
+        }
+        context.enter(this);
+        try {
+            final SchemaNode resolved = ref == null ? this : target();
+            if (resolved.syntaxErrors != null) {
+                throw resolved.invalidSchema();
+            }
+            resolved.validateResolved(value, context);
+        } finally {
+            context.exit();
+        }
+    }
+
+    private void validateResolved(final JsonNode value, final ValidationContext context) {
+        final InstanceType type = InstanceType.of(value);
+        for (final KeywordValidator validator : validators) {
+            if (validator.appliesTo(type)) {
+                validator.validate(value, this, context);
+            }
+        }
+        if (context.stop()) {
+            return;
+        }
+        if (type == OBJECT) {
+            validateProperties(value, context);
+        } else if (type == ARRAY) {
+            validateItems(value, context);
+        }
+    }
+
+    private void validateProperties(final JsonNode value, final ValidationContext context) {
+        if (properties == null && patterns.length == 0 && additionalProperties == null) {
+            return;
+        }
+        final String[] names = new String[value.size()];
+        final Iterator<String> fieldNames = value.fieldNames();
+        for (int i = 0; i < names.length; i++) {
+            names[i] = fieldNames.next();
+        }
+        Arrays.sort(names);
+
+        for (final String name : names) {
+            final JsonNode property = value.get(name);
+            context.push(name);
+            try {
+                boolean matched = false;
+                final SchemaNode propertySchema = properties == null ? null : properties.get(name);
+                if (propertySchema != null) {
+                    propertySchema.validate(property, context);
+                    matched = true;
+                }
+                for (int i = 0; i < patterns.length; i++) {
+                    if (patterns[i].find(name)) {
+                        patternSchemas[i].validate(property, context);
+                        matched = true;
+                    }
+                }
+                if (!matched && additionalProperties != null) {
+                    additionalProperties.validate(property, context);
+                }
+            } finally {
+                context.pop();
+            }
+        }
+    }
+
+    private void validateItems(final JsonNode value, final ValidationContext context) {
+        if (items == null && tupleItems.length == 0 && additionalItems == null) {
+            return;
+        }
+        for (int i = 0; i < value.size(); i++) {
+            final SchemaNode itemSchema;
+            if (items != null) {
+                itemSchema = items;
+            } else if (i < tupleItems.length) {
+                itemSchema = tupleItems[i];
+            } else {
+                itemSchema = additionalItems;
+            }
+            if (itemSchema == null) {
+                continue;
+            }
+            context.push(i);
+            try {
+                itemSchema.validate(value.get(i), context);
+            } finally {
+                context.pop();
+            }
+        }
+    }
+
+    /**
+     * @return The schema this schema refers to, following any chain of references
+     */
+    private SchemaNode target() {
+        SchemaNode resolved = target;
+        if (resolved == null) {
+            resolved = resolve();
+            target = resolved;
+        }
+        return resolved;
+    }
+
+    private SchemaNode resolve() {
+        final Set<String> refs = new HashSet<>();
+        SchemaNode node = this;
+        while (node.ref != null) {
+            if (!refs.add(node.ref)) {
+                throw new SchemaException("JSON Reference \"" + node.ref + "\" loops on itself", "", node.pointer);
+            }
+            final SchemaNode next = node.document.resolve(node.ref);
+            if (next == null) {
+                throw new SchemaException("JSON Reference \"" + node.ref + "\" cannot be resolved", "", node.pointer);
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    private SchemaException invalidSchema() {
+        return new SchemaException("Invalid JSON Schema, cannot continue\nSyntax errors:\n" + syntaxErrors.toPrettyString(), "", "/");
+    }
+}
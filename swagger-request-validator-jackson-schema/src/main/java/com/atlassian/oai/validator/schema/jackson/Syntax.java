@@ -0,0 +1,96 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * Collects the syntax errors found when compiling a schema object.
+ * <p>
+ * Errors are recorded in the form reported by the <code>com.github.java-json-tools:json-schema-validator</code>
+ * library, so that the message of an invalid schema is the same for either schema engine.
+ */
+final class Syntax {
+
+    private final String pointer;
+    @Nullable
+    private ArrayNode errors;
+
+    Syntax(final String pointer) {
+        this.pointer = pointer;
+    }
+
+    /**
+     * Record a syntax error in the given keyword.
+     *
+     * @return <code>null</code>, for use in place of the keyword's validator
+     */
+    @Nullable
+    <T> T error(final String keyword, final String message) {
+        report(keyword, message);
+        return null;
+    }
+
+    /**
+     * Record a syntax error in the given keyword.
+     *
+     * @return The error, to add the arguments of the message to
+     */
+    ObjectNode report(final String keyword, final String message) {
+        if (errors == null) {
+            errors = JsonNodeFactory.instance.arrayNode();
+        }
+        final ObjectNode error = errors.addObject()
+                .put("level", "error")
+                .put("message", message)
+                .put("domain", "syntax");
+        error.putObject("schema")
+                .put("loadingURI", "#")
+                .put("pointer", pointer);
+        return error.put("keyword", keyword);
+    }
+
+    /**
+     * Record that the value of the given keyword is not of one of the expected types.
+     *
+     * @return <code>null</code>, for use in place of the keyword's validator
+     */
+    @Nullable
+    <T> T incorrectType(final String keyword, final JsonNode value, final InstanceType... expected) {
+        final ObjectNode error = report(keyword,
+                "value has incorrect type (found " + InstanceType.of(value) + ", expected one of " + Arrays.toString(expected) + ")");
+        error.put("found", InstanceType.of(value).toString());
+        final ArrayNode types = error.putArray("expected");
+        for (final InstanceType type : expected) {
+            types.add(type.toString());
+        }
+        return null;
+    }
+
+    /**
+     * @return The errors found, or <code>null</code> if there are none
+     */
+    @Nullable
+    ArrayNode errors() {
+        return errors;
+    }
+
+    /**
+     * @return The error for a subschema that is not an object, at the given pointer
+     */
+    static ArrayNode notASchema(final String pointer, final JsonNode value) {
+        final ArrayNode errors = JsonNodeFactory.instance.arrayNode();
+        final ObjectNode error = errors.addObject().put("level", "error");
+        error.putObject("schema")
+                .put("loadingURI", "#")
+                .put("pointer", pointer);
+        error.put("domain", "syntax")
+                .put("message", "JSON value is of type " + InstanceType.of(value) + ", not a JSON Schema (expected an object)")
+                .put("found", InstanceType.of(value).toString());
+        return errors;
+    }
+}
@@ -0,0 +1,212 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.schema.SchemaMessageCollector;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The state of a single validation of a value against a compiled schema: where in the value validation is, the
+ * schemas being validated against, and the errors found.
+ * <p>
+ * Errors are collected in a scope. The top level scope reports errors to a {@link SchemaMessageCollector}; keywords
+ * that validate the value against subschemas (e.g. <code>anyOf</code>) collect the errors from each in a scope of
+ * its own.
+ * <p>
+ * This class is not thread safe.
+ */
+final class ValidationContext {
+
+    /**
+     * Thrown to stop validation once the report is full.
+     */
+    static final ReportFullException REPORT_FULL = new ReportFullException();
+
+    private final boolean deepCheck;
+    private final SchemaMessageCollector collector;
+    private final Function<SchemaError, ValidationReport.Message> toMessage;
+
+    @Nullable
+    private List<SchemaError> scope;
+    private int scopeErrors;
+
+    private Object[] path = new Object[16];
+    private int[] pathSchemaStart = new int[16];
+    private int depth;
+
+    /**
+     * The schemas the current value is being validated against, from {@link #schemaStart}, used to detect
+     * validation loops.
+     */
+    private SchemaNode[] schemas = new SchemaNode[16];
+    private int schemaCount;
+    private int schemaStart;
+
+    @Nullable
+    private Set<String> discriminatorVisits;
+
+    ValidationContext(final boolean deepCheck,
+                      final SchemaMessageCollector collector,
+                      final Function<SchemaError, ValidationReport.Message> toMessage) {
+        this.deepCheck = deepCheck;
+        this.collector = collector;
+        this.toMessage = toMessage;
+    }
+
+    void report(final SchemaError error) {
+        scopeErrors++;
+        if (scope != null) {
+            scope.add(error);
+        } else if (!collector.add(error.qualifiedKeyword() + ' ' + error.schemaPointer, error.instancePointer,
+                () -> toMessage.apply(error))) {
+            throw REPORT_FULL;
+        }
+    }
+
+    /**
+     * @return Whether the children of the value, or further children, should not be validated because an error has
+     * already been found in this scope and validation is not deep
+     */
+    boolean stop() {
+        return !deepCheck && scopeErrors > 0;
+    }
+
+    /**
+     * Validate the current value against the given subschema, in a scope of its own.
+     *
+     * @return The errors found
+     */
+    List<SchemaError> validateSeparately(final SchemaNode schema, final JsonNode value) {
+        final List<SchemaError> outerScope = scope;
+        final int outerErrors = scopeErrors;
+        final List<SchemaError> errors = new ArrayList<>(2);
+        scope = errors;
+        scopeErrors = 0;
+        try {
+            schema.validate(value, this);
+        } finally {
+            scope = outerScope;
+            scopeErrors = outerErrors;
+        }
+        return errors;
+    }
+
+    /**
+     * Validate the current value against the schema selected by a discriminator, in a scope of its own.
+     * <p>
+     * The selected schema usually refers back to the schema with the discriminator (e.g. via <code>allOf</code>),
+     * so schemas already being validated against are not treated as a validation loop. Instead each discriminated
+     * validation is only done once for a value and discriminator value.
+     *
+     * @return The errors found, or <code>null</code> if the validation is already in progress
+     */
+    @Nullable
+    List<SchemaError> validateDiscriminated(final SchemaNode discriminating,
+                                            final SchemaNode schema,
+                                            final String discriminatorValue,
+                                            final JsonNode value) {
+        if (discriminatorVisits == null) {
+            discriminatorVisits = new HashSet<>();
+        }
+        final String visit = instancePointer() + '\u0000' + discriminating.pointer + '\u0000' + discriminatorValue;
+        if (!discriminatorVisits.add(visit)) {
+            return null;
+        }
+        final int outerStart = schemaStart;
+        schemaStart = schemaCount;
+        try {
+            return validateSeparately(schema, value);
+        } finally {
+            schemaStart = outerStart;
+            discriminatorVisits.remove(visit);
+        }
+    }
+
+    /**
+     * Start validating the current value against the given schema.
+     *
+     * @throws SchemaException if the value is already being validated against the schema
+     */
+    void enter(final SchemaNode schema) {
+        for (int i = schemaStart; i < schemaCount; i++) {
+            if (schemas[i] == schema) {
+                throw new SchemaException("validation loop: schema \"#" + schema.pointer + "\" visited twice for pointer \"" +
+                        instancePointer() + "\" of validated instance", instancePointer(), schema.pointer);
+            }
+        }
+        if (schemaCount == schemas.length) {
+            schemas = Arrays.copyOf(schemas, schemaCount * 2);
+        }
+        schemas[schemaCount++] = schema;
+    }
+
+    void exit() {
+        schemas[--schemaCount] = null;
+    }
+
+    /**
+     * Move to the given child (a field name or array index) of the current value.
+     */
+    void push(final Object child) {
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+            pathSchemaStart = Arrays.copyOf(pathSchemaStart, depth * 2);
+        }
+        path[depth] = child;
+        pathSchemaStart[depth++] = schemaStart;
+        schemaStart = schemaCount;
+    }
+
+    /**
+     * Move back to the parent of the current value.
+     */
+    void pop() {
+        schemaStart = pathSchemaStart[--depth];
+        path[depth] = null;
+    }
+
+    /**
+     * @return The JSON pointer to the current value
+     */
+    String instancePointer() {
+        if (depth == 0) {
+            return "";
+        }
+        final StringBuilder pointer = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            pointer.append('/');
+            if (path[i] instanceof String) {
+                appendEscaped(pointer, (String) path[i]);
+            } else {
+                pointer.append(path[i]);
+            }
+        }
+        return pointer.toString();
+    }
+
+    static void appendEscaped(final StringBuilder pointer, final String token) {
+        for (int i = 0; i < token.length(); i++) {
+            final char c = token.charAt(i);
+            if (c == '~') {
+                pointer.append("~0");
+            } else if (c == '/') {
+                pointer.append("~1");
+            } else {
+                pointer.append(c);
+            }
+        }
+    }
+
+    static final class ReportFullException extends RuntimeException {
+        private ReportFullException() {
+            super("Report full", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.atlassian.oai.validator;
+
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.model.SimpleRequest;
+import com.atlassian.oai.validator.model.SimpleResponse;
+import com.atlassian.oai.validator.report.LevelResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.schema.JsonSchemaFactoryEngine;
+import com.atlassian.oai.validator.schema.SchemaEngine;
+import com.atlassian.oai.validator.schema.SchemaEngineProvider;
+import com.atlassian.oai.validator.schema.SwaggerV20Library;
+import com.atlassian.oai.validator.schema.jackson.JacksonSchemaEngine;
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * This benchmark compares the {@link SchemaEngine} implementations on APIs that make heavy use of schema composition.
+ * <p>
+ * Each invocation validates a single (valid) interaction with a warm validator, so the time measured is
+ * dominated by the schema engine. To compare a new engine, add it to {@link #ENGINES} and to the
+ * <code>engine</code> parameter values.
+ */
+@State(Scope.Benchmark)
+public class SchemaEngineBenchmark {
+
+    private static final Map<String, SchemaEngineProvider> ENGINES = ImmutableMap.of(
+            "json-schema-validator", (messages, configuration) ->
+                    new JsonSchemaFactoryEngine(SwaggerV20Library.schemaFactory(), messages, configuration),
+            "jackson", JacksonSchemaEngine::new
+    );
+
+    @Param({"json-schema-validator", "jackson"})
+    private String engine;
+
+    @Param({"api-composition", "api-discriminator", "api-oneof-complex"})
+    private String api;
+
+    private Supplier<ValidationReport> interaction;
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(SchemaEngineBenchmark.class.getSimpleName())
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupIterations(3)
+                .measurementIterations(4)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void createValidator() {
+        final OpenApiInteractionValidator validator = OpenApiInteractionValidator
+                .createForSpecificationUrl("/oai/v3/" + api + ".yaml")
+                .withLevelResolver(LevelResolver.create()
+                        .withLevel("validation.schema.additionalProperties", ValidationReport.Level.IGNORE)
+                        .build())
+                .withSchemaEngine(ENGINES.get(engine))
+                .build();
+
+        switch (api) {
+            case "api-composition":
+                interaction = () -> validator.validateResponse("/user", Request.Method.POST, SimpleResponse.Builder.ok()
+                        .withContentType("application/json")
+                        .withBody("{\"firstname\":\"user_firstname\", \"lastname\":\"user_lastname\", \"city\":\"user_city\"}")
+                        .build());
+                break;
+            case "api-discriminator":
+                interaction = () -> validator.validateRequest(SimpleRequest.Builder.post("/oneOfWithMapping")
+                        .withContentType("application/json")
+                        .withBody("{ \"type\": \"IntItem\", \"intField\": 1 }")
+                        .build());
+                break;
+            default:
+                interaction = () -> validator.validateResponse("/complex", Request.Method.POST, SimpleResponse.Builder.ok()
+                        .withContentType("application/json")
+                        .withBody("{ \"mods\" : { \"details\" : { \"container\" : [ { \"lineItems\" : [ { \"summary\" : [ { \"special\" : "
+                                + "{ \"form\" : { \"entryForm\" : { \"group\" : [ { \"key\" : \"number\", \"value\" : 1, "
+                                + "\"valueType\" : \"NUMBER_UNSIGNED\" } ] }, \"selectionForm\" : { \"group\" : [ { \"key\" : \"sel\", "
+                                + "\"value\" : \"1\", \"valueType\" : \"STRING\" } ] } } } } ], \"id\" : \"10\" } ], \"disabled\" : false } ] } }}")
+                        .build());
+                break;
+        }
+        assertThat(interaction.get().getMessages().toString(), interaction.get().hasErrors(), is(false));
+    }
+
+    @Benchmark
+    public ValidationReport validate() {
+        return interaction.get();
+    }
+}
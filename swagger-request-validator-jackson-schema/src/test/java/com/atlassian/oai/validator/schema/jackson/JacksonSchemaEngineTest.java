@@ -0,0 +1,122 @@
+package com.atlassian.oai.validator.schema.jackson;
+
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.schema.JsonSchemaFactoryEngine;
+import com.atlassian.oai.validator.schema.SchemaEngine;
+import com.atlassian.oai.validator.schema.SwaggerV20Library;
+import com.atlassian.oai.validator.schema.ValidationConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Validates the values in <code>schema-engine-cases.txt</code> with both the {@link JacksonSchemaEngine} and the
+ * default {@link JsonSchemaFactoryEngine}, and checks the reports match: the same messages, keys, additional info,
+ * pointers and nested messages, in the same order.
+ */
+@RunWith(Parameterized.class)
+public class JacksonSchemaEngineTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final MessageResolver messages = new MessageResolver();
+
+    private final String schema;
+    private final String value;
+
+    public JacksonSchemaEngineTest(final String schema, final String value) {
+        this.schema = schema;
+        this.value = value;
+    }
+
+    @Parameters(name = "{0} || {1}")
+    public static Iterable<Object[]> params() throws IOException {
+        final List<Object[]> cases = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                JacksonSchemaEngineTest.class.getResourceAsStream("/schema-engine-cases.txt"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                final String[] parts = line.split(" \\|\\| ");
+                cases.add(new Object[] {parts[0], parts[1]});
+            }
+        }
+        return cases;
+    }
+
+    @Test
+    public void validate_reportsSameMessages_asDefaultEngine() throws IOException {
+        final ValidationConfiguration configuration = new ValidationConfiguration();
+        assertSameReports(
+                new JsonSchemaFactoryEngine(SwaggerV20Library.schemaFactory(), messages, configuration),
+                new JacksonSchemaEngine(messages, configuration));
+    }
+
+    @Test
+    public void validate_reportsSameMessages_asDefaultEngine_whenFailFast() throws IOException {
+        final ValidationConfiguration configuration = new ValidationConfiguration().setFailFast(true);
+        assertSameReports(
+                new JsonSchemaFactoryEngine(SwaggerV20Library.schemaFactory(), messages, configuration),
+                new JacksonSchemaEngine(messages, configuration));
+    }
+
+    @Test
+    public void validate_reportsSameMessages_asDefaultEngine_whenMessagesLimited() throws IOException {
+        final ValidationConfiguration configuration = new ValidationConfiguration()
+                .setMaxSchemaMessages(2)
+                .setMaxSchemaMessagesPerPointer(1);
+        assertSameReports(
+                new JsonSchemaFactoryEngine(SwaggerV20Library.schemaFactoryBuilder(), messages, configuration),
+                new JacksonSchemaEngine(messages, configuration));
+    }
+
+    private void assertSameReports(final SchemaEngine expectedEngine, final SchemaEngine engine) throws IOException {
+        final String expected = describe(validate(expectedEngine));
+        final String actual = describe(validate(engine));
+
+        assertThat(actual, is(expected));
+    }
+
+    private ValidationReport validate(final SchemaEngine engine) throws IOException {
+        // The default engine modifies the schema for nullable, so each engine is given its own copy
+        return engine.compile(MAPPER.readTree(schema)).validate(MAPPER.readTree(value), "prefix");
+    }
+
+    private static String describe(final ValidationReport report) {
+        final StringBuilder description = new StringBuilder();
+        describe(report.getMessages(), "", description);
+        return description.toString();
+    }
+
+    private static void describe(final List<ValidationReport.Message> messages,
+                                 final String indent,
+                                 final StringBuilder description) {
+        for (final ValidationReport.Message message : messages) {
+            description.append(indent)
+                    .append(message.getKey()).append(" | ")
+                    .append(message.getMessage()).append(" | ")
+                    .append(message.getAdditionalInfo()).append(" | ")
+                    .append(message.getContext()
+                            .flatMap(ValidationReport.MessageContext::getPointers)
+                            .map(pointers -> pointers.getInstance() + " " + pointers.getSchema())
+                            .orElse("-"))
+                    .append('\n');
+            describe(message.getNestedMessages(), indent + "    ", description);
+        }
+    }
+}
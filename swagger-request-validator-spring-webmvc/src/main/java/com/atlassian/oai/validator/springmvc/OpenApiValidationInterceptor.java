@@ -83,7 +83,7 @@ public class OpenApiValidationInterceptor implements AsyncHandlerInterceptor {
         LOG.debug("OpenAPI request validation: {}", requestLoggingKey);
 
         final Request request = openApiValidationService.buildRequest(servletRequest, bodySupplier);
-        final ValidationReport validationReport = openApiValidationService.validateRequest(request);
+        final ValidationReport validationReport = openApiValidationService.validateRequest(servletRequest, request);
 
         validationReportHandler.handleRequestReport(requestLoggingKey, validationReport);
     }
@@ -1,6 +1,7 @@
 package com.atlassian.oai.validator.springmvc;
 
 import com.atlassian.oai.validator.OpenApiInteractionValidator;
+import com.atlassian.oai.validator.model.ApiOperationReference;
 import com.atlassian.oai.validator.model.Body;
 import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.model.Response;
@@ -10,9 +11,11 @@ import com.atlassian.oai.validator.report.ValidationReport;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.io.support.EncodedResource;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 import org.springframework.web.util.UrlPathHelper;
 
+import javax.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
@@ -25,7 +28,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,9 +41,16 @@ import static java.util.Objects.requireNonNull;
 public class OpenApiValidationService {
 
     private static final List<String> URI_CHARSETS = resolveAvailableCharsets();
+
+    /** The request attribute holding the path within the application, so it is resolved once per request */
+    private static final String PATH_ATTRIBUTE = OpenApiValidationService.class.getName() + ".path";
+
     private final OpenApiInteractionValidator validator;
     private final UrlPathHelper urlPathHelper;
 
+    /** The API operation (if any) for each Spring route, keyed by request method and route pattern */
+    private final Map<String, Optional<RouteOperation>> routeOperations = new ConcurrentHashMap<>();
+
     public OpenApiValidationService(final EncodedResource specAsResource, final UrlPathHelper urlPathHelper) throws IOException {
         this(OpenApiInteractionValidator
                 .createForInlineApiSpecification(IOUtils.toString(specAsResource.getReader()))
@@ -65,7 +77,13 @@ public class OpenApiValidationService {
     private String resolveServletPath(final HttpServletRequest servletRequest) {
         // The method HttpServletRequest#getServletPath might return NULL even in case there is an actual
         // servlet path. The UrlPathHelper is helping getting the servlet path.
-        return urlPathHelper.getPathWithinApplication(servletRequest);
+        final Object resolvedPath = servletRequest.getAttribute(PATH_ATTRIBUTE);
+        if (resolvedPath instanceof String) {
+            return (String) resolvedPath;
+        }
+        final String path = urlPathHelper.getPathWithinApplication(servletRequest);
+        servletRequest.setAttribute(PATH_ATTRIBUTE, path);
+        return path;
     }
 
     /**
@@ -123,6 +141,35 @@ public class OpenApiValidationService {
     }
 
     /**
+     * Validate the request against the API operation of the Spring route it was matched to.
+     * <p>
+     * Path parameter values are taken from the (raw) request path by splitting it against the route pattern,
+     * rather than from the URI template variables resolved by Spring (which are URL decoded). If the route pattern
+     * can not be split by path segment (e.g. it contains wildcards) the values are extracted from the request path
+     * by the validator instead.
+     * <p>
+     * If the request has not been matched to a route, or the route does not correspond to an API operation,
+     * the request path is matched against the paths in the API instead.
+     *
+     * @param servletRequest the {@link HttpServletRequest} to examine the matched route of
+     * @param request the {@link Request} to validate against the OpenAPI / Swagger specification
+     *
+     * @return the {@link ValidationReport} for the validated {@link Request}
+     */
+    public ValidationReport validateRequest(final HttpServletRequest servletRequest, final Request request) {
+        final Optional<RouteOperation> route = resolveRouteOperation(servletRequest);
+        if (!route.isPresent()) {
+            return validateRequest(request);
+        }
+        return validator.validateRequest(request, route.get().operation, route.get().pathParameterValues(request.getPath()));
+    }
+
+    /**
+     * Validate the response against the API operation of the Spring route the request was matched to.
+     * <p>
+     * If the request has not been matched to a route, or the route does not correspond to an API operation,
+     * the request path is matched against the paths in the API instead.
+     *
      * @param servletRequest the {@link HttpServletRequest} to examine the api path to validate against
      * @param response the {@link Response} to validate against the OpenAPI / Swagger specification
      *
@@ -132,7 +179,96 @@ public class OpenApiValidationService {
                                              final Response response) {
         final Request.Method method = Request.Method.valueOf(servletRequest.getMethod());
         final String path = resolveServletPath(servletRequest);
-        return validator.validateResponse(path, method, response);
+        final Optional<RouteOperation> route = resolveRouteOperation(servletRequest);
+        if (!route.isPresent()) {
+            return validator.validateResponse(path, method, response);
+        }
+        return validator.validateResponse(path, method, route.get().operation, response);
+    }
+
+    private Optional<RouteOperation> resolveRouteOperation(final HttpServletRequest servletRequest) {
+        final Object pattern = servletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return Optional.empty();
+        }
+        // The attribute is either the pattern string or a parsed PathPattern, depending on the Spring configuration
+        final String route = servletRequest.getMethod() + " " + pattern;
+        return routeOperations.computeIfAbsent(route, key -> {
+            final ApiOperationReference operation = ApiOperationReference.byPathTemplate(
+                    pattern.toString(), Request.Method.valueOf(servletRequest.getMethod()));
+            return validator.hasApiOperation(operation) ?
+                    Optional.of(new RouteOperation(operation, pattern.toString())) : Optional.empty();
+        });
+    }
+
+    /**
+     * An API operation matched to a Spring route, with the route pattern split into path segments.
+     */
+    private static final class RouteOperation {
+
+        private final ApiOperationReference operation;
+
+        /** The URI template variable name of each path segment of the route pattern, or null for literal segments */
+        @Nullable
+        private final String[] segmentVariables;
+
+        private RouteOperation(final ApiOperationReference operation, final String pattern) {
+            this.operation = operation;
+            this.segmentVariables = splitPattern(pattern);
+        }
+
+        /**
+         * @return the variable name of each path segment of the given pattern, or null if the pattern can not be
+         * split into whole path segments (e.g. because it contains wildcards or partial segment variables)
+         */
+        @Nullable
+        private static String[] splitPattern(final String pattern) {
+            if (pattern.contains("*") || pattern.contains("?")) {
+                return null;
+            }
+            final String[] segments = StringUtils.split(pattern, '/');
+            final String[] variables = new String[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                final String segment = segments[i];
+                final int open = segment.indexOf('{');
+                if (open < 0) {
+                    continue;
+                }
+                if (open != 0 || !segment.endsWith("}") || segment.indexOf('{', 1) >= 0) {
+                    return null;
+                }
+                // Strip the braces and any regular expression ({name:regex})
+                final String variable = segment.substring(1, segment.length() - 1);
+                final int colon = variable.indexOf(':');
+                variables[i] = colon < 0 ? variable : variable.substring(0, colon);
+            }
+            return variables;
+        }
+
+        /**
+         * Split the raw request path against the route pattern. The route pattern is matched against the end of
+         * the request path, as it does not include any servlet path.
+         *
+         * @return the raw path parameter values keyed by variable name, or null if they can not be split out
+         */
+        @Nullable
+        private Map<String, String> pathParameterValues(final String path) {
+            if (segmentVariables == null) {
+                return null;
+            }
+            final String[] segments = StringUtils.split(path, '/');
+            final int offset = segments.length - segmentVariables.length;
+            if (offset < 0) {
+                return null;
+            }
+            final Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < segmentVariables.length; i++) {
+                if (segmentVariables[i] != null) {
+                    values.put(segmentVariables[i], segments[offset + i]);
+                }
+            }
+            return values;
+        }
     }
 
     /**
@@ -2,6 +2,7 @@ package com.atlassian.oai.validator.springmvc;
 
 import com.atlassian.oai.validator.OpenApiInteractionValidator;
 import com.atlassian.oai.validator.example.simple.RestServiceApplication;
+import com.atlassian.oai.validator.model.ApiOperationReference;
 import com.atlassian.oai.validator.model.Body;
 import com.atlassian.oai.validator.model.InputStreamBody;
 import com.atlassian.oai.validator.model.Request;
@@ -26,6 +27,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -33,6 +35,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 import org.springframework.web.util.UrlPathHelper;
 
@@ -65,7 +68,9 @@ import static org.mockito.Mockito.inOrder;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.collection.IsMapWithSize.aMapWithSize;
 import static org.hamcrest.collection.IsMapWithSize.anEmptyMap;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -344,6 +349,150 @@ public class OpenApiValidationServiceTest {
         assertThat(result, is(validationReport));
     }
 
+    @Test
+    public void validateRequest_validatesAgainstTheMatchedRouteOperation() {
+        // given:
+        final HttpServletRequest servletRequest = mock(HttpServletRequest.class);
+        final Request request = mock(Request.class);
+        final ValidationReport validationReport = mock(ValidationReport.class);
+        final ApiOperationReference operation = ApiOperationReference.byPathTemplate("/users/{id}", Request.Method.GET);
+
+        // and:
+        when(servletRequest.getMethod()).thenReturn("GET");
+        when(servletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/users/{id}");
+        when(request.getPath()).thenReturn("/users/1");
+        when(requestValidator.hasApiOperation(operation)).thenReturn(true);
+        when(requestValidator.validateRequest(request, operation, ImmutableMap.of("id", "1"))).thenReturn(validationReport);
+
+        // when:
+        final ValidationReport first = classUnderTest.validateRequest(servletRequest, request);
+        final ValidationReport second = classUnderTest.validateRequest(servletRequest, request);
+
+        // then:
+        assertThat(first, is(validationReport));
+        assertThat(second, is(validationReport));
+        verify(requestValidator, times(1)).hasApiOperation(operation);
+        verify(requestValidator, never()).validateRequest(request);
+    }
+
+    @Test
+    public void validateRequest_takesRawPathParametersFromTheRequestPath_notTheDecodedUriTemplateVariables() {
+        // given:
+        final HttpServletRequest servletRequest = mock(HttpServletRequest.class);
+        final Request request = mock(Request.class);
+        final ValidationReport validationReport = mock(ValidationReport.class);
+        final ApiOperationReference operation =
+                ApiOperationReference.byPathTemplate("/users/{id:.+}/roles/{role}", Request.Method.GET);
+
+        // and:
+        when(servletRequest.getMethod()).thenReturn("GET");
+        when(servletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/users/{id:.+}/roles/{role}");
+        when(servletRequest.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE))
+                .thenReturn(ImmutableMap.of("id", "a b", "role", "admin"));
+        when(request.getPath()).thenReturn("/servlet/users/a%20b/roles/admin");
+        when(requestValidator.hasApiOperation(operation)).thenReturn(true);
+        when(requestValidator.validateRequest(request, operation, ImmutableMap.of("id", "a%20b", "role", "admin")))
+                .thenReturn(validationReport);
+
+        // when:
+        final ValidationReport result = classUnderTest.validateRequest(servletRequest, request);
+
+        // then:
+        assertThat(result, is(validationReport));
+    }
+
+    @Test
+    public void validateRequest_leavesPathParametersToTheValidator_whenRoutePatternHasWildcards() {
+        // given:
+        final HttpServletRequest servletRequest = mock(HttpServletRequest.class);
+        final Request request = mock(Request.class);
+        final ValidationReport validationReport = mock(ValidationReport.class);
+        final ApiOperationReference operation = ApiOperationReference.byPathTemplate("/users/{id}/**", Request.Method.GET);
+
+        // and:
+        when(servletRequest.getMethod()).thenReturn("GET");
+        when(servletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/users/{id}/**");
+        when(request.getPath()).thenReturn("/users/1/roles");
+        when(requestValidator.hasApiOperation(operation)).thenReturn(true);
+        when(requestValidator.validateRequest(request, operation, null)).thenReturn(validationReport);
+
+        // when:
+        final ValidationReport result = classUnderTest.validateRequest(servletRequest, request);
+
+        // then:
+        assertThat(result, is(validationReport));
+    }
+
+    @Test
+    public void validateRequest_fallsBackToPathMatching_whenRouteIsNotAnApiOperation() {
+        // given:
+        final HttpServletRequest servletRequest = mock(HttpServletRequest.class);
+        final Request request = mock(Request.class);
+        final ValidationReport validationReport = mock(ValidationReport.class);
+
+        // and:
+        when(servletRequest.getMethod()).thenReturn("GET");
+        when(servletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/**");
+        when(requestValidator.hasApiOperation(any())).thenReturn(false);
+        when(requestValidator.validateRequest(request)).thenReturn(validationReport);
+
+        // when:
+        final ValidationReport result = classUnderTest.validateRequest(servletRequest, request);
+
+        // then:
+        assertThat(result, is(validationReport));
+        verify(requestValidator, times(1)).validateRequest(request);
+    }
+
+    @Test
+    public void validateResponse_validatesAgainstTheMatchedRouteOperation() {
+        // given:
+        final HttpServletRequest servletRequest = mock(HttpServletRequest.class);
+        final Response response = mock(Response.class);
+        final ValidationReport validationReport = mock(ValidationReport.class);
+        final ApiOperationReference operation = ApiOperationReference.byPathTemplate("/users/{id}", Request.Method.GET);
+
+        // and:
+        when(servletRequest.getMethod()).thenReturn("GET");
+        when(servletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/users/{id}");
+        when(servletRequest.getRequestURI()).thenReturn("/v1/users/1");
+        when(urlPathHelper.getPathWithinApplication(servletRequest)).thenReturn("/users/1");
+        when(requestValidator.hasApiOperation(operation)).thenReturn(true);
+        when(requestValidator.validateResponse("/users/1", Request.Method.GET, operation, response)).thenReturn(validationReport);
+
+        // when:
+        final ValidationReport result = classUnderTest.validateResponse(servletRequest, response);
+
+        // then:
+        assertThat(result, is(validationReport));
+        verify(requestValidator, never()).validateResponse("/users/1", Request.Method.GET, response);
+    }
+
+    @Test
+    public void validateResponse_reusesThePathResolvedForTheRequest() {
+        // given:
+        final MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/v1/users/1");
+        servletRequest.setContextPath("/v1");
+        servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/{id}");
+        final Response response = mock(Response.class);
+        final ValidationReport validationReport = mock(ValidationReport.class);
+        final ApiOperationReference operation = ApiOperationReference.byPathTemplate("/users/{id}", Request.Method.GET);
+
+        // and:
+        when(urlPathHelper.getPathWithinApplication(servletRequest)).thenReturn("/users/1");
+        when(requestValidator.hasApiOperation(operation)).thenReturn(true);
+        when(requestValidator.validateResponse("/users/1", Request.Method.GET, operation, response)).thenReturn(validationReport);
+
+        // when:
+        final Request request = classUnderTest.buildRequest(servletRequest, () -> null);
+        final ValidationReport result = classUnderTest.validateResponse(servletRequest, response);
+
+        // then:
+        assertThat(request.getPath(), equalTo("/users/1"));
+        assertThat(result, is(validationReport));
+        verify(urlPathHelper, times(1)).getPathWithinApplication(servletRequest);
+    }
+
     @Test
     public void resolveHeadersOnResponse_noHeaderOnResponse() {
         // given:
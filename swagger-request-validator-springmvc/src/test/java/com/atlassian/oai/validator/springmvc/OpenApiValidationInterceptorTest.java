@@ -101,7 +101,7 @@ public class OpenApiValidationInterceptorTest {
         // then:
         assertThat(result, equalTo(true));
         verify(servletRequest).getAttribute(ATTRIBUTE_REQUEST_VALIDATION);
-        verify(openApiValidationService, never()).validateRequest(any());
+        verify(openApiValidationService, never()).validateRequest(any(), any());
     }
 
     @Test
@@ -118,7 +118,7 @@ public class OpenApiValidationInterceptorTest {
         // then:
         assertThat(result, equalTo(true));
         verify(servletRequest).getAttribute(ATTRIBUTE_REQUEST_VALIDATION);
-        verify(openApiValidationService, never()).validateRequest(any(Request.class));
+        verify(openApiValidationService, never()).validateRequest(any(), any(Request.class));
     }
 
     @Test
@@ -135,7 +135,7 @@ public class OpenApiValidationInterceptorTest {
         // then:
         assertThat(result, equalTo(true));
         verify(servletRequest).getAttribute(ATTRIBUTE_REQUEST_VALIDATION);
-        verify(openApiValidationService, never()).validateRequest(any(Request.class));
+        verify(openApiValidationService, never()).validateRequest(any(), any(Request.class));
     }
 
     @Test
@@ -152,7 +152,7 @@ public class OpenApiValidationInterceptorTest {
         // then:
         assertThat(result, equalTo(true));
         verify(servletRequest).getAttribute(ATTRIBUTE_REQUEST_VALIDATION);
-        verify(openApiValidationService, never()).validateRequest(any(Request.class));
+        verify(openApiValidationService, never()).validateRequest(any(), any(Request.class));
     }
 
     @Test
@@ -188,7 +188,7 @@ public class OpenApiValidationInterceptorTest {
 
         final ArgumentCaptor<Supplier<Body>> bodySupplierArgument = ArgumentCaptor.forClass(Supplier.class);
         when(openApiValidationService.buildRequest(eq(servletRequest), bodySupplierArgument.capture())).thenReturn(request);
-        when(openApiValidationService.validateRequest(request)).thenReturn(validationReport);
+        when(openApiValidationService.validateRequest(servletRequest, request)).thenReturn(validationReport);
 
         // when:
         final boolean result = classUnderTest.preHandle(servletRequest, null, null);
@@ -224,7 +224,7 @@ public class OpenApiValidationInterceptorTest {
 
         final ArgumentCaptor<Supplier<Body>> bodySupplierArgument = ArgumentCaptor.forClass(Supplier.class);
         when(openApiValidationService.buildRequest(eq(servletRequest), bodySupplierArgument.capture())).thenReturn(request);
-        when(openApiValidationService.validateRequest(request)).thenReturn(validationReport);
+        when(openApiValidationService.validateRequest(servletRequest, request)).thenReturn(validationReport);
 
         // when:
         final boolean result = classUnderTest.preHandle(servletRequest, null, null);
@@ -259,7 +259,7 @@ public class OpenApiValidationInterceptorTest {
         when(servletRequest.getInputStream()).thenReturn(cachingServletInputStream);
 
         when(openApiValidationService.buildRequest(eq(servletRequest), any(Supplier.class))).thenReturn(request);
-        when(openApiValidationService.validateRequest(request)).thenReturn(validationReport);
+        when(openApiValidationService.validateRequest(servletRequest, request)).thenReturn(validationReport);
         doThrow(new InvalidRequestException(validationReport)).when(validationReportHandler)
                 .handleRequestReport("METHOD#/request/uri", validationReport);
 